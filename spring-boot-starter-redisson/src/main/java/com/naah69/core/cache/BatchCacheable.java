@@ -0,0 +1,32 @@
+package com.naah69.core.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 批量缓存
+ * 方法的第一个参数为键集合(List或Set), 返回值为键到值的Map; 调用时先通过一次MGET读取已缓存的键,
+ * 仅以未命中的键调用方法, 再将加载结果批量写入缓存, 最后按参数顺序合并返回
+ * (需开启缓存管理器与@EnableCaching)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface BatchCacheable {
+
+    /**
+     * 缓存名称
+     *
+     * @return 返回缓存名称
+     */
+    String value();
+}
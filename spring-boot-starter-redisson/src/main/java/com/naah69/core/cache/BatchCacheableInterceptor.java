@@ -0,0 +1,163 @@
+package com.naah69.core.cache;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 批量缓存拦截器
+ *
+ * @author xsx
+ * @author naah
+ * @see BatchCacheable
+ * @since 1.8
+ */
+public class BatchCacheableInterceptor implements MethodInterceptor {
+    /**
+     * 缓存管理器
+     */
+    private final Supplier<CacheManager> cacheManager;
+
+    /**
+     * 批量缓存拦截器构造
+     *
+     * @param cacheManager 缓存管理器
+     */
+    public BatchCacheableInterceptor(CacheManager cacheManager) {
+        this(() -> cacheManager);
+    }
+
+    /**
+     * 批量缓存拦截器构造(首次调用时获取缓存管理器)
+     *
+     * @param cacheManager 缓存管理器
+     */
+    public BatchCacheableInterceptor(Supplier<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        if (arguments.length == 0 || !(arguments[0] instanceof Collection)) {
+            return invocation.proceed();
+        }
+        BatchCacheable annotation = this.findAnnotation(invocation);
+        Cache cache = annotation == null ? null : this.cacheManager.get().getCache(annotation.value());
+        if (cache == null) {
+            return invocation.proceed();
+        }
+        Collection<?> keys = (Collection<?>) arguments[0];
+        Map<Object, Object> cached = getAll(cache, keys);
+        Collection<Object> missing = keys instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+        for (Object key : keys) {
+            if (!cached.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        Map<?, ?> loaded = null;
+        if (!missing.isEmpty()) {
+            Object[] missingArguments = arguments.clone();
+            missingArguments[0] = missing;
+            loaded = (Map<?, ?>) this.proceed(invocation, missingArguments);
+            this.store(cache, missing, loaded);
+        }
+        Map<Object, Object> result = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        for (Object key : keys) {
+            Object value = cached.containsKey(key) ? cached.get(key) : loaded == null ? null : loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量读取缓存(redis助手缓存通过一次MGET读取)
+     *
+     * @param cache 缓存
+     * @param keys  键
+     * @return 返回已缓存的键值
+     */
+    private static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof RedisHandlerCache) {
+            return ((RedisHandlerCache) cache).getAll(keys);
+        }
+        Map<Object, Object> cached = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                cached.put(key, wrapper.get());
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * 写入加载结果(允许缓存null值时, 未返回的键缓存为null, 避免重复加载)
+     *
+     * @param cache   缓存
+     * @param missing 未命中的键
+     * @param loaded  加载结果
+     */
+    private void store(Cache cache, Collection<Object> missing, Map<?, ?> loaded) {
+        Map<Object, Object> values = new LinkedHashMap<>(missing.size() * 4 / 3 + 1);
+        boolean cacheNullValues = cache instanceof RedisHandlerCache && ((RedisHandlerCache) cache).isAllowNullValues();
+        for (Object key : missing) {
+            Object value = loaded == null ? null : loaded.get(key);
+            if (value != null || cacheNullValues) {
+                values.put(key, value);
+            }
+        }
+        if (cache instanceof RedisHandlerCache) {
+            ((RedisHandlerCache) cache).putAll(values);
+        } else {
+            values.forEach(cache::put);
+        }
+    }
+
+    /**
+     * 以指定参数执行方法
+     *
+     * @param invocation 方法调用
+     * @param arguments  参数
+     * @return 返回方法结果
+     * @throws Throwable 方法异常
+     */
+    private Object proceed(MethodInvocation invocation, Object[] arguments) throws Throwable {
+        if (invocation instanceof ProxyMethodInvocation) {
+            ProxyMethodInvocation copy = (ProxyMethodInvocation) ((ProxyMethodInvocation) invocation).invocableClone(arguments);
+            return copy.proceed();
+        }
+        // 参数数组为调用的实际参数, 原地替换
+        System.arraycopy(arguments, 0, invocation.getArguments(), 0, arguments.length);
+        return invocation.proceed();
+    }
+
+    /**
+     * 查找注解(优先目标类方法)
+     *
+     * @param invocation 方法调用
+     * @return 返回注解
+     */
+    private BatchCacheable findAnnotation(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        if (invocation.getThis() != null) {
+            method = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(invocation.getThis()));
+        }
+        return AnnotatedElementUtils.findMergedAnnotation(method, BatchCacheable.class);
+    }
+}
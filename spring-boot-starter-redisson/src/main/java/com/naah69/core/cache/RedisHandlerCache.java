@@ -0,0 +1,357 @@
+package com.naah69.core.cache;
+
+import com.naah69.core.handler.ExpiryPolicy;
+import com.naah69.core.handler.NearCache;
+import com.naah69.core.handler.SingleFlight;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis助手缓存
+ * 每个缓存项保存为独立的字符串键(键前缀 + 缓存名称 + "::" + 键), 值按缓存的编码序列化, 过期时间经过助手的过期策略
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedisHandlerCache extends AbstractValueAdaptingCache {
+    /**
+     * null值的存储形式
+     */
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+    /**
+     * 清空时每批删除的键数量
+     */
+    private static final int CLEAR_BATCH_SIZE = 1000;
+    /**
+     * 缓存名称
+     */
+    private final String name;
+    /**
+     * 键前缀
+     */
+    private final String prefix;
+    /**
+     * 对象模板(用于键序列化与连接)
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 值编码
+     */
+    private final RedisSerializer<Object> codec;
+    /**
+     * 存活时间
+     */
+    private final Duration ttl;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private final NearCache nearCache;
+    /**
+     * 合并调用器(同一键同时只加载一次)
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * redis助手缓存构造
+     *
+     * @param name            缓存名称
+     * @param prefix          键前缀
+     * @param redisTemplate   对象模板
+     * @param codec           值编码
+     * @param ttl             存活时间(0为不过期)
+     * @param nearCache       近端缓存(可为null)
+     * @param cacheNullValues 是否缓存null值
+     */
+    public RedisHandlerCache(
+            String name,
+            String prefix,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisSerializer<Object> codec,
+            Duration ttl,
+            NearCache nearCache,
+            boolean cacheNullValues
+    ) {
+        super(cacheNullValues);
+        this.name = name;
+        this.prefix = prefix;
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.ttl = ttl;
+        this.nearCache = nearCache;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public RedisTemplate<String, Object> getNativeCache() {
+        return this.redisTemplate;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String storeKey = this.storeKey(key);
+        if (this.nearCache != null) {
+            return this.nearCache.getValue(this.redisTemplate, storeKey, "c:" + this.name, this::decode);
+        }
+        byte[] rawKey = this.rawKey(storeKey);
+        byte[] raw = this.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey));
+        return raw == null ? null : this.decode(raw);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = this.get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return this.singleFlight.execute(this.storeKey(key), () -> {
+            ValueWrapper loaded = this.get(key);
+            if (loaded != null) {
+                return (T) loaded.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            this.put(key, value);
+            return value;
+        });
+    }
+
+    /**
+     * 批量获取(一次MGET)
+     *
+     * @param keys 键
+     * @return 返回已缓存的键值(包含缓存的null值, 未缓存的键不包含在内)
+     * @see <a href="http://redis.io/commands/mget">Redis Documentation: MGET</a>
+     * @since redis 1.0.0
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = this.rawKey(this.storeKey(keyList.get(i)));
+        }
+        List<byte[]> values = this.redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.mGet(rawKeys));
+        if (values == null) {
+            return result;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            byte[] raw = values.get(i);
+            if (raw != null) {
+                result.put(keyList.get(i), this.fromStoreValue(this.decode(raw)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = this.toStoreValue(value);
+        String storeKey = this.storeKey(key);
+        byte[] rawKey = this.rawKey(storeKey);
+        byte[] rawValue = this.encode(storeValue);
+        Expiration expiration = this.expiration(storeKey);
+        this.redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert())
+        );
+        this.invalidate(storeKey);
+    }
+
+    /**
+     * 批量设置(通过管道一次发送)
+     *
+     * @param map 键值
+     */
+    public void putAll(Map<?, ?> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+        List<String> storeKeys = new ArrayList<>(map.size());
+        List<byte[][]> entries = new ArrayList<>(map.size());
+        List<Expiration> expirations = new ArrayList<>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String storeKey = this.storeKey(entry.getKey());
+            storeKeys.add(storeKey);
+            entries.add(new byte[][]{this.rawKey(storeKey), this.encode(this.toStoreValue(entry.getValue()))});
+            expirations.add(this.expiration(storeKey));
+        }
+        this.redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < entries.size(); i++) {
+                byte[][] entry = entries.get(i);
+                connection.set(entry[0], entry[1], expirations.get(i), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(storeKeys);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = this.toStoreValue(value);
+        String storeKey = this.storeKey(key);
+        byte[] rawKey = this.rawKey(storeKey);
+        byte[] rawValue = this.encode(storeValue);
+        Expiration expiration = this.expiration(storeKey);
+        byte[] existing = this.redisTemplate.execute((RedisCallback<byte[]>) connection -> {
+            Boolean set = connection.set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.ifAbsent());
+            return Boolean.TRUE.equals(set) ? null : connection.get(rawKey);
+        });
+        this.invalidate(storeKey);
+        return existing == null ? null : new SimpleValueWrapper(this.fromStoreValue(this.decode(existing)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String storeKey = this.storeKey(key);
+        byte[] rawKey = this.rawKey(storeKey);
+        this.redisTemplate.execute((RedisCallback<Long>) connection -> connection.del(rawKey));
+        this.invalidate(storeKey);
+    }
+
+    @Override
+    public void clear() {
+        byte[] pattern = this.rawKey(this.prefix + "*");
+        List<String> cleared = this.redisTemplate.execute((RedisCallback<List<String>>) connection -> this.clear(connection, pattern));
+        if (this.nearCache != null && cleared != null) {
+            this.nearCache.invalidate(cleared);
+        }
+    }
+
+    /**
+     * 获取缓存键
+     *
+     * @param key 键
+     * @return 返回缓存键
+     */
+    public String storeKey(Object key) {
+        return this.prefix + key;
+    }
+
+    /**
+     * 获取存活时间
+     *
+     * @return 返回存活时间
+     */
+    public Duration getTtl() {
+        return this.ttl;
+    }
+
+    /**
+     * 扫描并分批删除缓存键
+     *
+     * @param connection 连接
+     * @param pattern    匹配模式
+     * @return 返回已删除的键
+     */
+    private List<String> clear(RedisConnection connection, byte[] pattern) {
+        List<String> cleared = new ArrayList<>();
+        List<byte[]> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        try (Cursor<byte[]> cursor = connection.scan(ScanOptions.scanOptions().match(new String(pattern, StandardCharsets.UTF_8)).count(CLEAR_BATCH_SIZE).build())) {
+            while (cursor.hasNext()) {
+                byte[] rawKey = cursor.next();
+                batch.add(rawKey);
+                cleared.add((String) this.redisTemplate.getKeySerializer().deserialize(rawKey));
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    connection.del(batch.toArray(new byte[0][]));
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to close scan cursor of cache " + this.name, e);
+        }
+        if (!batch.isEmpty()) {
+            connection.del(batch.toArray(new byte[0][]));
+        }
+        return cleared;
+    }
+
+    /**
+     * 计算过期设置
+     *
+     * @param storeKey 缓存键
+     * @return 返回过期设置
+     */
+    private Expiration expiration(String storeKey) {
+        if (this.ttl == null || this.ttl.isZero() || this.ttl.isNegative()) {
+            return Expiration.persistent();
+        }
+        return Expiration.milliseconds(ExpiryPolicy.millis(storeKey, this.ttl.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 失效近端缓存
+     *
+     * @param storeKey 缓存键
+     */
+    private void invalidate(String storeKey) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(storeKey);
+        }
+    }
+
+    /**
+     * 序列化键
+     *
+     * @param storeKey 缓存键
+     * @return 返回键字节
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String storeKey) {
+        return ((RedisSerializer<String>) this.redisTemplate.getKeySerializer()).serialize(storeKey);
+    }
+
+    /**
+     * 编码值
+     *
+     * @param storeValue 存储值
+     * @return 返回值字节
+     */
+    private byte[] encode(Object storeValue) {
+        return storeValue == NullValue.INSTANCE ? BINARY_NULL_VALUE : this.codec.serialize(storeValue);
+    }
+
+    /**
+     * 解码值
+     *
+     * @param raw 值字节
+     * @return 返回存储值
+     */
+    private Object decode(byte[] raw) {
+        return Arrays.equals(raw, BINARY_NULL_VALUE) ? NullValue.INSTANCE : this.codec.deserialize(raw);
+    }
+}
@@ -0,0 +1,108 @@
+package com.naah69.core.cache;
+
+import com.alibaba.fastjson.support.spring.GenericFastJsonRedisSerializer;
+import com.naah69.core.codec.ValueCodecs;
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.handler.NearCache;
+import com.naah69.core.util.RedisUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * redis助手缓存管理器
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedisHandlerCacheManager extends AbstractCacheManager {
+    /**
+     * 缓存管理器配置
+     */
+    private final RedisHandlerProperties.Cache properties;
+    /**
+     * 近端缓存配置
+     */
+    private final RedisHandlerProperties.NearCache nearCacheProperties;
+    /**
+     * 默认数据库索引
+     */
+    private final int defaultDbIndex;
+
+    /**
+     * redis助手缓存管理器构造
+     *
+     * @param properties     助手配置
+     * @param defaultDbIndex 默认数据库索引
+     */
+    public RedisHandlerCacheManager(RedisHandlerProperties properties, int defaultDbIndex) {
+        this.properties = properties.getCache();
+        this.nearCacheProperties = properties.getNearCache();
+        this.defaultDbIndex = defaultDbIndex;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>(this.properties.getCaches().size());
+        for (Map.Entry<String, RedisHandlerProperties.CacheSpec> entry : this.properties.getCaches().entrySet()) {
+            caches.add(this.createCache(entry.getKey(), entry.getValue().merge(this.properties.getDefaults())));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return this.properties.isDynamic() ? this.createCache(name, this.properties.getDefaults()) : null;
+    }
+
+    /**
+     * 创建缓存
+     *
+     * @param name 缓存名称
+     * @param spec 缓存配置
+     * @return 返回缓存
+     */
+    @SuppressWarnings("unchecked")
+    protected RedisHandlerCache createCache(String name, RedisHandlerProperties.CacheSpec spec) {
+        int dbIndex = spec.getDatabase() != null ? spec.getDatabase() : this.defaultDbIndex;
+        RedisTemplate<String, Object> redisTemplate = RedisUtil.getStringHandler(dbIndex).getRedisTemplate();
+        NearCache nearCache = Boolean.TRUE.equals(spec.getNearCache()) ? NearCache.forDatabase(dbIndex, this.nearCacheProperties) : null;
+        return new RedisHandlerCache(
+                name,
+                this.properties.getKeyPrefix() + name + "::",
+                redisTemplate,
+                codec(spec.getCodec()),
+                spec.getTtl(),
+                nearCache,
+                Boolean.TRUE.equals(spec.getCacheNullValues())
+        );
+    }
+
+    /**
+     * 获取值编码
+     *
+     * @param name 编码名称(json, jdk, string, 其余按值编码名称获取)
+     * @return 返回值编码
+     */
+    @SuppressWarnings("unchecked")
+    static RedisSerializer<Object> codec(String name) {
+        switch (name) {
+            case "json":
+                // 写入类型信息, 读取时还原为原类型
+                return new GenericFastJsonRedisSerializer();
+            case "jdk":
+                return RedisSerializer.java();
+            case "string":
+                return (RedisSerializer) RedisSerializer.string();
+            default:
+                return ValueCodecs.serializer(name);
+        }
+    }
+}
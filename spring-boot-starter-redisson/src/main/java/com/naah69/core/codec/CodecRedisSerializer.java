@@ -0,0 +1,83 @@
+package com.naah69.core.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 值编码序列化器
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+    /**
+     * 空字节数组
+     */
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+    /**
+     * 值编码
+     */
+    private final ValueCodec codec;
+
+    /**
+     * 值编码序列化器构造
+     *
+     * @param codec 值编码
+     */
+    public CodecRedisSerializer(ValueCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        try {
+            return this.codec.encode(value);
+        } catch (RuntimeException e) {
+            throw new SerializationException("could not encode value with codec " + this.codec.name(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return this.codec.decode(bytes);
+        } catch (RuntimeException e) {
+            throw new SerializationException("could not decode value with codec " + this.codec.name(), e);
+        }
+    }
+
+    /**
+     * 反序列化为指定类型(一次解码)
+     *
+     * @param bytes 字节数组
+     * @param type  类型
+     * @param <T>   返回类型
+     * @return 返回指定类型的值
+     */
+    public <T> T deserialize(byte[] bytes, Class<T> type) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return this.codec.decode(bytes, type);
+        } catch (RuntimeException e) {
+            throw new SerializationException("could not decode value with codec " + this.codec.name(), e);
+        }
+    }
+
+    /**
+     * 获取值编码
+     *
+     * @return 返回值编码
+     */
+    public ValueCodec getCodec() {
+        return this.codec;
+    }
+}
@@ -0,0 +1,235 @@
+package com.naah69.core.codec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压缩编码
+ * 包装其他值编码, 编码结果不小于阈值时压缩, 并写入1字节头部标记与4字节原始长度;
+ * 读取时按头部标记解压(任意内置算法), 没有标记的值按未压缩读取, 兼容开启压缩前写入的数据
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class CompressingValueCodec implements ValueCodec {
+    /**
+     * 头部长度(标记 + 原始长度)
+     */
+    private static final int HEADER_LENGTH = 5;
+    /**
+     * 压缩次数
+     */
+    private static final LongAdder COMPRESSED = new LongAdder();
+    /**
+     * 跳过压缩的次数(低于阈值或压缩无收益)
+     */
+    private static final LongAdder SKIPPED = new LongAdder();
+    /**
+     * 压缩前字节数
+     */
+    private static final LongAdder RAW_BYTES = new LongAdder();
+    /**
+     * 压缩后字节数(含头部)
+     */
+    private static final LongAdder COMPRESSED_BYTES = new LongAdder();
+    /**
+     * 压缩耗时(ns)
+     */
+    private static final LongAdder COMPRESS_NANOS = new LongAdder();
+    /**
+     * 解压次数
+     */
+    private static final LongAdder DECOMPRESSED = new LongAdder();
+    /**
+     * 解压耗时(ns)
+     */
+    private static final LongAdder DECOMPRESS_NANOS = new LongAdder();
+    /**
+     * 被包装的编码
+     */
+    private final ValueCodec delegate;
+    /**
+     * 压缩算法
+     */
+    private final Compressor compressor;
+    /**
+     * 压缩阈值(字节)
+     */
+    private final int threshold;
+
+    /**
+     * 压缩编码构造
+     *
+     * @param delegate    被包装的编码
+     * @param compression 压缩算法(deflate, lz4, zstd)
+     * @param threshold   压缩阈值(字节)
+     */
+    public CompressingValueCodec(ValueCodec delegate, String compression, int threshold) {
+        this.delegate = delegate;
+        this.compressor = Compressors.get(compression);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String name() {
+        return this.delegate.name() + "+" + this.compressor.name();
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        byte[] bytes = this.delegate.encode(value);
+        if (bytes.length < this.threshold) {
+            SKIPPED.increment();
+            return bytes;
+        }
+        long begin = System.nanoTime();
+        byte[] compressed = this.compressor.compress(bytes);
+        COMPRESS_NANOS.add(System.nanoTime() - begin);
+        if (compressed.length + HEADER_LENGTH >= bytes.length) {
+            SKIPPED.increment();
+            return bytes;
+        }
+        byte[] result = new byte[compressed.length + HEADER_LENGTH];
+        result[0] = this.compressor.marker();
+        result[1] = (byte) (bytes.length >>> 24);
+        result[2] = (byte) (bytes.length >>> 16);
+        result[3] = (byte) (bytes.length >>> 8);
+        result[4] = (byte) bytes.length;
+        System.arraycopy(compressed, 0, result, HEADER_LENGTH, compressed.length);
+        COMPRESSED.increment();
+        RAW_BYTES.add(bytes.length);
+        COMPRESSED_BYTES.add(result.length);
+        return result;
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return this.delegate.decode(decompress(bytes));
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return this.delegate.decode(decompress(bytes), type);
+    }
+
+    @Override
+    public <T> T convert(Object value, Class<T> type) {
+        return this.delegate.convert(value, type);
+    }
+
+    /**
+     * 获取被包装的编码
+     *
+     * @return 返回被包装的编码
+     */
+    public ValueCodec getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * 获取压缩次数
+     *
+     * @return 返回压缩次数
+     */
+    public static long getCompressed() {
+        return COMPRESSED.sum();
+    }
+
+    /**
+     * 获取跳过压缩的次数
+     *
+     * @return 返回跳过压缩的次数
+     */
+    public static long getSkipped() {
+        return SKIPPED.sum();
+    }
+
+    /**
+     * 获取压缩前字节数
+     *
+     * @return 返回压缩前字节数
+     */
+    public static long getRawBytes() {
+        return RAW_BYTES.sum();
+    }
+
+    /**
+     * 获取压缩后字节数
+     *
+     * @return 返回压缩后字节数
+     */
+    public static long getCompressedBytes() {
+        return COMPRESSED_BYTES.sum();
+    }
+
+    /**
+     * 获取压缩率(压缩前字节数 / 压缩后字节数)
+     *
+     * @return 返回压缩率, 未压缩过时返回0
+     */
+    public static double getCompressionRatio() {
+        long compressed = COMPRESSED_BYTES.sum();
+        return compressed == 0 ? 0D : (double) RAW_BYTES.sum() / compressed;
+    }
+
+    /**
+     * 获取压缩耗时(包含压缩无收益的尝试)
+     *
+     * @param unit 时间单位
+     * @return 返回压缩耗时
+     */
+    public static double getCompressTime(TimeUnit unit) {
+        return (double) COMPRESS_NANOS.sum() / unit.toNanos(1);
+    }
+
+    /**
+     * 获取压缩尝试次数
+     *
+     * @return 返回压缩尝试次数
+     */
+    public static long getCompressAttempts() {
+        return COMPRESSED.sum() + SKIPPED.sum();
+    }
+
+    /**
+     * 获取解压次数
+     *
+     * @return 返回解压次数
+     */
+    public static long getDecompressed() {
+        return DECOMPRESSED.sum();
+    }
+
+    /**
+     * 获取解压耗时
+     *
+     * @param unit 时间单位
+     * @return 返回解压耗时
+     */
+    public static double getDecompressTime(TimeUnit unit) {
+        return (double) DECOMPRESS_NANOS.sum() / unit.toNanos(1);
+    }
+
+    /**
+     * 解压(没有压缩标记时原样返回)
+     *
+     * @param bytes 字节数组
+     * @return 返回原始字节
+     */
+    private static byte[] decompress(byte[] bytes) {
+        if (bytes.length <= HEADER_LENGTH) {
+            return bytes;
+        }
+        Compressor compressor = Compressors.forMarker(bytes[0]);
+        if (compressor == null) {
+            return bytes;
+        }
+        int originalLength = (bytes[1] & 0xFF) << 24 | (bytes[2] & 0xFF) << 16 | (bytes[3] & 0xFF) << 8 | (bytes[4] & 0xFF);
+        long begin = System.nanoTime();
+        byte[] result = compressor.decompress(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, originalLength);
+        DECOMPRESS_NANOS.add(System.nanoTime() - begin);
+        DECOMPRESSED.increment();
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package com.naah69.core.codec;
+
+/**
+ * 压缩算法
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+interface Compressor {
+
+    /**
+     * 获取算法名称
+     *
+     * @return 返回算法名称
+     */
+    String name();
+
+    /**
+     * 获取头部标记(写在压缩值的第一个字节)
+     *
+     * @return 返回头部标记
+     */
+    byte marker();
+
+    /**
+     * 压缩
+     *
+     * @param src 原始字节
+     * @return 返回压缩字节
+     */
+    byte[] compress(byte[] src);
+
+    /**
+     * 解压
+     *
+     * @param src            压缩字节
+     * @param offset         起始位置
+     * @param length         长度
+     * @param originalLength 原始长度
+     * @return 返回原始字节
+     */
+    byte[] decompress(byte[] src, int offset, int length, int originalLength);
+}
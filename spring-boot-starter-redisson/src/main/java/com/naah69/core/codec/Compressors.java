@@ -0,0 +1,209 @@
+package com.naah69.core.codec;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩算法注册表
+ * 内置deflate, 以及引入对应依赖后可用的lz4(org.lz4:lz4-java)与zstd(com.github.luben:zstd-jni);
+ * 头部标记取0xFC-0xFE, 内置值编码的输出不会以这些字节开头
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class Compressors {
+    /**
+     * 不压缩
+     */
+    static final String NONE = "none";
+    /**
+     * 压缩算法(按头部标记寻址, 标记 - 0xFC)
+     */
+    private static final Compressor[] COMPRESSORS = new Compressor[3];
+
+    static {
+        ClassLoader classLoader = Compressors.class.getClassLoader();
+        COMPRESSORS[0] = new DeflateCompressor();
+        if (ClassUtils.isPresent("net.jpountz.lz4.LZ4Factory", classLoader)) {
+            COMPRESSORS[1] = new Lz4Compressor();
+        }
+        if (ClassUtils.isPresent("com.github.luben.zstd.Zstd", classLoader)) {
+            COMPRESSORS[2] = new ZstdCompressor();
+        }
+    }
+
+    private Compressors() {
+    }
+
+    /**
+     * 获取压缩算法
+     *
+     * @param name 算法名称(deflate, lz4, zstd)
+     * @return 返回压缩算法
+     */
+    static Compressor get(String name) {
+        for (Compressor compressor : COMPRESSORS) {
+            if (compressor != null && compressor.name().equals(name.toLowerCase(Locale.ROOT))) {
+                return compressor;
+            }
+        }
+        throw new IllegalArgumentException("unknown or unavailable redis value compression: " + name);
+    }
+
+    /**
+     * 按头部标记获取压缩算法
+     *
+     * @param marker 头部标记
+     * @return 返回压缩算法, 不是压缩标记时返回null
+     */
+    static Compressor forMarker(byte marker) {
+        int index = (marker & 0xFF) - 0xFC;
+        if (index < 0 || index >= COMPRESSORS.length) {
+            return null;
+        }
+        Compressor compressor = COMPRESSORS[index];
+        if (compressor == null) {
+            throw new IllegalStateException("redis value is compressed with an algorithm that is not on the classpath, marker: " + (marker & 0xFF));
+        }
+        return compressor;
+    }
+
+    /**
+     * deflate压缩(jdk内置)
+     */
+    static final class DeflateCompressor implements Compressor {
+
+        @Override
+        public String name() {
+            return "deflate";
+        }
+
+        @Override
+        public byte marker() {
+            return (byte) 0xFC;
+        }
+
+        @Override
+        public byte[] compress(byte[] src) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(src);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(src.length / 2 + 16);
+                byte[] buffer = new byte[4096];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(byte[] src, int offset, int length, int originalLength) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(src, offset, length);
+                byte[] dest = new byte[originalLength];
+                int read = 0;
+                while (read < originalLength && !inflater.finished()) {
+                    int count = inflater.inflate(dest, read, originalLength - read);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += count;
+                }
+                if (read != originalLength) {
+                    throw new IllegalStateException("truncated deflate value, expected " + originalLength + " bytes but got " + read);
+                }
+                return dest;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("corrupted deflate value", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * lz4压缩
+     */
+    static final class Lz4Compressor implements Compressor {
+        /**
+         * 压缩器
+         */
+        private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+        /**
+         * 解压器
+         */
+        private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+        @Override
+        public String name() {
+            return "lz4";
+        }
+
+        @Override
+        public byte marker() {
+            return (byte) 0xFD;
+        }
+
+        @Override
+        public byte[] compress(byte[] src) {
+            return this.compressor.compress(src);
+        }
+
+        @Override
+        public byte[] decompress(byte[] src, int offset, int length, int originalLength) {
+            byte[] dest = new byte[originalLength];
+            this.decompressor.decompress(src, offset, dest, 0, originalLength);
+            return dest;
+        }
+    }
+
+    /**
+     * zstd压缩
+     */
+    static final class ZstdCompressor implements Compressor {
+        /**
+         * 压缩级别(偏向速度)
+         */
+        private static final int LEVEL = 3;
+
+        @Override
+        public String name() {
+            return "zstd";
+        }
+
+        @Override
+        public byte marker() {
+            return (byte) 0xFE;
+        }
+
+        @Override
+        public byte[] compress(byte[] src) {
+            return Zstd.compress(src, LEVEL);
+        }
+
+        @Override
+        public byte[] decompress(byte[] src, int offset, int length, int originalLength) {
+            byte[] dest = new byte[originalLength];
+            long size = Zstd.decompressByteArray(dest, 0, originalLength, src, offset, length);
+            if (Zstd.isError(size)) {
+                throw new IllegalStateException("corrupted zstd value: " + Zstd.getErrorName(size));
+            }
+            return dest;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.naah69.core.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.support.config.FastJsonConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * fastjson编码(默认编码, 与FastJsonRedisSerializer的存储格式一致)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class FastJsonValueCodec implements ValueCodec {
+    /**
+     * 编码名称
+     */
+    static final String NAME = "fastjson";
+    /**
+     * fastjson配置
+     */
+    private final FastJsonConfig config = new FastJsonConfig();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return JSON.toJSONBytes(
+                this.config.getCharset(),
+                value,
+                this.config.getSerializeConfig(),
+                this.config.getSerializeFilters(),
+                this.config.getDateFormat(),
+                JSON.DEFAULT_GENERATE_FEATURE,
+                this.config.getSerializerFeatures()
+        );
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return this.decode(bytes, Object.class);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return JSON.parseObject(
+                bytes,
+                this.config.getCharset(),
+                type,
+                this.config.getParserConfig(),
+                this.config.getParseProcess(),
+                JSON.DEFAULT_PARSER_FEATURE,
+                this.config.getFeatures()
+        );
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        JSON.writeJSONString(
+                out,
+                this.config.getCharset(),
+                value,
+                this.config.getSerializeConfig(),
+                this.config.getSerializeFilters(),
+                this.config.getDateFormat(),
+                JSON.DEFAULT_GENERATE_FEATURE,
+                this.config.getSerializerFeatures()
+        );
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Class<T> type) throws IOException {
+        // fastjson的流式解析按倍数扩容读缓冲, 大值分配更多; 流长度已知时(如网络缓冲)一次读入等长数组后解析
+        byte[] bytes = new byte[Math.max(in.available(), 0)];
+        int read = 0;
+        int count;
+        while (read < bytes.length && (count = in.read(bytes, read, bytes.length - read)) >= 0) {
+            read += count;
+        }
+        if (read < bytes.length) {
+            bytes = Arrays.copyOf(bytes, read);
+        } else {
+            int next = in.read();
+            if (next >= 0) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(read << 1, StreamUtils.BUFFER_SIZE));
+                out.write(bytes, 0, read);
+                out.write(next);
+                StreamUtils.copy(in, out);
+                bytes = out.toByteArray();
+            }
+        }
+        return this.decode(bytes, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object value, Class<T> type) {
+        if (value == null || type.isInstance(value)) {
+            return (T) value;
+        }
+        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : TypeUtils.cast(value, type, this.config.getParserConfig());
+    }
+}
@@ -0,0 +1,91 @@
+package com.naah69.core.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * jackson二进制编码(smile或cbor, 与fastjson相同不写入类型信息, 按读取类型直接解码;
+ * 需引入com.fasterxml.jackson.dataformat:jackson-dataformat-smile或jackson-dataformat-cbor)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class JacksonBinaryValueCodec implements ValueCodec {
+    /**
+     * 编码名称
+     */
+    private final String name;
+    /**
+     * 对象映射
+     */
+    private final ObjectMapper mapper;
+
+    /**
+     * jackson二进制编码构造
+     *
+     * @param name         编码名称
+     * @param factoryClass 格式工厂类名(按类名加载, 未引入的格式不影响其他编码)
+     */
+    JacksonBinaryValueCodec(String name, String factoryClass) {
+        JsonFactory factory = (JsonFactory) BeanUtils.instantiateClass(ClassUtils.resolveClassName(factoryClass, JacksonBinaryValueCodec.class.getClassLoader()));
+        this.name = name;
+        // 流由调用方管理, 读写后不关闭
+        factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.mapper = new ObjectMapper(factory).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return this.mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return this.decode(bytes, Object.class);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        try {
+            return this.mapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        this.mapper.writeValue(out, value);
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Class<T> type) throws IOException {
+        return this.mapper.readValue(in, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object value, Class<T> type) {
+        return value == null || type.isInstance(value) ? (T) value : this.mapper.convertValue(value, type);
+    }
+}
@@ -0,0 +1,60 @@
+package com.naah69.core.codec;
+
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * jdk序列化编码(值需实现Serializable)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class JdkValueCodec implements ValueCodec {
+    /**
+     * 编码名称
+     */
+    static final String NAME = "jdk";
+    /**
+     * jdk序列化器
+     */
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+    /**
+     * 流序列化器(与jdk序列化器格式一致)
+     */
+    private final DefaultSerializer streamSerializer = new DefaultSerializer();
+    /**
+     * 流反序列化器(与jdk序列化器格式一致)
+     */
+    private final DefaultDeserializer streamDeserializer = new DefaultDeserializer();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return this.serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return this.serializer.deserialize(bytes);
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        this.streamSerializer.serialize(value, out);
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Class<T> type) throws IOException {
+        return this.convert(this.streamDeserializer.deserialize(in), type);
+    }
+}
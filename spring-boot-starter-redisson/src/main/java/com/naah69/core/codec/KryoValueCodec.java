@@ -0,0 +1,89 @@
+package com.naah69.core.codec;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CollectionSerializer;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * kryo编码(写入类型信息, 无需注册类; 需引入com.esotericsoftware:kryo)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class KryoValueCodec implements ValueCodec {
+    /**
+     * 编码名称
+     */
+    static final String NAME = "kryo";
+    /**
+     * 输出缓冲初始大小
+     */
+    private static final int BUFFER_SIZE = 256;
+    /**
+     * 流缓冲大小
+     */
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    /**
+     * kryo实例(非线程安全, 每个线程一个)
+     */
+    private static final ThreadLocal<Kryo> KRYO = ThreadLocal.withInitial(KryoValueCodec::newKryo);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        Output output = new Output(BUFFER_SIZE, -1);
+        KRYO.get().writeClassAndObject(output, value);
+        return output.toBytes();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return KRYO.get().readClassAndObject(new Input(bytes));
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) {
+        Output output = new Output(out, STREAM_BUFFER_SIZE);
+        KRYO.get().writeClassAndObject(output, value);
+        output.flush();
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Class<T> type) {
+        return this.convert(KRYO.get().readClassAndObject(new Input(in, STREAM_BUFFER_SIZE)), type);
+    }
+
+    /**
+     * 创建kryo实例
+     *
+     * @return 返回kryo实例
+     */
+    private static Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(false);
+        // 优先使用无参构造, 没有时跳过构造创建实例
+        kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        // Arrays.asList的结果不支持add, 读取为ArrayList
+        kryo.addDefaultSerializer(Arrays.asList().getClass(), new CollectionSerializer() {
+            @Override
+            protected Collection create(Kryo kryo, Input input, Class<Collection> type) {
+                return new ArrayList<>();
+            }
+        });
+        return kryo;
+    }
+}
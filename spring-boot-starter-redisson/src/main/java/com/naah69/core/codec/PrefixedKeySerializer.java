@@ -0,0 +1,199 @@
+package com.naah69.core.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 命名空间键序列化器
+ * 前缀字节只编码一次, 序列化时与键的utf-8字节直接拼接到同一数组; 反序列化时去除前缀, 键的读写对调用方透明;
+ * 可选的编码键缓存保存热点键的序列化结果(超出容量时新键不再缓存), 返回的数组在调用方之间共享, 不可修改
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class PrefixedKeySerializer implements RedisSerializer<String> {
+    /**
+     * 已创建的序列化器(同一前缀与缓存容量共享实例)
+     */
+    private static final ConcurrentMap<String, PrefixedKeySerializer> SERIALIZERS = new ConcurrentHashMap<>(16);
+    /**
+     * 编码键缓存命中次数
+     */
+    private static final LongAdder HITS = new LongAdder();
+    /**
+     * 编码键缓存未命中次数
+     */
+    private static final LongAdder MISSES = new LongAdder();
+    /**
+     * 前缀
+     */
+    private final String prefix;
+    /**
+     * 前缀字节
+     */
+    private final byte[] prefixBytes;
+    /**
+     * 编码键缓存容量
+     */
+    private final int cacheSize;
+    /**
+     * 编码键缓存(容量为0时为null)
+     */
+    private final ConcurrentMap<String, byte[]> cache;
+
+    /**
+     * 命名空间键序列化器构造
+     *
+     * @param prefix    前缀
+     * @param cacheSize 编码键缓存容量(0为不缓存)
+     */
+    public PrefixedKeySerializer(String prefix, int cacheSize) {
+        this.prefix = prefix == null ? "" : prefix;
+        this.prefixBytes = this.prefix.getBytes(StandardCharsets.UTF_8);
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize > 0 ? new ConcurrentHashMap<>(Math.min(cacheSize, 1024)) : null;
+    }
+
+    /**
+     * 获取键序列化器(没有前缀且不缓存时返回字符串序列化器)
+     *
+     * @param prefix    前缀
+     * @param cacheSize 编码键缓存容量(0为不缓存)
+     * @return 返回键序列化器
+     */
+    public static RedisSerializer<String> of(String prefix, int cacheSize) {
+        if ((prefix == null || prefix.isEmpty()) && cacheSize <= 0) {
+            return RedisSerializer.string();
+        }
+        String key = (prefix == null ? "" : prefix) + "@" + cacheSize;
+        PrefixedKeySerializer serializer = SERIALIZERS.get(key);
+        if (serializer != null) {
+            return serializer;
+        }
+        return SERIALIZERS.computeIfAbsent(key, k -> new PrefixedKeySerializer(prefix, cacheSize));
+    }
+
+    /**
+     * 获取键序列化器的前缀
+     *
+     * @param serializer 键序列化器
+     * @return 返回前缀, 非命名空间键序列化器时返回空字符串
+     */
+    public static String prefixOf(RedisSerializer<?> serializer) {
+        return serializer instanceof PrefixedKeySerializer ? ((PrefixedKeySerializer) serializer).prefix : "";
+    }
+
+    @Override
+    public byte[] serialize(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (this.cache == null) {
+            return this.encode(key);
+        }
+        byte[] bytes = this.cache.get(key);
+        if (bytes != null) {
+            HITS.increment();
+            return bytes;
+        }
+        MISSES.increment();
+        bytes = this.encode(key);
+        if (this.cache.size() < this.cacheSize) {
+            this.cache.putIfAbsent(key, bytes);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        int length = this.prefixBytes.length;
+        if (bytes.length < length || !this.startsWithPrefix(bytes)) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, length, bytes.length - length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取前缀
+     *
+     * @return 返回前缀
+     */
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * 获取编码键缓存数量
+     *
+     * @return 返回编码键缓存数量
+     */
+    public int getCachedKeys() {
+        return this.cache == null ? 0 : this.cache.size();
+    }
+
+    /**
+     * 获取编码键缓存命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * 获取编码键缓存未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * 编码键(ascii键逐字节写入, 其余按utf-8编码后拼接)
+     *
+     * @param key 键
+     * @return 返回前缀与键的字节数组
+     */
+    private byte[] encode(String key) {
+        int prefixLength = this.prefixBytes.length;
+        int length = key.length();
+        byte[] bytes = new byte[prefixLength + length];
+        System.arraycopy(this.prefixBytes, 0, bytes, 0, prefixLength);
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+                byte[] result = new byte[prefixLength + encoded.length];
+                System.arraycopy(this.prefixBytes, 0, result, 0, prefixLength);
+                System.arraycopy(encoded, 0, result, prefixLength, encoded.length);
+                return result;
+            }
+            bytes[prefixLength + i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    /**
+     * 是否以前缀开头
+     *
+     * @param bytes 字节数组
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    private boolean startsWithPrefix(byte[] bytes) {
+        for (int i = 0; i < this.prefixBytes.length; i++) {
+            if (bytes[i] != this.prefixBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
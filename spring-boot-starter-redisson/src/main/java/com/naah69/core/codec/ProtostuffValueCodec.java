@@ -0,0 +1,97 @@
+package com.naah69.core.codec;
+
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtostuffIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.RuntimeSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * protostuff编码(值包装后写入类型信息; 需引入io.protostuff:protostuff-core与protostuff-runtime)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class ProtostuffValueCodec implements ValueCodec {
+    /**
+     * 编码名称
+     */
+    static final String NAME = "protostuff";
+    /**
+     * 缓冲大小
+     */
+    private static final int BUFFER_SIZE = 512;
+    /**
+     * 包装结构
+     */
+    private static final Schema<Holder> SCHEMA = RuntimeSchema.getSchema(Holder.class);
+    /**
+     * 缓冲(每个线程一个)
+     */
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(BUFFER_SIZE));
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        LinkedBuffer buffer = BUFFER.get();
+        try {
+            return ProtostuffIOUtil.toByteArray(new Holder(value), SCHEMA, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        Holder holder = SCHEMA.newMessage();
+        ProtostuffIOUtil.mergeFrom(bytes, holder, SCHEMA);
+        return holder.value;
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        LinkedBuffer buffer = BUFFER.get();
+        try {
+            ProtostuffIOUtil.writeTo(out, new Holder(value), SCHEMA, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Class<T> type) throws IOException {
+        LinkedBuffer buffer = BUFFER.get();
+        Holder holder = SCHEMA.newMessage();
+        try {
+            ProtostuffIOUtil.mergeFrom(in, holder, SCHEMA, buffer);
+        } finally {
+            buffer.clear();
+        }
+        return this.convert(holder.value, type);
+    }
+
+    /**
+     * 值包装(动态类型字段会写入类名, 解码时无需指定类型)
+     */
+    static final class Holder {
+        /**
+         * 值
+         */
+        private Object value;
+
+        Holder() {
+        }
+
+        Holder(Object value) {
+            this.value = value;
+        }
+    }
+}
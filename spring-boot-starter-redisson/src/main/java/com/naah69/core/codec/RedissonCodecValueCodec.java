@@ -0,0 +1,74 @@
+package com.naah69.core.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * redisson编码的值编码适配(对象模板按redisson编码读写)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class RedissonCodecValueCodec implements ValueCodec {
+    /**
+     * redisson编码
+     */
+    private final Codec codec;
+
+    /**
+     * redisson编码的值编码适配构造
+     *
+     * @param codec redisson编码
+     */
+    public RedissonCodecValueCodec(Codec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public String name() {
+        return "redisson:" + this.codec.getClass().getSimpleName();
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        ByteBuf buf;
+        try {
+            buf = this.codec.getValueEncoder().encode(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        try {
+            return this.codec.getValueDecoder().decode(buf, new State());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 获取redisson编码
+     *
+     * @return 返回redisson编码
+     */
+    public Codec getCodec() {
+        return this.codec;
+    }
+}
@@ -0,0 +1,90 @@
+package com.naah69.core.codec;
+
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 值编码
+ * 自定义编码实现该接口, 并在META-INF/services/com.naah69.core.codec.ValueCodec中声明, 即可通过名称选用;
+ * 流式编解码默认经由字节数组, 支持流的编码可覆盖, 大值读写时免去中间数组
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public interface ValueCodec {
+
+    /**
+     * 获取编码名称
+     *
+     * @return 返回编码名称
+     */
+    String name();
+
+    /**
+     * 编码
+     *
+     * @param value 值
+     * @return 返回字节数组
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码
+     *
+     * @param bytes 字节数组
+     * @return 返回值
+     */
+    Object decode(byte[] bytes);
+
+    /**
+     * 解码为指定类型(无类型信息的编码应直接解码为目标类型, 避免二次转换)
+     *
+     * @param bytes 字节数组
+     * @param type  类型
+     * @param <T>   返回类型
+     * @return 返回指定类型的值
+     */
+    default <T> T decode(byte[] bytes, Class<T> type) {
+        return this.convert(this.decode(bytes), type);
+    }
+
+    /**
+     * 转换为指定类型(用于已解码的值)
+     *
+     * @param value 值
+     * @param type  类型
+     * @param <T>   返回类型
+     * @return 返回指定类型的值
+     */
+    default <T> T convert(Object value, Class<T> type) {
+        return type.cast(value);
+    }
+
+    /**
+     * 编码到输出流
+     *
+     * @param value 值
+     * @param out   输出流
+     * @throws IOException 写入异常
+     */
+    default void encode(Object value, OutputStream out) throws IOException {
+        out.write(this.encode(value));
+    }
+
+    /**
+     * 从输入流解码为指定类型(读取到流结束)
+     *
+     * @param in   输入流
+     * @param type 类型
+     * @param <T>  返回类型
+     * @return 返回指定类型的值
+     * @throws IOException 读取异常
+     */
+    default <T> T decode(InputStream in, Class<T> type) throws IOException {
+        return this.decode(StreamUtils.copyToByteArray(in), type);
+    }
+}
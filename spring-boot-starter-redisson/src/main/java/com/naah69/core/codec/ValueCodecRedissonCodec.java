@@ -0,0 +1,125 @@
+package com.naah69.core.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+
+/**
+ * 值编码的redisson编码适配
+ * redisson对象的值与字典值按值编码读写, 字典键按字符串读写(与对象模板的hash键一致), 与助手写入的数据可互相读取;
+ * 值直接编码到池化的直接内存缓冲, 并从网络缓冲直接解码, 不经过中间字节数组(值编码支持流式编解码时)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class ValueCodecRedissonCodec extends BaseCodec {
+    /**
+     * 值编码
+     */
+    private final ValueCodec codec;
+    /**
+     * 解码类型
+     */
+    private final Class<?> type;
+    /**
+     * 值编码器
+     */
+    private final Encoder encoder;
+    /**
+     * 值解码器
+     */
+    private final Decoder<Object> decoder;
+
+    /**
+     * 值编码的redisson编码适配构造
+     *
+     * @param codec 值编码
+     */
+    public ValueCodecRedissonCodec(ValueCodec codec) {
+        this(codec, Object.class);
+    }
+
+    /**
+     * 值编码的redisson编码适配构造
+     *
+     * @param codec 值编码
+     * @param type  解码类型(值直接解码为该类型)
+     */
+    public ValueCodecRedissonCodec(ValueCodec codec, Class<?> type) {
+        this.codec = codec;
+        this.type = type;
+        this.encoder = value -> {
+            ByteBuf out = ByteBufAllocator.DEFAULT.directBuffer();
+            try {
+                codec.encode(value, new ByteBufOutputStream(out));
+            } catch (IOException | RuntimeException e) {
+                out.release();
+                throw e;
+            }
+            return out;
+        };
+        this.decoder = (buf, state) -> codec.decode(new ByteBufInputStream(buf), type);
+    }
+
+    /**
+     * 值编码的redisson编码适配构造(供BaseCodec.copy使用)
+     *
+     * @param classLoader 类加载器
+     * @param codec       redisson编码适配
+     */
+    public ValueCodecRedissonCodec(ClassLoader classLoader, ValueCodecRedissonCodec codec) {
+        this(codec.codec, codec.type);
+    }
+
+    /**
+     * 获取指定解码类型的编码适配(值编码相同, 可读取本适配写入的数据)
+     *
+     * @param type 解码类型
+     * @return 返回编码适配
+     */
+    public ValueCodecRedissonCodec forType(Class<?> type) {
+        return this.type == type ? this : new ValueCodecRedissonCodec(this.codec, type);
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return this.decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return this.encoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return StringCodec.INSTANCE.getValueDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return StringCodec.INSTANCE.getValueEncoder();
+    }
+
+    /**
+     * 获取值编码
+     *
+     * @return 返回值编码
+     */
+    public ValueCodec getCodec() {
+        return this.codec;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " [" + this.codec.name() + "]";
+    }
+}
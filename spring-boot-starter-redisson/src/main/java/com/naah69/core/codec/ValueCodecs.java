@@ -0,0 +1,188 @@
+package com.naah69.core.codec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 值编码注册表
+ * 内置fastjson(默认)、jdk, 以及引入对应依赖后可用的kryo、protostuff、smile、cbor;
+ * 其余编码通过ServiceLoader(META-INF/services/com.naah69.core.codec.ValueCodec)或register注册
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ValueCodecs {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValueCodecs.class);
+    /**
+     * 默认编码名称
+     */
+    public static final String DEFAULT = FastJsonValueCodec.NAME;
+    /**
+     * 已注册的编码
+     */
+    private static final ConcurrentMap<String, ValueCodec> CODECS = new ConcurrentHashMap<>(16);
+    /**
+     * 序列化器(每种编码一个)
+     */
+    private static final ConcurrentMap<String, CodecRedisSerializer> SERIALIZERS = new ConcurrentHashMap<>(16);
+
+    static {
+        ClassLoader classLoader = ValueCodecs.class.getClassLoader();
+        register(new FastJsonValueCodec());
+        register(new JdkValueCodec());
+        if (ClassUtils.isPresent("com.esotericsoftware.kryo.Kryo", classLoader)) {
+            register(new KryoValueCodec());
+        }
+        if (ClassUtils.isPresent("io.protostuff.runtime.RuntimeSchema", classLoader)) {
+            register(new ProtostuffValueCodec());
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", classLoader)) {
+            register(new JacksonBinaryValueCodec("smile", "com.fasterxml.jackson.dataformat.smile.SmileFactory"));
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", classLoader)) {
+            register(new JacksonBinaryValueCodec("cbor", "com.fasterxml.jackson.dataformat.cbor.CBORFactory"));
+        }
+        for (ValueCodec codec : ServiceLoader.load(ValueCodec.class, classLoader)) {
+            register(codec);
+        }
+    }
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * 注册编码(同名编码将被替换)
+     *
+     * @param codec 编码
+     */
+    public static void register(ValueCodec codec) {
+        ValueCodec previous = CODECS.put(codec.name(), codec);
+        SERIALIZERS.keySet().removeIf(key -> key.equals(codec.name()) || key.startsWith(codec.name() + "+"));
+        if (previous != null) {
+            LOGGER.debug("redis value codec {} replaced by {}", codec.name(), codec.getClass().getName());
+        }
+    }
+
+    /**
+     * 获取编码
+     *
+     * @param name 编码名称
+     * @return 返回编码
+     */
+    public static ValueCodec get(String name) {
+        ValueCodec codec = CODECS.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("unknown redis value codec: " + name + ", available: " + names());
+        }
+        return codec;
+    }
+
+    /**
+     * 获取编码序列化器
+     *
+     * @param name 编码名称
+     * @return 返回序列化器
+     */
+    public static RedisSerializer<Object> serializer(String name) {
+        CodecRedisSerializer serializer = SERIALIZERS.get(name);
+        if (serializer != null) {
+            return serializer;
+        }
+        return SERIALIZERS.computeIfAbsent(name, key -> new CodecRedisSerializer(get(key)));
+    }
+
+    /**
+     * 获取压缩编码序列化器
+     *
+     * @param name        编码名称
+     * @param compression 压缩算法(none, deflate, lz4, zstd)
+     * @param threshold   压缩阈值(字节)
+     * @return 返回序列化器
+     */
+    public static RedisSerializer<Object> serializer(String name, String compression, int threshold) {
+        if (isNone(compression)) {
+            return serializer(name);
+        }
+        String key = name + "+" + compression + "@" + threshold;
+        CodecRedisSerializer serializer = SERIALIZERS.get(key);
+        if (serializer != null) {
+            return serializer;
+        }
+        return SERIALIZERS.computeIfAbsent(key, k -> new CodecRedisSerializer(codec(name, compression, threshold)));
+    }
+
+    /**
+     * 获取编码(配置了压缩算法时包装为压缩编码)
+     *
+     * @param name        编码名称
+     * @param compression 压缩算法(none, deflate, lz4, zstd)
+     * @param threshold   压缩阈值(字节)
+     * @return 返回编码
+     */
+    public static ValueCodec codec(String name, String compression, int threshold) {
+        ValueCodec codec = get(name);
+        return isNone(compression) ? codec : new CompressingValueCodec(codec, compression, threshold);
+    }
+
+    /**
+     * 获取序列化器使用的值编码(非编码序列化器时按字节数组适配)
+     *
+     * @param serializer 序列化器
+     * @return 返回值编码
+     */
+    @SuppressWarnings("unchecked")
+    public static ValueCodec of(RedisSerializer<?> serializer) {
+        if (serializer instanceof CodecRedisSerializer) {
+            return ((CodecRedisSerializer) serializer).getCodec();
+        }
+        RedisSerializer<Object> objectSerializer = (RedisSerializer<Object>) serializer;
+        return new ValueCodec() {
+            @Override
+            public String name() {
+                return "serializer:" + serializer.getClass().getSimpleName();
+            }
+
+            @Override
+            public byte[] encode(Object value) {
+                return objectSerializer.serialize(value);
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return objectSerializer.deserialize(bytes);
+            }
+        };
+    }
+
+    /**
+     * 获取已注册的编码名称
+     *
+     * @return 返回编码名称
+     */
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(new TreeSet<>(CODECS.keySet()));
+    }
+
+    /**
+     * 是否不压缩
+     *
+     * @param compression 压缩算法
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    private static boolean isNone(String compression) {
+        return compression == null || Compressors.NONE.equalsIgnoreCase(compression);
+    }
+}
@@ -0,0 +1,21 @@
+package com.naah69.core.config;
+
+import com.naah69.core.handler.CounterAggregator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+
+/**
+ * 计数聚合关闭监听器
+ * 容器关闭时(连接工厂销毁前)刷新本地累加的增量
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class CounterAggregationShutdownListener implements ApplicationListener<ContextClosedEvent> {
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        CounterAggregator.closeAll();
+    }
+}
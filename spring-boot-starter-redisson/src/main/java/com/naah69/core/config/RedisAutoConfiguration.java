@@ -1,16 +1,40 @@
 package com.naah69.core.config;
 
-import com.alibaba.fastjson.support.spring.FastJsonRedisSerializer;
+import com.naah69.core.cache.BatchCacheable;
+import com.naah69.core.cache.BatchCacheableInterceptor;
+import com.naah69.core.cache.RedisHandlerCacheManager;
+import com.naah69.core.codec.CodecRedisSerializer;
+import com.naah69.core.codec.PrefixedKeySerializer;
+import com.naah69.core.codec.RedissonCodecValueCodec;
+import com.naah69.core.codec.ValueCodecRedissonCodec;
+import com.naah69.core.codec.ValueCodecs;
 import com.naah69.core.config.redisson.RedissonAutoConfiguration;
 import com.naah69.core.util.ApplicationContextUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.client.codec.Codec;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
@@ -21,6 +45,7 @@ import org.springframework.data.redis.serializer.RedisSerializer;
  */
 @Configuration
 @ConditionalOnClass({RedisTemplate.class})
+@EnableConfigurationProperties({RedisHandlerProperties.class})
 @Import({
         ApplicationContextUtil.class,
         RedissonAutoConfiguration.class
@@ -29,22 +54,157 @@ public class RedisAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean({RedisTemplate.class})
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
-        FastJsonRedisSerializer<Object> fastJsonRedisSerializer = new FastJsonRedisSerializer<>(Object.class);
+    public RedisTemplate<String, Object> redisTemplate(
+            RedisConnectionFactory redisConnectionFactory,
+            RedisHandlerProperties properties,
+            ObjectProvider<Codec> redissonCodec
+    ) {
+        RedisSerializer<Object> valueSerializer = valueSerializer(properties, redissonCodec);
         RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setKeySerializer(RedisSerializer.string());
-        template.setValueSerializer(fastJsonRedisSerializer);
+        template.setKeySerializer(keySerializer(properties));
+        template.setValueSerializer(valueSerializer);
         template.setHashKeySerializer(RedisSerializer.string());
-        template.setHashValueSerializer(fastJsonRedisSerializer);
+        template.setHashValueSerializer(valueSerializer);
         template.setConnectionFactory(redisConnectionFactory);
         return template;
     }
 
     @Bean
     @ConditionalOnMissingBean({StringRedisTemplate.class})
-    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory, RedisHandlerProperties properties) {
         StringRedisTemplate template = new StringRedisTemplate();
+        template.setKeySerializer(keySerializer(properties));
         template.setConnectionFactory(redisConnectionFactory);
         return template;
     }
+
+    @Bean
+    @ConditionalOnBean({ReactiveRedisConnectionFactory.class})
+    @ConditionalOnMissingBean(name = "reactiveRedisTemplate")
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+            RedisHandlerProperties properties,
+            ObjectProvider<Codec> redissonCodec
+    ) {
+        RedisSerializer<Object> valueSerializer = valueSerializer(properties, redissonCodec);
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext()
+                .key(keySerializer(properties))
+                .value(valueSerializer)
+                .hashKey(RedisSerializer.string())
+                .hashValue(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+    }
+
+    @Bean
+    @ConditionalOnBean({ReactiveRedisConnectionFactory.class})
+    @ConditionalOnMissingBean(name = "reactiveStringRedisTemplate")
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(
+            ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+            RedisHandlerProperties properties
+    ) {
+        RedisSerializationContext<String, String> serializationContext = RedisSerializationContext
+                .<String, String>newSerializationContext(RedisSerializer.string())
+                .key(keySerializer(properties))
+                .build();
+        return new ReactiveStringRedisTemplate(reactiveRedisConnectionFactory, serializationContext);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.redis.handler", name = "report", havingValue = "true", matchIfMissing = true)
+    public RedisHandlerReportListener redisHandlerReportListener() {
+        return new RedisHandlerReportListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.redis.handler", name = "hold-detection", havingValue = "true")
+    public RedisConnectionHoldDetector redisConnectionHoldDetector(RedisHandlerProperties properties) {
+        return new RedisConnectionHoldDetector(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.redis.handler.number.aggregation", name = "enabled", havingValue = "true")
+    public CounterAggregationShutdownListener counterAggregationShutdownListener() {
+        return new CounterAggregationShutdownListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.redis.handler.script", name = "preload", havingValue = "true")
+    public ScriptPreloadListener scriptPreloadListener(RedisHandlerProperties properties) {
+        return new ScriptPreloadListener(properties);
+    }
+
+    /**
+     * 获取键序列化器(配置了命名空间或编码键缓存时添加前缀与缓存)
+     *
+     * @param properties 助手配置
+     * @return 返回键序列化器
+     */
+    private static RedisSerializer<String> keySerializer(RedisHandlerProperties properties) {
+        return PrefixedKeySerializer.of(properties.getNamespace().getPrefix(), properties.getNamespace().getKeyCacheSize());
+    }
+
+    /**
+     * 获取对象模板的值序列化器(统一编码时与redisson编码读写相同的数据)
+     *
+     * @param properties    助手配置
+     * @param redissonCodec redisson编码
+     * @return 返回值序列化器
+     */
+    private static RedisSerializer<Object> valueSerializer(RedisHandlerProperties properties, ObjectProvider<Codec> redissonCodec) {
+        Codec codec = properties.getCodec().isUnified() ? redissonCodec.getIfAvailable() : null;
+        if (codec instanceof ValueCodecRedissonCodec) {
+            return new CodecRedisSerializer(((ValueCodecRedissonCodec) codec).getCodec());
+        }
+        if (codec != null) {
+            return new CodecRedisSerializer(new RedissonCodecValueCodec(codec));
+        }
+        return ValueCodecs.serializer(
+                properties.getCodec().getName(),
+                properties.getCompression().getAlgorithm(),
+                (int) properties.getCompression().getThreshold().toBytes()
+        );
+    }
+
+    /**
+     * redis助手指标配置
+     */
+    @Configuration
+    @ConditionalOnClass({MeterRegistry.class})
+    static class RedisHandlerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean({RedisHandlerMetrics.class})
+        public RedisHandlerMetrics redisHandlerMetrics() {
+            return new RedisHandlerMetrics();
+        }
+    }
+
+    /**
+     * redis助手缓存配置
+     */
+    @Configuration
+    @ConditionalOnClass({CacheManager.class})
+    @ConditionalOnProperty(prefix = "spring.redis.handler.cache", name = "enabled", havingValue = "true")
+    static class RedisHandlerCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean({CacheManager.class})
+        public RedisHandlerCacheManager cacheManager(RedisHandlerProperties properties, RedisProperties redisProperties) {
+            return new RedisHandlerCacheManager(properties, redisProperties.getDatabase());
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public static Advisor batchCacheableAdvisor(ObjectProvider<CacheManager> cacheManager) {
+            // 延迟获取缓存管理器, 避免其因顾问提前创建而无法被代理
+            DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                    new AnnotationMatchingPointcut(null, BatchCacheable.class, true),
+                    new BatchCacheableInterceptor(cacheManager::getObject)
+            );
+            advisor.setOrder(0);
+            return advisor;
+        }
+    }
 }
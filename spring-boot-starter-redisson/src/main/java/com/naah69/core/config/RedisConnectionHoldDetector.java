@@ -0,0 +1,66 @@
+package com.naah69.core.config;
+
+import com.naah69.core.handler.ConnectionExecutor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis连接长时间占用检测器
+ * 定时检查助手通过连接执行器获取且尚未归还的连接, 单次占用超过阈值的连接输出获取堆栈;
+ * 执行器总会在回调结束后归还连接, 因此只能发现执行过慢或阻塞的回调, 不能发现执行器之外的连接泄漏
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedisConnectionHoldDetector implements InitializingBean, DisposableBean {
+
+    /**
+     * 最小检测间隔(ms)
+     */
+    private static final long MIN_INTERVAL = 1000L;
+    /**
+     * 检测阈值(ms)
+     */
+    private final long threshold;
+    /**
+     * 检测线程
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * 连接长时间占用检测器构造
+     *
+     * @param properties 助手配置
+     */
+    public RedisConnectionHoldDetector(RedisHandlerProperties properties) {
+        this.threshold = properties.getHoldDetectionThreshold().toMillis();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = Math.max(this.threshold / 2, MIN_INTERVAL);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-connection-hold-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(
+                () -> ConnectionExecutor.detectLongHolds(this.threshold),
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.naah69.core.config;
+
+import com.naah69.core.codec.CompressingValueCodec;
+import com.naah69.core.codec.PrefixedKeySerializer;
+import com.naah69.core.handler.ClusterFanout;
+import com.naah69.core.handler.ConnectionExecutor;
+import com.naah69.core.handler.CounterAggregator;
+import com.naah69.core.handler.EarlyRefresher;
+import com.naah69.core.handler.ExpiryPolicy;
+import com.naah69.core.handler.NearCache;
+import com.naah69.core.handler.ScriptCache;
+import com.naah69.core.handler.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis助手指标
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedisHandlerMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("redis.handler.connections.open", ConnectionExecutor.class, type -> ConnectionExecutor.getOpenConnections())
+                .description("redis connections currently held by handlers")
+                .register(registry);
+        Gauge.builder("redis.handler.connections.long.held", ConnectionExecutor.class, type -> ConnectionExecutor.getLongHeldConnections())
+                .description("redis connections held by handlers longer than the hold detection threshold")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.connections.acquired", ConnectionExecutor.class, type -> ConnectionExecutor.getAcquiredConnections())
+                .description("redis connections acquired by handlers")
+                .register(registry);
+        Gauge.builder("redis.handler.counter.pending", CounterAggregator.class, type -> CounterAggregator.getPendingIncrements())
+                .description("aggregated counter increments not yet flushed to redis")
+                .register(registry);
+        FunctionTimer.builder(
+                "redis.handler.counter.flush",
+                CounterAggregator.class,
+                type -> CounterAggregator.getFlushCount(),
+                type -> CounterAggregator.getFlushTime(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS
+        )
+                .description("pipelined flushes of aggregated counters")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.counter.flush.failures", CounterAggregator.class, type -> CounterAggregator.getFlushFailures())
+                .description("failed flushes of aggregated counters")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.nearcache.hits", NearCache.class, type -> NearCache.getHits())
+                .description("near cache lookups served locally")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.nearcache.misses", NearCache.class, type -> NearCache.getMisses())
+                .description("near cache lookups loaded from redis")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.nearcache.evictions", NearCache.class, type -> NearCache.getEvictions())
+                .description("near cache entries evicted by size limits or expiry")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.nearcache.invalidations", NearCache.class, type -> NearCache.getInvalidations())
+                .description("near cache keys invalidated by local writes or remote broadcasts")
+                .register(registry);
+        Gauge.builder("redis.handler.nearcache.entries", NearCache.class, type -> NearCache.getTotalSize())
+                .description("near cache entries currently held")
+                .register(registry);
+        Gauge.builder("redis.handler.nearcache.bytes", NearCache.class, type -> NearCache.getTotalBytes())
+                .description("estimated bytes currently held by the near cache")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.singleflight.executions", SingleFlight.class, type -> SingleFlight.getExecutions())
+                .description("coalesced reads and loads actually sent to redis or the loader")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.singleflight.coalesced", SingleFlight.class, type -> SingleFlight.getCoalesced())
+                .description("calls that waited for an in-flight read or load of the same key")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.refresh.reads", EarlyRefresher.class, type -> EarlyRefresher.getReads())
+                .description("reads through getOrRefreshAsObj")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.refresh.misses", EarlyRefresher.class, type -> EarlyRefresher.getMisses())
+                .description("getOrRefreshAsObj misses loaded by the caller")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.refresh.early", EarlyRefresher.class, type -> EarlyRefresher.getEarlyRefreshes())
+                .description("values refreshed in the background before expiry")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.refresh.failures", EarlyRefresher.class, type -> EarlyRefresher.getRefreshFailures())
+                .description("failed background refreshes")
+                .register(registry);
+        Gauge.builder("redis.handler.refresh.early.ratio", EarlyRefresher.class, type -> EarlyRefresher.getEarlyRefreshRatio())
+                .description("early refreshes per read")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.expiry.writes", ExpiryPolicy.class, type -> ExpiryPolicy.getWrites())
+                .description("timed writes passed through the expiry policy")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.expiry.jittered", ExpiryPolicy.class, type -> ExpiryPolicy.getJittered())
+                .description("timed writes whose expiry was jittered")
+                .register(registry);
+        Gauge.builder("redis.handler.expiry.scheduled.peak", ExpiryPolicy.class, type -> ExpiryPolicy.getPeakScheduledExpiries())
+                .description("most keys scheduled to expire within a single second over the histogram horizon")
+                .register(registry);
+        FunctionTimer.builder(
+                "redis.handler.compression.compress",
+                CompressingValueCodec.class,
+                type -> CompressingValueCodec.getCompressAttempts(),
+                type -> CompressingValueCodec.getCompressTime(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS
+        )
+                .description("values passed to the compressor, including attempts that did not pay off")
+                .register(registry);
+        FunctionTimer.builder(
+                "redis.handler.compression.decompress",
+                CompressingValueCodec.class,
+                type -> CompressingValueCodec.getDecompressed(),
+                type -> CompressingValueCodec.getDecompressTime(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS
+        )
+                .description("compressed values read back")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.compression.skipped", CompressingValueCodec.class, type -> CompressingValueCodec.getSkipped())
+                .description("values stored uncompressed because they were below the threshold or did not shrink")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.compression.bytes.in", CompressingValueCodec.class, type -> CompressingValueCodec.getRawBytes())
+                .description("bytes of values before compression")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.compression.bytes.out", CompressingValueCodec.class, type -> CompressingValueCodec.getCompressedBytes())
+                .description("bytes of compressed values including headers")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("redis.handler.compression.ratio", CompressingValueCodec.class, type -> CompressingValueCodec.getCompressionRatio())
+                .description("bytes before compression per byte stored")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.key.cache.hits", PrefixedKeySerializer.class, type -> PrefixedKeySerializer.getHits())
+                .description("keys served from the encoded key cache")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.key.cache.misses", PrefixedKeySerializer.class, type -> PrefixedKeySerializer.getMisses())
+                .description("keys encoded because they were not in the encoded key cache")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.script.hits", ScriptCache.class, type -> ScriptCache.getHits())
+                .description("scripts executed by EVALSHA without reloading")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.script.reloads", ScriptCache.class, type -> ScriptCache.getReloads())
+                .description("scripts loaded again after the server answered NOSCRIPT")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.script.compiles", ScriptCache.class, type -> ScriptCache.getCompiles())
+                .description("scripts compiled because they were not in the script cache")
+                .register(registry);
+        FunctionCounter.builder("redis.handler.script.preloads", ScriptCache.class, type -> ScriptCache.getPreloads())
+                .description("scripts loaded into masters at startup or after a node reconnected")
+                .register(registry);
+        Gauge.builder("redis.handler.script.cached", ScriptCache.class, type -> ScriptCache.getSize())
+                .description("compiled scripts held in the script cache")
+                .register(registry);
+        ClusterFanout.addNodeListener(node -> FunctionTimer.builder(
+                "redis.handler.cluster.fanout",
+                ClusterFanout.class,
+                type -> ClusterFanout.getRequests(node),
+                type -> ClusterFanout.getTime(node, TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS
+        )
+                .tag("node", node)
+                .description("round trips of multi-key commands split by slot, one per master and call")
+                .register(registry));
+    }
+}
@@ -0,0 +1,752 @@
+package com.naah69.core.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * redis助手配置类
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+@ConfigurationProperties(prefix = "spring.redis.handler")
+public class RedisHandlerProperties {
+
+    /**
+     * 是否延迟初始化助手(首次使用时才创建助手及其模板与连接)
+     */
+    private boolean lazyInit = false;
+    /**
+     * 是否在启动完成后输出已初始化助手报告
+     */
+    private boolean report = true;
+    /**
+     * 数据库数量(助手按数据库索引直接寻址, 超出部分使用溢出容器)
+     */
+    private int databases = 16;
+    /**
+     * 是否开启连接长时间占用检测(记录助手获取连接的堆栈, 有一定性能开销)
+     */
+    private boolean holdDetection = false;
+    /**
+     * 连接长时间占用检测阈值(单次占用超过该时长输出告警)
+     */
+    private Duration holdDetectionThreshold = Duration.ofSeconds(30);
+    /**
+     * 数字助手配置
+     */
+    private final Number number = new Number();
+    /**
+     * 近端缓存配置
+     */
+    private final NearCache nearCache = new NearCache();
+    /**
+     * 合并读取配置
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+    /**
+     * 提前刷新配置
+     */
+    private final EarlyRefresh earlyRefresh = new EarlyRefresh();
+    /**
+     * 过期策略配置
+     */
+    private final Expiry expiry = new Expiry();
+    /**
+     * 缓存管理器配置
+     */
+    private final Cache cache = new Cache();
+    /**
+     * 值编码配置
+     */
+    private final Codec codec = new Codec();
+    /**
+     * 值压缩配置
+     */
+    private final Compression compression = new Compression();
+    /**
+     * 键命名空间配置
+     */
+    private final Namespace namespace = new Namespace();
+    /**
+     * 脚本配置
+     */
+    private final Script script = new Script();
+
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    public boolean isReport() {
+        return report;
+    }
+
+    public void setReport(boolean report) {
+        this.report = report;
+    }
+
+    public int getDatabases() {
+        return databases;
+    }
+
+    public void setDatabases(int databases) {
+        this.databases = databases;
+    }
+
+    public boolean isHoldDetection() {
+        return holdDetection;
+    }
+
+    public void setHoldDetection(boolean holdDetection) {
+        this.holdDetection = holdDetection;
+    }
+
+    public Duration getHoldDetectionThreshold() {
+        return holdDetectionThreshold;
+    }
+
+    public void setHoldDetectionThreshold(Duration holdDetectionThreshold) {
+        this.holdDetectionThreshold = holdDetectionThreshold;
+    }
+
+    public Number getNumber() {
+        return number;
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public EarlyRefresh getEarlyRefresh() {
+        return earlyRefresh;
+    }
+
+    public Expiry getExpiry() {
+        return expiry;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public Namespace getNamespace() {
+        return namespace;
+    }
+
+    public Script getScript() {
+        return script;
+    }
+
+    /**
+     * 数字助手配置
+     */
+    public static class Number {
+        /**
+         * 原子数字实例缓存容量(每种类型每个数据库, 实例仅被弱引用)
+         */
+        private int atomicCacheSize = 1024;
+        /**
+         * 计数聚合配置
+         */
+        private final Aggregation aggregation = new Aggregation();
+
+        public int getAtomicCacheSize() {
+            return atomicCacheSize;
+        }
+
+        public void setAtomicCacheSize(int atomicCacheSize) {
+            this.atomicCacheSize = atomicCacheSize;
+        }
+
+        public Aggregation getAggregation() {
+            return aggregation;
+        }
+    }
+
+    /**
+     * 计数聚合配置
+     */
+    public static class Aggregation {
+        /**
+         * 是否开启计数聚合(增量在本地累加后批量写入, 不返回每次调用的精确结果)
+         */
+        private boolean enabled = false;
+        /**
+         * 刷新间隔
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+        /**
+         * 待刷新增量次数阈值(达到后立即刷新)
+         */
+        private long maxPending = 100000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public long getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(long maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
+
+    /**
+     * 近端缓存配置
+     */
+    public static class NearCache {
+        /**
+         * 是否开启近端缓存(字符串与哈希助手的读取先查本地缓存, 写入时广播失效)
+         */
+        private boolean enabled = false;
+        /**
+         * 每个数据库的最大缓存条目数
+         */
+        private long maxEntries = 10000L;
+        /**
+         * 每个数据库的最大缓存字节数(按序列化后的大小估算, 0为不限制)
+         */
+        private long maxBytes = 0L;
+        /**
+         * 缓存存活时间(键剩余过期时间更短时以键为准)
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+        /**
+         * 失效广播频道
+         */
+        private String channel = "redis-handler:near-cache:invalidation";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * 合并读取配置
+     */
+    public static class SingleFlight {
+        /**
+         * 是否合并字符串助手的并发读取(同一键同时只有一次请求, 其余调用等待并共享结果)
+         */
+        private boolean enabled = false;
+        /**
+         * getOrLoad是否使用分布式锁(跨实例只有一个调用方执行加载, 需添加redisson依赖)
+         */
+        private boolean distributedLock = false;
+        /**
+         * 分布式锁等待时间(超时后重新读取, 仍未命中则本地加载)
+         */
+        private Duration lockWait = Duration.ofSeconds(3);
+        /**
+         * 分布式锁租期
+         */
+        private Duration lockLease = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isDistributedLock() {
+            return distributedLock;
+        }
+
+        public void setDistributedLock(boolean distributedLock) {
+            this.distributedLock = distributedLock;
+        }
+
+        public Duration getLockWait() {
+            return lockWait;
+        }
+
+        public void setLockWait(Duration lockWait) {
+            this.lockWait = lockWait;
+        }
+
+        public Duration getLockLease() {
+            return lockLease;
+        }
+
+        public void setLockLease(Duration lockLease) {
+            this.lockLease = lockLease;
+        }
+    }
+
+    /**
+     * 提前刷新配置
+     */
+    public static class EarlyRefresh {
+        /**
+         * 提前刷新系数(越大越早刷新, 1.0为推荐值)
+         */
+        private double beta = 1.0D;
+        /**
+         * 后台刷新线程数
+         */
+        private int threads = 2;
+
+        public double getBeta() {
+            return beta;
+        }
+
+        public void setBeta(double beta) {
+            this.beta = beta;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+
+    /**
+     * 值编码配置
+     */
+    public static class Codec {
+        /**
+         * 默认值编码(fastjson, jdk, kryo, protostuff, smile, cbor或自定义编码名称)
+         */
+        private String name = "fastjson";
+        /**
+         * 是否统一redisson编码与对象模板编码(配置了spring.redis.redisson.codec时以其为准, 否则以值编码为准)
+         */
+        private boolean unified = false;
+        /**
+         * 按数据库索引覆盖值编码(仅对象模板, 不影响redisson编码)
+         */
+        private final Map<Integer, String> databases = new LinkedHashMap<>(16);
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isUnified() {
+            return unified;
+        }
+
+        public void setUnified(boolean unified) {
+            this.unified = unified;
+        }
+
+        public Map<Integer, String> getDatabases() {
+            return databases;
+        }
+    }
+
+    /**
+     * 值压缩配置
+     */
+    public static class Compression {
+        /**
+         * 默认压缩算法(none, deflate, lz4, zstd)
+         */
+        private String algorithm = "none";
+        /**
+         * 压缩阈值(编码后不小于该大小的值才压缩)
+         */
+        private DataSize threshold = DataSize.ofKilobytes(1);
+        /**
+         * 按数据库索引覆盖压缩算法
+         */
+        private final Map<Integer, String> databases = new LinkedHashMap<>(16);
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public DataSize getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(DataSize threshold) {
+            this.threshold = threshold;
+        }
+
+        public Map<Integer, String> getDatabases() {
+            return databases;
+        }
+    }
+
+    /**
+     * 键命名空间配置
+     */
+    public static class Namespace {
+        /**
+         * 默认键前缀(所有助手透明添加, 读取键时去除)
+         */
+        private String prefix = "";
+        /**
+         * 编码键缓存容量(缓存热点键的序列化结果, 0为不缓存)
+         */
+        private int keyCacheSize = 0;
+        /**
+         * 按数据库索引覆盖键前缀
+         */
+        private final Map<Integer, String> databases = new LinkedHashMap<>(16);
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public void setPrefix(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public int getKeyCacheSize() {
+            return keyCacheSize;
+        }
+
+        public void setKeyCacheSize(int keyCacheSize) {
+            this.keyCacheSize = keyCacheSize;
+        }
+
+        public Map<Integer, String> getDatabases() {
+            return databases;
+        }
+    }
+
+    /**
+     * 脚本配置
+     */
+    public static class Script {
+        /**
+         * 内容脚本缓存容量(按脚本内容与返回类型缓存, 超出后新的内容脚本不再缓存; 路径脚本与命名脚本不受限制)
+         */
+        private int cacheSize = 1024;
+        /**
+         * 是否在启动时预加载脚本文件到所有主节点(不开启时脚本在首次获取命名脚本时注册, 首次执行时加载)
+         */
+        private boolean preload = false;
+        /**
+         * 脚本路径规则(文件按文件名注册为命名脚本, 开启预加载时在启动时注册并加载到所有主节点)
+         */
+        private List<String> locations = new ArrayList<>(Collections.singletonList("classpath*:redis-scripts/*.lua"));
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public boolean isPreload() {
+            return preload;
+        }
+
+        public void setPreload(boolean preload) {
+            this.preload = preload;
+        }
+
+        public List<String> getLocations() {
+            return locations;
+        }
+
+        public void setLocations(List<String> locations) {
+            this.locations = locations;
+        }
+    }
+
+    /**
+     * 过期策略配置
+     */
+    public static class Expiry {
+        /**
+         * 默认抖动
+         */
+        private final Jitter jitter = new Jitter();
+        /**
+         * 按键前缀覆盖的抖动(最长前缀优先)
+         */
+        private final Map<String, Jitter> prefixes = new LinkedHashMap<>(16);
+        /**
+         * 过期分布统计范围(统计未来该时长内每秒计划过期的键数量, 0为不统计)
+         */
+        private Duration histogramHorizon = Duration.ofHours(1);
+
+        public Jitter getJitter() {
+            return jitter;
+        }
+
+        public Map<String, Jitter> getPrefixes() {
+            return prefixes;
+        }
+
+        public Duration getHistogramHorizon() {
+            return histogramHorizon;
+        }
+
+        public void setHistogramHorizon(Duration histogramHorizon) {
+            this.histogramHorizon = histogramHorizon;
+        }
+    }
+
+    /**
+     * 过期时间抖动配置(在过期时间上随机增加[0, 过期时间 * 百分比 + 固定值])
+     */
+    public static class Jitter {
+        /**
+         * 百分比抖动(0.1为最多延长10%)
+         */
+        private double percent = 0D;
+        /**
+         * 固定抖动
+         */
+        private Duration amount = Duration.ZERO;
+
+        public double getPercent() {
+            return percent;
+        }
+
+        public void setPercent(double percent) {
+            this.percent = percent;
+        }
+
+        public Duration getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Duration amount) {
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * 缓存管理器配置
+     */
+    public static class Cache {
+        /**
+         * 是否开启缓存管理器(基于字符串助手, 存在其他CacheManager时不生效)
+         */
+        private boolean enabled = false;
+        /**
+         * 键前缀(缓存键为: 键前缀 + 缓存名称 + "::" + 键)
+         */
+        private String keyPrefix = "";
+        /**
+         * 是否允许使用未配置的缓存名称(按默认配置创建)
+         */
+        private boolean dynamic = true;
+        /**
+         * 默认缓存配置
+         */
+        private final CacheSpec defaults = new CacheSpec(Duration.ZERO, "json", false, true, null);
+        /**
+         * 按缓存名称的配置(未设置的项使用默认配置)
+         */
+        private final Map<String, CacheSpec> caches = new LinkedHashMap<>(16);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public boolean isDynamic() {
+            return dynamic;
+        }
+
+        public void setDynamic(boolean dynamic) {
+            this.dynamic = dynamic;
+        }
+
+        public CacheSpec getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, CacheSpec> getCaches() {
+            return caches;
+        }
+    }
+
+    /**
+     * 缓存配置
+     */
+    public static class CacheSpec {
+        /**
+         * 存活时间(0为不过期)
+         */
+        private Duration ttl;
+        /**
+         * 值编码(json, jdk, string或值编码名称)
+         */
+        private String codec;
+        /**
+         * 是否开启近端缓存(使用near-cache的容量与存活时间配置)
+         */
+        private Boolean nearCache;
+        /**
+         * 是否缓存null值
+         */
+        private Boolean cacheNullValues;
+        /**
+         * 数据库索引(为空时使用默认数据库)
+         */
+        private Integer database;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(Duration ttl, String codec, Boolean nearCache, Boolean cacheNullValues, Integer database) {
+            this.ttl = ttl;
+            this.codec = codec;
+            this.nearCache = nearCache;
+            this.cacheNullValues = cacheNullValues;
+            this.database = database;
+        }
+
+        /**
+         * 合并配置(当前未设置的项使用默认配置)
+         *
+         * @param defaults 默认配置
+         * @return 返回合并后的配置
+         */
+        public CacheSpec merge(CacheSpec defaults) {
+            return new CacheSpec(
+                    this.ttl != null ? this.ttl : defaults.ttl,
+                    this.codec != null ? this.codec : defaults.codec,
+                    this.nearCache != null ? this.nearCache : defaults.nearCache,
+                    this.cacheNullValues != null ? this.cacheNullValues : defaults.cacheNullValues,
+                    this.database != null ? this.database : defaults.database
+            );
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public String getCodec() {
+            return codec;
+        }
+
+        public void setCodec(String codec) {
+            this.codec = codec;
+        }
+
+        public Boolean getNearCache() {
+            return nearCache;
+        }
+
+        public void setNearCache(Boolean nearCache) {
+            this.nearCache = nearCache;
+        }
+
+        public Boolean getCacheNullValues() {
+            return cacheNullValues;
+        }
+
+        public void setCacheNullValues(Boolean cacheNullValues) {
+            this.cacheNullValues = cacheNullValues;
+        }
+
+        public Integer getDatabase() {
+            return database;
+        }
+
+        public void setDatabase(Integer database) {
+            this.database = database;
+        }
+    }
+}
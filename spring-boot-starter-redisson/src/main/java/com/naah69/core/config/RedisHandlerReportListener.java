@@ -0,0 +1,37 @@
+package com.naah69.core.config;
+
+import com.naah69.core.handler.HandlerManagerProxy;
+import com.naah69.core.handler.HandlerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * redis助手启动报告监听器
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedisHandlerReportListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisHandlerReportListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Map<HandlerType, Set<Integer>> handlers = HandlerManagerProxy.getMaterializedHandlers();
+        if (handlers.isEmpty()) {
+            LOGGER.info("redis handlers materialized: none");
+            return;
+        }
+        StringBuilder builder = new StringBuilder("redis handlers materialized:");
+        for (Map.Entry<HandlerType, Set<Integer>> entry : handlers.entrySet()) {
+            builder.append(' ').append(entry.getKey()).append("(db").append(entry.getValue()).append(')');
+        }
+        LOGGER.info(builder.toString());
+    }
+}
@@ -0,0 +1,51 @@
+package com.naah69.core.config;
+
+import com.naah69.core.handler.ScriptHandler;
+import com.naah69.core.util.RedisUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Map;
+
+/**
+ * 脚本预加载监听器
+ * 开启预加载时, 启动完成后按文件名注册配置路径下的脚本文件并加载到所有主节点, 首次调用即可命中EVALSHA;
+ * 加载失败只记录日志, 调用时仍会在服务端缺少脚本时自动加载
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class ScriptPreloadListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptPreloadListener.class);
+
+    /**
+     * 助手配置
+     */
+    private final RedisHandlerProperties properties;
+
+    /**
+     * 脚本预加载监听器构造
+     *
+     * @param properties 助手配置
+     */
+    public ScriptPreloadListener(RedisHandlerProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ScriptHandler handler = RedisUtil.getScriptHandler();
+        for (String location : this.properties.getScript().getLocations()) {
+            try {
+                Map<String, String> loaded = handler.loadScripts(location);
+                LOGGER.info("redis scripts preloaded from {}: {}", location, loaded.keySet());
+            } catch (RuntimeException e) {
+                LOGGER.warn("failed to preload redis scripts from {}", location, e);
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.naah69.core.config.redisson;
 
+import com.naah69.core.codec.CodecRedisSerializer;
+import com.naah69.core.codec.ValueCodecRedissonCodec;
+import com.naah69.core.codec.ValueCodecs;
+import com.naah69.core.config.RedisHandlerProperties;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -34,7 +40,7 @@ import java.util.List;
 @Configuration
 @ConditionalOnClass({Redisson.class, RedisOperations.class})
 @ConditionalOnProperty(prefix = "spring.redis.redisson", name = "enable", havingValue = "true")
-@EnableConfigurationProperties({RedissonProperties.class, RedisProperties.class})
+@EnableConfigurationProperties({RedissonProperties.class, RedisProperties.class, RedisHandlerProperties.class})
 public class RedissonAutoConfiguration {
     private static final Logger LOGGER = LoggerFactory.getLogger(RedissonAutoConfiguration.class);
     @Autowired
@@ -42,6 +48,10 @@ public class RedissonAutoConfiguration {
     @Autowired
     private RedisProperties redisProperties;
     @Autowired
+    private RedisHandlerProperties redisHandlerProperties;
+    @Autowired
+    private ObjectProvider<Codec> codecProvider;
+    @Autowired
     private ApplicationContext ctx;
 
     public RedissonAutoConfiguration() {
@@ -49,18 +59,46 @@ public class RedissonAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean({RedisConnectionFactory.class})
-    public RedisConnectionFactory redisConnectionFactory(RedissonClient redisson) {
+    public RedissonConnectionFactory redisConnectionFactory(RedissonClient redisson) {
         return new RedissonConnectionFactory(redisson);
     }
 
     @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean({RedissonClient.class})
     public RedissonClient redisson() {
-        RedissonClient redissonClient = Redisson.create(this.createConfig(null));
         return Redisson.create(this.createConfig(null));
     }
 
+    @Bean(destroyMethod = "destroy")
+    @ConditionalOnMissingBean({RedissonClientRegistry.class})
+    public RedissonClientRegistry redissonClientRegistry(RedissonClient redisson) {
+        return new RedissonClientRegistry(this, redisson, this.redisProperties.getDatabase());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean({Codec.class})
+    public Codec redissonCodec() {
+        RedisHandlerProperties.Codec codec = this.redisHandlerProperties.getCodec();
+        if (codec.isUnified() && this.redissonProperties.getCodec() == null) {
+            // 以值编码为唯一定义, 与对象模板使用同一个编码实例
+            CodecRedisSerializer serializer = (CodecRedisSerializer) ValueCodecs.serializer(
+                    codec.getName(),
+                    this.redisHandlerProperties.getCompression().getAlgorithm(),
+                    (int) this.redisHandlerProperties.getCompression().getThreshold().toBytes()
+            );
+            return new ValueCodecRedissonCodec(serializer.getCodec());
+        }
+        return this.buildConfig(null).getCodec();
+    }
+
     public RedissonConnectionConfiguration createConfig(Integer dbIndex) {
+        RedissonConnectionConfiguration configuration = this.buildConfig(dbIndex);
+        // 所有数据库的客户端共享同一个编码实例
+        configuration.setCodec(this.codecProvider.getObject());
+        return configuration;
+    }
+
+    private RedissonConnectionConfiguration buildConfig(Integer dbIndex) {
         if (dbIndex == null) {
             dbIndex = this.redisProperties.getDatabase();
         }
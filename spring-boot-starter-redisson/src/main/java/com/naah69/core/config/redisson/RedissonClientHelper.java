@@ -3,6 +3,8 @@ package com.naah69.core.config.redisson;
 import com.naah69.core.util.ApplicationContextUtil;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
 /**
  * org.redisson.api.RedissonClient帮助类
@@ -31,7 +33,48 @@ public class RedissonClientHelper {
     }
 
     /**
-     * 创建客户端
+     * 是否使用redisson客户端(已启用redisson配置且连接工厂为redisson连接工厂)
+     *
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    public static boolean isEnabled() {
+        ApplicationContext context = ApplicationContextUtil.getContext();
+        return context != null
+                && context.getBeanNamesForType(RedissonClientRegistry.class).length > 0
+                && context.getBean(RedisConnectionFactory.class) instanceof RedissonConnectionFactory;
+    }
+
+    /**
+     * 获取共享客户端(同一数据库的所有助手共享, 应用关闭时关闭)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回客户端
+     */
+    public static RedissonClient getSharedClient(int dbIndex) {
+        return getRegistry().getClient(dbIndex);
+    }
+
+    /**
+     * 获取共享连接工厂(同一数据库的所有助手共享, 应用关闭时关闭)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回连接工厂
+     */
+    public static RedissonConnectionFactory getSharedConnectionFactory(int dbIndex) {
+        return getRegistry().getConnectionFactory(dbIndex);
+    }
+
+    /**
+     * 获取客户端注册表
+     *
+     * @return 返回客户端注册表
+     */
+    public static RedissonClientRegistry getRegistry() {
+        return ApplicationContextUtil.getContext().getBean(RedissonClientRegistry.class);
+    }
+
+    /**
+     * 创建客户端(独立客户端, 调用方负责关闭)
      *
      * @param dbIndex 数据库索引
      * @return 返回客户端
@@ -0,0 +1,219 @@
+package com.naah69.core.config.redisson;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * redisson客户端注册表
+ * 按数据库索引共享客户端, 客户端在首次使用时创建, 生命周期与应用一致, 应用关闭时统一关闭
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public class RedissonClientRegistry implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedissonClientRegistry.class);
+
+    /**
+     * redisson连接配置
+     */
+    private final RedissonAutoConfiguration configuration;
+    /**
+     * 客户端容器
+     */
+    private final ConcurrentMap<Integer, ClientHolder> container = new ConcurrentHashMap<>(16);
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean destroyed;
+
+    /**
+     * 客户端注册表构造
+     *
+     * @param configuration  redisson连接配置
+     * @param defaultClient  默认客户端(由spring容器管理, 注册表不负责关闭)
+     * @param defaultDbIndex 默认数据库索引
+     */
+    public RedissonClientRegistry(RedissonAutoConfiguration configuration, RedissonClient defaultClient, int defaultDbIndex) {
+        this.configuration = configuration;
+        this.container.put(defaultDbIndex, new ClientHolder(defaultClient));
+    }
+
+    /**
+     * 获取客户端(不存在时创建)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回客户端
+     */
+    public RedissonClient getClient(int dbIndex) {
+        return this.getHolder(dbIndex).getClient();
+    }
+
+    /**
+     * 获取连接工厂(不存在时创建客户端)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回连接工厂
+     */
+    public RedissonConnectionFactory getConnectionFactory(int dbIndex) {
+        return this.getHolder(dbIndex).getConnectionFactory();
+    }
+
+    /**
+     * 获取已创建客户端的数据库索引
+     *
+     * @return 返回数据库索引集合
+     */
+    public Set<Integer> getDatabases() {
+        Set<Integer> databases = new TreeSet<>();
+        for (Map.Entry<Integer, ClientHolder> entry : this.container.entrySet()) {
+            if (entry.getValue().client != null) {
+                databases.add(entry.getKey());
+            }
+        }
+        return databases;
+    }
+
+    /**
+     * 关闭所有由注册表创建的客户端
+     */
+    @Override
+    public void destroy() {
+        this.destroyed = true;
+        List<ClientHolder> holders = new ArrayList<>(this.container.values());
+        this.container.clear();
+        for (ClientHolder holder : holders) {
+            holder.shutdown();
+        }
+    }
+
+    /**
+     * 获取客户端持有者(只在容器中占位, 客户端在持有者内创建, 创建时不占用容器的锁)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回客户端持有者
+     */
+    private ClientHolder getHolder(int dbIndex) {
+        if (this.destroyed) {
+            throw new IllegalStateException("redisson client registry has been destroyed");
+        }
+        ClientHolder holder = this.container.get(dbIndex);
+        if (holder != null) {
+            return holder;
+        }
+        return this.container.computeIfAbsent(dbIndex, key -> new ClientHolder(this.configuration, key));
+    }
+
+    /**
+     * 客户端持有者
+     */
+    private static final class ClientHolder {
+        /**
+         * redisson连接配置(注册表创建的客户端使用)
+         */
+        private final RedissonAutoConfiguration configuration;
+        /**
+         * 数据库索引
+         */
+        private final int dbIndex;
+        /**
+         * 是否由注册表创建
+         */
+        private final boolean owned;
+        /**
+         * 客户端
+         */
+        private volatile RedissonClient client;
+        /**
+         * 连接工厂
+         */
+        private volatile RedissonConnectionFactory connectionFactory;
+
+        /**
+         * 客户端持有者构造(默认客户端)
+         *
+         * @param client 客户端
+         */
+        private ClientHolder(RedissonClient client) {
+            this.configuration = null;
+            this.dbIndex = -1;
+            this.owned = false;
+            this.connectionFactory = new RedissonConnectionFactory(client);
+            this.client = client;
+        }
+
+        /**
+         * 客户端持有者构造(首次使用时创建客户端)
+         *
+         * @param configuration redisson连接配置
+         * @param dbIndex       数据库索引
+         */
+        private ClientHolder(RedissonAutoConfiguration configuration, int dbIndex) {
+            this.configuration = configuration;
+            this.dbIndex = dbIndex;
+            this.owned = true;
+        }
+
+        /**
+         * 获取客户端
+         *
+         * @return 返回客户端
+         */
+        private RedissonClient getClient() {
+            this.init();
+            return this.client;
+        }
+
+        /**
+         * 获取连接工厂
+         *
+         * @return 返回连接工厂
+         */
+        private RedissonConnectionFactory getConnectionFactory() {
+            this.init();
+            return this.connectionFactory;
+        }
+
+        /**
+         * 创建客户端(只锁定当前持有者, 其他数据库不受影响)
+         */
+        private void init() {
+            if (this.client != null) {
+                return;
+            }
+            synchronized (this) {
+                if (this.client == null) {
+                    LOGGER.debug("creating shared redisson client for db {}", this.dbIndex);
+                    RedissonClient created = Redisson.create(this.configuration.createConfig(this.dbIndex));
+                    this.connectionFactory = new RedissonConnectionFactory(created);
+                    this.client = created;
+                }
+            }
+        }
+
+        /**
+         * 关闭由注册表创建的客户端
+         */
+        private void shutdown() {
+            RedissonClient current;
+            synchronized (this) {
+                current = this.client;
+            }
+            if (this.owned && current != null && !current.isShutdown()) {
+                current.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.redisson.RedissonClientHelper;
+import org.redisson.Redisson;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
+import org.redisson.command.CommandAsyncExecutor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 异步命令执行器
+ * 通过redisson原生异步命令执行器发送命令, 不占用调用线程; 参数与回复按当前数据库的对象模板或字符串模板的序列化器转换;
+ * 开启近端缓存时, 字符串与哈希写命令完成后失效写入的键(在公共线程池中执行, 不占用redisson的网络线程)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class AsyncCommandExecutor {
+    /**
+     * redisson异步命令执行器
+     */
+    private final CommandAsyncExecutor executor;
+    /**
+     * 对象模板(仅使用序列化器)
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板(仅使用序列化器)
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private final NearCache nearCache;
+
+    /**
+     * 异步命令执行器构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    AsyncCommandExecutor(int dbIndex) {
+        RedissonClient client = RedissonClientHelper.getSharedClient(dbIndex);
+        if (!(client instanceof Redisson)) {
+            throw new IllegalStateException("async handlers require a " + Redisson.class.getName() + " client, found " + client.getClass().getName());
+        }
+        this.executor = ((Redisson) client).getCommandExecutor();
+        // 与同步助手使用相同的按数据库构建的模板, 键前缀与值编码保持一致
+        List<RedisTemplate> templateList = HandlerManager.createTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (StringRedisTemplate) templateList.get(1);
+        this.nearCache = NearCache.forDatabase(dbIndex);
+    }
+
+    /**
+     * 创建单条回复命令(回复为字节数组、长整数或状态字符串)
+     *
+     * @param name 命令名称
+     * @return 返回命令
+     */
+    static RedisCommand<Object> command(String name) {
+        return new RedisCommand<>(name);
+    }
+
+    /**
+     * 创建多条批量回复命令(回复为字节数组列表)
+     *
+     * @param name 命令名称
+     * @return 返回命令
+     */
+    static RedisCommand<List<Object>> multiCommand(String name) {
+        return new RedisCommand<>(name, new ObjectListReplayDecoder<>());
+    }
+
+    /**
+     * 获取对象模板
+     *
+     * @return 返回对象模板
+     */
+    RedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取字符串模板
+     *
+     * @return 返回字符串模板
+     */
+    StringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+
+    /**
+     * 执行读命令
+     *
+     * @param key     键(用于路由)
+     * @param command 命令
+     * @param decoder 回复解码器
+     * @param params  参数(包含键)
+     * @param <R>     返回类型
+     * @return 返回异步结果
+     */
+    <R> CompletableFuture<R> read(byte[] key, RedisCommand<?> command, Function<Object, R> decoder, Object... params) {
+        RFuture<Object> future = this.executor.readAsync(key, ByteArrayCodec.INSTANCE, command, params);
+        return future.thenApply(decoder).toCompletableFuture();
+    }
+
+    /**
+     * 执行写命令
+     *
+     * @param key     键(用于路由)
+     * @param command 命令
+     * @param decoder 回复解码器
+     * @param params  参数(包含键)
+     * @param <R>     返回类型
+     * @return 返回异步结果
+     */
+    <R> CompletableFuture<R> write(byte[] key, RedisCommand<?> command, Function<Object, R> decoder, Object... params) {
+        RFuture<Object> future = this.executor.writeAsync(key, ByteArrayCodec.INSTANCE, command, params);
+        return future.thenApply(decoder).toCompletableFuture();
+    }
+
+    /**
+     * 执行无返回值的写命令
+     *
+     * @param key     键(用于路由)
+     * @param command 命令
+     * @param params  参数(包含键)
+     * @return 返回异步结果
+     */
+    CompletableFuture<Void> writeVoid(byte[] key, RedisCommand<?> command, Object... params) {
+        return this.write(key, command, raw -> null, params);
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(命令失败时同样失效)
+     *
+     * @param future 异步结果
+     * @param keys   写入的键
+     * @param <R>    返回类型
+     * @return 返回失效后完成的异步结果
+     */
+    <R> CompletableFuture<R> invalidate(CompletableFuture<R> future, String... keys) {
+        return this.invalidate(future, Arrays.asList(keys));
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(命令失败时同样失效)
+     *
+     * @param future 异步结果
+     * @param keys   写入的键
+     * @param <R>    返回类型
+     * @return 返回失效后完成的异步结果
+     */
+    <R> CompletableFuture<R> invalidate(CompletableFuture<R> future, Collection<String> keys) {
+        NearCache cache = this.nearCache;
+        if (cache == null) {
+            return future;
+        }
+        List<String> written = new ArrayList<>(keys);
+        return future.whenCompleteAsync((result, e) -> cache.invalidate(written));
+    }
+
+    /**
+     * 合并参数
+     *
+     * @param first 首个参数
+     * @param rest  其余参数
+     * @return 返回参数数组
+     */
+    static Object[] params(Object first, Object[] rest) {
+        Object[] params = new Object[rest.length + 1];
+        params[0] = first;
+        System.arraycopy(rest, 0, params, 1, rest.length);
+        return params;
+    }
+}
@@ -0,0 +1,539 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步哈希助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncHashHandler implements RedisHandler {
+    private static final RedisCommand<Object> HSET = AsyncCommandExecutor.command("HSET");
+    private static final RedisCommand<Object> HSETNX = AsyncCommandExecutor.command("HSETNX");
+    private static final RedisCommand<Object> HMSET = AsyncCommandExecutor.command("HMSET");
+    private static final RedisCommand<Object> HGET = AsyncCommandExecutor.command("HGET");
+    private static final RedisCommand<Object> HDEL = AsyncCommandExecutor.command("HDEL");
+    private static final RedisCommand<Object> HLEN = AsyncCommandExecutor.command("HLEN");
+    private static final RedisCommand<Object> HEXISTS = AsyncCommandExecutor.command("HEXISTS");
+    private static final RedisCommand<Object> HINCRBY = AsyncCommandExecutor.command("HINCRBY");
+    private static final RedisCommand<Object> HINCRBYFLOAT = AsyncCommandExecutor.command("HINCRBYFLOAT");
+    private static final RedisCommand<List<Object>> HMGET = AsyncCommandExecutor.multiCommand("HMGET");
+    private static final RedisCommand<List<Object>> HGETALL = AsyncCommandExecutor.multiCommand("HGETALL");
+    private static final RedisCommand<List<Object>> HKEYS = AsyncCommandExecutor.multiCommand("HKEYS");
+    private static final RedisCommand<List<Object>> HVALS = AsyncCommandExecutor.multiCommand("HVALS");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步哈希助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncHashHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.redisTemplate = this.executor.getRedisTemplate();
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 存入对象
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   对象
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> putAsObj(String key, String hashKey, Object value) {
+        return this.put(this.redisTemplate, key, hashKey, value);
+    }
+
+    /**
+     * 存入字符串
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   字符串
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> put(String key, String hashKey, String value) {
+        return this.put(this.stringRedisTemplate, key, hashKey, value);
+    }
+
+    /**
+     * 存入对象如果不存在
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hsetnx">Redis Documentation: HSETNX</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Boolean> putIfAbsentAsObj(String key, String hashKey, Object value) {
+        return this.putIfAbsent(this.redisTemplate, key, hashKey, value);
+    }
+
+    /**
+     * 存入字符串如果不存在
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hsetnx">Redis Documentation: HSETNX</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Boolean> putIfAbsent(String key, String hashKey, String value) {
+        return this.putIfAbsent(this.stringRedisTemplate, key, hashKey, value);
+    }
+
+    /**
+     * 存入对象集合
+     *
+     * @param key 键
+     * @param map 对象集合
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hmset">Redis Documentation: HMSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> putAllAsObj(String key, Map<String, Object> map) {
+        return this.putAll(this.redisTemplate, key, map);
+    }
+
+    /**
+     * 存入字符串集合
+     *
+     * @param key 键
+     * @param map 字符串集合
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hmset">Redis Documentation: HMSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> putAll(String key, Map<String, String> map) {
+        return this.putAll(this.stringRedisTemplate, key, map);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public <T> CompletableFuture<T> getAsObj(String key, String hashKey) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.redisTemplate, hashKey);
+        return this.executor.read(rawKey, HGET, SerializationHelper.valueDecoder(this.redisTemplate.getHashValueSerializer()), rawKey, rawHashKey);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param type    返回值类型
+     * @param key     键
+     * @param hashKey hash键
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public <T> CompletableFuture<T> getAsObj(Class<T> type, String key, String hashKey) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.redisTemplate, hashKey);
+        return this.executor.read(rawKey, HGET, SerializationHelper.typedDecoder(this.redisTemplate.getHashValueSerializer(), type), rawKey, rawHashKey);
+    }
+
+    /**
+     * 获取字符串
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<String> get(String key, String hashKey) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.read(rawKey, HGET, SerializationHelper.valueDecoder(this.stringRedisTemplate.getHashValueSerializer()), rawKey, rawHashKey);
+    }
+
+    /**
+     * 获取对象集合
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回对象列表
+     * @see <a href="http://redis.io/commands/hmget">Redis Documentation: HMGET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<List<Object>> mgetAsObj(String key, String... hashKeys) {
+        return this.mget(this.redisTemplate, key, hashKeys);
+    }
+
+    /**
+     * 获取字符串集合
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回字符串列表
+     * @see <a href="http://redis.io/commands/hmget">Redis Documentation: HMGET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<List<String>> mget(String key, String... hashKeys) {
+        return this.mget(this.stringRedisTemplate, key, hashKeys);
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> removeAsObj(String key, String... hashKeys) {
+        return this.remove(this.redisTemplate, key, hashKeys);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> remove(String key, String... hashKeys) {
+        return this.remove(this.stringRedisTemplate, key, hashKeys);
+    }
+
+    /**
+     * 获取对象字典
+     *
+     * @param key 键
+     * @return 返回对象字典
+     * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Map<String, Object>> entriesAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, HGETALL, SerializationHelper.pairDecoder(this.redisTemplate), rawKey);
+    }
+
+    /**
+     * 获取字符串字典
+     *
+     * @param key 键
+     * @return 返回字符串字典
+     * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Map<String, String>> entries(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, HGETALL, SerializationHelper.pairDecoder(this.stringRedisTemplate), rawKey);
+    }
+
+    /**
+     * 获取对象hash键集合
+     *
+     * @param key 键
+     * @return 返回hash键集合
+     * @see <a href="http://redis.io/commands/hkeys">Redis Documentation: HKEYS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Set<String>> keysAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, HKEYS, SerializationHelper.setDecoder(this.redisTemplate.getHashKeySerializer()), rawKey);
+    }
+
+    /**
+     * 获取字符串hash键集合
+     *
+     * @param key 键
+     * @return 返回hash键集合
+     * @see <a href="http://redis.io/commands/hkeys">Redis Documentation: HKEYS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Set<String>> keys(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, HKEYS, SerializationHelper.setDecoder(this.stringRedisTemplate.getHashKeySerializer()), rawKey);
+    }
+
+    /**
+     * 获取对象列表
+     *
+     * @param key 键
+     * @return 返回对象列表
+     * @see <a href="http://redis.io/commands/hvals">Redis Documentation: HVALS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<List<Object>> valuesAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, HVALS, SerializationHelper.listDecoder(this.redisTemplate.getHashValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取字符串列表
+     *
+     * @param key 键
+     * @return 返回字符串列表
+     * @see <a href="http://redis.io/commands/hvals">Redis Documentation: HVALS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<List<String>> values(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, HVALS, SerializationHelper.listDecoder(this.stringRedisTemplate.getHashValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取对象数量
+     *
+     * @param key 键
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/hlen">Redis Documentation: HLEN</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> sizeAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, HLEN, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取字符串数量
+     *
+     * @param key 键
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/hlen">Redis Documentation: HLEN</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> size(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, HLEN, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 是否包含对象的key
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Boolean> hasKeyAsObj(String key, String hashKey) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.redisTemplate, hashKey);
+        return this.executor.read(rawKey, HEXISTS, SerializationHelper::toBoolean, rawKey, rawHashKey);
+    }
+
+    /**
+     * 是否包含字符串的key
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Boolean> hasKey(String key, String hashKey) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.read(rawKey, HEXISTS, SerializationHelper::toBoolean, rawKey, rawHashKey);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> increment(String key, String hashKey, Double data) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.invalidate(this.executor.write(rawKey, HINCRBYFLOAT, SerializationHelper::toDouble, rawKey, rawHashKey, data), key);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> increment(String key, String hashKey, Long data) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.invalidate(this.executor.write(rawKey, HINCRBY, SerializationHelper::toLong, rawKey, rawHashKey, data), key);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> increment(String key, String hashKey) {
+        return this.increment(key, hashKey, 1L);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> decrement(String key, String hashKey, Double data) {
+        return this.increment(key, hashKey, -data);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> decrement(String key, String hashKey, Long data) {
+        return this.increment(key, hashKey, -data);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> decrement(String key, String hashKey) {
+        return this.increment(key, hashKey, -1L);
+    }
+
+    /**
+     * 存入值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param hashKey  hash键
+     * @param value    值
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> put(RedisTemplate<String, ?> template, String key, String hashKey, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(template, hashKey);
+        byte[] rawValue = SerializationHelper.rawHashValue(template, value);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, HSET, rawKey, rawHashKey, rawValue), key);
+    }
+
+    /**
+     * 存入值如果不存在
+     *
+     * @param template 模板
+     * @param key      键
+     * @param hashKey  hash键
+     * @param value    值
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> putIfAbsent(RedisTemplate<String, ?> template, String key, String hashKey, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(template, hashKey);
+        byte[] rawValue = SerializationHelper.rawHashValue(template, value);
+        return this.executor.invalidate(this.executor.write(rawKey, HSETNX, SerializationHelper::toBoolean, rawKey, rawHashKey, rawValue), key);
+    }
+
+    /**
+     * 存入值集合
+     *
+     * @param template 模板
+     * @param key      键
+     * @param map      值集合
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> putAll(RedisTemplate<String, ?> template, String key, Map<String, ?> map) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = new Object[map.size() * 2 + 1];
+        int index = 0;
+        params[index++] = rawKey;
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            params[index++] = SerializationHelper.rawHashKey(template, entry.getKey());
+            params[index++] = SerializationHelper.rawHashValue(template, entry.getValue());
+        }
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, HMSET, params), key);
+    }
+
+    /**
+     * 获取值集合
+     *
+     * @param template 模板
+     * @param key      键
+     * @param hashKeys hash键
+     * @param <T>      值类型
+     * @return 返回值列表
+     */
+    private <T> CompletableFuture<List<T>> mget(RedisTemplate<String, ?> template, String key, String... hashKeys) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawHashKeys(template, hashKeys));
+        return this.executor.read(rawKey, HMGET, SerializationHelper.listDecoder(template.getHashValueSerializer()), params);
+    }
+
+    /**
+     * 移除值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     */
+    private CompletableFuture<Long> remove(RedisTemplate<String, ?> template, String key, String... hashKeys) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawHashKeys(template, hashKeys));
+        return this.executor.invalidate(this.executor.write(rawKey, HDEL, SerializationHelper::toLong, params), key);
+    }
+}
@@ -0,0 +1,624 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步列表助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncListHandler implements RedisHandler {
+    private static final RedisCommand<Object> LLEN = AsyncCommandExecutor.command("LLEN");
+    private static final RedisCommand<Object> LREM = AsyncCommandExecutor.command("LREM");
+    private static final RedisCommand<Object> LSET = AsyncCommandExecutor.command("LSET");
+    private static final RedisCommand<Object> LINDEX = AsyncCommandExecutor.command("LINDEX");
+    private static final RedisCommand<Object> LPUSH = AsyncCommandExecutor.command("LPUSH");
+    private static final RedisCommand<Object> LPUSHX = AsyncCommandExecutor.command("LPUSHX");
+    private static final RedisCommand<Object> LPOP = AsyncCommandExecutor.command("LPOP");
+    private static final RedisCommand<Object> RPUSH = AsyncCommandExecutor.command("RPUSH");
+    private static final RedisCommand<Object> RPUSHX = AsyncCommandExecutor.command("RPUSHX");
+    private static final RedisCommand<Object> RPOP = AsyncCommandExecutor.command("RPOP");
+    private static final RedisCommand<List<Object>> LRANGE = AsyncCommandExecutor.multiCommand("LRANGE");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步列表助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncListHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.redisTemplate = this.executor.getRedisTemplate();
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 获取对象数量
+     *
+     * @param key 键
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> sizeAsObj(String key) {
+        return this.size(this.redisTemplate, key);
+    }
+
+    /**
+     * 获取字符串数量
+     *
+     * @param key 键
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> size(String key) {
+        return this.size(this.stringRedisTemplate, key);
+    }
+
+    /**
+     * 获取所有对象
+     *
+     * @param key 键
+     * @return 返回对象列表
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<Object>> getAllAsObj(String key) {
+        return this.lrangeAsObj(key, 0L, -1L);
+    }
+
+    /**
+     * 获取所有字符串
+     *
+     * @param key 键
+     * @return 返回字符串列表
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<String>> getAll(String key) {
+        return this.lrange(key, 0L, -1L);
+    }
+
+    /**
+     * 从左获取范围内的对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象列表
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<Object>> lrangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.lrange(this.redisTemplate, key, startIndex, endIndex);
+    }
+
+    /**
+     * 从左获取范围内的字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串列表
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<String>> lrange(String key, Long startIndex, Long endIndex) {
+        return this.lrange(this.stringRedisTemplate, key, startIndex, endIndex);
+    }
+
+    /**
+     * 从左移除对象
+     *
+     * @param key   键
+     * @param count 个数
+     * @param value 对象
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lremoveAsObj(String key, Long count, Object value) {
+        return this.remove(this.redisTemplate, key, count, value);
+    }
+
+    /**
+     * 从左移除字符串
+     *
+     * @param key   键
+     * @param count 个数
+     * @param value 字符串
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lremove(String key, Long count, String value) {
+        return this.remove(this.stringRedisTemplate, key, count, value);
+    }
+
+    /**
+     * 从右移除对象
+     *
+     * @param key   键
+     * @param count 个数
+     * @param value 对象
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rremoveAsObj(String key, Long count, Object value) {
+        return this.remove(this.redisTemplate, key, -count, value);
+    }
+
+    /**
+     * 从右移除字符串
+     *
+     * @param key   键
+     * @param count 个数
+     * @param value 字符串
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rremove(String key, Long count, String value) {
+        return this.remove(this.stringRedisTemplate, key, -count, value);
+    }
+
+    /**
+     * 从左设置对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 对象
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Void> lsetAsObj(String key, Long index, Object value) {
+        return this.set(this.redisTemplate, key, index, value);
+    }
+
+    /**
+     * 从左设置字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 字符串
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Void> lset(String key, Long index, String value) {
+        return this.set(this.stringRedisTemplate, key, index, value);
+    }
+
+    /**
+     * 从右设置对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 对象
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Void> rsetAsObj(String key, Long index, Object value) {
+        return this.set(this.redisTemplate, key, -index - 1, value);
+    }
+
+    /**
+     * 从右设置字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 字符串
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Void> rset(String key, Long index, String value) {
+        return this.set(this.stringRedisTemplate, key, -index - 1, value);
+    }
+
+    /**
+     * 从左获取对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> lgetAsObj(String key, Long index) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, LINDEX, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey, index);
+    }
+
+    /**
+     * 从左获取对象
+     *
+     * @param type  返回值类型
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> lgetAsObj(Class<T> type, String key, Long index) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, LINDEX, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey, index);
+    }
+
+    /**
+     * 从左获取字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> lget(String key, Long index) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, LINDEX, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey, index);
+    }
+
+    /**
+     * 从右获取对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> rgetAsObj(String key, Long index) {
+        return this.lgetAsObj(key, -index - 1);
+    }
+
+    /**
+     * 从右获取字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> rget(String key, Long index) {
+        return this.lget(key, -index - 1);
+    }
+
+    /**
+     * 从左插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lpushAsObj(String key, Object value) {
+        return this.push(this.redisTemplate, LPUSH, key, value);
+    }
+
+    /**
+     * 从左插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lpush(String key, String value) {
+        return this.push(this.stringRedisTemplate, LPUSH, key, value);
+    }
+
+    /**
+     * 从左批量插入对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lpushAllAsObj(String key, Object... values) {
+        return this.push(this.redisTemplate, LPUSH, key, values);
+    }
+
+    /**
+     * 从左批量插入字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> lpushAll(String key, String... values) {
+        return this.push(this.stringRedisTemplate, LPUSH, key, (Object[]) values);
+    }
+
+    /**
+     * 如果列表存在则从左插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpushx">Redis Documentation: LPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public CompletableFuture<Long> lpushIfPresentAsObj(String key, Object value) {
+        return this.push(this.redisTemplate, LPUSHX, key, value);
+    }
+
+    /**
+     * 如果列表存在则从左插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpushx">Redis Documentation: LPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public CompletableFuture<Long> lpushIfPresent(String key, String value) {
+        return this.push(this.stringRedisTemplate, LPUSHX, key, value);
+    }
+
+    /**
+     * 从左弹出对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> lpopAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, LPOP, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 从左弹出对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> lpopAsObj(Class<T> type, String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, LPOP, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey);
+    }
+
+    /**
+     * 从左弹出字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> lpop(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.write(rawKey, LPOP, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 从右插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rpushAsObj(String key, Object value) {
+        return this.push(this.redisTemplate, RPUSH, key, value);
+    }
+
+    /**
+     * 从右插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rpush(String key, String value) {
+        return this.push(this.stringRedisTemplate, RPUSH, key, value);
+    }
+
+    /**
+     * 从右批量插入对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rpushAllAsObj(String key, Object... values) {
+        return this.push(this.redisTemplate, RPUSH, key, values);
+    }
+
+    /**
+     * 从右批量插入字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> rpushAll(String key, String... values) {
+        return this.push(this.stringRedisTemplate, RPUSH, key, (Object[]) values);
+    }
+
+    /**
+     * 如果列表存在则从右插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpushx">Redis Documentation: RPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public CompletableFuture<Long> rpushIfPresentAsObj(String key, Object value) {
+        return this.push(this.redisTemplate, RPUSHX, key, value);
+    }
+
+    /**
+     * 如果列表存在则从右插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpushx">Redis Documentation: RPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public CompletableFuture<Long> rpushIfPresent(String key, String value) {
+        return this.push(this.stringRedisTemplate, RPUSHX, key, value);
+    }
+
+    /**
+     * 从右弹出对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> rpopAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, RPOP, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 从右弹出对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> rpopAsObj(Class<T> type, String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, RPOP, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey);
+    }
+
+    /**
+     * 从右弹出字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> rpop(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.write(rawKey, RPOP, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取列表长度
+     *
+     * @param template 模板
+     * @param key      键
+     * @return 返回列表长度
+     */
+    private CompletableFuture<Long> size(RedisTemplate<String, ?> template, String key) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        return this.executor.read(rawKey, LLEN, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取范围内的值
+     *
+     * @param template   模板
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        值类型
+     * @return 返回值列表
+     */
+    private <T> CompletableFuture<List<T>> lrange(RedisTemplate<String, ?> template, String key, Long startIndex, Long endIndex) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        return this.executor.read(rawKey, LRANGE, SerializationHelper.listDecoder(template.getValueSerializer()), rawKey, startIndex, endIndex);
+    }
+
+    /**
+     * 移除值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param count    个数(负数从右移除)
+     * @param value    值
+     * @return 返回移除数量
+     */
+    private CompletableFuture<Long> remove(RedisTemplate<String, ?> template, String key, Long count, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.write(rawKey, LREM, SerializationHelper::toLong, rawKey, count, rawValue);
+    }
+
+    /**
+     * 设置值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param index    索引
+     * @param value    值
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(RedisTemplate<String, ?> template, String key, Long index, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.writeVoid(rawKey, LSET, rawKey, index, rawValue);
+    }
+
+    /**
+     * 插入值
+     *
+     * @param template 模板
+     * @param command  命令
+     * @param key      键
+     * @param values   值
+     * @return 返回列表长度
+     */
+    private CompletableFuture<Long> push(RedisTemplate<String, ?> template, RedisCommand<Object> command, String key, Object... values) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawValues(template, values));
+        return this.executor.write(rawKey, command, SerializationHelper::toLong, params);
+    }
+}
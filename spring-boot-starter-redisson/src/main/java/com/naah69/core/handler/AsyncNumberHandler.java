@@ -0,0 +1,519 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步数字助手(使用字符串模板的序列化器)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncNumberHandler implements RedisHandler {
+    private static final RedisCommand<Object> SET = AsyncCommandExecutor.command("SET");
+    private static final RedisCommand<Object> SETNX = AsyncCommandExecutor.command("SETNX");
+    private static final RedisCommand<Object> GET = AsyncCommandExecutor.command("GET");
+    private static final RedisCommand<Object> GETSET = AsyncCommandExecutor.command("GETSET");
+    private static final RedisCommand<Object> DEL = AsyncCommandExecutor.command("DEL");
+    private static final RedisCommand<Object> INCRBY = AsyncCommandExecutor.command("INCRBY");
+    private static final RedisCommand<Object> INCRBYFLOAT = AsyncCommandExecutor.command("INCRBYFLOAT");
+    private static final RedisCommand<Object> HSET = AsyncCommandExecutor.command("HSET");
+    private static final RedisCommand<Object> HGET = AsyncCommandExecutor.command("HGET");
+    private static final RedisCommand<Object> HDEL = AsyncCommandExecutor.command("HDEL");
+    private static final RedisCommand<Object> HINCRBY = AsyncCommandExecutor.command("HINCRBY");
+    private static final RedisCommand<Object> HINCRBYFLOAT = AsyncCommandExecutor.command("HINCRBYFLOAT");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步数字助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncNumberHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 设置浮点数
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> setDouble(String key, double value) {
+        return this.set(key, String.valueOf(value));
+    }
+
+    /**
+     * 设置浮点数
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   值
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> setDouble(String key, String hashKey, double value) {
+        return this.set(key, hashKey, String.valueOf(value));
+    }
+
+    /**
+     * 设置浮点数(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   值
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Void> setDouble(String key, double value, long timeout, TimeUnit unit) {
+        return this.set(key, String.valueOf(value), timeout, unit);
+    }
+
+    /**
+     * 设置浮点数如果不存在
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> setDoubleIfAbsent(String key, double value) {
+        return this.setIfAbsent(key, String.valueOf(value));
+    }
+
+    /**
+     * 获取浮点数
+     *
+     * @param key 键
+     * @return 返回浮点数
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Double> getDouble(String key) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.read(rawKey, GET, SerializationHelper::toDouble, rawKey);
+    }
+
+    /**
+     * 获取浮点数
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回浮点数
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Double> getDouble(String key, String hashKey) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.read(rawKey, HGET, SerializationHelper::toDouble, rawKey, rawHashKey);
+    }
+
+    /**
+     * 获取并设置浮点数
+     *
+     * @param key      键
+     * @param newValue 新值
+     * @return 返回旧值
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Double> getAndSetDouble(String key, double newValue) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawValue = this.rawValue(String.valueOf(newValue));
+        return this.executor.invalidate(this.executor.write(rawKey, GETSET, SerializationHelper::toDouble, rawKey, rawValue), key);
+    }
+
+    /**
+     * 浮点数加法
+     *
+     * @param key  键
+     * @param data 加数
+     * @return 返回相加后的值
+     * @see <a href="http://redis.io/commands/incrbyfloat">Redis Documentation: INCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> addDouble(String key, double data) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.invalidate(this.executor.write(rawKey, INCRBYFLOAT, SerializationHelper::toDouble, rawKey, toDelta(data)), key);
+    }
+
+    /**
+     * 浮点数加法
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    加数
+     * @return 返回相加后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> addDouble(String key, String hashKey, double data) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.invalidate(this.executor.write(rawKey, HINCRBYFLOAT, SerializationHelper::toDouble, rawKey, rawHashKey, toDelta(data)), key);
+    }
+
+    /**
+     * 浮点数减法
+     *
+     * @param key  键
+     * @param data 减数
+     * @return 返回相减后的值
+     * @see <a href="http://redis.io/commands/incrbyfloat">Redis Documentation: INCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> subtractDouble(String key, double data) {
+        return this.addDouble(key, -data);
+    }
+
+    /**
+     * 浮点数减法
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    减数
+     * @return 返回相减后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public CompletableFuture<Double> subtractDouble(String key, String hashKey, double data) {
+        return this.addDouble(key, hashKey, -data);
+    }
+
+    /**
+     * 设置长整数
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> setLong(String key, long value) {
+        return this.set(key, String.valueOf(value));
+    }
+
+    /**
+     * 设置长整数
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   值
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> setLong(String key, String hashKey, long value) {
+        return this.set(key, hashKey, String.valueOf(value));
+    }
+
+    /**
+     * 设置长整数(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   值
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Void> setLong(String key, long value, long timeout, TimeUnit unit) {
+        return this.set(key, String.valueOf(value), timeout, unit);
+    }
+
+    /**
+     * 设置长整数如果不存在
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> setLongIfAbsent(String key, long value) {
+        return this.setIfAbsent(key, String.valueOf(value));
+    }
+
+    /**
+     * 获取长整数
+     *
+     * @param key 键
+     * @return 返回长整数
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> getLong(String key) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.read(rawKey, GET, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取长整数
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回长整数
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> getLong(String key, String hashKey) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.read(rawKey, HGET, SerializationHelper::toLong, rawKey, rawHashKey);
+    }
+
+    /**
+     * 获取并设置长整数
+     *
+     * @param key      键
+     * @param newValue 新值
+     * @return 返回旧值
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> getAndSetLong(String key, long newValue) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawValue = this.rawValue(String.valueOf(newValue));
+        return this.executor.invalidate(this.executor.write(rawKey, GETSET, SerializationHelper::toLong, rawKey, rawValue), key);
+    }
+
+    /**
+     * 长整数加法
+     *
+     * @param key  键
+     * @param data 加数
+     * @return 返回相加后的值
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> addLong(String key, long data) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.invalidate(this.executor.write(rawKey, INCRBY, SerializationHelper::toLong, rawKey, data), key);
+    }
+
+    /**
+     * 长整数加法
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    加数
+     * @return 返回相加后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> addLong(String key, String hashKey, long data) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        return this.executor.invalidate(this.executor.write(rawKey, HINCRBY, SerializationHelper::toLong, rawKey, rawHashKey, data), key);
+    }
+
+    /**
+     * 长整数自增
+     *
+     * @param key 键
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> incrementLong(String key) {
+        return this.addLong(key, 1L);
+    }
+
+    /**
+     * 长整数自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> incrementLong(String key, String hashKey) {
+        return this.addLong(key, hashKey, 1L);
+    }
+
+    /**
+     * 长整数减法
+     *
+     * @param key  键
+     * @param data 减数
+     * @return 返回相减后的值
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> subtractLong(String key, long data) {
+        return this.addLong(key, -data);
+    }
+
+    /**
+     * 长整数减法
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    减数
+     * @return 返回相减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> subtractLong(String key, String hashKey, long data) {
+        return this.addLong(key, hashKey, -data);
+    }
+
+    /**
+     * 长整数自减
+     *
+     * @param key 键
+     * @return 返回自减后的值
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> decrementLong(String key) {
+        return this.addLong(key, -1L);
+    }
+
+    /**
+     * 长整数自减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回自减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> decrementLong(String key, String hashKey) {
+        return this.addLong(key, hashKey, -1L);
+    }
+
+    /**
+     * 移除key
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> removeForValue(String... keys) {
+        byte[][] rawKeys = SerializationHelper.rawKeys(this.stringRedisTemplate, keys);
+        return this.executor.invalidate(this.executor.write(rawKeys[0], DEL, SerializationHelper::toLong, (Object[]) rawKeys), keys);
+    }
+
+    /**
+     * 移除hash key
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> removeForHash(String key, String... hashKeys) {
+        byte[] rawKey = this.rawKey(key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawHashKeys(this.stringRedisTemplate, hashKeys));
+        return this.executor.invalidate(this.executor.write(rawKey, HDEL, SerializationHelper::toLong, params), key);
+    }
+
+    /**
+     * 设置值
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(String key, String value) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, SET, rawKey, this.rawValue(value)), key);
+    }
+
+    /**
+     * 设置值(过期)
+     *
+     * @param key     键
+     * @param value   值
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(String key, String value, long timeout, TimeUnit unit) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, SET, rawKey, this.rawValue(value), "PX", ExpiryPolicy.millis(key, timeout, unit)), key);
+    }
+
+    /**
+     * 设置hash值
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   值
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(String key, String hashKey, String value) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.stringRedisTemplate, hashKey);
+        byte[] rawValue = SerializationHelper.rawHashValue(this.stringRedisTemplate, value);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, HSET, rawKey, rawHashKey, rawValue), key);
+    }
+
+    /**
+     * 设置值如果不存在
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> setIfAbsent(String key, String value) {
+        byte[] rawKey = this.rawKey(key);
+        return this.executor.invalidate(this.executor.write(rawKey, SETNX, SerializationHelper::toBoolean, rawKey, this.rawValue(value)), key);
+    }
+
+    /**
+     * 序列化键
+     *
+     * @param key 键
+     * @return 返回字节数组
+     */
+    private byte[] rawKey(String key) {
+        return SerializationHelper.rawKey(this.stringRedisTemplate, key);
+    }
+
+    /**
+     * 序列化值
+     *
+     * @param value 值
+     * @return 返回字节数组
+     */
+    private byte[] rawValue(String value) {
+        return SerializationHelper.rawValue(this.stringRedisTemplate, value);
+    }
+
+    /**
+     * 转换浮点数增量参数(避免科学计数法)
+     *
+     * @param data 增量
+     * @return 返回增量参数
+     */
+    private static String toDelta(double data) {
+        return BigDecimal.valueOf(data).toPlainString();
+    }
+}
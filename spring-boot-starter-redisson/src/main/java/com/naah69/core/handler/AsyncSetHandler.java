@@ -0,0 +1,312 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步无序集合助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncSetHandler implements RedisHandler {
+    private static final RedisCommand<Object> SADD = AsyncCommandExecutor.command("SADD");
+    private static final RedisCommand<Object> SREM = AsyncCommandExecutor.command("SREM");
+    private static final RedisCommand<Object> SPOP = AsyncCommandExecutor.command("SPOP");
+    private static final RedisCommand<Object> SMOVE = AsyncCommandExecutor.command("SMOVE");
+    private static final RedisCommand<Object> SCARD = AsyncCommandExecutor.command("SCARD");
+    private static final RedisCommand<Object> SISMEMBER = AsyncCommandExecutor.command("SISMEMBER");
+    private static final RedisCommand<Object> SRANDMEMBER = AsyncCommandExecutor.command("SRANDMEMBER");
+    private static final RedisCommand<List<Object>> SMEMBERS = AsyncCommandExecutor.multiCommand("SMEMBERS");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步无序集合助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncSetHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.redisTemplate = this.executor.getRedisTemplate();
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 新增对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回成功个数
+     * @see <a href="http://redis.io/commands/sadd">Redis Documentation: SADD</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> addAsObj(String key, Object... values) {
+        return this.modify(this.redisTemplate, SADD, key, values);
+    }
+
+    /**
+     * 新增字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回成功个数
+     * @see <a href="http://redis.io/commands/sadd">Redis Documentation: SADD</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> add(String key, String... values) {
+        return this.modify(this.stringRedisTemplate, SADD, key, (Object[]) values);
+    }
+
+    /**
+     * 弹出对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/spop">Redis Documentation: SPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> popAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, SPOP, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 弹出对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/spop">Redis Documentation: SPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> popAsObj(Class<T> type, String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, SPOP, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey);
+    }
+
+    /**
+     * 弹出字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/spop">Redis Documentation: SPOP</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> pop(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.write(rawKey, SPOP, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回移除对象数量
+     * @see <a href="http://redis.io/commands/srem">Redis Documentation: SREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> removeAsObj(String key, Object... values) {
+        return this.modify(this.redisTemplate, SREM, key, values);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回移除字符串数量
+     * @see <a href="http://redis.io/commands/srem">Redis Documentation: SREM</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> remove(String key, String... values) {
+        return this.modify(this.stringRedisTemplate, SREM, key, (Object[]) values);
+    }
+
+    /**
+     * 移动对象到目标集合
+     *
+     * @param key     键
+     * @param destKey 目标键
+     * @param value   对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/smove">Redis Documentation: SMOVE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> moveAsObj(String key, String destKey, Object value) {
+        return this.move(this.redisTemplate, key, destKey, value);
+    }
+
+    /**
+     * 移动字符串到目标集合
+     *
+     * @param key     键
+     * @param destKey 目标键
+     * @param value   字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/smove">Redis Documentation: SMOVE</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> move(String key, String destKey, String value) {
+        return this.move(this.stringRedisTemplate, key, destKey, value);
+    }
+
+    /**
+     * 获取对象数量
+     *
+     * @param key 键
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/scard">Redis Documentation: SCARD</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> sizeAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, SCARD, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取字符串数量
+     *
+     * @param key 键
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/scard">Redis Documentation: SCARD</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> size(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, SCARD, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 是否包含对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/sismember">Redis Documentation: SISMEMBER</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> containsAsObj(String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.redisTemplate, value);
+        return this.executor.read(rawKey, SISMEMBER, SerializationHelper::toBoolean, rawKey, rawValue);
+    }
+
+    /**
+     * 是否包含字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/sismember">Redis Documentation: SISMEMBER</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> contains(String key, String value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.stringRedisTemplate, value);
+        return this.executor.read(rawKey, SISMEMBER, SerializationHelper::toBoolean, rawKey, rawValue);
+    }
+
+    /**
+     * 获取随机对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/srandmember">Redis Documentation: SRANDMEMBER</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> randomMemberAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, SRANDMEMBER, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取随机字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/srandmember">Redis Documentation: SRANDMEMBER</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> randomMember(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, SRANDMEMBER, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取对象集合
+     *
+     * @param key 键
+     * @return 返回对象集合
+     * @see <a href="http://redis.io/commands/smembers">Redis Documentation: SMEMBERS</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Set<Object>> membersAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, SMEMBERS, SerializationHelper.setDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取字符串集合
+     *
+     * @param key 键
+     * @return 返回字符串集合
+     * @see <a href="http://redis.io/commands/smembers">Redis Documentation: SMEMBERS</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Set<String>> members(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, SMEMBERS, SerializationHelper.setDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 新增或移除值
+     *
+     * @param template 模板
+     * @param command  命令
+     * @param key      键
+     * @param values   值
+     * @return 返回成功个数
+     */
+    private CompletableFuture<Long> modify(RedisTemplate<String, ?> template, RedisCommand<Object> command, String key, Object... values) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawValues(template, values));
+        return this.executor.write(rawKey, command, SerializationHelper::toLong, params);
+    }
+
+    /**
+     * 移动值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param destKey  目标键
+     * @param value    值
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> move(RedisTemplate<String, ?> template, String key, String destKey, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawDestKey = SerializationHelper.rawKey(template, destKey);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.write(rawKey, SMOVE, SerializationHelper::toBoolean, rawKey, rawDestKey, rawValue);
+    }
+}
@@ -0,0 +1,476 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步字符串助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncStringHandler implements RedisHandler {
+    private static final RedisCommand<Object> DEL = AsyncCommandExecutor.command("DEL");
+    private static final RedisCommand<Object> SET = AsyncCommandExecutor.command("SET");
+    private static final RedisCommand<Object> SETNX = AsyncCommandExecutor.command("SETNX");
+    private static final RedisCommand<Object> MSET = AsyncCommandExecutor.command("MSET");
+    private static final RedisCommand<Object> MSETNX = AsyncCommandExecutor.command("MSETNX");
+    private static final RedisCommand<Object> APPEND = AsyncCommandExecutor.command("APPEND");
+    private static final RedisCommand<Object> GET = AsyncCommandExecutor.command("GET");
+    private static final RedisCommand<Object> GETSET = AsyncCommandExecutor.command("GETSET");
+    private static final RedisCommand<Object> STRLEN = AsyncCommandExecutor.command("STRLEN");
+    private static final RedisCommand<List<Object>> MGET = AsyncCommandExecutor.multiCommand("MGET");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步字符串助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncStringHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.redisTemplate = this.executor.getRedisTemplate();
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> removeAsObj(String... keys) {
+        return this.remove(this.redisTemplate, keys);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Long> remove(String... keys) {
+        return this.remove(this.stringRedisTemplate, keys);
+    }
+
+    /**
+     * 设置对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> setAsObj(String key, Object value) {
+        return this.set(this.redisTemplate, key, value);
+    }
+
+    /**
+     * 设置字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> set(String key, String value) {
+        return this.set(this.stringRedisTemplate, key, value);
+    }
+
+    /**
+     * 设置对象(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Void> setAsObj(String key, Object value, long timeout, TimeUnit unit) {
+        return this.set(this.redisTemplate, key, value, timeout, unit);
+    }
+
+    /**
+     * 设置字符串(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   字符串
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Void> set(String key, String value, long timeout, TimeUnit unit) {
+        return this.set(this.stringRedisTemplate, key, value, timeout, unit);
+    }
+
+    /**
+     * 批量设置对象
+     *
+     * @param map 对象集合
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/mset">Redis Documentation: MSET</a>
+     * @since redis 1.0.1
+     */
+    public CompletableFuture<Void> msetAsObj(Map<String, Object> map) {
+        Object[] params = this.toParams(this.redisTemplate, map);
+        return this.executor.invalidate(this.executor.writeVoid((byte[]) params[0], MSET, params), map.keySet());
+    }
+
+    /**
+     * 批量设置字符串
+     *
+     * @param map 字符串集合
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/mset">Redis Documentation: MSET</a>
+     * @since redis 1.0.1
+     */
+    public CompletableFuture<Void> mset(Map<String, String> map) {
+        Object[] params = this.toParams(this.stringRedisTemplate, map);
+        return this.executor.invalidate(this.executor.writeVoid((byte[]) params[0], MSET, params), map.keySet());
+    }
+
+    /**
+     * 追加新字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回异步结果
+     * @see <a href="http://redis.io/commands/append">Redis Documentation: APPEND</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Void> append(String key, String value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.stringRedisTemplate, value);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, APPEND, rawKey, rawValue), key);
+    }
+
+    /**
+     * 设置对象如果不存在
+     *
+     * @param key     键
+     * @param value   对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Boolean> setIfAbsentAsObj(String key, Object value, long timeout, TimeUnit unit) {
+        return this.setIfAbsent(this.redisTemplate, key, value, timeout, unit);
+    }
+
+    /**
+     * 设置字符串如果不存在
+     *
+     * @param key     键
+     * @param value   字符串
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public CompletableFuture<Boolean> setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
+        return this.setIfAbsent(this.stringRedisTemplate, key, value, timeout, unit);
+    }
+
+    /**
+     * 设置对象如果不存在
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> setIfAbsentAsObj(String key, Object value) {
+        return this.setIfAbsent(this.redisTemplate, key, value);
+    }
+
+    /**
+     * 设置字符串如果不存在
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<Boolean> setIfAbsent(String key, String value) {
+        return this.setIfAbsent(this.stringRedisTemplate, key, value);
+    }
+
+    /**
+     * 批量设置对象如果不存在
+     *
+     * @param map 对象集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/msetnx">Redis Documentation: MSETNX</a>
+     * @since redis 1.0.1
+     */
+    public CompletableFuture<Boolean> msetIfAbsentAsObj(Map<String, Object> map) {
+        Object[] params = this.toParams(this.redisTemplate, map);
+        return this.executor.invalidate(this.executor.write((byte[]) params[0], MSETNX, SerializationHelper::toBoolean, params), map.keySet());
+    }
+
+    /**
+     * 批量设置字符串如果不存在
+     *
+     * @param map 字符串集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/msetnx">Redis Documentation: MSETNX</a>
+     * @since redis 1.0.1
+     */
+    public CompletableFuture<Boolean> msetIfAbsent(Map<String, String> map) {
+        Object[] params = this.toParams(this.stringRedisTemplate, map);
+        return this.executor.invalidate(this.executor.write((byte[]) params[0], MSETNX, SerializationHelper::toBoolean, params), map.keySet());
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> getAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, GET, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> getAsObj(Class<T> type, String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, GET, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey);
+    }
+
+    /**
+     * 获取字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> get(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, GET, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey);
+    }
+
+    /**
+     * 获取并设置新对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> getAndSetAsObj(String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.redisTemplate, value);
+        return this.executor.invalidate(this.executor.write(rawKey, GETSET, SerializationHelper.valueDecoder(this.redisTemplate.getValueSerializer()), rawKey, rawValue), key);
+    }
+
+    /**
+     * 获取并设置新对象
+     *
+     * @param type  返回值类型
+     * @param key   键
+     * @param value 对象
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public <T> CompletableFuture<T> getAndSetAsObj(Class<T> type, String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.redisTemplate, value);
+        return this.executor.invalidate(this.executor.write(rawKey, GETSET, SerializationHelper.typedDecoder(this.redisTemplate.getValueSerializer(), type), rawKey, rawValue), key);
+    }
+
+    /**
+     * 获取并设置新字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<String> getAndSet(String key, String value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.stringRedisTemplate, value);
+        return this.executor.invalidate(this.executor.write(rawKey, GETSET, SerializationHelper.valueDecoder(this.stringRedisTemplate.getValueSerializer()), rawKey, rawValue), key);
+    }
+
+    /**
+     * 批量获取对象
+     *
+     * @param keys 键
+     * @return 返回对象列表
+     * @see <a href="http://redis.io/commands/mget">Redis Documentation: MGET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<Object>> mgetAsObj(String... keys) {
+        byte[][] rawKeys = SerializationHelper.rawKeys(this.redisTemplate, keys);
+        return this.executor.read(rawKeys[0], MGET, SerializationHelper.listDecoder(this.redisTemplate.getValueSerializer()), (Object[]) rawKeys);
+    }
+
+    /**
+     * 批量获取字符串
+     *
+     * @param keys 键
+     * @return 返回字符串列表
+     * @see <a href="http://redis.io/commands/mget">Redis Documentation: MGET</a>
+     * @since redis 1.0.0
+     */
+    public CompletableFuture<List<String>> mget(String... keys) {
+        byte[][] rawKeys = SerializationHelper.rawKeys(this.stringRedisTemplate, keys);
+        return this.executor.read(rawKeys[0], MGET, SerializationHelper.listDecoder(this.stringRedisTemplate.getValueSerializer()), (Object[]) rawKeys);
+    }
+
+    /**
+     * 获取字符串的长度
+     *
+     * @param key 键
+     * @return 返回字符串长度
+     * @see <a href="http://redis.io/commands/strlen">Redis Documentation: STRLEN</a>
+     * @since redis 2.2.0
+     */
+    public CompletableFuture<Long> length(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, STRLEN, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 移除键
+     *
+     * @param template 模板
+     * @param keys     键
+     * @return 返回移除数量
+     */
+    private CompletableFuture<Long> remove(RedisTemplate<String, ?> template, String... keys) {
+        byte[][] rawKeys = SerializationHelper.rawKeys(template, keys);
+        return this.executor.invalidate(this.executor.write(rawKeys[0], DEL, SerializationHelper::toLong, (Object[]) rawKeys), keys);
+    }
+
+    /**
+     * 设置值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(RedisTemplate<String, ?> template, String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, SET, rawKey, rawValue), key);
+    }
+
+    /**
+     * 设置值(过期)
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @param timeout  过期时间
+     * @param unit     时间单位
+     * @return 返回异步结果
+     */
+    private CompletableFuture<Void> set(RedisTemplate<String, ?> template, String key, Object value, long timeout, TimeUnit unit) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.invalidate(this.executor.writeVoid(rawKey, SET, rawKey, rawValue, "PX", ExpiryPolicy.millis(key, timeout, unit)), key);
+    }
+
+    /**
+     * 设置值如果不存在
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> setIfAbsent(RedisTemplate<String, ?> template, String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.invalidate(this.executor.write(rawKey, SETNX, SerializationHelper::toBoolean, rawKey, rawValue), key);
+    }
+
+    /**
+     * 设置值如果不存在(过期)
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @param timeout  过期时间
+     * @param unit     时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> setIfAbsent(RedisTemplate<String, ?> template, String key, Object value, long timeout, TimeUnit unit) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        // 设置成功时回复OK, 否则回复nil
+        return this.executor.invalidate(this.executor.write(rawKey, SET, Objects::nonNull, rawKey, rawValue, "PX", ExpiryPolicy.millis(key, timeout, unit), "NX"), key);
+    }
+
+    /**
+     * 转换键值参数
+     *
+     * @param template 模板
+     * @param map      键值集合
+     * @return 返回参数数组
+     */
+    private Object[] toParams(RedisTemplate<String, ?> template, Map<String, ?> map) {
+        Object[] params = new Object[map.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            params[index++] = SerializationHelper.rawKey(template, entry.getKey());
+            params[index++] = SerializationHelper.rawValue(template, entry.getValue());
+        }
+        return params;
+    }
+}
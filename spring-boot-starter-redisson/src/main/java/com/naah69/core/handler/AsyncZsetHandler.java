@@ -0,0 +1,471 @@
+package com.naah69.core.handler;
+
+import org.redisson.client.protocol.RedisCommand;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步有序集合助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class AsyncZsetHandler implements RedisHandler {
+    private static final RedisCommand<Object> ZADD = AsyncCommandExecutor.command("ZADD");
+    private static final RedisCommand<Object> ZCARD = AsyncCommandExecutor.command("ZCARD");
+    private static final RedisCommand<Object> ZCOUNT = AsyncCommandExecutor.command("ZCOUNT");
+    private static final RedisCommand<Object> ZRANK = AsyncCommandExecutor.command("ZRANK");
+    private static final RedisCommand<Object> ZREVRANK = AsyncCommandExecutor.command("ZREVRANK");
+    private static final RedisCommand<Object> ZSCORE = AsyncCommandExecutor.command("ZSCORE");
+    private static final RedisCommand<Object> ZINCRBY = AsyncCommandExecutor.command("ZINCRBY");
+    private static final RedisCommand<Object> ZREM = AsyncCommandExecutor.command("ZREM");
+    private static final RedisCommand<Object> ZREMRANGEBYSCORE = AsyncCommandExecutor.command("ZREMRANGEBYSCORE");
+    private static final RedisCommand<List<Object>> ZRANGE = AsyncCommandExecutor.multiCommand("ZRANGE");
+    private static final RedisCommand<List<Object>> ZREVRANGE = AsyncCommandExecutor.multiCommand("ZREVRANGE");
+    /**
+     * 异步命令执行器
+     */
+    private final AsyncCommandExecutor executor;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 异步有序集合助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    AsyncZsetHandler(Integer dbIndex) {
+        this.executor = new AsyncCommandExecutor(dbIndex);
+        this.redisTemplate = this.executor.getRedisTemplate();
+        this.stringRedisTemplate = this.executor.getStringRedisTemplate();
+    }
+
+    /**
+     * 新增对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @param score 排序
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Boolean> addAsObj(String key, Object value, double score) {
+        return this.add(this.redisTemplate, key, value, score);
+    }
+
+    /**
+     * 新增字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @param score 排序
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Boolean> add(String key, String value, double score) {
+        return this.add(this.stringRedisTemplate, key, value, score);
+    }
+
+    /**
+     * 获取对象数量
+     *
+     * @param key 键
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> sizeAsObj(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, ZCARD, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取字符串数量
+     *
+     * @param key 键
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> size(String key) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, ZCARD, SerializationHelper::toLong, rawKey);
+    }
+
+    /**
+     * 获取最小-最大之间分数的对象数量
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/zcount">Redis Documentation: ZCOUNT</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> countAsObj(String key, Double min, Double max) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.read(rawKey, ZCOUNT, SerializationHelper::toLong, rawKey, toScore(min), toScore(max));
+    }
+
+    /**
+     * 获取最小-最大之间分数的字符串数量
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/zcount">Redis Documentation: ZCOUNT</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> count(String key, Double min, Double max) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.read(rawKey, ZCOUNT, SerializationHelper::toLong, rawKey, toScore(min), toScore(max));
+    }
+
+    /**
+     * 正序获取范围内的对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象集合
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<Object>> ascRangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.range(this.redisTemplate, ZRANGE, key, startIndex, endIndex);
+    }
+
+    /**
+     * 正序获取范围内的字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串集合
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<String>> ascRange(String key, Long startIndex, Long endIndex) {
+        return this.range(this.stringRedisTemplate, ZRANGE, key, startIndex, endIndex);
+    }
+
+    /**
+     * 获取所有对象
+     *
+     * @param key 键
+     * @return 返回对象集合
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<Object>> getAllAsObj(String key) {
+        return this.ascRangeAsObj(key, 0L, -1L);
+    }
+
+    /**
+     * 获取所有字符串
+     *
+     * @param key 键
+     * @return 返回字符串集合
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<String>> getAll(String key) {
+        return this.ascRange(key, 0L, -1L);
+    }
+
+    /**
+     * 倒序获取范围内的对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象集合
+     * @see <a href="http://redis.io/commands/zrevrange">Redis Documentation: ZREVRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<Object>> reverseRangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.range(this.redisTemplate, ZREVRANGE, key, startIndex, endIndex);
+    }
+
+    /**
+     * 倒序获取范围内的字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串集合
+     * @see <a href="http://redis.io/commands/zrevrange">Redis Documentation: ZREVRANGE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Set<String>> reverseRange(String key, Long startIndex, Long endIndex) {
+        return this.range(this.stringRedisTemplate, ZREVRANGE, key, startIndex, endIndex);
+    }
+
+    /**
+     * 获取对象正序排名
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回排名
+     * @see <a href="http://redis.io/commands/zrank">Redis Documentation: ZRANK</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> sortIndexAsObj(String key, Object value) {
+        return this.rank(this.redisTemplate, ZRANK, key, value);
+    }
+
+    /**
+     * 获取字符串正序排名
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回排名
+     * @see <a href="http://redis.io/commands/zrank">Redis Documentation: ZRANK</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> sortIndex(String key, String value) {
+        return this.rank(this.stringRedisTemplate, ZRANK, key, value);
+    }
+
+    /**
+     * 获取对象倒序排名
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回排名
+     * @see <a href="http://redis.io/commands/zrevrank">Redis Documentation: ZREVRANK</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> reverseSortIndexAsObj(String key, Object value) {
+        return this.rank(this.redisTemplate, ZREVRANK, key, value);
+    }
+
+    /**
+     * 获取字符串倒序排名
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回排名
+     * @see <a href="http://redis.io/commands/zrevrank">Redis Documentation: ZREVRANK</a>
+     * @since redis 2.0.0
+     */
+    public CompletableFuture<Long> reverseSortIndex(String key, String value) {
+        return this.rank(this.stringRedisTemplate, ZREVRANK, key, value);
+    }
+
+    /**
+     * 获取对象分数
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回分数
+     * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Double> scoreAsObj(String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.redisTemplate, value);
+        return this.executor.read(rawKey, ZSCORE, SerializationHelper::toDouble, rawKey, rawValue);
+    }
+
+    /**
+     * 获取字符串分数
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回分数
+     * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Double> score(String key, String value) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        byte[] rawValue = SerializationHelper.rawValue(this.stringRedisTemplate, value);
+        return this.executor.read(rawKey, ZSCORE, SerializationHelper::toDouble, rawKey, rawValue);
+    }
+
+    /**
+     * 对象分数自增
+     *
+     * @param key   键
+     * @param value 对象
+     * @param score 自增分数
+     * @return 返回自增后的分数
+     * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Double> incrementScoreAsObj(String key, Object value, Double score) {
+        return this.incrementScore(this.redisTemplate, key, value, score);
+    }
+
+    /**
+     * 字符串分数自增
+     *
+     * @param key   键
+     * @param value 字符串
+     * @param score 自增分数
+     * @return 返回自增后的分数
+     * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Double> incrementScore(String key, String value, Double score) {
+        return this.incrementScore(this.stringRedisTemplate, key, value, score);
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> removeAsObj(String key, Object... values) {
+        return this.remove(this.redisTemplate, key, values);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> remove(String key, String... values) {
+        return this.remove(this.stringRedisTemplate, key, (Object[]) values);
+    }
+
+    /**
+     * 移除最小-最大之间分数的对象
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyscore">Redis Documentation: ZREMRANGEBYSCORE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> removeRangeByScoreAsObj(String key, Double min, Double max) {
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        return this.executor.write(rawKey, ZREMRANGEBYSCORE, SerializationHelper::toLong, rawKey, toScore(min), toScore(max));
+    }
+
+    /**
+     * 移除最小-最大之间分数的字符串
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyscore">Redis Documentation: ZREMRANGEBYSCORE</a>
+     * @since redis 1.2.0
+     */
+    public CompletableFuture<Long> removeRangeByScore(String key, Double min, Double max) {
+        byte[] rawKey = SerializationHelper.rawKey(this.stringRedisTemplate, key);
+        return this.executor.write(rawKey, ZREMRANGEBYSCORE, SerializationHelper::toLong, rawKey, toScore(min), toScore(max));
+    }
+
+    /**
+     * 新增值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @param score    排序
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private CompletableFuture<Boolean> add(RedisTemplate<String, ?> template, String key, Object value, double score) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.write(rawKey, ZADD, SerializationHelper::toBoolean, rawKey, toScore(score), rawValue);
+    }
+
+    /**
+     * 获取范围内的值
+     *
+     * @param template   模板
+     * @param command    命令
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @param <T>        值类型
+     * @return 返回值集合
+     */
+    private <T> CompletableFuture<Set<T>> range(RedisTemplate<String, ?> template, RedisCommand<List<Object>> command, String key, Long startIndex, Long endIndex) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        return this.executor.read(rawKey, command, SerializationHelper.setDecoder(template.getValueSerializer()), rawKey, startIndex, endIndex);
+    }
+
+    /**
+     * 获取排名
+     *
+     * @param template 模板
+     * @param command  命令
+     * @param key      键
+     * @param value    值
+     * @return 返回排名
+     */
+    private CompletableFuture<Long> rank(RedisTemplate<String, ?> template, RedisCommand<Object> command, String key, Object value) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.read(rawKey, command, SerializationHelper::toLong, rawKey, rawValue);
+    }
+
+    /**
+     * 分数自增
+     *
+     * @param template 模板
+     * @param key      键
+     * @param value    值
+     * @param score    自增分数
+     * @return 返回自增后的分数
+     */
+    private CompletableFuture<Double> incrementScore(RedisTemplate<String, ?> template, String key, Object value, Double score) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawValue = SerializationHelper.rawValue(template, value);
+        return this.executor.write(rawKey, ZINCRBY, SerializationHelper::toDouble, rawKey, toScore(score), rawValue);
+    }
+
+    /**
+     * 移除值
+     *
+     * @param template 模板
+     * @param key      键
+     * @param values   值
+     * @return 返回移除数量
+     */
+    private CompletableFuture<Long> remove(RedisTemplate<String, ?> template, String key, Object... values) {
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        Object[] params = AsyncCommandExecutor.params(rawKey, SerializationHelper.rawValues(template, values));
+        return this.executor.write(rawKey, ZREM, SerializationHelper::toLong, params);
+    }
+
+    /**
+     * 转换分数参数(无穷大转换为redis的inf表示)
+     *
+     * @param score 分数
+     * @return 返回分数参数
+     */
+    private static String toScore(double score) {
+        if (Double.isInfinite(score)) {
+            return score > 0 ? "+inf" : "-inf";
+        }
+        return String.valueOf(score);
+    }
+}
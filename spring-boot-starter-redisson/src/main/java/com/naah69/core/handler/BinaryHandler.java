@@ -0,0 +1,233 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.codec.ValueCodecRedissonCodec;
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.config.redisson.RedissonClientHelper;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.redisson.api.RBinaryStream;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大值助手(需添加redisson依赖)
+ * 对象按对象模板的值编码直接编码到池化的直接内存缓冲, 读取时从网络缓冲直接解码, 不经过中间字节数组,
+ * 与字符串助手的对象读写可互相读取; 另提供按块读写的流访问
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class BinaryHandler implements RedisHandler {
+    /**
+     * redisson客户端
+     */
+    private RedissonClient redissonClient;
+    /**
+     * 编码适配
+     */
+    private ValueCodecRedissonCodec codec;
+    /**
+     * 键前缀(命名空间, 与模板的键序列化器一致)
+     */
+    private String keyPrefix;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+
+    /**
+     * 大值助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    BinaryHandler(Integer dbIndex) {
+        this.redissonClient = RedissonClientHelper.getSharedClient(dbIndex);
+        this.codec = new ValueCodecRedissonCodec(HandlerManager.getValueCodec(dbIndex));
+        this.keyPrefix = HandlerManager.getKeyPrefix(dbIndex);
+        RedisHandlerProperties properties = ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class);
+        if (properties.getNearCache().isEnabled()) {
+            this.nearCache = NearCache.forDatabase(dbIndex, properties.getNearCache());
+        }
+    }
+
+    /**
+     * 设置对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public void setAsObj(String key, Object value) {
+        this.redissonClient.getBucket(this.keyPrefix + key, this.codec).set(value);
+        this.invalidate(key);
+    }
+
+    /**
+     * 设置对象
+     *
+     * @param key     键
+     * @param value   对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public void setAsObj(String key, Object value, long timeout, TimeUnit unit) {
+        this.redissonClient.getBucket(this.keyPrefix + key, this.codec).set(value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+    }
+
+    /**
+     * 设置对象如果不存在
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public Boolean setIfAbsentAsObj(String key, Object value) {
+        boolean success = this.redissonClient.getBucket(this.keyPrefix + key, this.codec).trySet(value);
+        if (success) {
+            this.invalidate(key);
+        }
+        return success;
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAsObj(String key) {
+        return (T) this.redissonClient.getBucket(this.keyPrefix + key, this.codec).get();
+    }
+
+    /**
+     * 获取对象(直接解码为指定类型)
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public <T> T getAsObj(Class<T> type, String key) {
+        RBucket<T> bucket = this.redissonClient.getBucket(this.keyPrefix + key, this.codec.forType(type));
+        return bucket.get();
+    }
+
+    /**
+     * 获取并移除对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public <T> T getAndRemoveAsObj(Class<T> type, String key) {
+        RBucket<T> bucket = this.redissonClient.getBucket(this.keyPrefix + key, this.codec.forType(type));
+        T value = bucket.getAndDelete();
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public long remove(String... keys) {
+        String[] names = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            names[i] = this.keyPrefix + keys[i];
+        }
+        long count = this.redissonClient.getKeys().delete(names);
+        this.invalidate(keys);
+        return count;
+    }
+
+    /**
+     * 获取值字节长度
+     *
+     * @param key 键
+     * @return 返回字节长度
+     * @see <a href="http://redis.io/commands/strlen">Redis Documentation: STRLEN</a>
+     * @since redis 2.2.0
+     */
+    public long size(String key) {
+        return this.redissonClient.getBinaryStream(this.keyPrefix + key).size();
+    }
+
+    /**
+     * 获取输入流(按块读取原始字节, 不一次载入整个值)
+     *
+     * @param key 键
+     * @return 返回输入流
+     * @see <a href="http://redis.io/commands/getrange">Redis Documentation: GETRANGE</a>
+     * @since redis 2.4.0
+     */
+    public InputStream getInputStream(String key) {
+        return this.redissonClient.getBinaryStream(this.keyPrefix + key).getInputStream();
+    }
+
+    /**
+     * 获取输出流(每次写入追加到值末尾, 需要覆盖时先移除)
+     *
+     * @param key 键
+     * @return 返回输出流
+     * @see <a href="http://redis.io/commands/append">Redis Documentation: APPEND</a>
+     * @since redis 2.0.0
+     */
+    public OutputStream getOutputStream(String key) {
+        this.invalidate(key);
+        return this.redissonClient.getBinaryStream(this.keyPrefix + key).getOutputStream();
+    }
+
+    /**
+     * 获取二进制流对象
+     *
+     * @param key 键
+     * @return 返回二进制流对象
+     */
+    public RBinaryStream getBinaryStream(String key) {
+        return this.redissonClient.getBinaryStream(this.keyPrefix + key);
+    }
+
+    /**
+     * 获取redisson客户端
+     *
+     * @return 返回redisson客户端
+     */
+    public RedissonClient getRedissonClient() {
+        return this.redissonClient;
+    }
+
+    /**
+     * 失效近端缓存
+     *
+     * @param keys 键
+     */
+    private void invalidate(String... keys) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(keys);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.naah69.core.util.ConvertUtil;
 import org.springframework.data.domain.Range;
 import org.springframework.data.redis.connection.BitFieldSubCommands;
 import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
@@ -22,10 +23,6 @@ public final class BitmapHandler implements RedisHandler {
      * 字符串模板
      */
     private StringRedisTemplate stringRedisTemplate;
-    /**
-     * 字符串命令
-     */
-    private RedisStringCommands commands;
 
     /**
      * 位图助手构造
@@ -34,7 +31,6 @@ public final class BitmapHandler implements RedisHandler {
      */
     BitmapHandler(Integer dbIndex) {
         this.stringRedisTemplate = HandlerManager.createStringRedisTemplate(dbIndex);
-        this.commands = this.stringRedisTemplate.getRequiredConnectionFactory().getConnection().stringCommands();
     }
 
     /**
@@ -116,9 +112,9 @@ public final class BitmapHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public Long count(String key) {
-        return this.commands.bitCount(
+        return this.execute(connection -> connection.stringCommands().bitCount(
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), key)
-        );
+        ));
     }
 
     /**
@@ -134,11 +130,11 @@ public final class BitmapHandler implements RedisHandler {
     public Long count(String key, Long startIndex, Long endIndex) {
         final long startByteIndex = startIndex << 3;
         final long endByteIndex = endIndex << 3;
-        return this.commands.bitCount(
+        return this.execute(connection -> connection.stringCommands().bitCount(
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), key),
                 startByteIndex,
                 endByteIndex
-        );
+        ));
     }
 
     /**
@@ -151,10 +147,10 @@ public final class BitmapHandler implements RedisHandler {
      * @since redis 2.8.7
      */
     public Long position(String key, boolean bit) {
-        return this.commands.bitPos(
+        return this.execute(connection -> connection.stringCommands().bitPos(
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), key),
                 bit
-        );
+        ));
     }
 
     /**
@@ -170,11 +166,11 @@ public final class BitmapHandler implements RedisHandler {
      */
     public Long position(String key, boolean bit, Long startIndex, Long endIndex) {
         final Range<Long> range = Range.of(Range.Bound.inclusive(startIndex), Range.Bound.inclusive(endIndex));
-        return this.commands.bitPos(
+        return this.execute(connection -> connection.stringCommands().bitPos(
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), key),
                 bit,
                 range
-        );
+        ));
     }
 
     /**
@@ -188,11 +184,11 @@ public final class BitmapHandler implements RedisHandler {
      */
     public Long bitOpWithAnd(String storeKey, String... keys) {
         final byte[][] keyBytes = ConvertUtil.toByteArray(RedisSerializer.string(), keys);
-        return this.commands.bitOp(
+        return this.execute(connection -> connection.stringCommands().bitOp(
                 RedisStringCommands.BitOperation.AND,
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), storeKey),
                 keyBytes
-        );
+        ));
     }
 
     /**
@@ -206,11 +202,11 @@ public final class BitmapHandler implements RedisHandler {
      */
     public Long bitOpWithOr(String storeKey, String... keys) {
         final byte[][] keyBytes = ConvertUtil.toByteArray(RedisSerializer.string(), keys);
-        return this.commands.bitOp(
+        return this.execute(connection -> connection.stringCommands().bitOp(
                 RedisStringCommands.BitOperation.OR,
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), storeKey),
                 keyBytes
-        );
+        ));
     }
 
     /**
@@ -224,11 +220,11 @@ public final class BitmapHandler implements RedisHandler {
      */
     public Long bitOpWithXor(String storeKey, String... keys) {
         final byte[][] keyBytes = ConvertUtil.toByteArray(RedisSerializer.string(), keys);
-        return this.commands.bitOp(
+        return this.execute(connection -> connection.stringCommands().bitOp(
                 RedisStringCommands.BitOperation.XOR,
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), storeKey),
                 keyBytes
-        );
+        ));
     }
 
     /**
@@ -242,11 +238,11 @@ public final class BitmapHandler implements RedisHandler {
      */
     public Long bitOpWithNot(String storeKey, String... keys) {
         final byte[][] keyBytes = ConvertUtil.toByteArray(RedisSerializer.string(), keys);
-        return this.commands.bitOp(
+        return this.execute(connection -> connection.stringCommands().bitOp(
                 RedisStringCommands.BitOperation.NOT,
                 ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), storeKey),
                 keyBytes
-        );
+        ));
     }
 
     /**
@@ -281,4 +277,15 @@ public final class BitmapHandler implements RedisHandler {
     public StringRedisTemplate getStringRedisTemplate() {
         return this.stringRedisTemplate;
     }
+
+    /**
+     * 在连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T execute(RedisCallback<T> callback) {
+        return ConnectionExecutor.withConnection(this.stringRedisTemplate.getRequiredConnectionFactory(), callback);
+    }
 }
@@ -0,0 +1,89 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultScriptExecutor;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 缓存脚本执行器
+ * 优先EVALSHA执行, 服务端缺少脚本(NOSCRIPT)时直接以EVAL执行一次(只需一次往返, 服务端同时缓存脚本), 之后的调用继续命中EVALSHA;
+ * 编译后的脚本直接使用预先编码的脚本字节
+ *
+ * @param <K> 键类型
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class CachingScriptExecutor<K> extends DefaultScriptExecutor<K> {
+    /**
+     * 服务端缺少脚本的错误前缀
+     */
+    private static final String NO_SCRIPT = "NOSCRIPT";
+
+    /**
+     * 缓存脚本执行器构造
+     *
+     * @param template 模板
+     */
+    CachingScriptExecutor(RedisTemplate<K, ?> template) {
+        super(template);
+    }
+
+    @Override
+    protected <T> T eval(
+            RedisConnection connection,
+            RedisScript<T> script,
+            ReturnType returnType,
+            int numKeys,
+            byte[][] keysAndArgs,
+            RedisSerializer<T> resultSerializer
+    ) {
+        Object result;
+        try {
+            result = connection.evalSha(script.getSha1(), returnType, numKeys, keysAndArgs);
+            ScriptCache.recordHit();
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            ScriptCache.recordReload();
+            result = connection.eval(this.scriptBytes(script), returnType, numKeys, keysAndArgs);
+        }
+        if (script.getResultType() == null) {
+            return null;
+        }
+        return this.deserializeResult(resultSerializer, result);
+    }
+
+    @Override
+    protected byte[] scriptBytes(RedisScript<?> script) {
+        if (script instanceof ScriptCache.CompiledScript) {
+            return ((ScriptCache.CompiledScript<?>) script).getScriptBytes();
+        }
+        return super.scriptBytes(script);
+    }
+
+    /**
+     * 是否为服务端缺少脚本的错误
+     *
+     * @param e 异常
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    private static boolean isNoScript(Throwable e) {
+        Throwable current = e;
+        while (current != null) {
+            String message = current.getMessage();
+            if (message != null && message.contains(NO_SCRIPT)) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,377 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.redisson.RedissonClientHelper;
+import com.naah69.core.config.redisson.RedissonConnectionFactory;
+import org.redisson.Redisson;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.connection.ConnectionManager;
+import org.redisson.connection.MasterSlaveEntry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 集群多键命令分发
+ * 按CRC16槽与所属主节点拆分多键命令(MGET/MSET/DEL/UNLINK/EXISTS), 每个槽一条命令, 通过redisson异步命令执行器同时发往各节点,
+ * 结果按调用方的键顺序重新组装; 按节点记录往返耗时(节点内全部槽命令完成为一次往返)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ClusterFanout {
+    /**
+     * 未知节点名称(拓扑尚未就绪时)
+     */
+    private static final String UNKNOWN_NODE = "unknown";
+    /**
+     * 节点耗时统计(节点地址 -> 统计)
+     */
+    private static final ConcurrentMap<String, NodeStats> NODES = new ConcurrentHashMap<>(16);
+    /**
+     * 新节点监听器
+     */
+    private static final List<Consumer<String>> LISTENERS = new CopyOnWriteArrayList<>();
+    /**
+     * redisson异步命令执行器
+     */
+    private final CommandAsyncExecutor executor;
+    /**
+     * redisson连接管理器(槽与节点的对应关系)
+     */
+    private final ConnectionManager connectionManager;
+
+    /**
+     * 集群多键命令分发构造
+     *
+     * @param executor redisson异步命令执行器
+     */
+    private ClusterFanout(CommandAsyncExecutor executor) {
+        this.executor = executor;
+        this.connectionManager = executor.getConnectionManager();
+    }
+
+    /**
+     * 获取集群多键命令分发
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回集群多键命令分发, 未使用redisson或非集群模式时返回null(由模板执行)
+     */
+    static ClusterFanout forDatabase(int dbIndex) {
+        if (!RedissonClientHelper.isEnabled()) {
+            return null;
+        }
+        RedissonClient client = RedissonClientHelper.getSharedClient(dbIndex);
+        if (!(client instanceof Redisson) || !client.getConfig().isClusterConfig()) {
+            return null;
+        }
+        return new ClusterFanout(((Redisson) client).getCommandExecutor());
+    }
+
+    /**
+     * 批量获取
+     *
+     * @param keys 键
+     * @return 返回值列表(按键顺序, 不存在为null)
+     */
+    List<byte[]> mget(byte[][] keys) {
+        byte[][] values = new byte[keys.length][];
+        this.execute(keys, RedisCommands.MGET, false, indexes -> select(keys, indexes), (indexes, reply) -> {
+            for (int i = 0; i < indexes.length; i++) {
+                values[indexes[i]] = (byte[]) reply.get(i);
+            }
+        });
+        List<byte[]> list = new ArrayList<>(keys.length);
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    /**
+     * 批量设置(同一槽内原子, 跨槽不保证原子)
+     *
+     * @param keys   键
+     * @param values 值(与键一一对应)
+     */
+    void mset(byte[][] keys, byte[][] values) {
+        this.execute(keys, RedisCommands.MSET, true, indexes -> {
+            Object[] params = new Object[indexes.length * 2];
+            for (int i = 0; i < indexes.length; i++) {
+                params[i * 2] = keys[indexes[i]];
+                params[i * 2 + 1] = values[indexes[i]];
+            }
+            return params;
+        }, (indexes, reply) -> {
+        });
+    }
+
+    /**
+     * 批量移除
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     */
+    long delete(byte[][] keys) {
+        return this.sum(keys, RedisCommands.DEL, true);
+    }
+
+    /**
+     * 批量异步移除
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     */
+    long unlink(byte[][] keys) {
+        return this.sum(keys, RedisCommands.UNLINK, true);
+    }
+
+    /**
+     * 存在的键数量
+     *
+     * @param keys 键
+     * @return 返回存在的键数量
+     */
+    long exists(byte[][] keys) {
+        return this.sum(keys, RedisCommands.EXISTS_LONG, false);
+    }
+
+    /**
+     * 获取槽当前所属主节点的客户端(redisson在MOVED、拓扑扫描与故障转移后更新, 只用于判断槽的归属是否变化)
+     *
+     * @param slot 槽索引
+     * @return 返回主节点客户端, 槽表尚未就绪时返回null
+     */
+    Object ownerOf(int slot) {
+        MasterSlaveEntry entry = this.connectionManager.getEntry(slot);
+        return entry == null ? null : entry.getClient();
+    }
+
+    /**
+     * 添加新节点监听器(已有节点立即回调一次)
+     *
+     * @param listener 监听器(参数为节点地址)
+     */
+    public static void addNodeListener(Consumer<String> listener) {
+        LISTENERS.add(listener);
+        for (String node : NODES.keySet()) {
+            listener.accept(node);
+        }
+    }
+
+    /**
+     * 获取已分发过命令的节点
+     *
+     * @return 返回节点地址集合
+     */
+    public static Set<String> getNodes() {
+        return Collections.unmodifiableSet(NODES.keySet());
+    }
+
+    /**
+     * 获取节点往返次数
+     *
+     * @param node 节点地址
+     * @return 返回往返次数
+     */
+    public static long getRequests(String node) {
+        NodeStats stats = NODES.get(node);
+        return stats == null ? 0L : stats.requests.sum();
+    }
+
+    /**
+     * 获取节点往返总耗时
+     *
+     * @param node 节点地址
+     * @param unit 时间单位
+     * @return 返回往返总耗时
+     */
+    public static double getTime(String node, TimeUnit unit) {
+        NodeStats stats = NODES.get(node);
+        return stats == null ? 0D : (double) stats.nanos.sum() / unit.toNanos(1);
+    }
+
+    /**
+     * 按槽分发并累加长整数回复
+     *
+     * @param keys    键
+     * @param command 命令
+     * @param write   是否为写命令
+     * @return 返回回复之和
+     */
+    private long sum(byte[][] keys, RedisCommand<Long> command, boolean write) {
+        LongAdder total = new LongAdder();
+        this.execute(keys, command, write, indexes -> select(keys, indexes), (indexes, reply) -> {
+            if (reply != null) {
+                total.add(reply);
+            }
+        });
+        return total.sum();
+    }
+
+    /**
+     * 按槽分发命令(各节点同时发送, 全部完成后按槽回调)
+     *
+     * @param keys      键
+     * @param command   命令
+     * @param write     是否为写命令
+     * @param params    参数构建(参数为槽内键的索引)
+     * @param collector 回复处理(参数为槽内键的索引与回复)
+     * @param <R>       回复类型
+     */
+    private <R> void execute(
+            byte[][] keys,
+            RedisCommand<R> command,
+            boolean write,
+            Function<int[], Object[]> params,
+            BiConsumer<int[], R> collector
+    ) {
+        Map<MasterSlaveEntry, List<int[]>> nodes = this.group(keys);
+        List<int[]> slots = new ArrayList<>(keys.length);
+        List<RFuture<R>> futures = new ArrayList<>(keys.length);
+        for (Map.Entry<MasterSlaveEntry, List<int[]>> node : nodes.entrySet()) {
+            NodeStats stats = stats(node.getKey());
+            AtomicInteger remaining = new AtomicInteger(node.getValue().size());
+            long start = System.nanoTime();
+            for (int[] indexes : node.getValue()) {
+                byte[] routeKey = keys[indexes[0]];
+                RFuture<R> future = write
+                        ? this.executor.writeAsync(routeKey, ByteArrayCodec.INSTANCE, command, params.apply(indexes))
+                        : this.executor.readAsync(routeKey, ByteArrayCodec.INSTANCE, command, params.apply(indexes));
+                future.onComplete((reply, e) -> {
+                    if (remaining.decrementAndGet() == 0) {
+                        stats.record(System.nanoTime() - start);
+                    }
+                });
+                slots.add(indexes);
+                futures.add(future);
+            }
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                collector.accept(slots.get(i), this.executor.get(futures.get(i)));
+            }
+        } catch (RuntimeException e) {
+            DataAccessException translated = RedissonConnectionFactory.EXCEPTION_TRANSLATION.translate(e);
+            throw translated != null ? translated : e;
+        }
+    }
+
+    /**
+     * 按主节点与槽分组键(保持键的首次出现顺序)
+     *
+     * @param keys 键
+     * @return 返回主节点 -> 槽内键索引列表
+     */
+    private Map<MasterSlaveEntry, List<int[]>> group(byte[][] keys) {
+        Map<Integer, List<Integer>> slots = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            slots.computeIfAbsent(ClusterSlotHashUtil.calculateSlot(keys[i]), slot -> new ArrayList<>()).add(i);
+        }
+        Map<MasterSlaveEntry, List<int[]>> nodes = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<Integer>> slot : slots.entrySet()) {
+            List<Integer> list = slot.getValue();
+            int[] indexes = new int[list.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = list.get(i);
+            }
+            nodes.computeIfAbsent(this.connectionManager.getEntry(slot.getKey()), entry -> new ArrayList<>()).add(indexes);
+        }
+        return nodes;
+    }
+
+    /**
+     * 按索引选取键
+     *
+     * @param keys    键
+     * @param indexes 索引
+     * @return 返回选取的键
+     */
+    private static Object[] select(byte[][] keys, int[] indexes) {
+        Object[] selected = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            selected[i] = keys[indexes[i]];
+        }
+        return selected;
+    }
+
+    /**
+     * 获取节点耗时统计(首次出现时通知监听器)
+     *
+     * @param entry 主节点
+     * @return 返回节点耗时统计
+     */
+    private static NodeStats stats(MasterSlaveEntry entry) {
+        String node = nodeName(entry);
+        NodeStats stats = NODES.get(node);
+        if (stats != null) {
+            return stats;
+        }
+        NodeStats created = new NodeStats();
+        stats = NODES.putIfAbsent(node, created);
+        if (stats != null) {
+            return stats;
+        }
+        for (Consumer<String> listener : LISTENERS) {
+            listener.accept(node);
+        }
+        return created;
+    }
+
+    /**
+     * 获取节点名称
+     *
+     * @param entry 主节点
+     * @return 返回节点地址(host:port)
+     */
+    private static String nodeName(MasterSlaveEntry entry) {
+        if (entry == null || entry.getClient() == null) {
+            return UNKNOWN_NODE;
+        }
+        InetSocketAddress address = entry.getClient().getAddr();
+        return address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * 节点耗时统计
+     */
+    private static final class NodeStats {
+        /**
+         * 往返次数
+         */
+        private final LongAdder requests = new LongAdder();
+        /**
+         * 往返总耗时(纳秒)
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * 记录一次往返
+         *
+         * @param elapsed 耗时(纳秒)
+         */
+        private void record(long elapsed) {
+            this.requests.increment();
+            this.nanos.add(elapsed);
+        }
+    }
+}
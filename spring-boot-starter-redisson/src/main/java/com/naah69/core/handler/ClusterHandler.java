@@ -2,23 +2,37 @@ package com.naah69.core.handler;
 
 import com.naah69.core.util.ConvertUtil;
 import org.springframework.data.redis.connection.ClusterInfo;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.RedisClusterCommands;
+import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 集群助手
+ * 键的槽在本地按CRC16(含hash标签)计算; 使用redisson集群时节点查询使用缓存的槽表(槽 -> 主节点),
+ * 槽表加载后redisson记录的槽归属(MOVED、拓扑扫描与故障转移后更新)发生变化时重新加载; 其他客户端直接查询服务端
  *
  * @author xsx
  * @since 1.8
  */
 public final class ClusterHandler implements RedisHandler {
+    /**
+     * 槽数量
+     */
+    private static final int SLOT_COUNT = 16384;
+    /**
+     * 槽表最短重新加载间隔(毫秒)
+     */
+    private static final long MIN_REFRESH_INTERVAL = 1000L;
     /**
      * 对象模板
      */
@@ -27,6 +41,22 @@ public final class ClusterHandler implements RedisHandler {
      * 连接工厂
      */
     private RedisConnectionFactory connectionFactory;
+    /**
+     * 数据库索引
+     */
+    private int dbIndex;
+    /**
+     * 集群多键命令分发(用于校验槽表, 首次查询节点时获取)
+     */
+    private volatile ClusterFanout fanout;
+    /**
+     * 是否已获取集群多键命令分发
+     */
+    private volatile boolean fanoutResolved;
+    /**
+     * 槽表
+     */
+    private volatile SlotTable slotTable;
 
     /**
      * 数据库助手构造
@@ -34,18 +64,20 @@ public final class ClusterHandler implements RedisHandler {
      * @param dbIndex 数据库索引
      */
     ClusterHandler(Integer dbIndex) {
-        this(HandlerManager.createRedisTemplate(dbIndex));
+        this(HandlerManager.createRedisTemplate(dbIndex), dbIndex);
     }
 
     /**
      * 数据库助手构造
      *
      * @param redisTemplate 对象模板
+     * @param dbIndex       数据库索引
      */
     @SuppressWarnings("unchecked")
-    ClusterHandler(RedisTemplate redisTemplate) {
+    ClusterHandler(RedisTemplate redisTemplate, int dbIndex) {
         this.redisTemplate = redisTemplate;
         this.connectionFactory = this.redisTemplate.getRequiredConnectionFactory();
+        this.dbIndex = dbIndex;
     }
 
     /**
@@ -56,7 +88,7 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public ClusterInfo info() {
-        return this.connectionFactory.getClusterConnection().clusterGetClusterInfo();
+        return this.execute(connection -> connection.clusterGetClusterInfo());
     }
 
     /**
@@ -67,7 +99,7 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public Iterable<RedisClusterNode> nodes() {
-        return this.connectionFactory.getClusterConnection().clusterGetNodes();
+        return this.execute(connection -> connection.clusterGetNodes());
     }
 
     /**
@@ -79,9 +111,9 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public Collection<RedisClusterNode> slaves(String masterId) {
-        return this.connectionFactory
-                .getClusterConnection()
-                .clusterGetSlaves(RedisClusterNode.newRedisClusterNode().withId(masterId).build());
+        return this.execute(
+                connection -> connection.clusterGetSlaves(RedisClusterNode.newRedisClusterNode().withId(masterId).build())
+        );
     }
 
     /**
@@ -92,29 +124,67 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public Map<RedisClusterNode, Collection<RedisClusterNode>> masterSlaves() {
-        return this.connectionFactory.getClusterConnection().clusterGetMasterSlaveMap();
+        return this.execute(connection -> connection.clusterGetMasterSlaveMap());
     }
 
     /**
-     * 根据键获取节点
+     * 根据键获取节点(使用缓存的槽表)
      *
      * @param key 键
      * @return 返回节点
      */
     public RedisClusterNode nodeForKey(String key) {
-        return this.connectionFactory
-                .getClusterConnection()
-                .clusterGetNodeForKey(ConvertUtil.toBytes(this.redisTemplate.getKeySerializer(), key));
+        return this.nodeForSlot(this.keySlot(key));
     }
 
     /**
-     * 根据键获取节点
+     * 根据槽获取节点(使用redisson集群时使用缓存的槽表, 否则查询服务端)
      *
      * @param slotIndex 槽索引
      * @return 返回节点
+     * @see <a href="http://redis.io/commands/cluster-nodes">Redis Documentation: CLUSTER NODES</a>
+     * @since redis 3.0.0
      */
     public RedisClusterNode nodeForSlot(int slotIndex) {
-        return this.connectionFactory.getClusterConnection().clusterGetNodeForSlot(slotIndex);
+        ClusterFanout fanout = this.getFanout();
+        if (fanout == null) {
+            return this.execute(connection -> connection.clusterGetNodeForSlot(slotIndex));
+        }
+        SlotTable table = this.slotTable;
+        if (table == null || table.nodes[slotIndex] == null || table.owners[slotIndex] != fanout.ownerOf(slotIndex)) {
+            table = this.refreshSlotTable(fanout, table);
+        }
+        return table.nodes[slotIndex];
+    }
+
+    /**
+     * 按槽分组键(槽按键的首次出现顺序排列)
+     *
+     * @param keys 键
+     * @return 返回槽索引 -> 键列表
+     */
+    public Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> slots = new LinkedHashMap<>();
+        for (String key : keys) {
+            slots.computeIfAbsent(this.keySlot(key), slot -> new ArrayList<>()).add(key);
+        }
+        return slots;
+    }
+
+    /**
+     * 重新加载槽表(未使用redisson集群时节点直接查询服务端, 无需加载)
+     *
+     * @see <a href="http://redis.io/commands/cluster-nodes">Redis Documentation: CLUSTER NODES</a>
+     * @since redis 3.0.0
+     */
+    public void refreshSlots() {
+        ClusterFanout fanout = this.getFanout();
+        if (fanout == null) {
+            return;
+        }
+        synchronized (this) {
+            this.slotTable = this.loadSlotTable(fanout);
+        }
     }
 
     /**
@@ -125,7 +195,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void meet(RedisClusterNode clusterNode) {
-        this.connectionFactory.getClusterConnection().clusterMeet(clusterNode);
+        this.execute(connection -> {
+            connection.clusterMeet(clusterNode);
+            return null;
+        });
     }
 
     /**
@@ -137,11 +210,12 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void meet(String ip, String port) {
-        this.connectionFactory
-                .getClusterConnection()
-                .clusterMeet(
-                        RedisClusterNode.newRedisClusterNode().listeningAt(ip, Integer.valueOf(port)).build()
-                );
+        this.execute(connection -> {
+            connection.clusterMeet(
+                    RedisClusterNode.newRedisClusterNode().listeningAt(ip, Integer.valueOf(port)).build()
+            );
+            return null;
+        });
     }
 
     /**
@@ -152,7 +226,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void forget(RedisClusterNode clusterNode) {
-        this.connectionFactory.getClusterConnection().clusterForget(clusterNode);
+        this.execute(connection -> {
+            connection.clusterForget(clusterNode);
+            return null;
+        });
     }
 
     /**
@@ -163,11 +240,12 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void forget(String nodeId) {
-        this.connectionFactory
-                .getClusterConnection()
-                .clusterForget(
-                        RedisClusterNode.newRedisClusterNode().withId(nodeId).build()
-                );
+        this.execute(connection -> {
+            connection.clusterForget(
+                    RedisClusterNode.newRedisClusterNode().withId(nodeId).build()
+            );
+            return null;
+        });
     }
 
     /**
@@ -179,7 +257,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void replicate(RedisClusterNode master, RedisClusterNode replica) {
-        this.connectionFactory.getClusterConnection().clusterReplicate(master, replica);
+        this.execute(connection -> {
+            connection.clusterReplicate(master, replica);
+            return null;
+        });
     }
 
     /**
@@ -191,7 +272,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void addSlot(RedisClusterNode clusterNode, int... slotIndex) {
-        this.connectionFactory.getClusterConnection().clusterAddSlots(clusterNode, slotIndex);
+        this.execute(connection -> {
+            connection.clusterAddSlots(clusterNode, slotIndex);
+            return null;
+        });
     }
 
     /**
@@ -204,9 +288,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void addSlotInRange(RedisClusterNode clusterNode, int beginSlotIndex, int endSlotIndex) {
-        this.connectionFactory
-                .getClusterConnection()
-                .clusterAddSlots(clusterNode, new RedisClusterNode.SlotRange(beginSlotIndex, endSlotIndex));
+        this.execute(connection -> {
+            connection.clusterAddSlots(clusterNode, new RedisClusterNode.SlotRange(beginSlotIndex, endSlotIndex));
+            return null;
+        });
     }
 
     /**
@@ -218,7 +303,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void removeSlot(RedisClusterNode clusterNode, int... slotIndex) {
-        this.connectionFactory.getClusterConnection().clusterDeleteSlots(clusterNode, slotIndex);
+        this.execute(connection -> {
+            connection.clusterDeleteSlots(clusterNode, slotIndex);
+            return null;
+        });
     }
 
     /**
@@ -231,9 +319,10 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void removeSlotInRange(RedisClusterNode clusterNode, int beginSlotIndex, int endSlotIndex) {
-        this.connectionFactory
-                .getClusterConnection()
-                .clusterDeleteSlotsInRange(clusterNode, new RedisClusterNode.SlotRange(beginSlotIndex, endSlotIndex));
+        this.execute(connection -> {
+            connection.clusterDeleteSlotsInRange(clusterNode, new RedisClusterNode.SlotRange(beginSlotIndex, endSlotIndex));
+            return null;
+        });
     }
 
     /**
@@ -246,11 +335,14 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public void setSlot(RedisClusterNode node, int slotIndex, RedisClusterCommands.AddSlots mode) {
-        this.connectionFactory.getClusterConnection().clusterSetSlot(node, slotIndex, mode);
+        this.execute(connection -> {
+            connection.clusterSetSlot(node, slotIndex, mode);
+            return null;
+        });
     }
 
     /**
-     * 键对应的槽
+     * 键对应的槽(本地计算, 与CLUSTER KEYSLOT结果一致)
      *
      * @param key 键
      * @return 返回槽索引
@@ -258,9 +350,7 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public Integer keySlot(String key) {
-        return this.connectionFactory
-                .getClusterConnection()
-                .clusterGetSlotForKey(ConvertUtil.toBytes(this.redisTemplate.getKeySerializer(), key));
+        return ClusterSlotHashUtil.calculateSlot(ConvertUtil.toBytes(this.redisTemplate.getKeySerializer(), key));
     }
 
     /**
@@ -272,7 +362,7 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public Long countKeyInSlot(int slotIndex) {
-        return this.connectionFactory.getClusterConnection().clusterCountKeysInSlot(slotIndex);
+        return this.execute(connection -> connection.clusterCountKeysInSlot(slotIndex));
     }
 
     /**
@@ -285,7 +375,7 @@ public final class ClusterHandler implements RedisHandler {
      * @since redis 3.0.0
      */
     public List<String> keysInSlot(int slotIndex, Integer count) {
-        List<byte[]> byteList = this.connectionFactory.getClusterConnection().clusterGetKeysInSlot(slotIndex, count);
+        List<byte[]> byteList = this.execute(connection -> connection.clusterGetKeysInSlot(slotIndex, count));
         if (byteList != null && byteList.size() > 0) {
             List<String> keys = new ArrayList<>(byteList.size());
             for (byte[] bytes : byteList) {
@@ -295,4 +385,106 @@ public final class ClusterHandler implements RedisHandler {
         }
         return new ArrayList<>(0);
     }
+
+    /**
+     * 获取集群多键命令分发
+     *
+     * @return 返回集群多键命令分发, 非集群模式时返回null
+     */
+    private ClusterFanout getFanout() {
+        if (!this.fanoutResolved) {
+            synchronized (this) {
+                if (!this.fanoutResolved) {
+                    this.fanout = ClusterFanout.forDatabase(this.dbIndex);
+                    this.fanoutResolved = true;
+                }
+            }
+        }
+        return this.fanout;
+    }
+
+    /**
+     * 重新加载槽表(其他线程已重新加载或距上次加载不足最短间隔时使用当前槽表)
+     *
+     * @param fanout 集群多键命令分发
+     * @param stale  过期的槽表
+     * @return 返回槽表
+     */
+    private SlotTable refreshSlotTable(ClusterFanout fanout, SlotTable stale) {
+        synchronized (this) {
+            SlotTable current = this.slotTable;
+            if (current != null && (current != stale || System.currentTimeMillis() - current.time < MIN_REFRESH_INTERVAL)) {
+                return current;
+            }
+            current = this.loadSlotTable(fanout);
+            this.slotTable = current;
+            return current;
+        }
+    }
+
+    /**
+     * 加载槽表(先记录redisson的槽归属再查询节点, 查询期间归属变化时下次查找会再次加载)
+     *
+     * @param fanout 集群多键命令分发
+     * @return 返回槽表
+     */
+    private SlotTable loadSlotTable(ClusterFanout fanout) {
+        Object[] owners = new Object[SLOT_COUNT];
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            owners[slot] = fanout.ownerOf(slot);
+        }
+        RedisClusterNode[] table = new RedisClusterNode[SLOT_COUNT];
+        Iterable<RedisClusterNode> nodes = this.nodes();
+        if (nodes != null) {
+            for (RedisClusterNode node : nodes) {
+                if (!node.isMaster() || node.getSlotRange() == null) {
+                    continue;
+                }
+                for (int slot : node.getSlotRange().getSlotsArray()) {
+                    table[slot] = node;
+                }
+            }
+        }
+        return new SlotTable(table, owners);
+    }
+
+    /**
+     * 在连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T execute(Function<RedisClusterConnection, T> callback) {
+        return ConnectionExecutor.withClusterConnection(this.connectionFactory, callback);
+    }
+
+    /**
+     * 槽表
+     */
+    private static final class SlotTable {
+        /**
+         * 槽索引 -> 主节点
+         */
+        private final RedisClusterNode[] nodes;
+        /**
+         * 槽索引 -> 加载时redisson记录的主节点客户端
+         */
+        private final Object[] owners;
+        /**
+         * 加载时间
+         */
+        private final long time = System.currentTimeMillis();
+
+        /**
+         * 槽表构造
+         *
+         * @param nodes  槽索引 -> 主节点
+         * @param owners 槽索引 -> 加载时redisson记录的主节点客户端
+         */
+        private SlotTable(RedisClusterNode[] nodes, Object[] owners) {
+            this.nodes = nodes;
+            this.owners = owners;
+        }
+    }
 }
@@ -0,0 +1,314 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.core.RedisCallback;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 连接执行器
+ * 助手中所有直接使用连接的操作均通过该执行器完成, 保证连接在使用后释放, 异常按连接工厂转换为spring数据访问异常(与模板一致);
+ * 开启长时间占用检测时记录连接获取堆栈, 只能发现占用过久的回调, 执行器之外获取的连接不在跟踪范围内
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ConnectionExecutor {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionExecutor.class);
+    /**
+     * 当前打开的连接数
+     */
+    private static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+    /**
+     * 累计获取的连接数
+     */
+    private static final AtomicLong ACQUIRED_CONNECTIONS = new AtomicLong();
+    /**
+     * 占用中的连接(仅开启长时间占用检测时记录)
+     */
+    private static final ConcurrentMap<Object, Acquisition> TRACKED = new ConcurrentHashMap<>(64);
+    /**
+     * 占用超过阈值的连接数
+     */
+    private static volatile int longHeldConnections;
+    /**
+     * 是否开启长时间占用检测(首次使用时读取配置)
+     */
+    private static volatile Boolean holdDetection;
+
+    private ConnectionExecutor() {
+    }
+
+    /**
+     * 在连接中执行回调(执行完成后释放连接)
+     *
+     * @param factory  连接工厂
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    static <T> T withConnection(RedisConnectionFactory factory, RedisCallback<T> callback) {
+        RedisConnection connection = acquire(factory.getConnection(), false);
+        try {
+            return callback.doInRedis(connection);
+        } catch (RuntimeException e) {
+            throw translate(factory, e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    /**
+     * 在连接中以管道方式执行命令(执行完成后释放连接; 记录命令失败时关闭管道, 关闭失败不覆盖原异常)
+     *
+     * @param factory  连接工厂
+     * @param commands 命令
+     * @return 返回按命令顺序排列的原始结果
+     */
+    static List<Object> withPipeline(RedisConnectionFactory factory, Consumer<RedisConnection> commands) {
+        return withConnection(factory, connection -> {
+            connection.openPipeline();
+            try {
+                commands.accept(connection);
+            } catch (RuntimeException | Error e) {
+                // 关闭管道失败时保留原异常, 关闭异常作为被抑制的异常附加
+                try {
+                    connection.closePipeline();
+                } catch (RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            return connection.closePipeline();
+        });
+    }
+
+    /**
+     * 在集群连接中执行回调(执行完成后释放连接)
+     *
+     * @param factory  连接工厂
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    static <T> T withClusterConnection(RedisConnectionFactory factory, Function<RedisClusterConnection, T> callback) {
+        RedisClusterConnection connection = acquire(factory.getClusterConnection(), false);
+        try {
+            return callback.apply(connection);
+        } catch (RuntimeException e) {
+            throw translate(factory, e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    /**
+     * 在哨兵连接中执行回调(执行完成后释放连接)
+     *
+     * @param factory  连接工厂
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    static <T> T withSentinelConnection(RedisConnectionFactory factory, Function<RedisSentinelConnection, T> callback) {
+        RedisSentinelConnection connection = acquire(factory.getSentinelConnection(), false);
+        try {
+            return callback.apply(connection);
+        } catch (RuntimeException e) {
+            throw translate(factory, e);
+        } finally {
+            release(connection);
+        }
+    }
+
+    /**
+     * 打开长期持有的连接(如订阅连接, 计入打开连接数但不参与长时间占用检测)
+     *
+     * @param factory 连接工厂
+     * @return 返回连接
+     */
+    static RedisConnection openDedicated(RedisConnectionFactory factory) {
+        return acquire(factory.getConnection(), true);
+    }
+
+    /**
+     * 释放连接
+     *
+     * @param connection 连接
+     */
+    static void release(Object connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (connection instanceof RedisConnection) {
+                ((RedisConnection) connection).close();
+            } else if (connection instanceof RedisSentinelConnection) {
+                ((RedisSentinelConnection) connection).close();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("failed to close redis connection: {}", e.getMessage());
+        } finally {
+            OPEN_CONNECTIONS.decrementAndGet();
+            if (isHoldDetection()) {
+                TRACKED.remove(connection);
+            }
+        }
+    }
+
+    /**
+     * 获取当前打开的连接数
+     *
+     * @return 返回当前打开的连接数
+     */
+    public static int getOpenConnections() {
+        return OPEN_CONNECTIONS.get();
+    }
+
+    /**
+     * 获取累计获取的连接数
+     *
+     * @return 返回累计获取的连接数
+     */
+    public static long getAcquiredConnections() {
+        return ACQUIRED_CONNECTIONS.get();
+    }
+
+    /**
+     * 获取最近一次检测的占用超过阈值的连接数
+     *
+     * @return 返回占用超过阈值的连接数
+     */
+    public static int getLongHeldConnections() {
+        return longHeldConnections;
+    }
+
+    /**
+     * 检测长时间占用的连接(占用时长超过阈值的连接输出获取堆栈, 每次占用只输出一次)
+     *
+     * @param thresholdMillis 阈值(ms)
+     * @return 返回占用超过阈值的连接数
+     */
+    public static int detectLongHolds(long thresholdMillis) {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Acquisition acquisition : TRACKED.values()) {
+            long held = now - acquisition.timestamp;
+            if (acquisition.dedicated || held < thresholdMillis) {
+                continue;
+            }
+            count++;
+            if (!acquisition.reported) {
+                acquisition.reported = true;
+                LOGGER.warn(
+                        "redis connection held for {} ms by thread [{}], longer than the hold detection threshold",
+                        held,
+                        acquisition.thread,
+                        acquisition.stack
+                );
+            }
+        }
+        longHeldConnections = count;
+        return count;
+    }
+
+    /**
+     * 记录连接获取
+     *
+     * @param connection 连接
+     * @param dedicated  是否长期持有
+     * @param <C>        连接类型
+     * @return 返回连接
+     */
+    private static <C> C acquire(C connection, boolean dedicated) {
+        OPEN_CONNECTIONS.incrementAndGet();
+        ACQUIRED_CONNECTIONS.incrementAndGet();
+        if (isHoldDetection()) {
+            TRACKED.put(connection, new Acquisition(dedicated));
+        }
+        return connection;
+    }
+
+    /**
+     * 转换异常(已是数据访问异常时直接返回)
+     *
+     * @param factory 连接工厂
+     * @param e       异常
+     * @return 返回转换后的异常
+     */
+    private static RuntimeException translate(RedisConnectionFactory factory, RuntimeException e) {
+        if (e instanceof DataAccessException) {
+            return e;
+        }
+        DataAccessException translated = factory.translateExceptionIfPossible(e);
+        return translated != null ? translated : e;
+    }
+
+    /**
+     * 是否开启长时间占用检测
+     *
+     * @return 返回布尔值
+     */
+    private static boolean isHoldDetection() {
+        Boolean enabled = holdDetection;
+        if (enabled == null) {
+            enabled = ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class).isHoldDetection();
+            holdDetection = enabled;
+        }
+        return enabled;
+    }
+
+    /**
+     * 连接获取记录
+     */
+    private static final class Acquisition {
+        /**
+         * 获取时间
+         */
+        private final long timestamp = System.currentTimeMillis();
+        /**
+         * 获取线程
+         */
+        private final String thread = Thread.currentThread().getName();
+        /**
+         * 获取堆栈
+         */
+        private final Throwable stack = new Throwable("redis connection acquisition stack");
+        /**
+         * 是否长期持有
+         */
+        private final boolean dedicated;
+        /**
+         * 是否已输出
+         */
+        private volatile boolean reported;
+
+        /**
+         * 连接获取记录构造
+         *
+         * @param dedicated 是否长期持有
+         */
+        private Acquisition(boolean dedicated) {
+            this.dedicated = dedicated;
+        }
+    }
+}
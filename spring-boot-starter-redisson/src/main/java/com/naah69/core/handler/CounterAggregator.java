@@ -0,0 +1,615 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.util.ConvertUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计数聚合器
+ * 增量先在本地按键累加到分段累加器, 由后台线程按间隔或待刷新数量阈值通过管道批量写入redis;
+ * 刷新时累加单元从容器中移除, 容器只保留尚未刷新的键; 累加按纪元登记写入, 刷新切换纪元后等待旧纪元的写入结束再读取单元, 并发的累加进入新单元, 不会丢失;
+ * 单条命令失败时只重试失败的增量, 服务端拒绝的增量(如类型错误)直接丢弃
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class CounterAggregator {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CounterAggregator.class);
+    /**
+     * 所有聚合器
+     */
+    private static final Set<CounterAggregator> AGGREGATORS = ConcurrentHashMap.newKeySet();
+    /**
+     * 刷新线程(所有聚合器共享)
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "redis-counter-aggregator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * 刷新次数
+     */
+    private static final AtomicLong FLUSH_COUNT = new AtomicLong();
+    /**
+     * 刷新总耗时(ns)
+     */
+    private static final AtomicLong FLUSH_TIME = new AtomicLong();
+    /**
+     * 刷新失败次数
+     */
+    private static final AtomicLong FLUSH_FAILURES = new AtomicLong();
+    /**
+     * 写入登记分段数量
+     */
+    private static final int STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+    /**
+     * 写入登记分段间隔(避免伪共享)
+     */
+    private static final int PADDING = 8;
+    /**
+     * 连接工厂
+     */
+    private final RedisConnectionFactory connectionFactory;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private final NearCache nearCache;
+    /**
+     * 键序列化器
+     */
+    private final RedisSerializer keySerializer;
+    /**
+     * hash键序列化器
+     */
+    private final RedisSerializer hashKeySerializer;
+    /**
+     * 待刷新数量阈值
+     */
+    private final long maxPending;
+    /**
+     * 阈值检查采样掩码
+     */
+    private final int sampleMask;
+    /**
+     * 累加单元
+     */
+    private final ConcurrentMap<CounterKey, Cell> cells = new ConcurrentHashMap<>(256);
+    /**
+     * 进行中的累加数量(纪元 -> 分段)
+     */
+    private final AtomicLongArray writers = new AtomicLongArray(2 * STRIPES * PADDING);
+    /**
+     * 纪元(仅刷新时递增)
+     */
+    private volatile long epoch;
+    /**
+     * 待刷新增量次数
+     */
+    private final LongAdder pending = new LongAdder();
+    /**
+     * 是否已提交阈值刷新
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    /**
+     * 定时刷新任务
+     */
+    private final ScheduledFuture<?> task;
+
+    /**
+     * 计数聚合器构造
+     *
+     * @param connectionFactory 连接工厂
+     * @param nearCache         近端缓存(未开启时为null)
+     * @param keySerializer     键序列化器
+     * @param hashKeySerializer hash键序列化器
+     * @param flushInterval     刷新间隔(ms)
+     * @param maxPending        待刷新数量阈值
+     */
+    CounterAggregator(
+            RedisConnectionFactory connectionFactory,
+            NearCache nearCache,
+            RedisSerializer keySerializer,
+            RedisSerializer hashKeySerializer,
+            long flushInterval,
+            long maxPending
+    ) {
+        this.connectionFactory = connectionFactory;
+        this.nearCache = nearCache;
+        this.keySerializer = keySerializer;
+        this.hashKeySerializer = hashKeySerializer;
+        this.maxPending = maxPending;
+        this.sampleMask = Integer.highestOneBit((int) Math.max(1L, Math.min(64L, maxPending / 16L))) - 1;
+        this.task = SCHEDULER.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        AGGREGATORS.add(this);
+    }
+
+    /**
+     * 累加长整数
+     *
+     * @param key     键
+     * @param hashKey hash键(为空时累加字符串键)
+     * @param data    步长
+     */
+    void add(String key, String hashKey, long data) {
+        this.accumulate(new CounterKey(key, hashKey), data, 0D);
+        this.onAdd();
+    }
+
+    /**
+     * 累加浮点数
+     *
+     * @param key     键
+     * @param hashKey hash键(为空时累加字符串键)
+     * @param data    步长
+     */
+    void add(String key, String hashKey, double data) {
+        this.accumulate(new CounterKey(key, hashKey), 0L, data);
+        this.onAdd();
+    }
+
+    /**
+     * 刷新累加增量到redis
+     */
+    synchronized void flush() {
+        long increments = this.pending.sumThenReset();
+        List<Map.Entry<CounterKey, Cell>> retired = new ArrayList<>(this.cells.size());
+        for (Map.Entry<CounterKey, Cell> entry : this.cells.entrySet()) {
+            if (this.cells.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+        }
+        // 切换纪元后新的累加只能取到新单元, 等待旧纪元的累加结束后单元不再变化
+        long retiredEpoch = this.epoch;
+        this.epoch = retiredEpoch + 1;
+        this.awaitWriters(retiredEpoch);
+        List<Delta> deltas = new ArrayList<>(retired.size());
+        for (Map.Entry<CounterKey, Cell> entry : retired) {
+            long longValue = entry.getValue().longValue.sum();
+            double doubleValue = entry.getValue().doubleValue.sum();
+            if (longValue != 0L) {
+                deltas.add(new Delta(entry.getKey(), longValue, 0D));
+            }
+            if (doubleValue != 0D) {
+                deltas.add(new Delta(entry.getKey(), 0L, doubleValue));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        long begin = System.nanoTime();
+        try {
+            List<Delta> failed = this.write(deltas);
+            if (!failed.isEmpty()) {
+                this.requeue(failed, failed.size());
+                FLUSH_FAILURES.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            // 命令未能送达或结果未知时归还全部增量, 下次刷新重试
+            this.requeue(deltas, increments);
+            FLUSH_FAILURES.incrementAndGet();
+            throw e;
+        } finally {
+            this.invalidate(deltas);
+            FLUSH_COUNT.incrementAndGet();
+            FLUSH_TIME.addAndGet(System.nanoTime() - begin);
+        }
+    }
+
+    /**
+     * 获取待刷新增量次数
+     *
+     * @return 返回待刷新增量次数
+     */
+    long getPending() {
+        return this.pending.sum();
+    }
+
+    /**
+     * 刷新并关闭所有聚合器
+     */
+    public static void closeAll() {
+        for (CounterAggregator aggregator : AGGREGATORS) {
+            aggregator.task.cancel(false);
+            aggregator.flushQuietly();
+            AGGREGATORS.remove(aggregator);
+        }
+    }
+
+    /**
+     * 获取所有聚合器待刷新增量次数
+     *
+     * @return 返回待刷新增量次数
+     */
+    public static long getPendingIncrements() {
+        long total = 0L;
+        for (CounterAggregator aggregator : AGGREGATORS) {
+            total += aggregator.getPending();
+        }
+        return total;
+    }
+
+    /**
+     * 获取刷新次数
+     *
+     * @return 返回刷新次数
+     */
+    public static long getFlushCount() {
+        return FLUSH_COUNT.get();
+    }
+
+    /**
+     * 获取刷新总耗时
+     *
+     * @param unit 时间单位
+     * @return 返回刷新总耗时
+     */
+    public static double getFlushTime(TimeUnit unit) {
+        return (double) FLUSH_TIME.get() / unit.toNanos(1L);
+    }
+
+    /**
+     * 获取刷新失败次数
+     *
+     * @return 返回刷新失败次数
+     */
+    public static long getFlushFailures() {
+        return FLUSH_FAILURES.get();
+    }
+
+    /**
+     * 获取待刷新的键数量
+     *
+     * @return 返回待刷新的键数量
+     */
+    int getPendingKeys() {
+        return this.cells.size();
+    }
+
+    /**
+     * 累加到单元
+     *
+     * @param key         计数键
+     * @param longValue   长整数增量
+     * @param doubleValue 浮点数增量
+     */
+    private void accumulate(CounterKey key, long longValue, double doubleValue) {
+        int stripe = stripe();
+        while (true) {
+            long current = this.epoch;
+            int index = index(current, stripe);
+            this.writers.incrementAndGet(index);
+            try {
+                // 登记后纪元未变, 刷新一定会等待本次累加结束
+                if (this.epoch != current) {
+                    continue;
+                }
+                Cell cell = this.cells.get(key);
+                if (cell == null) {
+                    cell = this.cells.computeIfAbsent(key, k -> new Cell());
+                }
+                if (longValue != 0L) {
+                    cell.longValue.add(longValue);
+                }
+                if (doubleValue != 0D) {
+                    cell.doubleValue.add(doubleValue);
+                }
+                return;
+            } finally {
+                this.writers.decrementAndGet(index);
+            }
+        }
+    }
+
+    /**
+     * 等待指定纪元的累加结束
+     *
+     * @param retiredEpoch 纪元
+     */
+    private void awaitWriters(long retiredEpoch) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int index = index(retiredEpoch, stripe);
+            while (this.writers.get(index) != 0L) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * 当前线程的登记分段(同一线程固定, 登记与注销在同一分段)
+     *
+     * @return 返回分段
+     */
+    private static int stripe() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & (STRIPES - 1);
+    }
+
+    /**
+     * 登记位置
+     *
+     * @param epoch  纪元
+     * @param stripe 分段
+     * @return 返回登记位置
+     */
+    private static int index(long epoch, int stripe) {
+        return ((int) (epoch & 1L) * STRIPES + stripe) * PADDING;
+    }
+
+    /**
+     * 归还增量
+     *
+     * @param deltas     增量
+     * @param increments 增量次数
+     */
+    private void requeue(List<Delta> deltas, long increments) {
+        for (Delta delta : deltas) {
+            this.accumulate(delta.key, delta.longValue, delta.doubleValue);
+        }
+        this.pending.add(increments);
+    }
+
+    /**
+     * 失效近端缓存(刷新失败时部分增量可能已经生效, 同样失效)
+     *
+     * @param deltas 增量
+     */
+    private void invalidate(List<Delta> deltas) {
+        if (this.nearCache == null) {
+            return;
+        }
+        Set<String> keys = new LinkedHashSet<>(deltas.size() * 4 / 3 + 1);
+        for (Delta delta : deltas) {
+            keys.add(delta.key.key);
+        }
+        this.nearCache.invalidate(keys);
+    }
+
+    /**
+     * 累加后检查阈值
+     */
+    private void onAdd() {
+        this.pending.increment();
+        // 按采样检查阈值, 避免每次累加都汇总分段计数
+        if ((ThreadLocalRandom.current().nextInt() & this.sampleMask) != 0) {
+            return;
+        }
+        if (this.pending.sum() >= this.maxPending && this.flushRequested.compareAndSet(false, true)) {
+            SCHEDULER.execute(() -> {
+                this.flushRequested.set(false);
+                this.flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * 刷新(异常仅记录日志)
+     */
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException e) {
+            LOGGER.warn("failed to flush aggregated redis counters, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 管道批量写入增量
+     *
+     * @param deltas 增量
+     * @return 返回需要重试的增量
+     */
+    @SuppressWarnings("unchecked")
+    private List<Delta> write(List<Delta> deltas) {
+        // 先完成序列化, 管道打开后不再有客户端异常导致只发送部分命令
+        byte[][] rawKeys = new byte[deltas.size()][];
+        byte[][] rawHashKeys = new byte[deltas.size()][];
+        for (int i = 0; i < deltas.size(); i++) {
+            CounterKey key = deltas.get(i).key;
+            rawKeys[i] = ConvertUtil.toBytes(this.keySerializer, key.key);
+            rawHashKeys[i] = key.hashKey == null ? null : ConvertUtil.toBytes(this.hashKeySerializer, key.hashKey);
+        }
+        return ConnectionExecutor.withConnection(this.connectionFactory, connection -> {
+            connection.openPipeline();
+            try {
+                for (int i = 0; i < deltas.size(); i++) {
+                    Delta delta = deltas.get(i);
+                    if (rawHashKeys[i] == null) {
+                        if (delta.isDouble()) {
+                            connection.stringCommands().incrBy(rawKeys[i], delta.doubleValue);
+                        } else {
+                            connection.stringCommands().incrBy(rawKeys[i], delta.longValue);
+                        }
+                    } else if (delta.isDouble()) {
+                        connection.hashCommands().hIncrBy(rawKeys[i], rawHashKeys[i], delta.doubleValue);
+                    } else {
+                        connection.hashCommands().hIncrBy(rawKeys[i], rawHashKeys[i], delta.longValue);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                // 关闭管道失败时保留原异常, 关闭异常作为被抑制的异常附加
+                try {
+                    connection.closePipeline();
+                } catch (RuntimeException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            List<Object> results;
+            try {
+                results = connection.closePipeline();
+            } catch (RedisPipelineException e) {
+                results = this.pipelineResults(e, deltas.size());
+            }
+            return this.collectFailures(deltas, results);
+        });
+    }
+
+    /**
+     * 获取管道异常中的逐条结果
+     *
+     * @param e    管道异常
+     * @param size 命令数量
+     * @return 返回逐条结果, 服务端拒绝但未提供逐条结果时返回空列表
+     */
+    private List<Object> pipelineResults(RedisPipelineException e, int size) {
+        List<Object> results = e.getPipelineResult();
+        if (results != null && results.size() == size) {
+            return results;
+        }
+        // 未提供逐条结果(如redisson): 服务端拒绝时其余命令已经执行, 不能整体重试; 其他情况结果未知, 整体重试
+        if (this.isRejected(e.getCause())) {
+            LOGGER.warn("redis rejected aggregated counter increments, rejected increments are dropped: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+        throw e;
+    }
+
+    /**
+     * 收集需要重试的增量(服务端拒绝的增量记录日志后丢弃)
+     *
+     * @param deltas  增量
+     * @param results 逐条结果
+     * @return 返回需要重试的增量
+     */
+    private List<Delta> collectFailures(List<Delta> deltas, List<Object> results) {
+        List<Delta> failed = new ArrayList<>(0);
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+            if (!(result instanceof Throwable)) {
+                continue;
+            }
+            Delta delta = deltas.get(i);
+            if (this.isRejected((Throwable) result)) {
+                LOGGER.warn(
+                        "redis rejected aggregated counter increment for key [{}] hash key [{}], dropped: {}",
+                        delta.key.key,
+                        delta.key.hashKey,
+                        ((Throwable) result).getMessage()
+                );
+            } else {
+                failed.add(delta);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 是否为服务端拒绝的命令(重试不会成功)
+     *
+     * @param e 异常
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    private boolean isRejected(Throwable e) {
+        if (e instanceof RuntimeException && !(e instanceof DataAccessException)) {
+            DataAccessException translated = this.connectionFactory.translateExceptionIfPossible((RuntimeException) e);
+            if (translated != null) {
+                e = translated;
+            }
+        }
+        return e instanceof InvalidDataAccessApiUsageException;
+    }
+
+    /**
+     * 计数键
+     */
+    private static final class CounterKey {
+        /**
+         * 键
+         */
+        private final String key;
+        /**
+         * hash键
+         */
+        private final String hashKey;
+        /**
+         * 哈希值
+         */
+        private final int hash;
+
+        /**
+         * 计数键构造
+         *
+         * @param key     键
+         * @param hashKey hash键
+         */
+        private CounterKey(String key, String hashKey) {
+            this.key = Objects.requireNonNull(key, "key");
+            this.hashKey = hashKey;
+            this.hash = 31 * key.hashCode() + (hashKey == null ? 0 : hashKey.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey other = (CounterKey) o;
+            return this.key.equals(other.key) && Objects.equals(this.hashKey, other.hashKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * 累加单元
+     */
+    private static final class Cell {
+        private final LongAdder longValue = new LongAdder();
+        private final DoubleAdder doubleValue = new DoubleAdder();
+    }
+
+    /**
+     * 增量(长整数与浮点数只有一个不为零)
+     */
+    private static final class Delta {
+        private final CounterKey key;
+        private final long longValue;
+        private final double doubleValue;
+
+        private Delta(CounterKey key, long longValue, double doubleValue) {
+            this.key = key;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+        }
+
+        private boolean isDouble() {
+            return this.doubleValue != 0D;
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.naah69.core.handler;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
 import com.naah69.core.util.ConvertUtil;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -45,14 +43,15 @@ public final class CustomCommandHandler implements RedisHandler {
      * @return 返回信息
      */
     public Object executeCommandAsObj(String command, List<String> keys, Object... args) {
-        Object result = this.redisTemplate.getRequiredConnectionFactory().getConnection().execute(
-                command,
-                ConvertUtil.toByteArray(
-                        this.redisTemplate.getKeySerializer(),
-                        this.redisTemplate.getValueSerializer(),
-                        keys,
-                        args
-                )
+        byte[][] params = ConvertUtil.toByteArray(
+                this.redisTemplate.getKeySerializer(),
+                this.redisTemplate.getValueSerializer(),
+                keys,
+                args
+        );
+        Object result = ConnectionExecutor.withConnection(
+                this.redisTemplate.getRequiredConnectionFactory(),
+                connection -> connection.execute(command, params)
         );
         return result instanceof byte[]
                 ? this.redisTemplate.getValueSerializer().deserialize((byte[]) result)
@@ -68,14 +67,15 @@ public final class CustomCommandHandler implements RedisHandler {
      * @return 返回信息
      */
     public Object executeCommand(String command, List<String> keys, Object... args) {
-        Object result = this.stringRedisTemplate.getRequiredConnectionFactory().getConnection().execute(
-                command,
-                ConvertUtil.toByteArray(
-                        this.stringRedisTemplate.getKeySerializer(),
-                        this.stringRedisTemplate.getValueSerializer(),
-                        keys,
-                        args
-                )
+        byte[][] params = ConvertUtil.toByteArray(
+                this.stringRedisTemplate.getKeySerializer(),
+                this.stringRedisTemplate.getValueSerializer(),
+                keys,
+                args
+        );
+        Object result = ConnectionExecutor.withConnection(
+                this.stringRedisTemplate.getRequiredConnectionFactory(),
+                connection -> connection.execute(command, params)
         );
         return result instanceof byte[]
                 ? this.stringRedisTemplate.getValueSerializer().deserialize((byte[]) result)
@@ -102,10 +102,8 @@ public final class CustomCommandHandler implements RedisHandler {
      * @param <T>   返回类型
      * @return 返回对象
      */
-    @SuppressWarnings("unchecked")
     public <T> T deserializeAsObj(Class<T> type, byte[] bytes) {
-        Object value = this.redisTemplate.getValueSerializer().deserialize(bytes);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.deserialize(this.redisTemplate.getValueSerializer(), bytes, type);
     }
 
     /**
@@ -4,7 +4,7 @@ import com.naah69.core.util.RedisUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.RedisConnection;
-import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.types.RedisClientInfo;
 import org.springframework.data.redis.serializer.RedisSerializer;
@@ -135,7 +135,7 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Properties getDBInfo() {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().info();
+        return this.execute(connection -> connection.serverCommands().info());
     }
 
     /**
@@ -159,11 +159,8 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Properties getDBInfo(DBOption dbOption) {
-        RedisServerCommands serverCommands = this.redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands();
-        if (dbOption != null) {
-            return serverCommands.info(dbOption.option);
-        }
-        return serverCommands.info(DBOption.DEFAULT.option);
+        String option = dbOption != null ? dbOption.option : DBOption.DEFAULT.option;
+        return this.execute(connection -> connection.serverCommands().info(option));
     }
 
     /**
@@ -174,7 +171,10 @@ public final class DBHandler implements RedisHandler {
      */
     public void clearDB() {
         try {
-            this.redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushDb();
+            this.execute(connection -> {
+                connection.serverCommands().flushDb();
+                return null;
+            });
         } catch (IllegalStateException e) {
             log.error(e.getMessage());
         }
@@ -188,7 +188,10 @@ public final class DBHandler implements RedisHandler {
      */
     public void clearDBAll() {
         try {
-            this.redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+            this.execute(connection -> {
+                connection.serverCommands().flushAll();
+                return null;
+            });
         } catch (IllegalStateException e) {
             log.error(e.getMessage());
         }
@@ -203,7 +206,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void setConfig(String param, String value) {
-        this.redisTemplate.getRequiredConnectionFactory().getConnection().setConfig(param, value);
+        this.execute(connection -> {
+            connection.setConfig(param, value);
+            return null;
+        });
     }
 
     /**
@@ -215,7 +221,7 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Properties getConfig(String param) {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().getConfig(param);
+        return this.execute(connection -> connection.getConfig(param));
     }
 
     /**
@@ -225,7 +231,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void resetConfigStats() {
-        this.redisTemplate.getRequiredConnectionFactory().getConnection().resetConfigStats();
+        this.execute(connection -> {
+            connection.resetConfigStats();
+            return null;
+        });
     }
 
     /**
@@ -236,10 +245,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.6.9
      */
     public void setClientName(String name) {
-        this.redisTemplate
-                .getRequiredConnectionFactory()
-                .getConnection()
-                .setClientName(RedisSerializer.string().serialize(name));
+        this.execute(connection -> {
+            connection.setClientName(RedisSerializer.string().serialize(name));
+            return null;
+        });
     }
 
     /**
@@ -250,7 +259,7 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.6.9
      */
     public String getClientName() {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().getClientName();
+        return this.execute(RedisConnection::getClientName);
     }
 
     /**
@@ -259,7 +268,7 @@ public final class DBHandler implements RedisHandler {
      * @return 返回客户端连接列表
      */
     public List<RedisClientInfo> getClientList() {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().getClientList();
+        return this.execute(RedisConnection::getClientList);
     }
 
     /**
@@ -367,7 +376,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public void bgReWriteAof() {
-        this.redisTemplate.getRequiredConnectionFactory().getConnection().bgReWriteAof();
+        this.execute(connection -> {
+            connection.bgReWriteAof();
+            return null;
+        });
     }
 
     /**
@@ -377,7 +389,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public void bgSave() {
-        this.redisTemplate.getRequiredConnectionFactory().getConnection().bgSave();
+        this.execute(connection -> {
+            connection.bgSave();
+            return null;
+        });
     }
 
     /**
@@ -387,7 +402,10 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public void save() {
-        this.redisTemplate.getRequiredConnectionFactory().getConnection().save();
+        this.execute(connection -> {
+            connection.save();
+            return null;
+        });
     }
 
     /**
@@ -398,7 +416,7 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long lastSave() {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().lastSave();
+        return this.execute(RedisConnection::lastSave);
     }
 
     /**
@@ -409,11 +427,12 @@ public final class DBHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long ping() {
-        RedisConnection connection = this.redisTemplate.getRequiredConnectionFactory().getConnection();
-        long begin = CLOCK.millis();
-        connection.ping();
-        long end = CLOCK.millis();
-        return end - begin;
+        return this.execute(connection -> {
+            long begin = CLOCK.millis();
+            connection.ping();
+            long end = CLOCK.millis();
+            return end - begin;
+        });
     }
 
     /**
@@ -424,7 +443,7 @@ public final class DBHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public Long time() {
-        return this.redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().time();
+        return this.execute(connection -> connection.serverCommands().time());
     }
 
     /**
@@ -437,12 +456,7 @@ public final class DBHandler implements RedisHandler {
      */
     public String echo(String message) {
         RedisSerializer<String> serializer = RedisSerializer.string();
-        return serializer.deserialize(
-                this.redisTemplate
-                        .getRequiredConnectionFactory()
-                        .getConnection()
-                        .echo(serializer.serialize(message))
-        );
+        return serializer.deserialize(this.execute(connection -> connection.echo(serializer.serialize(message))));
     }
 
     /**
@@ -453,4 +467,15 @@ public final class DBHandler implements RedisHandler {
     public RedisTemplate getRedisTemplate() {
         return this.redisTemplate;
     }
+
+    /**
+     * 在连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T execute(RedisCallback<T> callback) {
+        return ConnectionExecutor.withConnection(this.redisTemplate.getRequiredConnectionFactory(), callback);
+    }
 }
@@ -0,0 +1,257 @@
+package com.naah69.core.handler;
+
+import com.alibaba.fastjson.JSONObject;
+import com.naah69.core.config.RedisHandlerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 提前刷新器(XFetch)
+ * 值与其计算耗时一同保存, 读取时按剩余过期时间与计算耗时概率性触发后台刷新, 使热点键在过期前被错开刷新
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class EarlyRefresher {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EarlyRefresher.class);
+    /**
+     * 值字段
+     */
+    static final String VALUE = "value";
+    /**
+     * 计算耗时字段(ms)
+     */
+    static final String DELTA = "delta";
+    /**
+     * 后台刷新线程池(所有刷新器共享, 首次使用时创建)
+     */
+    private static volatile ExecutorService executor;
+    /**
+     * 读取次数
+     */
+    private static final LongAdder READS = new LongAdder();
+    /**
+     * 未命中次数(调用方线程加载)
+     */
+    private static final LongAdder MISSES = new LongAdder();
+    /**
+     * 提前刷新次数(后台加载)
+     */
+    private static final LongAdder EARLY_REFRESHES = new LongAdder();
+    /**
+     * 刷新失败次数
+     */
+    private static final LongAdder REFRESH_FAILURES = new LongAdder();
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 合并调用器
+     */
+    private final SingleFlight singleFlight;
+    /**
+     * 提前刷新配置
+     */
+    private final RedisHandlerProperties.EarlyRefresh properties;
+    /**
+     * 刷新中的键
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 提前刷新器构造
+     *
+     * @param redisTemplate 对象模板
+     * @param singleFlight  合并调用器
+     * @param properties    提前刷新配置
+     */
+    EarlyRefresher(RedisTemplate<String, Object> redisTemplate, SingleFlight singleFlight, RedisHandlerProperties.EarlyRefresh properties) {
+        this.redisTemplate = redisTemplate;
+        this.singleFlight = singleFlight;
+        this.properties = properties;
+    }
+
+    /**
+     * 获取值
+     * 命中时直接返回, 并按概率提交后台刷新(不阻塞读取); 未命中时由一个调用方加载, 其余调用等待并共享结果
+     *
+     * @param key    键
+     * @param loader 加载器
+     * @param writer 设置(接收包含值与计算耗时的包装对象)
+     * @param beta   提前刷新系数
+     * @return 返回值
+     */
+    @SuppressWarnings("unchecked")
+    Object get(String key, Supplier<?> loader, Consumer<JSONObject> writer, double beta) {
+        READS.increment();
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        List<Object> results = ConnectionExecutor.withPipeline(this.redisTemplate.getRequiredConnectionFactory(), connection -> {
+            connection.get(rawKey);
+            connection.pTtl(rawKey);
+        });
+        byte[] raw = (byte[]) results.get(0);
+        Object envelope = raw == null ? null : this.redisTemplate.getValueSerializer().deserialize(raw);
+        if (!(envelope instanceof Map) || !((Map) envelope).containsKey(DELTA)) {
+            MISSES.increment();
+            return this.singleFlight.execute("xf:" + key, () -> this.load(loader, writer));
+        }
+        // 非fastjson编码解码为普通字典, 包装后按相同方式读取
+        JSONObject wrapper = envelope instanceof JSONObject ? (JSONObject) envelope : new JSONObject((Map<String, Object>) envelope);
+        Long pttl = (Long) results.get(1);
+        long delta = wrapper.getLongValue(DELTA);
+        // XFetch: 剩余时间 <= -delta * beta * ln(rand) 时刷新, 越接近过期且计算越慢刷新概率越高
+        if (pttl != null && pttl > 0 && -delta * beta * Math.log(ThreadLocalRandom.current().nextDouble()) >= pttl) {
+            this.refreshAsync(key, loader, writer);
+        }
+        return wrapper.get(VALUE);
+    }
+
+    /**
+     * 提交后台刷新(同一键同时只有一次刷新)
+     *
+     * @param key    键
+     * @param loader 加载器
+     * @param writer 设置
+     */
+    private void refreshAsync(String key, Supplier<?> loader, Consumer<JSONObject> writer) {
+        if (!this.refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor(this.properties.getThreads()).execute(() -> {
+                try {
+                    this.load(loader, writer);
+                    EARLY_REFRESHES.increment();
+                } catch (RuntimeException e) {
+                    REFRESH_FAILURES.increment();
+                    LOGGER.warn("early refresh of key [{}] failed", key, e);
+                } finally {
+                    this.refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.remove(key);
+        }
+    }
+
+    /**
+     * 加载并设置(记录计算耗时)
+     *
+     * @param loader 加载器
+     * @param writer 设置
+     * @return 返回值
+     */
+    private Object load(Supplier<?> loader, Consumer<JSONObject> writer) {
+        long begin = System.nanoTime();
+        Object value = loader.get();
+        if (value != null) {
+            JSONObject wrapper = new JSONObject(2);
+            wrapper.put(VALUE, value);
+            wrapper.put(DELTA, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            writer.accept(wrapper);
+        }
+        return value;
+    }
+
+    /**
+     * 获取后台刷新线程池
+     *
+     * @param threads 线程数
+     * @return 返回线程池
+     */
+    private static ExecutorService executor(int threads) {
+        ExecutorService service = executor;
+        if (service == null) {
+            synchronized (EarlyRefresher.class) {
+                service = executor;
+                if (service == null) {
+                    AtomicInteger index = new AtomicInteger();
+                    int size = Math.max(1, threads);
+                    // 队列有界, 积压时放弃本次提前刷新(后续读取会再次触发)
+                    service = new ThreadPoolExecutor(
+                            size,
+                            size,
+                            0L,
+                            TimeUnit.MILLISECONDS,
+                            new LinkedBlockingQueue<>(1024),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "redis-early-refresh-" + index.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            },
+                            new ThreadPoolExecutor.AbortPolicy()
+                    );
+                    executor = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * 获取读取次数
+     *
+     * @return 返回读取次数
+     */
+    public static long getReads() {
+        return READS.sum();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * 获取提前刷新次数
+     *
+     * @return 返回提前刷新次数
+     */
+    public static long getEarlyRefreshes() {
+        return EARLY_REFRESHES.sum();
+    }
+
+    /**
+     * 获取刷新失败次数
+     *
+     * @return 返回刷新失败次数
+     */
+    public static long getRefreshFailures() {
+        return REFRESH_FAILURES.sum();
+    }
+
+    /**
+     * 获取提前刷新比例(提前刷新次数/读取次数)
+     *
+     * @return 返回提前刷新比例
+     */
+    public static double getEarlyRefreshRatio() {
+        long reads = READS.sum();
+        return reads == 0L ? 0D : (double) EARLY_REFRESHES.sum() / reads;
+    }
+}
@@ -0,0 +1,75 @@
+package com.naah69.core.handler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带剩余过期时间的值
+ *
+ * @param <T> 值类型
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ExpiringValue<T> {
+    /**
+     * 值
+     */
+    private final T value;
+    /**
+     * 剩余过期时间(毫秒, 无过期时间为-1)
+     */
+    private final long ttl;
+
+    /**
+     * 带剩余过期时间的值构造
+     *
+     * @param value 值
+     * @param ttl   剩余过期时间(毫秒, 无过期时间为-1)
+     */
+    ExpiringValue(T value, long ttl) {
+        this.value = value;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 获取值
+     *
+     * @return 返回值
+     */
+    public T getValue() {
+        return this.value;
+    }
+
+    /**
+     * 获取剩余过期时间
+     *
+     * @return 返回剩余过期时间(毫秒, 无过期时间为-1)
+     */
+    public long getTtl() {
+        return this.ttl;
+    }
+
+    /**
+     * 获取剩余过期时间
+     *
+     * @param unit 时间单位
+     * @return 返回剩余过期时间(无过期时间为-1)
+     */
+    public long getTtl(TimeUnit unit) {
+        return this.ttl < 0 ? this.ttl : unit.convert(this.ttl, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 是否有过期时间
+     *
+     * @return 返回布尔值, 是为true, 否为false
+     */
+    public boolean isExpiring() {
+        return this.ttl >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiringValue{value=" + this.value + ", ttl=" + this.ttl + '}';
+    }
+}
@@ -0,0 +1,251 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 过期策略
+ * 所有助手的过期写入(设置过期值、设置过期时间等)均经过该策略: 按键前缀在过期时间上增加随机抖动, 并统计未来每秒计划过期的键数量
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ExpiryPolicy {
+    /**
+     * 过期写入次数
+     */
+    private static final LongAdder WRITES = new LongAdder();
+    /**
+     * 增加抖动的次数
+     */
+    private static final LongAdder JITTERED = new LongAdder();
+    /**
+     * 当前策略(首次使用时读取配置)
+     */
+    private static volatile ExpiryPolicy instance;
+    /**
+     * 默认抖动
+     */
+    private final RedisHandlerProperties.Jitter jitter;
+    /**
+     * 前缀抖动(按前缀长度降序)
+     */
+    private final List<Map.Entry<String, RedisHandlerProperties.Jitter>> prefixes;
+    /**
+     * 统计范围(s)
+     */
+    private final int horizon;
+    /**
+     * 每秒计划过期数量(环形数组, 按秒取模)
+     */
+    private final AtomicLongArray counts;
+    /**
+     * 每个槽位对应的秒
+     */
+    private final AtomicLongArray seconds;
+
+    /**
+     * 过期策略构造
+     *
+     * @param properties 过期策略配置
+     */
+    private ExpiryPolicy(RedisHandlerProperties.Expiry properties) {
+        this.jitter = properties.getJitter();
+        this.prefixes = new ArrayList<>(properties.getPrefixes().entrySet());
+        this.prefixes.sort(Comparator.comparingInt((Map.Entry<String, RedisHandlerProperties.Jitter> entry) -> entry.getKey().length()).reversed());
+        this.horizon = (int) Math.min(properties.getHistogramHorizon().getSeconds(), TimeUnit.DAYS.toSeconds(1));
+        this.counts = new AtomicLongArray(Math.max(this.horizon, 1));
+        this.seconds = new AtomicLongArray(Math.max(this.horizon, 1));
+    }
+
+    /**
+     * 计算过期时间(ms)
+     *
+     * @param key     键
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回增加抖动后的过期时间(ms)
+     */
+    public static long millis(String key, long timeout, TimeUnit unit) {
+        long millis = unit.toMillis(timeout);
+        if (millis <= 0) {
+            return millis;
+        }
+        ExpiryPolicy policy = get();
+        if (policy == null) {
+            return millis;
+        }
+        WRITES.increment();
+        millis += policy.jitter(key, millis);
+        policy.record(System.currentTimeMillis() + millis);
+        return millis;
+    }
+
+    /**
+     * 计算过期时间点
+     *
+     * @param key  键
+     * @param date 过期时间点
+     * @return 返回增加抖动后的过期时间点
+     */
+    public static Date expireAt(String key, Date date) {
+        ExpiryPolicy policy = get();
+        if (policy == null) {
+            return date;
+        }
+        long millis = date.getTime() - System.currentTimeMillis();
+        if (millis <= 0) {
+            return date;
+        }
+        WRITES.increment();
+        long expireAt = date.getTime() + policy.jitter(key, millis);
+        policy.record(expireAt);
+        return new Date(expireAt);
+    }
+
+    /**
+     * 获取未来指定秒数内每秒计划过期的键数量(近似值, 不含已删除或已覆盖的键)
+     *
+     * @param seconds 秒数(不超过统计范围)
+     * @return 返回计划过期数量(秒级时间戳 -> 数量, 仅包含非零项)
+     */
+    public static Map<Long, Long> getScheduledExpiries(int seconds) {
+        Map<Long, Long> histogram = new TreeMap<>();
+        ExpiryPolicy policy = get();
+        if (policy == null || policy.horizon <= 0) {
+            return histogram;
+        }
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        int limit = Math.min(seconds, policy.horizon);
+        for (long second = now; second < now + limit; second++) {
+            long count = policy.count(second);
+            if (count > 0) {
+                histogram.put(second, count);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * 获取统计范围内单秒计划过期的最大键数量
+     *
+     * @return 返回最大数量
+     */
+    public static long getPeakScheduledExpiries() {
+        ExpiryPolicy policy = get();
+        if (policy == null || policy.horizon <= 0) {
+            return 0L;
+        }
+        long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        long peak = 0L;
+        for (long second = now; second < now + policy.horizon; second++) {
+            peak = Math.max(peak, policy.count(second));
+        }
+        return peak;
+    }
+
+    /**
+     * 获取过期写入次数
+     *
+     * @return 返回过期写入次数
+     */
+    public static long getWrites() {
+        return WRITES.sum();
+    }
+
+    /**
+     * 获取增加抖动的次数
+     *
+     * @return 返回增加抖动的次数
+     */
+    public static long getJittered() {
+        return JITTERED.sum();
+    }
+
+    /**
+     * 获取当前策略
+     *
+     * @return 返回当前策略, 容器未就绪时返回null
+     */
+    private static ExpiryPolicy get() {
+        ExpiryPolicy policy = instance;
+        if (policy == null && ApplicationContextUtil.getContext() != null) {
+            synchronized (ExpiryPolicy.class) {
+                policy = instance;
+                if (policy == null) {
+                    policy = new ExpiryPolicy(ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class).getExpiry());
+                    instance = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * 计算抖动
+     *
+     * @param key    键
+     * @param millis 过期时间(ms)
+     * @return 返回抖动(ms)
+     */
+    private long jitter(String key, long millis) {
+        RedisHandlerProperties.Jitter config = this.jitter;
+        for (Map.Entry<String, RedisHandlerProperties.Jitter> entry : this.prefixes) {
+            if (key.startsWith(entry.getKey())) {
+                config = entry.getValue();
+                break;
+            }
+        }
+        long range = (long) (millis * config.getPercent()) + config.getAmount().toMillis();
+        if (range <= 0) {
+            return 0L;
+        }
+        JITTERED.increment();
+        return ThreadLocalRandom.current().nextLong(range + 1);
+    }
+
+    /**
+     * 记录计划过期时间
+     *
+     * @param expireAt 过期时间点(ms)
+     */
+    private void record(long expireAt) {
+        if (this.horizon <= 0) {
+            return;
+        }
+        long second = TimeUnit.MILLISECONDS.toSeconds(expireAt);
+        if (second - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) >= this.horizon) {
+            return;
+        }
+        int index = (int) (second % this.horizon);
+        long current = this.seconds.get(index);
+        // 槽位对应的秒已过去时重置计数(并发重置可能丢失少量计数, 统计为近似值)
+        if (current != second && this.seconds.compareAndSet(index, current, second)) {
+            this.counts.set(index, 0L);
+        }
+        this.counts.incrementAndGet(index);
+    }
+
+    /**
+     * 获取指定秒的计划过期数量
+     *
+     * @param second 秒级时间戳
+     * @return 返回数量
+     */
+    private long count(long second) {
+        int index = (int) (second % this.horizon);
+        return this.seconds.get(index) == second ? this.counts.get(index) : 0L;
+    }
+}
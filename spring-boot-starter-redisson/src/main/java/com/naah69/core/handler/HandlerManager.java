@@ -1,24 +1,33 @@
 package com.naah69.core.handler;
 
+import com.naah69.core.codec.PrefixedKeySerializer;
+import com.naah69.core.codec.ValueCodec;
+import com.naah69.core.codec.ValueCodecs;
+import com.naah69.core.config.RedisHandlerProperties;
 import com.naah69.core.config.redisson.RedissonClientHelper;
 import com.naah69.core.config.redisson.RedissonConnectionFactory;
 import com.naah69.core.util.ApplicationContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 助手管理
@@ -27,6 +36,10 @@ import java.util.concurrent.ConcurrentMap;
  * @since 1.8
  */
 final class HandlerManager {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HandlerManager.class);
     /**
      * redis模板(用于对象)
      */
@@ -45,28 +58,61 @@ final class HandlerManager {
      */
     private static final int DEFAULT_DB_INDEX = ApplicationContextUtil.getContext().getBean(RedisProperties.class).getDatabase();
     /**
-     * 助手容器
+     * 助手配置
+     */
+    private static final RedisHandlerProperties PROPERTIES = ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class);
+    /**
+     * 首次使用时才创建的助手类型(不参与预初始化)
      */
-    private final ConcurrentMap<HandlerType, ConcurrentMap<String, RedisHandler>> container = initContainer();
+    private static final Set<HandlerType> ON_DEMAND_TYPES = EnumSet.of(
+            HandlerType.REDISLOCK,
+            HandlerType.BINARY,
+            HandlerType.CLUSTER,
+            HandlerType.ASYNC_STRING,
+            HandlerType.ASYNC_HASH,
+            HandlerType.ASYNC_LIST,
+            HandlerType.ASYNC_SET,
+            HandlerType.ASYNC_ZSET,
+            HandlerType.ASYNC_NUMBER,
+            HandlerType.REACTIVE_STRING,
+            HandlerType.REACTIVE_HASH,
+            HandlerType.REACTIVE_LIST,
+            HandlerType.REACTIVE_SET,
+            HandlerType.REACTIVE_ZSET,
+            HandlerType.REACTIVE_KEY
+    );
+    /**
+     * 已初始化的助手(助手类型与数据库索引)
+     */
+    private static final ConcurrentMap<HandlerType, Set<Integer>> MATERIALIZED = new ConcurrentHashMap<>(32);
+    /**
+     * 助手容器(按数据库索引直接寻址, 读取无锁)
+     */
+    private final EnumMap<HandlerType, AtomicReferenceArray<RedisHandler>> container = new EnumMap<>(HandlerType.class);
+    /**
+     * 溢出助手容器(数据库索引超出容器大小时使用)
+     */
+    private final EnumMap<HandlerType, ConcurrentMap<Integer, RedisHandler>> overflowContainer = new EnumMap<>(HandlerType.class);
     /**
      * 集群助手实例
      */
-    private final ClusterHandler clusterHandler = new ClusterHandler(REDIS_TEMPLATE);
+    private final ClusterHandler clusterHandler = new ClusterHandler(REDIS_TEMPLATE, DEFAULT_DB_INDEX);
 
 
     /**
      * 助手管理构造
      */
     HandlerManager() {
+        this.initContainer();
     }
 
     /**
-     * 获取默认KEY
+     * 获取默认数据库索引
      *
-     * @return 返回默认KEY
+     * @return 返回默认数据库索引
      */
-    String getDefaultKey() {
-        return DEFAULT_KEY;
+    int getDefaultDbIndex() {
+        return DEFAULT_DB_INDEX;
     }
 
     /**
@@ -77,28 +123,56 @@ final class HandlerManager {
      * @return 返回助手
      */
     RedisHandler getHandler(String key, HandlerType type) {
+        if (DEFAULT_KEY.equalsIgnoreCase(key)) {
+            return this.getHandler(DEFAULT_DB_INDEX, type);
+        }
+        return this.getHandler(Integer.parseInt(key), type);
+    }
+
+    /**
+     * 获取助手
+     *
+     * @param dbIndex 数据库索引
+     * @param type    助手类型
+     * @return 返回助手
+     */
+    RedisHandler getHandler(int dbIndex, HandlerType type) {
         // 若是集群助手类型，则直接返回
         if (type == HandlerType.CLUSTER) {
             return clusterHandler;
         }
-        ConcurrentMap<String, RedisHandler> map = this.container.get(type);
-        RedisHandler handler = map.get(key);
+        AtomicReferenceArray<RedisHandler> handlers = this.container.get(type);
+        if (dbIndex < 0 || dbIndex >= handlers.length()) {
+            return this.getOverflowHandler(dbIndex, type);
+        }
+        RedisHandler handler = handlers.get(dbIndex);
         if (handler != null) {
             return handler;
         }
-        synchronized (this.container) {
-            handler = map.get(key);
+        // 仅锁定当前助手类型, 不同类型的助手可并发创建
+        synchronized (handlers) {
+            handler = handlers.get(dbIndex);
             if (handler == null) {
-                RedisHandler instance = this.getHandlerInstance(key, type);
-                handler = map.putIfAbsent(key, instance);
-                if (handler == null) {
-                    handler = instance;
-                }
+                handler = this.getHandlerInstance(dbIndex, type);
+                handlers.set(dbIndex, handler);
             }
         }
         return handler;
     }
 
+    /**
+     * 获取已初始化的助手
+     *
+     * @return 返回助手类型与数据库索引字典
+     */
+    static Map<HandlerType, Set<Integer>> getMaterializedHandlers() {
+        Map<HandlerType, Set<Integer>> handlers = new EnumMap<>(HandlerType.class);
+        for (Map.Entry<HandlerType, Set<Integer>> entry : MATERIALIZED.entrySet()) {
+            handlers.put(entry.getKey(), Collections.unmodifiableSet(new TreeSet<>(entry.getValue())));
+        }
+        return handlers;
+    }
+
     /**
      * 获取默认的对象模板
      *
@@ -118,7 +192,7 @@ final class HandlerManager {
     }
 
     /**
-     * 获取连接工厂
+     * 获取连接工厂(redisson模式下按数据库索引共享客户端)
      *
      * @param dbIndex 数据库索引
      * @return 返回连接工厂
@@ -141,9 +215,8 @@ final class HandlerManager {
                 }
             }
         } else if (redisConnectionFactory instanceof RedissonConnectionFactory) {
-            redisConnectionFactory = new RedissonConnectionFactory(
-                    RedissonClientHelper.createClient(dbIndex)
-            );
+            // 同一数据库的所有助手共享同一个客户端
+            redisConnectionFactory = RedissonClientHelper.getSharedConnectionFactory(dbIndex);
         } else {
             throw new RuntimeException("no support connection factory");
         }
@@ -179,7 +252,7 @@ final class HandlerManager {
      * @return 返回模板
      */
     static RedisTemplate createTemplate(int dbIndex, boolean isString) {
-        return initRedisTemplate(getConnectionFactory(dbIndex), isString);
+        return initRedisTemplate(dbIndex, getConnectionFactory(dbIndex), isString);
     }
 
     /**
@@ -191,29 +264,143 @@ final class HandlerManager {
     static List<RedisTemplate> createTemplate(int dbIndex) {
         RedisConnectionFactory connectionFactory = getConnectionFactory(dbIndex);
         return Arrays.asList(
-                initRedisTemplate(connectionFactory, false),
-                initRedisTemplate(connectionFactory, true)
+                initRedisTemplate(dbIndex, connectionFactory, false),
+                initRedisTemplate(dbIndex, connectionFactory, true)
+        );
+    }
+
+    /**
+     * 获取响应式连接工厂
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式连接工厂
+     */
+    static ReactiveRedisConnectionFactory getReactiveConnectionFactory(int dbIndex) {
+        RedisConnectionFactory redisConnectionFactory = getConnectionFactory(dbIndex);
+        if (redisConnectionFactory instanceof ReactiveRedisConnectionFactory) {
+            return (ReactiveRedisConnectionFactory) redisConnectionFactory;
+        }
+        throw new RuntimeException("no support reactive connection factory");
+    }
+
+    /**
+     * 创建响应式模板
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式模板(对象模板与字符串模板)
+     */
+    static List<ReactiveRedisTemplate> createReactiveTemplate(int dbIndex) {
+        ReactiveRedisConnectionFactory connectionFactory = getReactiveConnectionFactory(dbIndex);
+        return Arrays.asList(
+                new ReactiveRedisTemplate<>(connectionFactory, createSerializationContext(dbIndex)),
+                new ReactiveStringRedisTemplate(connectionFactory, createStringSerializationContext(dbIndex))
+        );
+    }
+
+    /**
+     * 创建对象序列化上下文(与对象模板使用相同的序列化器)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回序列化上下文
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisSerializationContext<String, Object> createSerializationContext(int dbIndex) {
+        return RedisSerializationContext.<String, Object>newSerializationContext()
+                .key(getKeySerializer(dbIndex, REDIS_TEMPLATE.getKeySerializer()))
+                .value((RedisSerializer<Object>) getValueSerializer(dbIndex, REDIS_TEMPLATE.getValueSerializer()))
+                .hashKey(REDIS_TEMPLATE.getHashKeySerializer())
+                .hashValue(getValueSerializer(dbIndex, REDIS_TEMPLATE.getHashValueSerializer()))
+                .build();
+    }
+
+    /**
+     * 创建字符串序列化上下文(与字符串模板使用相同的键序列化器)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回序列化上下文
+     */
+    private static RedisSerializationContext<String, String> createStringSerializationContext(int dbIndex) {
+        return RedisSerializationContext.<String, String>newSerializationContext(RedisSerializer.string())
+                .key(getKeySerializer(dbIndex, STRING_REDIS_TEMPLATE.getKeySerializer()))
+                .build();
+    }
+
+    /**
+     * 获取键序列化器(数据库配置了命名空间时使用该前缀, 否则使用默认模板的键序列化器)
+     *
+     * @param dbIndex           数据库索引
+     * @param defaultSerializer 默认键序列化器
+     * @return 返回键序列化器
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisSerializer<String> getKeySerializer(int dbIndex, RedisSerializer<?> defaultSerializer) {
+        String prefix = PROPERTIES.getNamespace().getDatabases().get(dbIndex);
+        if (prefix == null) {
+            return (RedisSerializer<String>) defaultSerializer;
+        }
+        return PrefixedKeySerializer.of(prefix, PROPERTIES.getNamespace().getKeyCacheSize());
+    }
+
+    /**
+     * 获取键前缀(供不经过模板序列化键的redisson助手使用)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回键前缀, 没有命名空间时返回空字符串
+     */
+    static String getKeyPrefix(int dbIndex) {
+        return PrefixedKeySerializer.prefixOf(getKeySerializer(dbIndex, STRING_REDIS_TEMPLATE.getKeySerializer()));
+    }
+
+    /**
+     * 获取值序列化器(数据库配置了值编码或压缩算法时使用该配置, 否则使用默认对象模板的序列化器)
+     *
+     * @param dbIndex           数据库索引
+     * @param defaultSerializer 默认序列化器
+     * @return 返回值序列化器
+     */
+    private static RedisSerializer<?> getValueSerializer(int dbIndex, RedisSerializer<?> defaultSerializer) {
+        String codec = PROPERTIES.getCodec().getDatabases().get(dbIndex);
+        String compression = PROPERTIES.getCompression().getDatabases().get(dbIndex);
+        if (codec == null && compression == null) {
+            return defaultSerializer;
+        }
+        return ValueCodecs.serializer(
+                codec != null ? codec : PROPERTIES.getCodec().getName(),
+                compression != null ? compression : PROPERTIES.getCompression().getAlgorithm(),
+                (int) PROPERTIES.getCompression().getThreshold().toBytes()
         );
     }
 
+    /**
+     * 获取值编码(与对象模板一致)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回值编码
+     */
+    static ValueCodec getValueCodec(int dbIndex) {
+        return ValueCodecs.of(getValueSerializer(dbIndex, REDIS_TEMPLATE.getValueSerializer()));
+    }
+
     /**
      * 初始化模板
      *
+     * @param dbIndex  数据库索引
      * @param factory  连接工厂
      * @param isString 是否为字符串模板
      * @return 返回模板
      */
     @SuppressWarnings("unchecked")
-    private static RedisTemplate initRedisTemplate(RedisConnectionFactory factory, boolean isString) {
+    private static RedisTemplate initRedisTemplate(int dbIndex, RedisConnectionFactory factory, boolean isString) {
         RedisTemplate redisTemplate;
         if (isString) {
             redisTemplate = new StringRedisTemplate(factory);
+            redisTemplate.setKeySerializer(getKeySerializer(dbIndex, STRING_REDIS_TEMPLATE.getKeySerializer()));
         } else {
             redisTemplate = new RedisTemplate<String, Object>();
-            redisTemplate.setKeySerializer(REDIS_TEMPLATE.getKeySerializer());
-            redisTemplate.setValueSerializer(REDIS_TEMPLATE.getValueSerializer());
+            redisTemplate.setKeySerializer(getKeySerializer(dbIndex, REDIS_TEMPLATE.getKeySerializer()));
+            redisTemplate.setValueSerializer(getValueSerializer(dbIndex, REDIS_TEMPLATE.getValueSerializer()));
             redisTemplate.setHashKeySerializer(REDIS_TEMPLATE.getHashKeySerializer());
-            redisTemplate.setHashValueSerializer(REDIS_TEMPLATE.getHashValueSerializer());
+            redisTemplate.setHashValueSerializer(getValueSerializer(dbIndex, REDIS_TEMPLATE.getHashValueSerializer()));
             redisTemplate.setConnectionFactory(factory);
             redisTemplate.afterPropertiesSet();
         }
@@ -221,53 +408,53 @@ final class HandlerManager {
     }
 
     /**
-     * 初始化容器
-     *
-     * @return 返回容器
-     */
-    private ConcurrentMap<HandlerType, ConcurrentMap<String, RedisHandler>> initContainer() {
-        String dbIndex = String.valueOf(DEFAULT_DB_INDEX);
-        ConcurrentMap<HandlerType, ConcurrentMap<String, RedisHandler>> container = new ConcurrentHashMap<>(32);
-        HandlerType[] types = HandlerType.values();
-        RedisHandler handler;
-        for (HandlerType type : types) {
-            ConcurrentHashMap<String, RedisHandler> handlerMap = new ConcurrentHashMap<>(256);
-            container.put(type, handlerMap);
-            // 初始化跳过redLock
-            if (type == HandlerType.REDISLOCK) {
+     * 初始化容器(延迟初始化时只创建空容器, 助手在首次使用时创建)
+     */
+    private void initContainer() {
+        int size = Math.max(PROPERTIES.getDatabases(), DEFAULT_DB_INDEX + 1);
+        for (HandlerType type : HandlerType.values()) {
+            this.container.put(type, new AtomicReferenceArray<>(size));
+            this.overflowContainer.put(type, new ConcurrentHashMap<>(4));
+        }
+        if (PROPERTIES.isLazyInit()) {
+            return;
+        }
+        for (HandlerType type : HandlerType.values()) {
+            // 初始化跳过redLock、集群、异步与响应式助手
+            if (ON_DEMAND_TYPES.contains(type)) {
                 continue;
             }
-            handler = this.getHandlerInstance(dbIndex, type);
-            handlerMap.put(getDefaultKey(), Objects.requireNonNull(handler));
-            handlerMap.put(dbIndex, handler);
+            this.getHandler(DEFAULT_DB_INDEX, type);
+        }
+    }
 
+    /**
+     * 获取溢出助手
+     *
+     * @param dbIndex 数据库索引
+     * @param type    助手类型
+     * @return 返回助手
+     */
+    private RedisHandler getOverflowHandler(int dbIndex, HandlerType type) {
+        ConcurrentMap<Integer, RedisHandler> handlers = this.overflowContainer.get(type);
+        RedisHandler handler = handlers.get(dbIndex);
+        if (handler != null) {
+            return handler;
         }
-        return container;
+        return handlers.computeIfAbsent(dbIndex, key -> this.getHandlerInstance(key, type));
     }
 
     /**
      * 获取助手实例
      *
-     * @param key  KEY
-     * @param type 助手类型
+     * @param dbIndex 数据库索引
+     * @param type    助手类型
      * @return 返回实例
      */
-    @SuppressWarnings("unchecked")
-    private RedisHandler getHandlerInstance(String key, HandlerType type) {
-        Class clz = type.getTypeClass();
-        try {
-            Constructor constructor = clz.getDeclaredConstructor(Integer.class);
-            constructor.setAccessible(true);
-            RedisHandler handler;
-            if (type == HandlerType.REDISLOCK && DEFAULT_KEY.equalsIgnoreCase(key)) {
-                handler = (RedisHandler) constructor.newInstance(DEFAULT_DB_INDEX);
-            } else {
-                handler = (RedisHandler) constructor.newInstance(Integer.valueOf(key));
-            }
-            return handler;
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
-        return null;
+    private RedisHandler getHandlerInstance(int dbIndex, HandlerType type) {
+        RedisHandler handler = Objects.requireNonNull(type.newInstance(dbIndex));
+        MATERIALIZED.computeIfAbsent(type, k -> new ConcurrentSkipListSet<>()).add(dbIndex);
+        LOGGER.debug("redis handler {} materialized for db {}", type, dbIndex);
+        return handler;
     }
 }
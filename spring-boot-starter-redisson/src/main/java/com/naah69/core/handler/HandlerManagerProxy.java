@@ -3,6 +3,11 @@ package com.naah69.core.handler;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * 助手管理代理
  *
@@ -25,7 +30,20 @@ public class HandlerManagerProxy {
      */
     @SuppressWarnings("unchecked")
     public <T extends RedisHandler> T getHandler(HandlerType type) {
-        return (T) this.manager.getHandler(this.manager.getDefaultKey(), type);
+        return (T) this.manager.getHandler(this.manager.getDefaultDbIndex(), type);
+    }
+
+    /**
+     * 获取助手
+     *
+     * @param dbIndex 数据库索引
+     * @param type    助手类型
+     * @param <T>     返回类型
+     * @return 返回助手
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends RedisHandler> T getHandler(int dbIndex, HandlerType type) {
+        return (T) this.manager.getHandler(dbIndex, type);
     }
 
     /**
@@ -58,4 +76,41 @@ public class HandlerManagerProxy {
     public StringRedisTemplate getDefaultStringRedisTemplate() {
         return this.manager.getDefaultStringRedisTemplate();
     }
+
+    /**
+     * 管道批量执行(默认数据库)
+     *
+     * @param consumer 批量命令
+     * @return 返回按记录顺序排列的结果(无返回值的命令为null)
+     */
+    public List<Object> pipeline(Consumer<PipelineBatch> consumer) {
+        return this.pipeline(this.manager.getDefaultDbIndex(), consumer);
+    }
+
+    /**
+     * 管道批量执行
+     *
+     * @param dbIndex  数据库索引
+     * @param consumer 批量命令
+     * @return 返回按记录顺序排列的结果(无返回值的命令为null)
+     */
+    public List<Object> pipeline(int dbIndex, Consumer<PipelineBatch> consumer) {
+        StringHandler handler = this.getHandler(dbIndex, HandlerType.STRING);
+        PipelineBatch batch = new PipelineBatch(
+                handler.getRedisTemplate(),
+                handler.getStringRedisTemplate(),
+                NearCache.forDatabase(dbIndex)
+        );
+        consumer.accept(batch);
+        return batch.execute();
+    }
+
+    /**
+     * 获取已初始化的助手(不会触发助手初始化)
+     *
+     * @return 返回助手类型与数据库索引字典
+     */
+    public static Map<HandlerType, Set<Integer>> getMaterializedHandlers() {
+        return HandlerManager.getMaterializedHandlers();
+    }
 }
@@ -1,5 +1,6 @@
 package com.naah69.core.handler;
 
+import java.util.function.IntFunction;
 
 /**
  * 助手类型枚举
@@ -11,84 +12,142 @@ public enum HandlerType {
     /**
      * 数据库助手
      */
-    DB(DBHandler.class),
+    DB(DBHandler.class, DBHandler::new),
     /**
      * 键助手
      */
-    KEY(KeyHandler.class),
+    KEY(KeyHandler.class, KeyHandler::new),
     /**
      * 数字助手
      */
-    NUMBER(NumberHandler.class),
+    NUMBER(NumberHandler.class, NumberHandler::new),
     /**
      * 字符串助手
      */
-    STRING(StringHandler.class),
+    STRING(StringHandler.class, StringHandler::new),
     /**
      * 列表助手
      */
-    LIST(ListHandler.class),
+    LIST(ListHandler.class, ListHandler::new),
     /**
      * 哈希助手
      */
-    HASH(HashHandler.class),
+    HASH(HashHandler.class, HashHandler::new),
     /**
      * 无序集合助手
      */
-    SET(SetHandler.class),
+    SET(SetHandler.class, SetHandler::new),
     /**
      * 有序集合助手
      */
-    ZSET(ZsetHandler.class),
+    ZSET(ZsetHandler.class, ZsetHandler::new),
     /**
      * 位图助手
      */
-    BITMAP(BitmapHandler.class),
+    BITMAP(BitmapHandler.class, BitmapHandler::new),
     /**
      * 地理位置助手
      */
-    GEO(GeoHandler.class),
+    GEO(GeoHandler.class, GeoHandler::new),
     /**
      * 基数助手
      */
-    HYPERLOGLOG(HyperLogLogHandler.class),
+    HYPERLOGLOG(HyperLogLogHandler.class, HyperLogLogHandler::new),
     /**
      * lua脚本助手
      */
-    SCRIPT(ScriptHandler.class),
+    SCRIPT(ScriptHandler.class, ScriptHandler::new),
     /**
      * 发布与订阅助手
      */
-    PUBSUB(PubSubHandler.class),
+    PUBSUB(PubSubHandler.class, PubSubHandler::new),
     /**
      * 分布式锁助手
      */
-    REDISLOCK(RedisLockHandler.class),
+    REDISLOCK(RedisLockHandler.class, RedisLockHandler::new),
+    /**
+     * 大值助手
+     */
+    BINARY(BinaryHandler.class, BinaryHandler::new),
     /**
      * 哨兵助手
      */
-    SENTINEL(SentinelHandler.class),
+    SENTINEL(SentinelHandler.class, SentinelHandler::new),
     /**
      * 集群助手
      */
-    CLUSTER(ClusterHandler.class),
+    CLUSTER(ClusterHandler.class, ClusterHandler::new),
     /**
      * 自定义命令助手
      */
-    CUSTOMCOMMAND(CustomCommandHandler.class);
+    CUSTOMCOMMAND(CustomCommandHandler.class, CustomCommandHandler::new),
+    /**
+     * 异步字符串助手
+     */
+    ASYNC_STRING(AsyncStringHandler.class, AsyncStringHandler::new),
+    /**
+     * 异步哈希助手
+     */
+    ASYNC_HASH(AsyncHashHandler.class, AsyncHashHandler::new),
+    /**
+     * 异步列表助手
+     */
+    ASYNC_LIST(AsyncListHandler.class, AsyncListHandler::new),
+    /**
+     * 异步无序集合助手
+     */
+    ASYNC_SET(AsyncSetHandler.class, AsyncSetHandler::new),
+    /**
+     * 异步有序集合助手
+     */
+    ASYNC_ZSET(AsyncZsetHandler.class, AsyncZsetHandler::new),
+    /**
+     * 异步数字助手
+     */
+    ASYNC_NUMBER(AsyncNumberHandler.class, AsyncNumberHandler::new),
+    /**
+     * 响应式字符串助手
+     */
+    REACTIVE_STRING(ReactiveStringHandler.class, ReactiveStringHandler::new),
+    /**
+     * 响应式哈希助手
+     */
+    REACTIVE_HASH(ReactiveHashHandler.class, ReactiveHashHandler::new),
+    /**
+     * 响应式列表助手
+     */
+    REACTIVE_LIST(ReactiveListHandler.class, ReactiveListHandler::new),
+    /**
+     * 响应式无序集合助手
+     */
+    REACTIVE_SET(ReactiveSetHandler.class, ReactiveSetHandler::new),
+    /**
+     * 响应式有序集合助手
+     */
+    REACTIVE_ZSET(ReactiveZsetHandler.class, ReactiveZsetHandler::new),
+    /**
+     * 响应式键助手
+     */
+    REACTIVE_KEY(ReactiveKeyHandler.class, ReactiveKeyHandler::new);
 
     /**
      * 对应类型
      */
     private Class typeClass;
+    /**
+     * 助手工厂
+     */
+    private IntFunction<RedisHandler> factory;
 
     /**
      * 枚举构造
      *
      * @param typeClass 助手类型
+     * @param factory   助手工厂
      */
-    HandlerType(Class typeClass) {
+    HandlerType(Class typeClass, IntFunction<RedisHandler> factory) {
         this.typeClass = typeClass;
+        this.factory = factory;
     }
 
     /**
@@ -99,4 +158,14 @@ public enum HandlerType {
     public Class getTypeClass() {
         return this.typeClass;
     }
+
+    /**
+     * 创建助手实例
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回助手实例
+     */
+    RedisHandler newInstance(int dbIndex) {
+        return this.factory.apply(dbIndex);
+    }
 }
@@ -1,7 +1,7 @@
 package com.naah69.core.handler;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
 import org.springframework.data.redis.core.*;
 
 import java.util.Arrays;
@@ -32,6 +32,10 @@ public final class HashHandler implements RedisHandler {
      * 字符串模板
      */
     private HashOperations<String, String, String> stringHashOperations;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
 
     /**
      * 哈希助手构造
@@ -45,6 +49,12 @@ public final class HashHandler implements RedisHandler {
         this.stringRedisTemplate = (StringRedisTemplate) templateList.get(1);
         this.hashOperations = redisTemplate.opsForHash();
         this.stringHashOperations = stringRedisTemplate.opsForHash();
+        RedisHandlerProperties.NearCache properties = ApplicationContextUtil.getContext()
+                .getBean(RedisHandlerProperties.class)
+                .getNearCache();
+        if (properties.isEnabled()) {
+            this.nearCache = NearCache.forDatabase(dbIndex, properties);
+        }
     }
 
     /**
@@ -58,6 +68,7 @@ public final class HashHandler implements RedisHandler {
      */
     public void putAsObj(String key, String hashKey, Object value) {
         this.hashOperations.put(key, hashKey, value);
+        this.invalidate(key);
     }
 
     /**
@@ -71,6 +82,7 @@ public final class HashHandler implements RedisHandler {
      */
     public void put(String key, String hashKey, String value) {
         this.stringHashOperations.put(key, hashKey, value);
+        this.invalidate(key);
     }
 
     /**
@@ -84,7 +96,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Boolean putIfAbsentAsObj(String key, String hashKey, Object value) {
-        return this.hashOperations.putIfAbsent(key, hashKey, value);
+        Boolean flag = this.hashOperations.putIfAbsent(key, hashKey, value);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -98,7 +112,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Boolean putIfAbsent(String key, String hashKey, String value) {
-        return this.stringHashOperations.putIfAbsent(key, hashKey, value);
+        Boolean flag = this.stringHashOperations.putIfAbsent(key, hashKey, value);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -111,6 +127,7 @@ public final class HashHandler implements RedisHandler {
      */
     public void putAllAsObj(String key, Map<String, Object> map) {
         this.hashOperations.putAll(key, map);
+        this.invalidate(key);
     }
 
     /**
@@ -123,6 +140,7 @@ public final class HashHandler implements RedisHandler {
      */
     public void putAll(String key, Map<String, String> map) {
         this.stringHashOperations.putAll(key, map);
+        this.invalidate(key);
     }
 
     /**
@@ -137,6 +155,9 @@ public final class HashHandler implements RedisHandler {
      */
     @SuppressWarnings("unchecked")
     public <T> T getAsObj(String key, String hashKey) {
+        if (this.nearCache != null) {
+            return (T) this.nearCache.getHashValue(this.redisTemplate, key, hashKey);
+        }
         return (T) this.hashOperations.get(key, hashKey);
     }
 
@@ -151,10 +172,15 @@ public final class HashHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
      * @since redis 2.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T getAsObj(Class<T> type, String key, String hashKey) {
-        Object value = this.hashOperations.get(key, hashKey);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        if (this.nearCache != null) {
+            return SerializationHelper.toType(this.redisTemplate.getHashValueSerializer(), this.nearCache.getHashValue(this.redisTemplate, key, hashKey), type);
+        }
+        // 直接按类型解码原始值
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(this.redisTemplate, hashKey);
+        byte[] raw = this.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hGet(rawKey, rawHashKey));
+        return SerializationHelper.deserialize(this.redisTemplate.getHashValueSerializer(), raw, type);
     }
 
     /**
@@ -167,6 +193,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public String get(String key, String hashKey) {
+        if (this.nearCache != null) {
+            return (String) this.nearCache.getHashValue(this.stringRedisTemplate, key, hashKey);
+        }
         return this.stringHashOperations.get(key, hashKey);
     }
 
@@ -206,7 +235,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Long removeAsObj(String key, String... hashKeys) {
-        return this.hashOperations.delete(key, (Object[]) hashKeys);
+        Long count = this.hashOperations.delete(key, (Object[]) hashKeys);
+        this.invalidate(key);
+        return count;
     }
 
     /**
@@ -219,7 +250,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Long remove(String key, String... hashKeys) {
-        return this.stringHashOperations.delete(key, (Object[]) hashKeys);
+        Long count = this.stringHashOperations.delete(key, (Object[]) hashKeys);
+        this.invalidate(key);
+        return count;
     }
 
     /**
@@ -231,6 +264,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Map<String, Object> entriesAsObj(String key) {
+        if (this.nearCache != null) {
+            return this.nearCache.getEntries(this.redisTemplate, key);
+        }
         return this.hashOperations.entries(key);
     }
 
@@ -243,6 +279,9 @@ public final class HashHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Map<String, String> entries(String key) {
+        if (this.nearCache != null) {
+            return this.nearCache.getEntries(this.stringRedisTemplate, key);
+        }
         return this.stringHashOperations.entries(key);
     }
 
@@ -370,7 +409,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Double increment(String key, String hashKey, Double data) {
-        return this.stringHashOperations.increment(key, hashKey, data);
+        Double value = this.stringHashOperations.increment(key, hashKey, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -386,7 +427,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Long increment(String key, String hashKey, Long data) {
-        return this.stringHashOperations.increment(key, hashKey, data);
+        Long value = this.stringHashOperations.increment(key, hashKey, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -401,7 +444,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Long increment(String key, String hashKey) {
-        return this.stringHashOperations.increment(key, hashKey, 1L);
+        Long count = this.stringHashOperations.increment(key, hashKey, 1L);
+        this.invalidate(key);
+        return count;
     }
 
     /**
@@ -417,7 +462,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Double decrement(String key, String hashKey, Double data) {
-        return this.stringHashOperations.increment(key, hashKey, -data);
+        Double value = this.stringHashOperations.increment(key, hashKey, -data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -433,7 +480,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Long decrement(String key, String hashKey, Long data) {
-        return this.stringHashOperations.increment(key, hashKey, -data);
+        Long value = this.stringHashOperations.increment(key, hashKey, -data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -448,7 +497,9 @@ public final class HashHandler implements RedisHandler {
      */
     @Deprecated
     public Long decrement(String key, String hashKey) {
-        return this.stringHashOperations.increment(key, hashKey, -1L);
+        Long count = this.stringHashOperations.increment(key, hashKey, -1L);
+        this.invalidate(key);
+        return count;
     }
 
     /**
@@ -479,6 +530,17 @@ public final class HashHandler implements RedisHandler {
         return this.stringHashOperations.scan(key, ScanOptions.scanOptions().count(count).match(pattern).build());
     }
 
+    /**
+     * 失效近端缓存
+     *
+     * @param key 键
+     */
+    private void invalidate(String key) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(key);
+        }
+    }
+
     /**
      * 获取spring redis模板
      *
@@ -1,7 +1,10 @@
 package com.naah69.core.handler;
 
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
 import com.naah69.core.util.ConvertUtil;
 import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -30,6 +33,14 @@ public final class KeyHandler implements RedisHandler {
      * 字符串模板
      */
     private StringRedisTemplate stringRedisTemplate;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+    /**
+     * 集群多键命令分发(非集群模式时为null)
+     */
+    private ClusterFanout fanout;
 
     /**
      * 键助手构造
@@ -41,6 +52,13 @@ public final class KeyHandler implements RedisHandler {
         List<RedisTemplate> templateList = HandlerManager.createTemplate(dbIndex);
         this.redisTemplate = templateList.get(0);
         this.stringRedisTemplate = (StringRedisTemplate) templateList.get(1);
+        RedisHandlerProperties.NearCache properties = ApplicationContextUtil.getContext()
+                .getBean(RedisHandlerProperties.class)
+                .getNearCache();
+        if (properties.isEnabled()) {
+            this.nearCache = NearCache.forDatabase(dbIndex, properties);
+        }
+        this.fanout = ClusterFanout.forDatabase(dbIndex);
     }
 
     /**
@@ -76,7 +94,11 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long removeAsObj(String... keys) {
-        return this.redisTemplate.delete(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.delete(SerializationHelper.rawKeys(this.redisTemplate, keys))
+                : this.redisTemplate.delete(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -88,7 +110,11 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long remove(String... keys) {
-        return this.stringRedisTemplate.delete(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.delete(SerializationHelper.rawKeys(this.stringRedisTemplate, keys))
+                : this.stringRedisTemplate.delete(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -100,7 +126,11 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 4.0.0
      */
     public Long unlinkAsObj(String... keys) {
-        return this.redisTemplate.unlink(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.unlink(SerializationHelper.rawKeys(this.redisTemplate, keys))
+                : this.redisTemplate.unlink(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -112,7 +142,11 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 4.0.0
      */
     public Long unlink(String... keys) {
-        return this.stringRedisTemplate.unlink(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.unlink(SerializationHelper.rawKeys(this.stringRedisTemplate, keys))
+                : this.stringRedisTemplate.unlink(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -127,7 +161,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean expireAsObj(String key, long timeout, TimeUnit timeUnit) {
-        return this.redisTemplate.expire(key, timeout, timeUnit);
+        Boolean flag = this.redisTemplate.expire(key, ExpiryPolicy.millis(key, timeout, timeUnit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -142,7 +178,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean expire(String key, long timeout, TimeUnit timeUnit) {
-        return this.stringRedisTemplate.expire(key, timeout, timeUnit);
+        Boolean flag = this.stringRedisTemplate.expire(key, ExpiryPolicy.millis(key, timeout, timeUnit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -156,7 +194,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.2.0
      */
     public Boolean expireAtAsObj(String key, Date date) {
-        return this.redisTemplate.expireAt(key, date);
+        Boolean flag = this.redisTemplate.expireAt(key, ExpiryPolicy.expireAt(key, date));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -170,7 +210,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.2.0
      */
     public Boolean expireAt(String key, Date date) {
-        return this.stringRedisTemplate.expireAt(key, date);
+        Boolean flag = this.stringRedisTemplate.expireAt(key, ExpiryPolicy.expireAt(key, date));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -256,6 +298,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long keysCountAsObj(String... keys) {
+        if (this.fanout != null) {
+            return this.fanout.exists(SerializationHelper.rawKeys(this.redisTemplate, keys));
+        }
         return this.redisTemplate.countExistingKeys(Arrays.asList(keys));
     }
 
@@ -268,6 +313,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long keysCount(String... keys) {
+        if (this.fanout != null) {
+            return this.fanout.exists(SerializationHelper.rawKeys(this.stringRedisTemplate, keys));
+        }
         return this.stringRedisTemplate.countExistingKeys(Arrays.asList(keys));
     }
 
@@ -309,6 +357,7 @@ public final class KeyHandler implements RedisHandler {
      */
     public void renameAsObj(String oldKey, String newKey) {
         this.redisTemplate.rename(oldKey, newKey);
+        this.invalidate(oldKey, newKey);
     }
 
     /**
@@ -321,6 +370,7 @@ public final class KeyHandler implements RedisHandler {
      */
     public void rename(String oldKey, String newKey) {
         this.stringRedisTemplate.rename(oldKey, newKey);
+        this.invalidate(oldKey, newKey);
     }
 
     /**
@@ -333,7 +383,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean renameAsObjIfAbsent(String oldKey, String newKey) {
-        return this.redisTemplate.renameIfAbsent(oldKey, newKey);
+        Boolean flag = this.redisTemplate.renameIfAbsent(oldKey, newKey);
+        this.invalidate(oldKey, newKey);
+        return flag;
     }
 
     /**
@@ -346,7 +398,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean renameIfAbsent(String oldKey, String newKey) {
-        return this.stringRedisTemplate.renameIfAbsent(oldKey, newKey);
+        Boolean flag = this.stringRedisTemplate.renameIfAbsent(oldKey, newKey);
+        this.invalidate(oldKey, newKey);
+        return flag;
     }
 
     /**
@@ -358,7 +412,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 2.2.0
      */
     public Boolean persistAsObj(String key) {
-        return this.redisTemplate.persist(key);
+        Boolean flag = this.redisTemplate.persist(key);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -370,7 +426,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 2.2.0
      */
     public Boolean persist(String key) {
-        return this.stringRedisTemplate.persist(key);
+        Boolean flag = this.stringRedisTemplate.persist(key);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -383,7 +441,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean moveAsObj(int dbIndex, String key) {
-        return this.redisTemplate.move(key, dbIndex);
+        Boolean flag = this.redisTemplate.move(key, dbIndex);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -396,7 +456,9 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean move(int dbIndex, String key) {
-        return this.stringRedisTemplate.move(key, dbIndex);
+        Boolean flag = this.stringRedisTemplate.move(key, dbIndex);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -409,9 +471,9 @@ public final class KeyHandler implements RedisHandler {
     public Long count() {
         Long count;
         try {
-            count = this.redisTemplate.getRequiredConnectionFactory().getConnection().dbSize();
+            count = ConnectionExecutor.withConnection(this.redisTemplate.getRequiredConnectionFactory(), RedisConnection::dbSize);
         } catch (IllegalStateException ex) {
-            count = this.stringRedisTemplate.getRequiredConnectionFactory().getConnection().dbSize();
+            count = ConnectionExecutor.withConnection(this.stringRedisTemplate.getRequiredConnectionFactory(), RedisConnection::dbSize);
         }
         return count;
     }
@@ -452,7 +514,8 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void restoreAsObj(String key, byte[] value, Long timeout, TimeUnit unit, boolean replace) {
-        this.redisTemplate.restore(key, value, timeout, unit, replace);
+        this.redisTemplate.restore(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS, replace);
+        this.invalidate(key);
     }
 
     /**
@@ -467,7 +530,8 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void restore(String key, byte[] value, Long timeout, TimeUnit unit, boolean replace) {
-        this.stringRedisTemplate.restore(key, value, timeout, unit, replace);
+        this.stringRedisTemplate.restore(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS, replace);
+        this.invalidate(key);
     }
 
     /**
@@ -479,11 +543,10 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 3.2.1
      */
     public Long touchAsObj(String... keys) {
-        return this.redisTemplate
-                .getRequiredConnectionFactory()
-                .getConnection()
-                .keyCommands()
-                .touch(ConvertUtil.toByteArray(this.redisTemplate.getKeySerializer(), keys));
+        return ConnectionExecutor.withConnection(
+                this.redisTemplate.getRequiredConnectionFactory(),
+                connection -> connection.keyCommands().touch(ConvertUtil.toByteArray(this.redisTemplate.getKeySerializer(), keys))
+        );
     }
 
     /**
@@ -495,11 +558,10 @@ public final class KeyHandler implements RedisHandler {
      * @since redis 3.2.1
      */
     public Long touch(String... keys) {
-        return this.stringRedisTemplate
-                .getRequiredConnectionFactory()
-                .getConnection()
-                .keyCommands()
-                .touch(ConvertUtil.toByteArray(this.stringRedisTemplate.getKeySerializer(), keys));
+        return ConnectionExecutor.withConnection(
+                this.stringRedisTemplate.getRequiredConnectionFactory(),
+                connection -> connection.keyCommands().touch(ConvertUtil.toByteArray(this.stringRedisTemplate.getKeySerializer(), keys))
+        );
     }
 
     /**
@@ -680,6 +742,17 @@ public final class KeyHandler implements RedisHandler {
         return this.stringRedisTemplate.sort(query, storeKey);
     }
 
+    /**
+     * 失效近端缓存
+     *
+     * @param keys 键
+     */
+    private void invalidate(String... keys) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(keys);
+        }
+    }
+
     /**
      * 获取spring redis模板
      *
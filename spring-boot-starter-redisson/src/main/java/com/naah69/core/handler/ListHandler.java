@@ -1,12 +1,10 @@
 package com.naah69.core.handler;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
 import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -220,12 +218,17 @@ public final class ListHandler implements RedisHandler {
      * @param startIndex 起始索引
      * @param endIndex   结束索引
      * @return 返回截取的对象列表
-     * @see <a href="http://redis.io/commands/ltrim">Redis Documentation: LTRIM</a>
-     * @since redis 1.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
     public List lsubListAsObj(String key, Long startIndex, Long endIndex) {
-        this.listOperations.trim(key, startIndex, endIndex);
-        return this.lrangeAsObj(key, startIndex, this.sizeAsObj(key));
+        return LuaScripts.executeAsObj(
+                this.redisTemplate,
+                LuaScripts.LIST_TRIM_AND_RANGE,
+                Collections.singletonList(key),
+                startIndex,
+                endIndex
+        );
     }
 
     /**
@@ -235,12 +238,17 @@ public final class ListHandler implements RedisHandler {
      * @param startIndex 起始索引
      * @param endIndex   结束索引
      * @return 返回截取的字符串列表
-     * @see <a href="http://redis.io/commands/ltrim">Redis Documentation: LTRIM</a>
-     * @since redis 1.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
+    @SuppressWarnings("unchecked")
     public List<String> lsubList(String key, Long startIndex, Long endIndex) {
-        this.stringListOperations.trim(key, startIndex, endIndex);
-        return this.lrange(key, startIndex, this.size(key));
+        return this.stringRedisTemplate.execute(
+                LuaScripts.LIST_TRIM_AND_RANGE,
+                Collections.singletonList(key),
+                String.valueOf(startIndex),
+                String.valueOf(endIndex)
+        );
     }
 
     /**
@@ -250,19 +258,18 @@ public final class ListHandler implements RedisHandler {
      * @param startIndex 起始索引
      * @param endIndex   结束索引
      * @return 返回截取的对象列表
-     * @see <a href="http://redis.io/commands/ltrim">Redis Documentation: LTRIM</a>
-     * @since redis 1.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
     public List rsubListAsObj(String key, Long startIndex, Long endIndex) {
-        this.listOperations.trim(key, -endIndex - 1, -startIndex - 1);
-        int length = this.sizeAsObj(key).intValue();
-        List<Object> list = new ArrayList<>(length);
-        String temp = String.format("%s_temp", key);
-        for (int i = 0; i < length; i++) {
-            list.add(this.rpopAndrpushAsObj(key, temp));
-        }
-        this.redisTemplate.rename(temp, key);
-        return list;
+        return LuaScripts.executeAsObj(
+                this.redisTemplate,
+                LuaScripts.LIST_TRIM_AND_RANGE,
+                Collections.singletonList(key),
+                -endIndex - 1,
+                -startIndex - 1,
+                1
+        );
     }
 
     /**
@@ -272,19 +279,18 @@ public final class ListHandler implements RedisHandler {
      * @param startIndex 起始索引
      * @param endIndex   结束索引
      * @return 返回截取的字符串列表
-     * @see <a href="http://redis.io/commands/ltrim">Redis Documentation: LTRIM</a>
-     * @since redis 1.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
+    @SuppressWarnings("unchecked")
     public List<String> rsubList(String key, Long startIndex, Long endIndex) {
-        this.stringListOperations.trim(key, -endIndex - 1, -startIndex - 1);
-        int length = this.size(key).intValue();
-        List<String> list = new ArrayList<>(length);
-        String temp = String.format("%s_temp", key);
-        for (int i = 0; i < length; i++) {
-            list.add(this.rpopAndrpush(key, temp));
-        }
-        this.stringRedisTemplate.rename(temp, key);
-        return list;
+        return this.stringRedisTemplate.execute(
+                LuaScripts.LIST_TRIM_AND_RANGE,
+                Collections.singletonList(key),
+                String.valueOf(-endIndex - 1),
+                String.valueOf(-startIndex - 1),
+                "1"
+        );
     }
 
     /**
@@ -365,10 +371,11 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T lgetAsObj(Class<T> type, String key, Long index) {
-        Object value = this.listOperations.index(key, index);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        // 直接按类型解码原始值
+        byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+        byte[] raw = this.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.lIndex(rawKey, index));
+        return SerializationHelper.deserialize(this.redisTemplate.getValueSerializer(), raw, type);
     }
 
     /**
@@ -410,10 +417,8 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T rgetAsObj(Class<T> type, String key, Long index) {
-        Object value = this.listOperations.index(key, -index - 1);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return this.lgetAsObj(type, key, -index - 1);
     }
 
     /**
@@ -509,6 +514,50 @@ public final class ListHandler implements RedisHandler {
         return this.stringListOperations.leftPushAll(key, values);
     }
 
+    /**
+     * 从左插入多个对象并截断列表(只保留最新的maxSize个对象)
+     *
+     * @param key     键
+     * @param maxSize 最大长度(必须大于0)
+     * @param values  对象
+     * @return 返回截断后的列表数量
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Long lpushCappedAsObj(String key, long maxSize, Object... values) {
+        checkMaxSize(maxSize);
+        if (values.length == 0) {
+            return this.sizeAsObj(key);
+        }
+        Object[] args = new Object[values.length + 1];
+        args[0] = maxSize;
+        for (int i = 0; i < values.length; i++) {
+            args[i + 1] = SerializationHelper.rawValue(this.redisTemplate, values[i]);
+        }
+        return LuaScripts.executeAsObj(this.redisTemplate, LuaScripts.CAPPED_PUSH, Collections.singletonList(key), args);
+    }
+
+    /**
+     * 从左插入多个字符串并截断列表(只保留最新的maxSize个字符串)
+     *
+     * @param key     键
+     * @param maxSize 最大长度(必须大于0)
+     * @param values  字符串
+     * @return 返回截断后的列表数量
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Long lpushCapped(String key, long maxSize, String... values) {
+        checkMaxSize(maxSize);
+        if (values.length == 0) {
+            return this.size(key);
+        }
+        Object[] args = new Object[values.length + 1];
+        args[0] = String.valueOf(maxSize);
+        System.arraycopy(values, 0, args, 1, values.length);
+        return this.stringRedisTemplate.execute(LuaScripts.CAPPED_PUSH, Collections.singletonList(key), args);
+    }
+
     /**
      * 从左插入对象如果列表存在
      *
@@ -559,10 +608,9 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T lpopAsObj(Class<T> type, String key) {
         Object value = this.listOperations.leftPop(key);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), value, type);
     }
 
     /**
@@ -605,10 +653,9 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/blpop">Redis Documentation: BLPOP</a>
      * @since redis 2.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T blpopAsObj(Class<T> type, String key, Long timeout, TimeUnit unit) {
         Object value = this.listOperations.leftPop(key, timeout, unit);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), value, type);
     }
 
     /**
@@ -755,10 +802,9 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T rpopAsObj(Class<T> type, String key) {
         Object value = this.listOperations.rightPop(key);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), value, type);
     }
 
     /**
@@ -801,10 +847,9 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/brpop">Redis Documentation: BRPOP</a>
      * @since redis 2.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T brpopAsObj(Class<T> type, String key, Long timeout, TimeUnit unit) {
         Object value = this.listOperations.rightPop(key, timeout, unit);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), value, type);
     }
 
     /**
@@ -880,10 +925,9 @@ public final class ListHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/rpoplpush">Redis Documentation: RPOPLPUSH</a>
      * @since redis 1.2.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T rpopAndlpushAsObj(Class<T> type, String key, String otherKey) {
         Object value = this.listOperations.rightPopAndLeftPush(key, otherKey);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), value, type);
     }
 
     /**
@@ -982,4 +1026,15 @@ public final class ListHandler implements RedisHandler {
     public StringRedisTemplate getStringRedisTemplate() {
         return this.stringRedisTemplate;
     }
+
+    /**
+     * 检查列表最大长度
+     *
+     * @param maxSize 最大长度(必须大于0)
+     */
+    private static void checkMaxSize(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0, but was " + maxSize);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.naah69.core.handler;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 内置脚本库
+ * 多步操作在服务端原子执行, 每次调用只需一次往返; 脚本在类加载时读取并编译一次, 执行时优先EVALSHA
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class LuaScripts {
+    /**
+     * 脚本参数序列化器(字节数组原样传递, 其他参数按字符串编码)
+     */
+    static final RedisSerializer<Object> ARGS = new RedisSerializer<Object>() {
+        @Override
+        public byte[] serialize(Object value) {
+            if (value == null) {
+                return null;
+            }
+            return value instanceof byte[] ? (byte[]) value : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    };
+    /**
+     * 原子十进制加法脚本
+     */
+    @SuppressWarnings("unchecked")
+    static final RedisScript<List> DECIMAL_ADD = load("decimal-add", List.class);
+    /**
+     * 原子获取并设置hash值脚本
+     */
+    static final RedisScript<String> HASH_GET_AND_SET = load("hash-get-and-set", String.class);
+    /**
+     * 原子增加hash值(带上限)脚本
+     */
+    static final RedisScript<Long> HASH_INCREMENT_WITH_CAP = load("hash-increment-with-cap", Long.class);
+    /**
+     * 原子设置更大数值脚本
+     */
+    static final RedisScript<Boolean> SET_IF_GREATER = load("set-if-greater", Boolean.class);
+    /**
+     * 原子比较并设置脚本
+     */
+    static final RedisScript<Boolean> COMPARE_AND_SET = load("compare-and-set", Boolean.class);
+    /**
+     * 原子比较并删除脚本
+     */
+    static final RedisScript<Boolean> COMPARE_AND_DELETE = load("compare-and-delete", Boolean.class);
+    /**
+     * 原子获取并删除(返回剩余过期时间)脚本
+     */
+    @SuppressWarnings("unchecked")
+    static final RedisScript<List> GET_AND_DELETE_WITH_TTL = load("get-and-delete-with-ttl", List.class);
+    /**
+     * 原子从左添加并截断列表脚本
+     */
+    static final RedisScript<Long> CAPPED_PUSH = load("capped-push", Long.class);
+    /**
+     * 原子截取列表并返回元素脚本
+     */
+    @SuppressWarnings("unchecked")
+    static final RedisScript<List> LIST_TRIM_AND_RANGE = load("list-trim-and-range", List.class);
+
+    private LuaScripts() {
+    }
+
+    /**
+     * 按对象模板执行脚本(键按模板键序列化器编码, 字节数组参数原样传递, 回复中的字节数组按模板值序列化器解码)
+     *
+     * @param template 对象模板
+     * @param script   脚本
+     * @param keys     键列表
+     * @param args     参数列表(对象值需预先按模板值序列化器编码)
+     * @param <T>      返回类型
+     * @return 返回脚本结果
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T executeAsObj(RedisTemplate<String, ?> template, RedisScript<T> script, List<String> keys, Object... args) {
+        return template.execute(script, ARGS, (RedisSerializer<T>) template.getValueSerializer(), keys, args);
+    }
+
+    /**
+     * 加载内置脚本
+     *
+     * @param name       脚本名称(META-INF/scripts下的文件名)
+     * @param resultType 返回类型
+     * @param <T>        返回类型
+     * @return 返回脚本
+     */
+    private static <T> RedisScript<T> load(String name, Class<T> resultType) {
+        String location = "META-INF/scripts/" + name + ".lua";
+        try {
+            String scriptText = new ResourceScriptSource(new ClassPathResource(location, LuaScripts.class.getClassLoader())).getScriptAsString();
+            return new ScriptCache.CompiledScript<>(scriptText, resultType);
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to read lua script " + location, e);
+        }
+    }
+}
@@ -0,0 +1,751 @@
+package com.naah69.core.handler;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 近端缓存
+ * 每个数据库一个实例, 由字符串、哈希与键助手共享; 未命中时通过管道一次取回值与键的剩余过期时间,
+ * 条目数或字节数超限时按写入顺序淘汰; 经助手写入时清除本地条目并通过发布订阅通知其他实例;
+ * 命中时返回缓存中的同一个对象(hash字典除外), 调用方不可修改, 否则会影响其他调用方读取的值
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class NearCache {
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCache.class);
+    /**
+     * 所有近端缓存(按数据库索引)
+     */
+    private static final ConcurrentMap<Integer, NearCache> CACHES = new ConcurrentHashMap<>(16);
+    /**
+     * 当前实例标识(用于忽略自身发出的失效消息)
+     */
+    private static final String ORIGIN = UUID.randomUUID().toString();
+    /**
+     * 是否已订阅失效频道
+     */
+    private static final AtomicBoolean SUBSCRIBED = new AtomicBoolean();
+    /**
+     * 空值占位
+     */
+    private static final Object NULL = new Object();
+    /**
+     * 命中次数
+     */
+    private static final LongAdder HITS = new LongAdder();
+    /**
+     * 未命中次数
+     */
+    private static final LongAdder MISSES = new LongAdder();
+    /**
+     * 淘汰次数(超限或过期)
+     */
+    private static final LongAdder EVICTIONS = new LongAdder();
+    /**
+     * 失效次数(本地写入或远程通知)
+     */
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+    /**
+     * 最小整理阈值(写入顺序中已移除的条目超过该数量才整理)
+     */
+    private static final long MIN_COMPACT_THRESHOLD = 1024L;
+    /**
+     * 失效版本分段数量(2的幂)
+     */
+    private static final int VERSION_STRIPES = 1024;
+    /**
+     * 失效通知助手(发布与订阅共用)
+     */
+    private static volatile PubSubHandler pubSubHandler;
+    /**
+     * 数据库索引
+     */
+    private final int dbIndex;
+    /**
+     * 最大条目数
+     */
+    private final long maxEntries;
+    /**
+     * 最大字节数(0为不限制)
+     */
+    private final long maxBytes;
+    /**
+     * 存活时间(ms)
+     */
+    private final long ttl;
+    /**
+     * 失效广播频道
+     */
+    private final String channel;
+    /**
+     * 缓存容器(键 -> 子键 -> 条目, 子键容器只在外层容器的原子操作中修改)
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Entry>> container = new ConcurrentHashMap<>(256);
+    /**
+     * 写入顺序(用于超限淘汰, 已移除的条目在整理时清除)
+     */
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    /**
+     * 写入顺序中的条目数(含已移除的条目)
+     */
+    private final AtomicLong queued = new AtomicLong();
+    /**
+     * 是否正在整理写入顺序
+     */
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    /**
+     * 条目数
+     */
+    private final AtomicLong entries = new AtomicLong();
+    /**
+     * 字节数
+     */
+    private final AtomicLong bytes = new AtomicLong();
+    /**
+     * 失效版本(按键哈希分段, 加载期间同一分段的键发生失效时放弃写入缓存)
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    /**
+     * 近端缓存构造
+     *
+     * @param dbIndex    数据库索引
+     * @param properties 近端缓存配置
+     */
+    NearCache(int dbIndex, RedisHandlerProperties.NearCache properties) {
+        this.dbIndex = dbIndex;
+        this.maxEntries = properties.getMaxEntries();
+        this.maxBytes = properties.getMaxBytes();
+        this.ttl = properties.getTtl().toMillis();
+        this.channel = properties.getChannel();
+    }
+
+    /**
+     * 获取近端缓存(同一数据库共享实例, 首次创建时订阅失效频道)
+     *
+     * @param dbIndex    数据库索引
+     * @param properties 近端缓存配置
+     * @return 返回近端缓存
+     */
+    public static NearCache forDatabase(int dbIndex, RedisHandlerProperties.NearCache properties) {
+        NearCache cache = CACHES.computeIfAbsent(dbIndex, key -> new NearCache(key, properties));
+        if (SUBSCRIBED.compareAndSet(false, true)) {
+            subscribe(dbIndex, properties.getChannel());
+        }
+        return cache;
+    }
+
+    /**
+     * 获取近端缓存(未开启时返回null)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回近端缓存
+     */
+    public static NearCache forDatabase(int dbIndex) {
+        RedisHandlerProperties.NearCache properties = ApplicationContextUtil.getContext()
+                .getBean(RedisHandlerProperties.class)
+                .getNearCache();
+        return properties.isEnabled() ? forDatabase(dbIndex, properties) : null;
+    }
+
+    /**
+     * 获取值(命中时返回缓存中的同一个对象, 不可修改)
+     *
+     * @param template 模板
+     * @param key      键
+     * @return 返回值
+     */
+    Object getValue(RedisTemplate<String, ?> template, String key) {
+        RedisSerializer serializer = template.getValueSerializer();
+        return this.getValue(template, key, prefix(template) + 'v', serializer::deserialize);
+    }
+
+    /**
+     * 获取值(自定义解码, 命中时返回缓存中的同一个对象, 不可修改)
+     *
+     * @param template 模板(用于键序列化与连接)
+     * @param key      键
+     * @param subKey   子键(不同解码方式的读取使用不同子键, 互不覆盖)
+     * @param decoder  解码器
+     * @return 返回值
+     */
+    public Object getValue(RedisTemplate<String, ?> template, String key, String subKey, Function<byte[], Object> decoder) {
+        Object cached = this.lookup(key, subKey);
+        if (cached != null) {
+            return unwrap(cached);
+        }
+        long stamp = this.stampOf(key);
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        List<Object> results = load(template, rawKey, connection -> connection.get(rawKey));
+        byte[] raw = (byte[]) results.get(0);
+        Object value = raw == null ? null : decoder.apply(raw);
+        this.store(stamp, key, subKey, value, weight(key, raw), (Long) results.get(1));
+        return value;
+    }
+
+    /**
+     * 获取hash值(命中时返回缓存中的同一个对象, 不可修改)
+     *
+     * @param template 模板
+     * @param key      键
+     * @param hashKey  hash键
+     * @return 返回值
+     */
+    Object getHashValue(RedisTemplate<String, ?> template, String key, String hashKey) {
+        String subKey = prefix(template) + 'h' + hashKey;
+        Object cached = this.lookup(key, subKey);
+        if (cached != null) {
+            return unwrap(cached);
+        }
+        long stamp = this.stampOf(key);
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        byte[] rawHashKey = SerializationHelper.rawHashKey(template, hashKey);
+        List<Object> results = load(template, rawKey, connection -> connection.hGet(rawKey, rawHashKey));
+        byte[] raw = (byte[]) results.get(0);
+        Object value = raw == null ? null : template.getHashValueSerializer().deserialize(raw);
+        this.store(stamp, key, subKey, value, weight(key, raw) + rawHashKey.length, (Long) results.get(1));
+        return value;
+    }
+
+    /**
+     * 获取hash字典(返回副本, 调用方可修改)
+     *
+     * @param template 模板
+     * @param key      键
+     * @param <V>      值类型
+     * @return 返回hash字典
+     */
+    @SuppressWarnings("unchecked")
+    <V> Map<String, V> getEntries(RedisTemplate<String, ?> template, String key) {
+        String subKey = prefix(template) + 'm';
+        Object cached = this.lookup(key, subKey);
+        if (cached != null) {
+            return new LinkedHashMap<>((Map<String, V>) cached);
+        }
+        long stamp = this.stampOf(key);
+        byte[] rawKey = SerializationHelper.rawKey(template, key);
+        List<Object> results = load(template, rawKey, connection -> connection.hGetAll(rawKey));
+        Map<byte[], byte[]> raw = (Map<byte[], byte[]>) results.get(0);
+        Map<String, V> value = new LinkedHashMap<>(raw == null ? 16 : raw.size() * 4 / 3 + 1);
+        long weight = weight(key, null);
+        if (raw != null) {
+            RedisSerializer hashKeySerializer = template.getHashKeySerializer();
+            RedisSerializer hashValueSerializer = template.getHashValueSerializer();
+            for (Map.Entry<byte[], byte[]> entry : raw.entrySet()) {
+                value.put((String) hashKeySerializer.deserialize(entry.getKey()), (V) hashValueSerializer.deserialize(entry.getValue()));
+                weight += entry.getKey().length + entry.getValue().length;
+            }
+        }
+        this.store(stamp, key, subKey, Collections.unmodifiableMap(value), weight, (Long) results.get(1));
+        return new LinkedHashMap<>(value);
+    }
+
+    /**
+     * 失效键(清除本地条目并通知其他实例)
+     *
+     * @param keys 键
+     */
+    public void invalidate(String... keys) {
+        this.invalidate(Arrays.asList(keys));
+    }
+
+    /**
+     * 失效键(清除本地条目并通知其他实例)
+     *
+     * @param keys 键
+     */
+    public void invalidate(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        this.invalidateLocal(keys);
+        PubSubHandler handler = pubSubHandler;
+        if (handler == null) {
+            return;
+        }
+        JSONObject message = new JSONObject(4);
+        message.put("origin", ORIGIN);
+        message.put("db", this.dbIndex);
+        message.put("keys", keys);
+        try {
+            handler.publish(this.channel, message);
+        } catch (RuntimeException e) {
+            LOGGER.warn("near cache invalidation broadcast failed for db {}", this.dbIndex, e);
+        }
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void clear() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            this.versions.incrementAndGet(i);
+        }
+        for (String key : this.container.keySet()) {
+            this.removeKey(key);
+        }
+        this.compact();
+    }
+
+    /**
+     * 获取数据库索引
+     *
+     * @return 返回数据库索引
+     */
+    public int getDbIndex() {
+        return this.dbIndex;
+    }
+
+    /**
+     * 获取条目数
+     *
+     * @return 返回条目数
+     */
+    public long size() {
+        return this.entries.get();
+    }
+
+    /**
+     * 获取估算字节数
+     *
+     * @return 返回字节数
+     */
+    public long byteSize() {
+        return this.bytes.get();
+    }
+
+    /**
+     * 获取所有近端缓存
+     *
+     * @return 返回近端缓存(按数据库索引)
+     */
+    public static Map<Integer, NearCache> getCaches() {
+        return Collections.unmodifiableMap(CACHES);
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 返回未命中次数
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 返回淘汰次数
+     */
+    public static long getEvictions() {
+        return EVICTIONS.sum();
+    }
+
+    /**
+     * 获取失效次数
+     *
+     * @return 返回失效次数
+     */
+    public static long getInvalidations() {
+        return INVALIDATIONS.sum();
+    }
+
+    /**
+     * 获取所有近端缓存的条目数
+     *
+     * @return 返回条目数
+     */
+    public static long getTotalSize() {
+        long size = 0L;
+        for (NearCache cache : CACHES.values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取所有近端缓存的估算字节数
+     *
+     * @return 返回字节数
+     */
+    public static long getTotalBytes() {
+        long size = 0L;
+        for (NearCache cache : CACHES.values()) {
+            size += cache.byteSize();
+        }
+        return size;
+    }
+
+    /**
+     * 查找未过期的条目值
+     *
+     * @param key    键
+     * @param subKey 子键
+     * @return 返回条目值, 未命中返回null
+     */
+    private Object lookup(String key, String subKey) {
+        ConcurrentMap<String, Entry> slot = this.container.get(key);
+        Entry entry = slot == null ? null : slot.get(subKey);
+        if (entry != null) {
+            if (entry.expireAt > System.currentTimeMillis()) {
+                HITS.increment();
+                return entry.value;
+            }
+            if (this.remove(entry)) {
+                EVICTIONS.increment();
+            }
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    /**
+     * 写入条目
+     *
+     * @param stamp  加载前的失效版本
+     * @param key    键
+     * @param subKey 子键
+     * @param value  值
+     * @param weight 估算字节数
+     * @param pttl   键剩余过期时间(ms)
+     */
+    private void store(long stamp, String key, String subKey, Object value, long weight, Long pttl) {
+        long life = this.ttl;
+        if (pttl != null && pttl > 0) {
+            life = Math.min(life, pttl);
+        }
+        if (life <= 0 || this.maxBytes > 0 && weight > this.maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(key, subKey, value == null ? NULL : value, weight, System.currentTimeMillis() + life);
+        // 版本检查与写入在同一原子操作中完成: 失效先递增版本再移除键, 写入要么被跳过, 要么在移除之前完成
+        this.container.compute(key, (k, slot) -> {
+            if (this.stampOf(key) != stamp) {
+                // 加载期间发生失效时丢弃本次写入, 避免旧值覆盖
+                entry.removed = true;
+                return slot;
+            }
+            if (slot == null) {
+                slot = new ConcurrentHashMap<>(4);
+            }
+            Entry old = slot.put(subKey, entry);
+            if (old != null) {
+                old.removed = true;
+                this.entries.decrementAndGet();
+                this.bytes.addAndGet(-old.weight);
+            }
+            this.entries.incrementAndGet();
+            this.bytes.addAndGet(weight);
+            return slot;
+        });
+        if (entry.removed) {
+            return;
+        }
+        this.order.offer(entry);
+        this.queued.incrementAndGet();
+        this.evict();
+        this.compact();
+    }
+
+    /**
+     * 按写入顺序淘汰超限条目
+     */
+    private void evict() {
+        while (this.entries.get() > this.maxEntries || this.maxBytes > 0 && this.bytes.get() > this.maxBytes) {
+            Entry entry = this.order.poll();
+            if (entry == null) {
+                return;
+            }
+            this.queued.decrementAndGet();
+            if (this.remove(entry)) {
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    /**
+     * 整理写入顺序(已移除的条目多于现有条目时清除, 避免失效与替换的条目长期占用内存)
+     */
+    private void compact() {
+        long threshold = Math.max(this.entries.get(), MIN_COMPACT_THRESHOLD);
+        if (this.queued.get() - this.entries.get() < threshold || !this.compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (Iterator<Entry> iterator = this.order.iterator(); iterator.hasNext(); ) {
+                if (iterator.next().removed) {
+                    iterator.remove();
+                    this.queued.decrementAndGet();
+                }
+            }
+        } finally {
+            this.compacting.set(false);
+        }
+    }
+
+    /**
+     * 移除条目(仅当仍为当前条目时)
+     *
+     * @param entry 条目
+     * @return 返回布尔值, 已移除true, 条目已被替换false
+     */
+    private boolean remove(Entry entry) {
+        boolean[] removed = new boolean[1];
+        this.container.computeIfPresent(entry.key, (k, slot) -> {
+            if (slot.remove(entry.subKey, entry)) {
+                entry.removed = true;
+                this.entries.decrementAndGet();
+                this.bytes.addAndGet(-entry.weight);
+                removed[0] = true;
+            }
+            return slot.isEmpty() ? null : slot;
+        });
+        return removed[0];
+    }
+
+    /**
+     * 移除键的所有条目
+     *
+     * @param key 键
+     */
+    private void removeKey(String key) {
+        this.container.computeIfPresent(key, (k, slot) -> {
+            for (Entry entry : slot.values()) {
+                entry.removed = true;
+                this.entries.decrementAndGet();
+                this.bytes.addAndGet(-entry.weight);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 获取键所在分段的失效版本
+     *
+     * @param key 键
+     * @return 返回失效版本
+     */
+    private long stampOf(String key) {
+        return this.versions.get(stripe(key));
+    }
+
+    /**
+     * 获取键的失效版本分段
+     *
+     * @param key 键
+     * @return 返回分段
+     */
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * 清除本地条目
+     *
+     * @param keys 键
+     */
+    private void invalidateLocal(Collection<String> keys) {
+        for (String key : keys) {
+            this.versions.incrementAndGet(stripe(key));
+            this.removeKey(key);
+            INVALIDATIONS.increment();
+        }
+        this.compact();
+    }
+
+    /**
+     * 订阅失效频道(在独立线程中订阅, 兼容阻塞式订阅的客户端)
+     *
+     * @param dbIndex 数据库索引
+     * @param channel 频道
+     */
+    private static void subscribe(int dbIndex, String channel) {
+        Thread thread = new Thread(() -> {
+            try {
+                PubSubHandler handler = new PubSubHandler(dbIndex);
+                pubSubHandler = handler;
+                handler.subscribe(new InvalidationListener(handler), channel);
+            } catch (RuntimeException e) {
+                LOGGER.warn("near cache invalidation subscription failed on channel {}", channel, e);
+            }
+        }, "redis-near-cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 通过管道读取值与键的剩余过期时间
+     *
+     * @param template 模板
+     * @param rawKey   键字节
+     * @param command  读取命令
+     * @return 返回原始结果[值, 剩余过期时间(ms)]
+     */
+    private static List<Object> load(RedisTemplate<String, ?> template, byte[] rawKey, Consumer<RedisConnection> command) {
+        List<Object> results = ConnectionExecutor.withPipeline(template.getRequiredConnectionFactory(), connection -> {
+            command.accept(connection);
+            connection.pTtl(rawKey);
+        });
+        if (results == null || results.size() != 2) {
+            throw new IllegalStateException("pipeline returned " + (results == null ? 0 : results.size()) + " results for 2 commands");
+        }
+        return results;
+    }
+
+    /**
+     * 获取模板前缀(区分对象与字符串的序列化方式)
+     *
+     * @param template 模板
+     * @return 返回前缀
+     */
+    private static String prefix(RedisTemplate<String, ?> template) {
+        return template instanceof StringRedisTemplate ? "s" : "o";
+    }
+
+    /**
+     * 还原空值占位
+     *
+     * @param value 条目值
+     * @return 返回值
+     */
+    private static Object unwrap(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * 估算字节数
+     *
+     * @param key 键
+     * @param raw 值字节
+     * @return 返回字节数
+     */
+    private static long weight(String key, byte[] raw) {
+        return key.length() * 2L + (raw == null ? 0 : raw.length);
+    }
+
+    /**
+     * 失效通知监听器
+     */
+    private static final class InvalidationListener implements MessageListener {
+        /**
+         * 发布与订阅助手
+         */
+        private final PubSubHandler handler;
+
+        /**
+         * 失效通知监听器构造
+         *
+         * @param handler 发布与订阅助手
+         */
+        private InvalidationListener(PubSubHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            try {
+                JSONObject body = this.handler.deserialize(JSONObject.class, message.getBody());
+                if (body == null || ORIGIN.equals(body.getString("origin"))) {
+                    return;
+                }
+                NearCache cache = CACHES.get(body.getInteger("db"));
+                JSONArray keys = body.getJSONArray("keys");
+                if (cache != null && keys != null) {
+                    cache.invalidateLocal(keys.toJavaList(String.class));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("near cache invalidation message ignored", e);
+            }
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+        /**
+         * 键
+         */
+        private final String key;
+        /**
+         * 子键
+         */
+        private final String subKey;
+        /**
+         * 值
+         */
+        private final Object value;
+        /**
+         * 估算字节数
+         */
+        private final long weight;
+        /**
+         * 过期时间(ms)
+         */
+        private final long expireAt;
+        /**
+         * 是否已从缓存容器移除
+         */
+        private volatile boolean removed;
+
+        /**
+         * 缓存条目构造
+         *
+         * @param key      键
+         * @param subKey   子键
+         * @param value    值
+         * @param weight   估算字节数
+         * @param expireAt 过期时间(ms)
+         */
+        private Entry(String key, String subKey, Object value, long weight, long expireAt) {
+            this.key = key;
+            this.subKey = subKey;
+            this.value = value;
+            this.weight = weight;
+            this.expireAt = expireAt;
+        }
+    }
+}
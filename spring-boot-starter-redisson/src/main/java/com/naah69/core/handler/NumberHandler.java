@@ -1,14 +1,22 @@
 package com.naah69.core.handler;
 
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import com.naah69.core.util.ConvertUtil;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.support.atomic.RedisAtomicDouble;
 import org.springframework.data.redis.support.atomic.RedisAtomicInteger;
 import org.springframework.data.redis.support.atomic.RedisAtomicLong;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -31,9 +39,41 @@ public final class NumberHandler implements RedisHandler {
      */
     private HashOperations<String, String, String> stringHashOperations;
     /**
-     * 数据库索引
+     * 连接工厂
      */
-    private int dbIndex;
+    private RedisConnectionFactory connectionFactory;
+    /**
+     * 原子浮点数模板
+     */
+    private RedisTemplate<String, Double> atomicDoubleTemplate;
+    /**
+     * 原子长整数模板
+     */
+    private RedisTemplate<String, Long> atomicLongTemplate;
+    /**
+     * 原子整数模板
+     */
+    private RedisTemplate<String, Integer> atomicIntegerTemplate;
+    /**
+     * 原子浮点数实例缓存
+     */
+    private WeakValueCache<RedisAtomicDouble> atomicDoubleCache;
+    /**
+     * 原子长整数实例缓存
+     */
+    private WeakValueCache<RedisAtomicLong> atomicLongCache;
+    /**
+     * 原子整数实例缓存
+     */
+    private WeakValueCache<RedisAtomicInteger> atomicIntegerCache;
+    /**
+     * 计数聚合器(未开启计数聚合时为空)
+     */
+    private CounterAggregator aggregator;
+    /**
+     * 近端缓存(未开启时为空)
+     */
+    private NearCache nearCache;
 
     /**
      * 字符串助手构造
@@ -41,40 +81,235 @@ public final class NumberHandler implements RedisHandler {
      * @param dbIndex 数据库索引
      */
     NumberHandler(Integer dbIndex) {
-        this.dbIndex = dbIndex;
         this.stringRedisTemplate = HandlerManager.createStringRedisTemplate(dbIndex);
         this.stringOperations = this.stringRedisTemplate.opsForValue();
         this.stringHashOperations = this.stringRedisTemplate.opsForHash();
+        this.connectionFactory = this.stringRedisTemplate.getRequiredConnectionFactory();
+        this.atomicDoubleTemplate = this.createAtomicTemplate(Double.class);
+        this.atomicLongTemplate = this.createAtomicTemplate(Long.class);
+        this.atomicIntegerTemplate = this.createAtomicTemplate(Integer.class);
+        RedisHandlerProperties.Number properties = ApplicationContextUtil.getContext()
+                .getBean(RedisHandlerProperties.class)
+                .getNumber();
+        int cacheSize = properties.getAtomicCacheSize();
+        this.atomicDoubleCache = new WeakValueCache<>(cacheSize);
+        this.atomicLongCache = new WeakValueCache<>(cacheSize);
+        this.atomicIntegerCache = new WeakValueCache<>(cacheSize);
+        this.nearCache = NearCache.forDatabase(dbIndex);
+        if (properties.getAggregation().isEnabled()) {
+            this.aggregator = new CounterAggregator(
+                    this.connectionFactory,
+                    this.nearCache,
+                    this.stringRedisTemplate.getKeySerializer(),
+                    this.stringRedisTemplate.getHashKeySerializer(),
+                    properties.getAggregation().getFlushInterval().toMillis(),
+                    properties.getAggregation().getMaxPending()
+            );
+        }
     }
 
     /**
-     * 获取原子浮点数实例
+     * 获取原子浮点数实例(同一键复用实例, 通过实例写入时不失效近端缓存)
      *
      * @param key 键
      * @return 返回原子浮点数实例
      */
     public RedisAtomicDouble getAtomicDouble(String key) {
-        return new RedisAtomicDouble(key, HandlerManager.getConnectionFactory(this.dbIndex));
+        return this.atomicDoubleCache.get(key, k -> new RedisAtomicDouble(k, this.atomicDoubleTemplate));
     }
 
     /**
-     * 获取原子长整数实例
+     * 获取原子长整数实例(同一键复用实例, 通过实例写入时不失效近端缓存)
      *
      * @param key 键
      * @return 返回原子长整数实例
      */
     public RedisAtomicLong getAtomicLong(String key) {
-        return new RedisAtomicLong(key, HandlerManager.getConnectionFactory(this.dbIndex));
+        return this.atomicLongCache.get(key, k -> new RedisAtomicLong(k, this.atomicLongTemplate));
     }
 
     /**
-     * 获取原子整数实例
+     * 获取原子整数实例(同一键复用实例, 通过实例写入时不失效近端缓存)
      *
      * @param key 键
      * @return 返回原子整数实例
      */
     public RedisAtomicInteger getAtomicInteger(String key) {
-        return new RedisAtomicInteger(key, HandlerManager.getConnectionFactory(this.dbIndex));
+        return this.atomicIntegerCache.get(key, k -> new RedisAtomicInteger(k, this.atomicIntegerTemplate));
+    }
+
+    /**
+     * 长整数自增(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key 键
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/incr">Redis Documentation: INCR</a>
+     * @since redis 1.0.0
+     */
+    public long incr(String key) {
+        byte[] rawKey = this.rawKey(key);
+        long value = ConnectionExecutor.withConnection(this.connectionFactory, connection -> connection.stringCommands().incr(rawKey));
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 长整数增加(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key  键
+     * @param data 步长
+     * @return 返回增加后的值
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public long incrBy(String key, long data) {
+        byte[] rawKey = this.rawKey(key);
+        long value = ConnectionExecutor.withConnection(this.connectionFactory, connection -> connection.stringCommands().incrBy(rawKey, data));
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 浮点数增加(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key  键
+     * @param data 步长
+     * @return 返回增加后的值
+     * @see <a href="http://redis.io/commands/incrbyfloat">Redis Documentation: INCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public double incrByFloat(String key, double data) {
+        byte[] rawKey = this.rawKey(key);
+        double value = ConnectionExecutor.withConnection(this.connectionFactory, connection -> connection.stringCommands().incrBy(rawKey, data));
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 长整数自减(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key 键
+     * @return 返回自减后的值
+     * @see <a href="http://redis.io/commands/decr">Redis Documentation: DECR</a>
+     * @since redis 1.0.0
+     */
+    public long decr(String key) {
+        byte[] rawKey = this.rawKey(key);
+        long value = ConnectionExecutor.withConnection(this.connectionFactory, connection -> connection.stringCommands().decr(rawKey));
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 长整数减少(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key  键
+     * @param data 步长
+     * @return 返回减少后的值
+     * @see <a href="http://redis.io/commands/decrby">Redis Documentation: DECRBY</a>
+     * @since redis 1.0.0
+     */
+    public long decrBy(String key, long data) {
+        byte[] rawKey = this.rawKey(key);
+        long value = ConnectionExecutor.withConnection(this.connectionFactory, connection -> connection.stringCommands().decrBy(rawKey, data));
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 哈希长整数增加(直接返回基本类型, 不经过模板与原子实例)
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回增加后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public long hincrBy(String key, String hashKey, long data) {
+        byte[] rawKey = this.rawKey(key);
+        byte[] rawHashKey = ConvertUtil.toBytes(this.stringRedisTemplate.getHashKeySerializer(), hashKey);
+        long value = ConnectionExecutor.withConnection(
+                this.connectionFactory,
+                connection -> connection.hashCommands().hIncrBy(rawKey, rawHashKey, data)
+        );
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 累加长整数(开启计数聚合时在本地累加后批量写入, 否则直接写入)
+     *
+     * @param key  键
+     * @param data 步长
+     * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+     * @since redis 1.0.0
+     */
+    public void accumulateLong(String key, long data) {
+        if (this.aggregator != null) {
+            this.aggregator.add(key, null, data);
+        } else {
+            this.incrBy(key, data);
+        }
+    }
+
+    /**
+     * 累加长整数(开启计数聚合时在本地累加后批量写入, 否则直接写入)
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public void accumulateLong(String key, String hashKey, long data) {
+        if (this.aggregator != null) {
+            this.aggregator.add(key, hashKey, data);
+        } else {
+            this.hincrBy(key, hashKey, data);
+        }
+    }
+
+    /**
+     * 累加浮点数(开启计数聚合时在本地累加后批量写入, 否则直接写入)
+     *
+     * @param key  键
+     * @param data 步长
+     * @see <a href="http://redis.io/commands/incrbyfloat">Redis Documentation: INCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public void accumulateDouble(String key, double data) {
+        if (this.aggregator != null) {
+            this.aggregator.add(key, null, data);
+        } else {
+            this.incrByFloat(key, data);
+        }
+    }
+
+    /**
+     * 累加浮点数(开启计数聚合时在本地累加后批量写入, 否则直接写入)
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public void accumulateDouble(String key, String hashKey, double data) {
+        if (this.aggregator != null) {
+            this.aggregator.add(key, hashKey, data);
+        } else {
+            this.addDouble(key, hashKey, data);
+        }
+    }
+
+    /**
+     * 立即刷新本地累加的增量
+     */
+    public void flushAccumulated() {
+        if (this.aggregator != null) {
+            this.aggregator.flush();
+        }
     }
 
     /**
@@ -87,6 +322,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public void setDouble(String key, double value) {
         this.stringOperations.set(key, String.valueOf(value));
+        this.invalidate(key);
     }
 
     /**
@@ -100,6 +336,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public void setDouble(String key, String hashKey, double value) {
         this.stringHashOperations.put(key, hashKey, String.valueOf(value));
+        this.invalidate(key);
     }
 
     /**
@@ -113,7 +350,42 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void setDouble(String key, double value, long timeout, TimeUnit unit) {
-        this.stringOperations.set(key, String.valueOf(value), timeout, unit);
+        this.stringOperations.set(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+    }
+
+    /**
+     * 设置浮点数如果大于原值(原值不存在时直接设置, 保留原过期时间)
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean setDoubleIfGreater(String key, double value) {
+        Boolean flag = this.stringRedisTemplate.execute(
+                LuaScripts.SET_IF_GREATER,
+                Collections.singletonList(key),
+                String.valueOf(value)
+        );
+        this.invalidate(key);
+        return flag;
+    }
+
+    /**
+     * 设置浮点数如果大于原值(原值不存在时直接设置, 设置成功时同时设置过期时间, 过期时间不大于0时保留原过期时间)
+     *
+     * @param key     键
+     * @param value   值
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean setDoubleIfGreater(String key, double value, long timeout, TimeUnit unit) {
+        return this.setIfGreater(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit));
     }
 
     /**
@@ -126,7 +398,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean setDoubleIfAbsent(String key, double value) {
-        return this.stringOperations.setIfAbsent(key, String.valueOf(value));
+        Boolean flag = this.stringOperations.setIfAbsent(key, String.valueOf(value));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -140,7 +414,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Boolean setDoubleIfAbsent(String key, String hashKey, double value) {
-        return this.stringHashOperations.putIfAbsent(key, hashKey, String.valueOf(value));
+        Boolean flag = this.stringHashOperations.putIfAbsent(key, hashKey, String.valueOf(value));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -155,7 +431,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.6.12
      */
     public Boolean setDoubleIfAbsent(String key, double value, long timeout, TimeUnit unit) {
-        return this.stringOperations.setIfAbsent(key, String.valueOf(value), timeout, unit);
+        Boolean flag = this.stringOperations.setIfAbsent(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -202,6 +480,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public Double getAndSetDouble(String key, double newValue) {
         String value = this.stringOperations.getAndSet(key, String.valueOf(newValue));
+        this.invalidate(key);
         return value != null ? Double.valueOf(value) : null;
     }
 
@@ -212,14 +491,18 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey  hash键
      * @param newValue 新值
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
     public Double getAndSetDouble(String key, String hashKey, double newValue) {
-        Double value = this.getDouble(key, hashKey);
-        this.setDouble(key, hashKey, newValue);
-        return value;
+        String value = this.stringRedisTemplate.execute(
+                LuaScripts.HASH_GET_AND_SET,
+                Collections.singletonList(key),
+                hashKey,
+                String.valueOf(newValue)
+        );
+        this.invalidate(key);
+        return value != null ? Double.valueOf(value) : null;
     }
 
     /**
@@ -232,7 +515,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public Double addDouble(String key, double data) {
-        return this.stringOperations.increment(key, data);
+        Double value = this.stringOperations.increment(key, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -241,15 +526,11 @@ public final class NumberHandler implements RedisHandler {
      * @param key  键
      * @param data 步长
      * @return 返回增加后的值
-     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
-     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double addDoubleBySync(String key, double data) {
-        Double old = this.getDouble(key);
-        double value = new BigDecimal(old == null ? "0" : Double.toString(old)).add(new BigDecimal(Double.toString(data))).doubleValue();
-        this.setDouble(key, value);
-        return value;
+    public Double addDoubleBySync(String key, double data) {
+        return Double.valueOf(this.addDecimal(key, null, data).get(0));
     }
 
     /**
@@ -263,7 +544,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public Double addDouble(String key, String hashKey, double data) {
-        return this.stringHashOperations.increment(key, hashKey, data);
+        Double value = this.stringHashOperations.increment(key, hashKey, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -273,15 +556,11 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey hash键
      * @param data    步长
      * @return 返回增加后的值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double addDoubleBySync(String key, String hashKey, double data) {
-        Double old = this.getDouble(key, hashKey);
-        double value = new BigDecimal(old == null ? "0" : Double.toString(old)).add(new BigDecimal(Double.toString(data))).doubleValue();
-        this.setDouble(key, hashKey, value);
-        return value;
+    public Double addDoubleBySync(String key, String hashKey, double data) {
+        return Double.valueOf(this.addDecimal(key, hashKey, data).get(0));
     }
 
     /**
@@ -303,12 +582,11 @@ public final class NumberHandler implements RedisHandler {
      * @param key  键
      * @param data 步长
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
-     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double getAndAddDoubleBySync(String key, double data) {
-        return new BigDecimal(Double.toString(this.addDoubleBySync(key, data))).subtract(new BigDecimal(Double.toString(data))).doubleValue();
+    public Double getAndAddDoubleBySync(String key, double data) {
+        return this.toOldValue(this.addDecimal(key, null, data));
     }
 
     /**
@@ -332,12 +610,11 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey hash键
      * @param data    步长
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double getAndAddDoubleBySync(String key, String hashKey, double data) {
-        return new BigDecimal(Double.toString(this.addDoubleBySync(key, hashKey, data))).subtract(new BigDecimal(Double.toString(data))).doubleValue();
+    public Double getAndAddDoubleBySync(String key, String hashKey, double data) {
+        return this.toOldValue(this.addDecimal(key, hashKey, data));
     }
 
     /**
@@ -359,11 +636,10 @@ public final class NumberHandler implements RedisHandler {
      * @param key  键
      * @param data 步长
      * @return 返回相减后的值
-     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
-     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double subtractDoubleBySync(String key, double data) {
+    public Double subtractDoubleBySync(String key, double data) {
         return this.addDoubleBySync(key, -data);
     }
 
@@ -388,11 +664,10 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey hash键
      * @param data    步长
      * @return 返回相减后的值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double subtractDoubleBySync(String key, String hashKey, double data) {
+    public Double subtractDoubleBySync(String key, String hashKey, double data) {
         return this.addDoubleBySync(key, hashKey, -data);
     }
 
@@ -415,12 +690,11 @@ public final class NumberHandler implements RedisHandler {
      * @param key  键
      * @param data 步长
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
-     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double getAndSubtractDoubleBySync(String key, double data) {
-        return new BigDecimal(Double.toString(this.subtractDoubleBySync(key, data))).add(new BigDecimal(Double.toString(data))).doubleValue();
+    public Double getAndSubtractDoubleBySync(String key, double data) {
+        return this.toOldValue(this.addDecimal(key, null, -data));
     }
 
     /**
@@ -444,12 +718,11 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey hash键
      * @param data    步长
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 2.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
-    public synchronized Double getAndSubtractDoubleBySync(String key, String hashKey, double data) {
-        return new BigDecimal(Double.toString(this.subtractDoubleBySync(key, hashKey, data))).add(new BigDecimal(Double.toString(data))).doubleValue();
+    public Double getAndSubtractDoubleBySync(String key, String hashKey, double data) {
+        return this.toOldValue(this.addDecimal(key, hashKey, -data));
     }
 
     /**
@@ -462,6 +735,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public void setLong(String key, long value) {
         this.stringOperations.set(key, String.valueOf(value));
+        this.invalidate(key);
     }
 
     /**
@@ -475,6 +749,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public void setLong(String key, String hashKey, long value) {
         this.stringHashOperations.put(key, hashKey, String.valueOf(value));
+        this.invalidate(key);
     }
 
     /**
@@ -488,7 +763,42 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void setLong(String key, long value, long timeout, TimeUnit unit) {
-        this.stringOperations.set(key, String.valueOf(value), timeout, unit);
+        this.stringOperations.set(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+    }
+
+    /**
+     * 设置长整数如果大于原值(原值不存在时直接设置, 保留原过期时间; 按十进制整数比较, 超出2^53时同样精确)
+     *
+     * @param key   键
+     * @param value 值
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean setLongIfGreater(String key, long value) {
+        Boolean flag = this.stringRedisTemplate.execute(
+                LuaScripts.SET_IF_GREATER,
+                Collections.singletonList(key),
+                String.valueOf(value)
+        );
+        this.invalidate(key);
+        return flag;
+    }
+
+    /**
+     * 设置长整数如果大于原值(原值不存在时直接设置, 设置成功时同时设置过期时间, 过期时间不大于0时保留原过期时间; 按十进制整数比较, 超出2^53时同样精确)
+     *
+     * @param key     键
+     * @param value   值
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean setLongIfGreater(String key, long value, long timeout, TimeUnit unit) {
+        return this.setIfGreater(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit));
     }
 
     /**
@@ -501,7 +811,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean setLongIfAbsent(String key, long value) {
-        return this.stringOperations.setIfAbsent(key, String.valueOf(value));
+        Boolean flag = this.stringOperations.setIfAbsent(key, String.valueOf(value));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -515,7 +827,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Boolean setLongIfAbsent(String key, String hashKey, long value) {
-        return this.stringHashOperations.putIfAbsent(key, hashKey, String.valueOf(value));
+        Boolean flag = this.stringHashOperations.putIfAbsent(key, hashKey, String.valueOf(value));
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -530,7 +844,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.6.12
      */
     public Boolean setLongIfAbsent(String key, long value, long timeout, TimeUnit unit) {
-        return this.stringOperations.setIfAbsent(key, String.valueOf(value), timeout, unit);
+        Boolean flag = this.stringOperations.setIfAbsent(key, String.valueOf(value), ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -577,6 +893,7 @@ public final class NumberHandler implements RedisHandler {
      */
     public Long getAndSetLong(String key, long newValue) {
         String value = this.stringOperations.getAndSet(key, String.valueOf(newValue));
+        this.invalidate(key);
         return value != null ? Long.valueOf(value) : null;
     }
 
@@ -587,14 +904,18 @@ public final class NumberHandler implements RedisHandler {
      * @param hashKey  hash键
      * @param newValue 新值
      * @return 返回原值
-     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
-     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
-     * @since redis 1.0.0
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
      */
     public Long getAndSetLong(String key, String hashKey, long newValue) {
-        Long value = this.getLong(key, hashKey);
-        this.setLong(key, hashKey, newValue);
-        return value;
+        String value = this.stringRedisTemplate.execute(
+                LuaScripts.HASH_GET_AND_SET,
+                Collections.singletonList(key),
+                hashKey,
+                String.valueOf(newValue)
+        );
+        this.invalidate(key);
+        return value != null ? Long.valueOf(value) : null;
     }
 
     /**
@@ -607,7 +928,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long addLong(String key, long data) {
-        return this.stringOperations.increment(key, data);
+        Long value = this.stringOperations.increment(key, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -621,7 +944,32 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Long addLong(String key, String hashKey, long data) {
-        return this.stringHashOperations.increment(key, hashKey, data);
+        Long value = this.stringHashOperations.increment(key, hashKey, data);
+        this.invalidate(key);
+        return value;
+    }
+
+    /**
+     * 增加长整数(增加后的值不超过上限, 超出时不增加)
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @param max     上限
+     * @return 返回增加后的值, 超出上限时返回null
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Long addLongWithCap(String key, String hashKey, long data, long max) {
+        Long result = this.stringRedisTemplate.execute(
+                LuaScripts.HASH_INCREMENT_WITH_CAP,
+                Collections.singletonList(key),
+                hashKey,
+                String.valueOf(data),
+                String.valueOf(max)
+        );
+        this.invalidate(key);
+        return result;
     }
 
     /**
@@ -660,7 +1008,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long incrementLong(String key) {
-        return this.stringOperations.increment(key);
+        Long value = this.stringOperations.increment(key);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -711,7 +1061,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long subtractLong(String key, long data) {
-        return this.stringOperations.decrement(key, data);
+        Long value = this.stringOperations.decrement(key, data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -725,7 +1077,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Long subtractLong(String key, String hashKey, long data) {
-        return this.stringHashOperations.increment(key, hashKey, -data);
+        Long value = this.stringHashOperations.increment(key, hashKey, -data);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -764,7 +1118,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long decrementLong(String key) {
-        return this.stringOperations.decrement(key);
+        Long value = this.stringOperations.decrement(key);
+        this.invalidate(key);
+        return value;
     }
 
     /**
@@ -814,7 +1170,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long removeForValue(String... keys) {
-        return this.stringOperations.getOperations().delete(Arrays.asList(keys));
+        Long count = this.stringOperations.getOperations().delete(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -827,7 +1185,9 @@ public final class NumberHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public Long removeForHash(String key, String... hashKeys) {
-        return this.stringHashOperations.delete(key, (Object[]) hashKeys);
+        Long count = this.stringHashOperations.delete(key, (Object[]) hashKeys);
+        this.invalidate(key);
+        return count;
     }
 
     /**
@@ -838,4 +1198,89 @@ public final class NumberHandler implements RedisHandler {
     public StringRedisTemplate getStringRedisTemplate() {
         return this.stringRedisTemplate;
     }
+
+    /**
+     * 序列化键
+     *
+     * @param key 键
+     * @return 返回字节数组
+     */
+    private byte[] rawKey(String key) {
+        return ConvertUtil.toBytes(this.stringRedisTemplate.getKeySerializer(), key);
+    }
+
+    /**
+     * 创建原子数字模板(同一助手的原子实例共享模板)
+     *
+     * @param type 数字类型
+     * @param <T>  类型
+     * @return 返回模板
+     */
+    private <T> RedisTemplate<String, T> createAtomicTemplate(Class<T> type) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setKeySerializer(this.stringRedisTemplate.getKeySerializer());
+        template.setValueSerializer(new GenericToStringSerializer<>(type));
+        template.setExposeConnection(true);
+        template.setConnectionFactory(this.connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 原子十进制加法(服务端脚本执行, 结果精确且跨节点原子)
+     *
+     * @param key     键
+     * @param hashKey hash键(为空时操作字符串键)
+     * @param data    步长
+     * @return 返回[新值, 原值]
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> addDecimal(String key, String hashKey, double data) {
+        String delta = BigDecimal.valueOf(data).toPlainString();
+        List<String> keys = Collections.singletonList(key);
+        List<String> result = hashKey == null
+                ? this.stringRedisTemplate.execute(LuaScripts.DECIMAL_ADD, keys, delta)
+                : this.stringRedisTemplate.execute(LuaScripts.DECIMAL_ADD, keys, delta, hashKey);
+        this.invalidate(key);
+        return result;
+    }
+
+    /**
+     * 获取原值(不存在时为0)
+     *
+     * @param result 脚本结果
+     * @return 返回原值
+     */
+    private Double toOldValue(List<String> result) {
+        String old = result.size() > 1 ? result.get(1) : null;
+        return old != null ? Double.valueOf(old) : 0D;
+    }
+
+    /**
+     * 设置数值如果大于原值
+     *
+     * @param key    键
+     * @param value  值
+     * @param millis 过期时间(ms, 不大于0时保留原过期时间)
+     * @return 返回布尔值, 成功true, 失败false
+     */
+    private Boolean setIfGreater(String key, String value, long millis) {
+        List<String> keys = Collections.singletonList(key);
+        Boolean flag = millis <= 0
+                ? this.stringRedisTemplate.execute(LuaScripts.SET_IF_GREATER, keys, value)
+                : this.stringRedisTemplate.execute(LuaScripts.SET_IF_GREATER, keys, value, String.valueOf(millis));
+        this.invalidate(key);
+        return flag;
+    }
+
+    /**
+     * 失效近端缓存
+     *
+     * @param keys 键
+     */
+    private void invalidate(String... keys) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(keys);
+        }
+    }
 }
@@ -0,0 +1,1543 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.util.ConvertUtil;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 管道批量命令
+ * 记录多个助手的命令, 在同一连接的管道中一次发送, 按记录顺序返回结果
+ * 对象命令(AsObj)与字符串命令分别使用对象模板与字符串模板的序列化器;
+ * 开启近端缓存时, 执行后失效字符串、哈希、数字与键命令写入的键
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class PipelineBatch {
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+    /**
+     * 已记录的命令
+     */
+    private final List<Operation<?>> operations = new ArrayList<>(16);
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private final NearCache nearCache;
+    /**
+     * 写入的键(执行后失效近端缓存)
+     */
+    private final Set<String> writtenKeys = new LinkedHashSet<>(16);
+    /**
+     * 字符串命令
+     */
+    private final StringBatch stringBatch = new StringBatch();
+    /**
+     * 哈希命令
+     */
+    private final HashBatch hashBatch = new HashBatch();
+    /**
+     * 列表命令
+     */
+    private final ListBatch listBatch = new ListBatch();
+    /**
+     * 无序集合命令
+     */
+    private final SetBatch setBatch = new SetBatch();
+    /**
+     * 有序集合命令
+     */
+    private final ZsetBatch zsetBatch = new ZsetBatch();
+    /**
+     * 数字命令
+     */
+    private final NumberBatch numberBatch = new NumberBatch();
+    /**
+     * 键命令
+     */
+    private final KeyBatch keyBatch = new KeyBatch();
+
+    /**
+     * 管道批量命令构造
+     *
+     * @param redisTemplate       对象模板
+     * @param stringRedisTemplate 字符串模板
+     * @param nearCache           近端缓存(未开启时为null)
+     */
+    PipelineBatch(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate, NearCache nearCache) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * 字符串命令
+     *
+     * @return 返回字符串命令
+     */
+    public StringBatch string() {
+        return this.stringBatch;
+    }
+
+    /**
+     * 哈希命令
+     *
+     * @return 返回哈希命令
+     */
+    public HashBatch hash() {
+        return this.hashBatch;
+    }
+
+    /**
+     * 列表命令
+     *
+     * @return 返回列表命令
+     */
+    public ListBatch list() {
+        return this.listBatch;
+    }
+
+    /**
+     * 无序集合命令
+     *
+     * @return 返回无序集合命令
+     */
+    public SetBatch set() {
+        return this.setBatch;
+    }
+
+    /**
+     * 有序集合命令
+     *
+     * @return 返回有序集合命令
+     */
+    public ZsetBatch zset() {
+        return this.zsetBatch;
+    }
+
+    /**
+     * 数字命令
+     *
+     * @return 返回数字命令
+     */
+    public NumberBatch number() {
+        return this.numberBatch;
+    }
+
+    /**
+     * 键命令
+     *
+     * @return 返回键命令
+     */
+    public KeyBatch key() {
+        return this.keyBatch;
+    }
+
+    /**
+     * 已记录的命令数量
+     *
+     * @return 返回命令数量
+     */
+    public int size() {
+        return this.operations.size();
+    }
+
+    /**
+     * 执行批量命令
+     *
+     * @return 返回按记录顺序排列的结果(无返回值的命令为null)
+     */
+    List<Object> execute() {
+        if (this.operations.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        List<Object> rawResults;
+        try {
+            rawResults = ConnectionExecutor.withPipeline(
+                    this.redisTemplate.getRequiredConnectionFactory(),
+                    connection -> {
+                        for (Operation<?> operation : this.operations) {
+                            operation.command.apply(connection);
+                        }
+                    }
+            );
+        } finally {
+            // 执行失败时部分命令可能已经生效, 同样失效
+            if (this.nearCache != null && !this.writtenKeys.isEmpty()) {
+                this.nearCache.invalidate(this.writtenKeys);
+            }
+        }
+        int expected = 0;
+        for (Operation<?> operation : this.operations) {
+            if (operation.decoder != null) {
+                expected++;
+            }
+        }
+        if (rawResults == null || rawResults.size() != expected) {
+            throw new IllegalStateException(
+                    "pipeline returned " + (rawResults == null ? 0 : rawResults.size()) + " results for " + expected + " commands"
+            );
+        }
+        List<Object> results = new ArrayList<>(this.operations.size());
+        Iterator<Object> iterator = rawResults.iterator();
+        for (Operation<?> operation : this.operations) {
+            results.add(operation.complete(operation.decoder != null ? iterator.next() : null));
+        }
+        return results;
+    }
+
+    /**
+     * 记录写入的键
+     *
+     * @param keys 键
+     */
+    private void written(String... keys) {
+        if (this.nearCache != null) {
+            Collections.addAll(this.writtenKeys, keys);
+        }
+    }
+
+    /**
+     * 记录有返回值的命令
+     *
+     * @param command 命令
+     * @param decoder 结果解码器
+     * @param <T>     结果类型
+     * @return 返回管道结果
+     */
+    private <T> PipelineResult<T> record(Function<RedisConnection, ?> command, Function<Object, T> decoder) {
+        Operation<T> operation = new Operation<>(command, decoder);
+        this.operations.add(operation);
+        return operation.result;
+    }
+
+    /**
+     * 记录无返回值的命令(状态回复不计入管道结果)
+     *
+     * @param command 命令
+     * @return 返回管道结果
+     */
+    private PipelineResult<Void> recordStatus(Function<RedisConnection, ?> command) {
+        Operation<Void> operation = new Operation<>(command, null);
+        this.operations.add(operation);
+        return operation.result;
+    }
+
+    /**
+     * 字符串命令
+     */
+    public final class StringBatch {
+
+        private StringBatch() {
+        }
+
+        /**
+         * 设置对象
+         *
+         * @param key   键
+         * @param value 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Void> setAsObj(String key, Object value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return recordStatus(connection -> connection.stringCommands().set(rawKey, rawValue));
+        }
+
+        /**
+         * 设置字符串
+         *
+         * @param key   键
+         * @param value 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Void> set(String key, String value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return recordStatus(connection -> connection.stringCommands().set(rawKey, rawValue));
+        }
+
+        /**
+         * 设置对象(过期)
+         *
+         * @param key     键
+         * @param value   对象
+         * @param timeout 过期时间
+         * @param unit    时间单位
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+         * @since redis 2.6.12
+         */
+        public PipelineResult<Void> setAsObj(String key, Object value, long timeout, TimeUnit unit) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            Expiration expiration = Expiration.milliseconds(ExpiryPolicy.millis(key, timeout, unit));
+            return recordStatus(
+                    connection -> connection.stringCommands().set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert())
+            );
+        }
+
+        /**
+         * 设置字符串(过期)
+         *
+         * @param key     键
+         * @param value   字符串
+         * @param timeout 过期时间
+         * @param unit    时间单位
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+         * @since redis 2.6.12
+         */
+        public PipelineResult<Void> set(String key, String value, long timeout, TimeUnit unit) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            Expiration expiration = Expiration.milliseconds(ExpiryPolicy.millis(key, timeout, unit));
+            return recordStatus(
+                    connection -> connection.stringCommands().set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert())
+            );
+        }
+
+        /**
+         * 如果不存在,则设置对象
+         *
+         * @param key   键
+         * @param value 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> setIfAbsentAsObj(String key, Object value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.stringCommands().setNX(rawKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 如果不存在,则设置字符串
+         *
+         * @param key   键
+         * @param value 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> setIfAbsent(String key, String value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(connection -> connection.stringCommands().setNX(rawKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 获取对象
+         *
+         * @param key 键
+         * @param <T> 返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<T> getAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.stringCommands().get(rawKey), SerializationHelper.valueDecoder(redisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取对象
+         *
+         * @param type 返回值类型
+         * @param key  键
+         * @param <T>  返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<T> getAsObj(Class<T> type, String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.stringCommands().get(rawKey), SerializationHelper.typedDecoder(redisTemplate.getValueSerializer(), type));
+        }
+
+        /**
+         * 获取字符串
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<String> get(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().get(rawKey), SerializationHelper.valueDecoder(stringRedisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取并设置新对象
+         *
+         * @param key   键
+         * @param value 对象
+         * @param <T>   返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<T> getAndSetAsObj(String key, Object value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.stringCommands().getSet(rawKey, rawValue), SerializationHelper.valueDecoder(redisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取并设置新字符串
+         *
+         * @param key   键
+         * @param value 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<String> getAndSet(String key, String value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(
+                    connection -> connection.stringCommands().getSet(rawKey, rawValue),
+                    SerializationHelper.valueDecoder(stringRedisTemplate.getValueSerializer())
+            );
+        }
+    }
+
+    /**
+     * 哈希命令
+     */
+    public final class HashBatch {
+
+        private HashBatch() {
+        }
+
+        /**
+         * 存入对象
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param value   对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Boolean> putAsObj(String key, String hashKey, Object value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(redisTemplate, hashKey);
+            byte[] rawValue = ConvertUtil.toBytes(redisTemplate.getHashValueSerializer(), value);
+            return record(connection -> connection.hashCommands().hSet(rawKey, rawHashKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 存入字符串
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param value   字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Boolean> put(String key, String hashKey, String value) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(stringRedisTemplate, hashKey);
+            byte[] rawValue = ConvertUtil.toBytes(stringRedisTemplate.getHashValueSerializer(), value);
+            return record(connection -> connection.hashCommands().hSet(rawKey, rawHashKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 获取对象
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param <T>     返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+         * @since redis 2.0.0
+         */
+        public <T> PipelineResult<T> getAsObj(String key, String hashKey) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(redisTemplate, hashKey);
+            return record(
+                    connection -> connection.hashCommands().hGet(rawKey, rawHashKey),
+                    SerializationHelper.valueDecoder(redisTemplate.getHashValueSerializer())
+            );
+        }
+
+        /**
+         * 获取对象
+         *
+         * @param type    返回值类型
+         * @param key     键
+         * @param hashKey hash键
+         * @param <T>     返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+         * @since redis 2.0.0
+         */
+        public <T> PipelineResult<T> getAsObj(Class<T> type, String key, String hashKey) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(redisTemplate, hashKey);
+            return record(
+                    connection -> connection.hashCommands().hGet(rawKey, rawHashKey),
+                    SerializationHelper.typedDecoder(redisTemplate.getHashValueSerializer(), type)
+            );
+        }
+
+        /**
+         * 获取字符串
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<String> get(String key, String hashKey) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(stringRedisTemplate, hashKey);
+            return record(
+                    connection -> connection.hashCommands().hGet(rawKey, rawHashKey),
+                    SerializationHelper.valueDecoder(stringRedisTemplate.getHashValueSerializer())
+            );
+        }
+
+        /**
+         * 获取对象字典
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Map<String, Object>> entriesAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.hashCommands().hGetAll(rawKey), SerializationHelper.mapDecoder(redisTemplate));
+        }
+
+        /**
+         * 获取字符串字典
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Map<String, String>> entries(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.hashCommands().hGetAll(rawKey), SerializationHelper.mapDecoder(stringRedisTemplate));
+        }
+
+        /**
+         * 移除对象
+         *
+         * @param key      键
+         * @param hashKeys hash键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Long> removeAsObj(String key, String... hashKeys) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawHashKeys = ConvertUtil.toByteArray(redisTemplate.getHashKeySerializer(), hashKeys);
+            return record(connection -> connection.hashCommands().hDel(rawKey, rawHashKeys), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除字符串
+         *
+         * @param key      键
+         * @param hashKeys hash键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Long> remove(String key, String... hashKeys) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawHashKeys = ConvertUtil.toByteArray(stringRedisTemplate.getHashKeySerializer(), hashKeys);
+            return record(connection -> connection.hashCommands().hDel(rawKey, rawHashKeys), SerializationHelper::toLong);
+        }
+
+        /**
+         * 是否包含对象的key
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Boolean> hasKeyAsObj(String key, String hashKey) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(redisTemplate, hashKey);
+            return record(connection -> connection.hashCommands().hExists(rawKey, rawHashKey), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 是否包含字符串的key
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Boolean> hasKey(String key, String hashKey) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(stringRedisTemplate, hashKey);
+            return record(connection -> connection.hashCommands().hExists(rawKey, rawHashKey), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 自增
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param data    步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Long> increment(String key, String hashKey, long data) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(stringRedisTemplate, hashKey);
+            return record(connection -> connection.hashCommands().hIncrBy(rawKey, rawHashKey, data), SerializationHelper::toLong);
+        }
+
+        /**
+         * 自增
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param data    步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Double> increment(String key, String hashKey, double data) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawHashKey = SerializationHelper.rawHashKey(stringRedisTemplate, hashKey);
+            return record(connection -> connection.hashCommands().hIncrBy(rawKey, rawHashKey, data), SerializationHelper::toDouble);
+        }
+    }
+
+    /**
+     * 列表命令
+     */
+    public final class ListBatch {
+
+        private ListBatch() {
+        }
+
+        /**
+         * 从左边添加对象
+         *
+         * @param key    键
+         * @param values 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> lpushAsObj(String key, Object... values) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(redisTemplate, values);
+            return record(connection -> connection.listCommands().lPush(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 从左边添加字符串
+         *
+         * @param key    键
+         * @param values 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> lpush(String key, String... values) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(stringRedisTemplate, (Object[]) values);
+            return record(connection -> connection.listCommands().lPush(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 从右边添加对象
+         *
+         * @param key    键
+         * @param values 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> rpushAsObj(String key, Object... values) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(redisTemplate, values);
+            return record(connection -> connection.listCommands().rPush(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 从右边添加字符串
+         *
+         * @param key    键
+         * @param values 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> rpush(String key, String... values) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(stringRedisTemplate, (Object[]) values);
+            return record(connection -> connection.listCommands().rPush(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 从左边移出对象
+         *
+         * @param key 键
+         * @param <T> 返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<T> lpopAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.listCommands().lPop(rawKey), SerializationHelper.valueDecoder(redisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 从左边移出字符串
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<String> lpop(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.listCommands().lPop(rawKey), SerializationHelper.valueDecoder(stringRedisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 从右边移出对象
+         *
+         * @param key 键
+         * @param <T> 返回类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<T> rpopAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.listCommands().rPop(rawKey), SerializationHelper.valueDecoder(redisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 从右边移出字符串
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<String> rpop(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.listCommands().rPop(rawKey), SerializationHelper.valueDecoder(stringRedisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取对象列表
+         *
+         * @param key        键
+         * @param startIndex 开始索引
+         * @param endIndex   结束索引
+         * @param <T>        元素类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<List<T>> lrangeAsObj(String key, long startIndex, long endIndex) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(
+                    connection -> connection.listCommands().lRange(rawKey, startIndex, endIndex),
+                    SerializationHelper.listDecoder(redisTemplate.getValueSerializer())
+            );
+        }
+
+        /**
+         * 获取字符串列表
+         *
+         * @param key        键
+         * @param startIndex 开始索引
+         * @param endIndex   结束索引
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<List<String>> lrange(String key, long startIndex, long endIndex) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(
+                    connection -> connection.listCommands().lRange(rawKey, startIndex, endIndex),
+                    SerializationHelper.listDecoder(stringRedisTemplate.getValueSerializer())
+            );
+        }
+
+        /**
+         * 获取所有对象
+         *
+         * @param key 键
+         * @param <T> 元素类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<List<T>> getAllAsObj(String key) {
+            return this.lrangeAsObj(key, 0L, -1L);
+        }
+
+        /**
+         * 获取所有字符串
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<List<String>> getAll(String key) {
+            return this.lrange(key, 0L, -1L);
+        }
+
+        /**
+         * 获取对象列表数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> sizeAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.listCommands().lLen(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 获取字符串列表数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> size(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.listCommands().lLen(rawKey), SerializationHelper::toLong);
+        }
+    }
+
+    /**
+     * 无序集合命令
+     */
+    public final class SetBatch {
+
+        private SetBatch() {
+        }
+
+        /**
+         * 新增对象
+         *
+         * @param key    键
+         * @param values 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/sadd">Redis Documentation: SADD</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> addAsObj(String key, Object... values) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(redisTemplate, values);
+            return record(connection -> connection.setCommands().sAdd(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 新增字符串
+         *
+         * @param key    键
+         * @param values 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/sadd">Redis Documentation: SADD</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> add(String key, String... values) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(stringRedisTemplate, (Object[]) values);
+            return record(connection -> connection.setCommands().sAdd(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除对象
+         *
+         * @param key    键
+         * @param values 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/srem">Redis Documentation: SREM</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> removeAsObj(String key, Object... values) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(redisTemplate, values);
+            return record(connection -> connection.setCommands().sRem(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除字符串
+         *
+         * @param key    键
+         * @param values 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/srem">Redis Documentation: SREM</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> remove(String key, String... values) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(stringRedisTemplate, (Object[]) values);
+            return record(connection -> connection.setCommands().sRem(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 是否包含对象
+         *
+         * @param key   键
+         * @param value 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/sismember">Redis Documentation: SISMEMBER</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> containsAsObj(String key, Object value) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.setCommands().sIsMember(rawKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 是否包含字符串
+         *
+         * @param key   键
+         * @param value 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/sismember">Redis Documentation: SISMEMBER</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> contains(String key, String value) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(connection -> connection.setCommands().sIsMember(rawKey, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 获取对象集合
+         *
+         * @param key 键
+         * @param <T> 元素类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/smembers">Redis Documentation: SMEMBERS</a>
+         * @since redis 1.0.0
+         */
+        public <T> PipelineResult<Set<T>> membersAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.setCommands().sMembers(rawKey), SerializationHelper.setDecoder(redisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取字符串集合
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/smembers">Redis Documentation: SMEMBERS</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Set<String>> members(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.setCommands().sMembers(rawKey), SerializationHelper.setDecoder(stringRedisTemplate.getValueSerializer()));
+        }
+
+        /**
+         * 获取对象数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/scard">Redis Documentation: SCARD</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> sizeAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.setCommands().sCard(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 获取字符串数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/scard">Redis Documentation: SCARD</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> size(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.setCommands().sCard(rawKey), SerializationHelper::toLong);
+        }
+    }
+
+    /**
+     * 有序集合命令
+     */
+    public final class ZsetBatch {
+
+        private ZsetBatch() {
+        }
+
+        /**
+         * 新增对象
+         *
+         * @param key   键
+         * @param value 对象
+         * @param score 排序
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Boolean> addAsObj(String key, Object value, double score) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.zSetCommands().zAdd(rawKey, score, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 新增字符串
+         *
+         * @param key   键
+         * @param value 字符串
+         * @param score 排序
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Boolean> add(String key, String value, double score) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(connection -> connection.zSetCommands().zAdd(rawKey, score, rawValue), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 获取对象排序
+         *
+         * @param key   键
+         * @param value 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Double> scoreAsObj(String key, Object value) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.zSetCommands().zScore(rawKey, rawValue), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 获取字符串排序
+         *
+         * @param key   键
+         * @param value 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Double> score(String key, String value) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(connection -> connection.zSetCommands().zScore(rawKey, rawValue), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 对象排序自增
+         *
+         * @param key   键
+         * @param value 对象
+         * @param score 自增值
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Double> incrementScoreAsObj(String key, Object value, double score) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(redisTemplate, value);
+            return record(connection -> connection.zSetCommands().zIncrBy(rawKey, score, rawValue), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 字符串排序自增
+         *
+         * @param key   键
+         * @param value 字符串
+         * @param score 自增值
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Double> incrementScore(String key, String value, double score) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[] rawValue = SerializationHelper.rawValue(stringRedisTemplate, value);
+            return record(connection -> connection.zSetCommands().zIncrBy(rawKey, score, rawValue), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 正序获取范围内的对象
+         *
+         * @param key        键
+         * @param startIndex 开始索引
+         * @param endIndex   结束索引
+         * @param <T>        元素类型
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+         * @since redis 1.2.0
+         */
+        public <T> PipelineResult<Set<T>> ascRangeAsObj(String key, long startIndex, long endIndex) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(
+                    connection -> connection.zSetCommands().zRange(rawKey, startIndex, endIndex),
+                    SerializationHelper.setDecoder(redisTemplate.getValueSerializer())
+            );
+        }
+
+        /**
+         * 正序获取范围内的字符串
+         *
+         * @param key        键
+         * @param startIndex 开始索引
+         * @param endIndex   结束索引
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Set<String>> ascRange(String key, long startIndex, long endIndex) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(
+                    connection -> connection.zSetCommands().zRange(rawKey, startIndex, endIndex),
+                    SerializationHelper.setDecoder(stringRedisTemplate.getValueSerializer())
+            );
+        }
+
+        /**
+         * 移除对象
+         *
+         * @param key    键
+         * @param values 对象
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Long> removeAsObj(String key, Object... values) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(redisTemplate, values);
+            return record(connection -> connection.zSetCommands().zRem(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除字符串
+         *
+         * @param key    键
+         * @param values 字符串
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Long> remove(String key, String... values) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            byte[][] rawValues = SerializationHelper.rawValues(stringRedisTemplate, (Object[]) values);
+            return record(connection -> connection.zSetCommands().zRem(rawKey, rawValues), SerializationHelper::toLong);
+        }
+
+        /**
+         * 对象数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Long> sizeAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.zSetCommands().zCard(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 字符串数量
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+         * @since redis 1.2.0
+         */
+        public PipelineResult<Long> size(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.zSetCommands().zCard(rawKey), SerializationHelper::toLong);
+        }
+    }
+
+    /**
+     * 数字命令(使用字符串模板)
+     */
+    public final class NumberBatch {
+
+        private NumberBatch() {
+        }
+
+        /**
+         * 设置长整数
+         *
+         * @param key   键
+         * @param value 值
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Void> setLong(String key, long value) {
+            return stringBatch.set(key, String.valueOf(value));
+        }
+
+        /**
+         * 获取长整数
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> getLong(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().get(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 获取浮点数
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Double> getDouble(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().get(rawKey), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 增加长整数
+         *
+         * @param key  键
+         * @param data 步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/incrby">Redis Documentation: INCRBY</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> addLong(String key, long data) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().incrBy(rawKey, data), SerializationHelper::toLong);
+        }
+
+        /**
+         * 增加长整数
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param data    步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+         * @since redis 2.0.0
+         */
+        public PipelineResult<Long> addLong(String key, String hashKey, long data) {
+            return hashBatch.increment(key, hashKey, data);
+        }
+
+        /**
+         * 增加浮点数
+         *
+         * @param key  键
+         * @param data 步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/incrbyfloat">Redis Documentation: INCRBYFLOAT</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Double> addDouble(String key, double data) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().incrBy(rawKey, data), SerializationHelper::toDouble);
+        }
+
+        /**
+         * 增加浮点数
+         *
+         * @param key     键
+         * @param hashKey hash键
+         * @param data    步长
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Double> addDouble(String key, String hashKey, double data) {
+            return hashBatch.increment(key, hashKey, data);
+        }
+
+        /**
+         * 长整数自增
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/incr">Redis Documentation: INCR</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> incrementLong(String key) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().incr(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 长整数自减
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/decr">Redis Documentation: DECR</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> decrementLong(String key) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.stringCommands().decr(rawKey), SerializationHelper::toLong);
+        }
+    }
+
+    /**
+     * 键命令
+     */
+    public final class KeyBatch {
+
+        private KeyBatch() {
+        }
+
+        /**
+         * 是否存在对象的key
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/exists">Redis Documentation: EXISTS</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> hasKeyAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.keyCommands().exists(rawKey), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 是否存在字符串的key
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/exists">Redis Documentation: EXISTS</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Boolean> hasKey(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.keyCommands().exists(rawKey), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 移除对象key
+         *
+         * @param keys 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> removeAsObj(String... keys) {
+            written(keys);
+            byte[][] rawKeys = SerializationHelper.rawKeys(redisTemplate, keys);
+            return record(connection -> connection.keyCommands().del(rawKeys), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除字符串key
+         *
+         * @param keys 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+         * @since redis 1.0.0
+         */
+        public PipelineResult<Long> remove(String... keys) {
+            written(keys);
+            byte[][] rawKeys = SerializationHelper.rawKeys(stringRedisTemplate, keys);
+            return record(connection -> connection.keyCommands().del(rawKeys), SerializationHelper::toLong);
+        }
+
+        /**
+         * 设置对象过期时间
+         *
+         * @param key      键
+         * @param timeout  过期时间
+         * @param timeUnit 时间单位
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/pexpire">Redis Documentation: PEXPIRE</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Boolean> expireAsObj(String key, long timeout, TimeUnit timeUnit) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            long millis = ExpiryPolicy.millis(key, timeout, timeUnit);
+            return record(connection -> connection.keyCommands().pExpire(rawKey, millis), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 设置字符串过期时间
+         *
+         * @param key      键
+         * @param timeout  过期时间
+         * @param timeUnit 时间单位
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/pexpire">Redis Documentation: PEXPIRE</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Boolean> expire(String key, long timeout, TimeUnit timeUnit) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            long millis = ExpiryPolicy.millis(key, timeout, timeUnit);
+            return record(connection -> connection.keyCommands().pExpire(rawKey, millis), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 获取对象过期时间(ms)
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Long> getExpireAsObj(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.keyCommands().pTtl(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 获取字符串过期时间(ms)
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+         * @since redis 2.6.0
+         */
+        public PipelineResult<Long> getExpire(String key) {
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.keyCommands().pTtl(rawKey), SerializationHelper::toLong);
+        }
+
+        /**
+         * 移除对象过期时间
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/persist">Redis Documentation: PERSIST</a>
+         * @since redis 2.2.0
+         */
+        public PipelineResult<Boolean> persistAsObj(String key) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(redisTemplate, key);
+            return record(connection -> connection.keyCommands().persist(rawKey), SerializationHelper::toBoolean);
+        }
+
+        /**
+         * 移除字符串过期时间
+         *
+         * @param key 键
+         * @return 返回管道结果
+         * @see <a href="http://redis.io/commands/persist">Redis Documentation: PERSIST</a>
+         * @since redis 2.2.0
+         */
+        public PipelineResult<Boolean> persist(String key) {
+            written(key);
+            byte[] rawKey = SerializationHelper.rawKey(stringRedisTemplate, key);
+            return record(connection -> connection.keyCommands().persist(rawKey), SerializationHelper::toBoolean);
+        }
+    }
+
+    /**
+     * 已记录的命令
+     *
+     * @param <T> 结果类型
+     */
+    private static final class Operation<T> {
+        /**
+         * 命令
+         */
+        private final Function<RedisConnection, ?> command;
+        /**
+         * 结果解码器(无返回值的命令为空)
+         */
+        private final Function<Object, T> decoder;
+        /**
+         * 管道结果
+         */
+        private final PipelineResult<T> result = new PipelineResult<>();
+
+        /**
+         * 已记录的命令构造
+         *
+         * @param command 命令
+         * @param decoder 结果解码器
+         */
+        private Operation(Function<RedisConnection, ?> command, Function<Object, T> decoder) {
+            this.command = command;
+            this.decoder = decoder;
+        }
+
+        /**
+         * 完成命令
+         *
+         * @param raw 原始结果
+         * @return 返回解码后的结果
+         */
+        private T complete(Object raw) {
+            T value = this.decoder != null ? this.decoder.apply(raw) : null;
+            this.result.complete(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.naah69.core.handler;
+
+/**
+ * 管道结果
+ * 批量命令执行完成前不可获取
+ *
+ * @param <T> 结果类型
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class PipelineResult<T> {
+    /**
+     * 结果
+     */
+    private T value;
+    /**
+     * 是否完成
+     */
+    private volatile boolean done;
+
+    /**
+     * 管道结果构造
+     */
+    PipelineResult() {
+    }
+
+    /**
+     * 获取结果
+     *
+     * @return 返回结果
+     */
+    public T get() {
+        if (!this.done) {
+            throw new IllegalStateException("pipeline has not been executed yet");
+        }
+        return this.value;
+    }
+
+    /**
+     * 是否完成
+     *
+     * @return 返回布尔值
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * 设置结果
+     *
+     * @param value 结果
+     */
+    void complete(T value) {
+        this.value = value;
+        this.done = true;
+    }
+}
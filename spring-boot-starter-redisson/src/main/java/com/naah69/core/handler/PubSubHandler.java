@@ -1,7 +1,5 @@
 package com.naah69.core.handler;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
 import com.naah69.core.util.ConvertUtil;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -37,7 +35,7 @@ public final class PubSubHandler implements RedisHandler {
     @SuppressWarnings("unchecked")
     PubSubHandler(Integer dbIndex) {
         this.redisTemplate = HandlerManager.createRedisTemplate(dbIndex);
-        this.connection = this.redisTemplate.getRequiredConnectionFactory().getConnection();
+        this.connection = ConnectionExecutor.openDedicated(this.redisTemplate.getRequiredConnectionFactory());
     }
 
     /**
@@ -178,10 +176,8 @@ public final class PubSubHandler implements RedisHandler {
      * @param <T>   返回类型
      * @return 返回对象
      */
-    @SuppressWarnings("unchecked")
     public <T> T deserialize(Class<T> type, byte[] bytes) {
-        Object value = this.redisTemplate.getValueSerializer().deserialize(bytes);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        return SerializationHelper.deserialize(this.redisTemplate.getValueSerializer(), bytes, type);
     }
 
     /**
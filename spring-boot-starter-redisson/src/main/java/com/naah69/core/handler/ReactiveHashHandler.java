@@ -0,0 +1,519 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 响应式哈希助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ReactiveHashHandler implements RedisHandler {
+    /**
+     * 对象模板
+     */
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+    /**
+     * 对象模板
+     */
+    private ReactiveHashOperations<String, String, Object> hashOperations;
+    /**
+     * 字符串模板
+     */
+    private ReactiveHashOperations<String, String, String> stringHashOperations;
+
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+
+    /**
+     * 响应式哈希助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    ReactiveHashHandler(Integer dbIndex) {
+        List<ReactiveRedisTemplate> templateList = HandlerManager.createReactiveTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (ReactiveStringRedisTemplate) templateList.get(1);
+        this.hashOperations = this.redisTemplate.opsForHash();
+        this.stringHashOperations = this.stringRedisTemplate.opsForHash();
+        this.nearCache = NearCache.forDatabase(dbIndex);
+    }
+
+    /**
+     * 存入对象
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   对象
+     * @return 返回布尔值, 新增字段true, 覆盖字段false
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> putAsObj(String key, String hashKey, Object value) {
+        return this.invalidate(this.hashOperations.put(key, hashKey, value), key);
+    }
+
+    /**
+     * 存入字符串
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   字符串
+     * @return 返回布尔值, 新增字段true, 覆盖字段false
+     * @see <a href="http://redis.io/commands/hset">Redis Documentation: HSET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> put(String key, String hashKey, String value) {
+        return this.invalidate(this.stringHashOperations.put(key, hashKey, value), key);
+    }
+
+    /**
+     * 存入对象如果不存在
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hsetnx">Redis Documentation: HSETNX</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> putIfAbsentAsObj(String key, String hashKey, Object value) {
+        return this.invalidate(this.hashOperations.putIfAbsent(key, hashKey, value), key);
+    }
+
+    /**
+     * 存入字符串如果不存在
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param value   字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hsetnx">Redis Documentation: HSETNX</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> putIfAbsent(String key, String hashKey, String value) {
+        return this.invalidate(this.stringHashOperations.putIfAbsent(key, hashKey, value), key);
+    }
+
+    /**
+     * 存入对象集合
+     *
+     * @param key 键
+     * @param map 对象集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hmset">Redis Documentation: HMSET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> putAllAsObj(String key, Map<String, Object> map) {
+        return this.invalidate(this.hashOperations.putAll(key, map), key);
+    }
+
+    /**
+     * 存入字符串集合
+     *
+     * @param key 键
+     * @param map 字符串集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/hmset">Redis Documentation: HMSET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> putAll(String key, Map<String, String> map) {
+        return this.invalidate(this.stringHashOperations.putAll(key, map), key);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getAsObj(String key, String hashKey) {
+        return this.hashOperations.get(key, hashKey).map(value -> (T) value);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param type    返回值类型
+     * @param key     键
+     * @param hashKey hash键
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public <T> Mono<T> getAsObj(Class<T> type, String key, String hashKey) {
+        return this.hashOperations.get(key, hashKey).map(value -> SerializationHelper.toType(value, type));
+    }
+
+    /**
+     * 获取字符串
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/hget">Redis Documentation: HGET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<String> get(String key, String hashKey) {
+        return this.stringHashOperations.get(key, hashKey);
+    }
+
+    /**
+     * 获取对象集合
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回对象列表(不存在的字段对应null)
+     * @see <a href="http://redis.io/commands/hmget">Redis Documentation: HMGET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<List<Object>> mgetAsObj(String key, String... hashKeys) {
+        return this.hashOperations.multiGet(key, Arrays.asList(hashKeys));
+    }
+
+    /**
+     * 获取字符串集合
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回字符串列表(不存在的字段对应null)
+     * @see <a href="http://redis.io/commands/hmget">Redis Documentation: HMGET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<List<String>> mget(String key, String... hashKeys) {
+        return this.stringHashOperations.multiGet(key, Arrays.asList(hashKeys));
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> removeAsObj(String key, String... hashKeys) {
+        return this.invalidate(this.hashOperations.remove(key, (Object[]) hashKeys), key);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param key      键
+     * @param hashKeys hash键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/hdel">Redis Documentation: HDEL</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> remove(String key, String... hashKeys) {
+        return this.invalidate(this.stringHashOperations.remove(key, (Object[]) hashKeys), key);
+    }
+
+    /**
+     * 获取对象字典
+     *
+     * @param key 键
+     * @return 返回对象字典
+     * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Map<String, Object>> entriesAsObj(String key) {
+        return this.hashOperations.entries(key).collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * 获取字符串字典
+     *
+     * @param key 键
+     * @return 返回字符串字典
+     * @see <a href="http://redis.io/commands/hgetall">Redis Documentation: HGETALL</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Map<String, String>> entries(String key) {
+        return this.stringHashOperations.entries(key).collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * 获取对象字典中的key
+     *
+     * @param key 键
+     * @return 返回字典中的key
+     * @see <a href="http://redis.io/commands/hkeys">Redis Documentation: HKEYS</a>
+     * @since redis 2.0.0
+     */
+    public Flux<String> keysAsObj(String key) {
+        return this.hashOperations.keys(key);
+    }
+
+    /**
+     * 获取字符串字典中的key
+     *
+     * @param key 键
+     * @return 返回字典中的key
+     * @see <a href="http://redis.io/commands/hkeys">Redis Documentation: HKEYS</a>
+     * @since redis 2.0.0
+     */
+    public Flux<String> keys(String key) {
+        return this.stringHashOperations.keys(key);
+    }
+
+    /**
+     * 获取对象字典中的值
+     *
+     * @param key 键
+     * @return 返回字典中的值
+     * @see <a href="http://redis.io/commands/hvals">Redis Documentation: HVALS</a>
+     * @since redis 2.0.0
+     */
+    public Flux<Object> valuesAsObj(String key) {
+        return this.hashOperations.values(key);
+    }
+
+    /**
+     * 获取字符串字典中的值
+     *
+     * @param key 键
+     * @return 返回字典中的值
+     * @see <a href="http://redis.io/commands/hvals">Redis Documentation: HVALS</a>
+     * @since redis 2.0.0
+     */
+    public Flux<String> values(String key) {
+        return this.stringHashOperations.values(key);
+    }
+
+    /**
+     * 获取对象字典的大小
+     *
+     * @param key 键
+     * @return 返回字典大小
+     * @see <a href="http://redis.io/commands/hlen">Redis Documentation: HLEN</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> sizeAsObj(String key) {
+        return this.hashOperations.size(key);
+    }
+
+    /**
+     * 获取字符串字典的大小
+     *
+     * @param key 键
+     * @return 返回字典大小
+     * @see <a href="http://redis.io/commands/hlen">Redis Documentation: HLEN</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> size(String key) {
+        return this.stringHashOperations.size(key);
+    }
+
+    /**
+     * 判断是否包含对象的key
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> hasKeyAsObj(String key, String hashKey) {
+        return this.hashOperations.hasKey(key, hashKey);
+    }
+
+    /**
+     * 判断是否包含字符串的key
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/hexists">Redis Documentation: HEXISTS</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> hasKey(String key, String hashKey) {
+        return this.stringHashOperations.hasKey(key, hashKey);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public Mono<Double> increment(String key, String hashKey, Double data) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, data), key);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> increment(String key, String hashKey, Long data) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, data), key);
+    }
+
+    /**
+     * 自增
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回自增后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> increment(String key, String hashKey) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, 1L), key);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrbyfloat">Redis Documentation: HINCRBYFLOAT</a>
+     * @since redis 2.6.0
+     */
+    public Mono<Double> decrement(String key, String hashKey, Double data) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, -data), key);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @param data    步长
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> decrement(String key, String hashKey, Long data) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, -data), key);
+    }
+
+    /**
+     * 递减
+     *
+     * @param key     键
+     * @param hashKey hash键
+     * @return 返回递减后的值
+     * @see <a href="http://redis.io/commands/hincrby">Redis Documentation: HINCRBY</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> decrement(String key, String hashKey) {
+        return this.invalidate(this.stringHashOperations.increment(key, hashKey, -1L), key);
+    }
+
+    /**
+     * 匹配对象(按需逐批拉取, 支持背压)
+     *
+     * @param key     键
+     * @param count   数量
+     * @param pattern 规则
+     * @return 返回匹配对象
+     * @see <a href="http://redis.io/commands/hscan">Redis Documentation: HSCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<Map.Entry<String, Object>> scanAsObj(String key, Long count, String pattern) {
+        return this.hashOperations.scan(key, ScanOptions.scanOptions().count(count).match(pattern).build());
+    }
+
+    /**
+     * 匹配字符串(按需逐批拉取, 支持背压)
+     *
+     * @param key     键
+     * @param count   数量
+     * @param pattern 规则
+     * @return 返回匹配字符串
+     * @see <a href="http://redis.io/commands/hscan">Redis Documentation: HSCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<Map.Entry<String, String>> scan(String key, Long count, String pattern) {
+        return this.stringHashOperations.scan(key, ScanOptions.scanOptions().count(count).match(pattern).build());
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, String... keys) {
+        return this.invalidate(mono, Arrays.asList(keys));
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, Collection<String> keys) {
+        NearCache cache = this.nearCache;
+        if (cache == null) {
+            return mono;
+        }
+        List<String> written = new ArrayList<>(keys);
+        return mono.publishOn(Schedulers.elastic())
+                .doOnTerminate(() -> cache.invalidate(written))
+                .doOnCancel(() -> cache.invalidate(written));
+    }
+
+    /**
+     * 获取spring reactive redis模板
+     *
+     * @return 返回对象模板
+     */
+    public ReactiveRedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取spring reactive string redis模板
+     *
+     * @return 返回字符串模板
+     */
+    public ReactiveStringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+}
@@ -0,0 +1,461 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式键助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ReactiveKeyHandler implements RedisHandler {
+    /**
+     * 对象模板
+     */
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+    /**
+     * 键前缀(命名空间, 扫描的匹配规则不经过键序列化器)
+     */
+    private String keyPrefix;
+
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+
+    /**
+     * 响应式键助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    ReactiveKeyHandler(Integer dbIndex) {
+        List<ReactiveRedisTemplate> templateList = HandlerManager.createReactiveTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (ReactiveStringRedisTemplate) templateList.get(1);
+        this.keyPrefix = HandlerManager.getKeyPrefix(dbIndex);
+        this.nearCache = NearCache.forDatabase(dbIndex);
+    }
+
+    /**
+     * 是否存在key(对象)
+     *
+     * @param key 键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/exists">Redis Documentation: EXISTS</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> hasKeyAsObj(String key) {
+        return this.redisTemplate.hasKey(key);
+    }
+
+    /**
+     * 是否存在key(字符串)
+     *
+     * @param key 键
+     * @return 返回布尔值, 存在true, 不存在false
+     * @see <a href="http://redis.io/commands/exists">Redis Documentation: EXISTS</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> hasKey(String key) {
+        return this.stringRedisTemplate.hasKey(key);
+    }
+
+    /**
+     * 移除对象key
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> removeAsObj(String... keys) {
+        return this.invalidate(this.redisTemplate.delete(keys), keys);
+    }
+
+    /**
+     * 移除字符串key
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> remove(String... keys) {
+        return this.invalidate(this.stringRedisTemplate.delete(keys), keys);
+    }
+
+    /**
+     * 移除存在的对象key
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/unlink">Redis Documentation: UNLINK</a>
+     * @since redis 4.0.0
+     */
+    public Mono<Long> unlinkAsObj(String... keys) {
+        return this.invalidate(this.redisTemplate.unlink(keys), keys);
+    }
+
+    /**
+     * 移除存在的字符串key
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/unlink">Redis Documentation: UNLINK</a>
+     * @since redis 4.0.0
+     */
+    public Mono<Long> unlink(String... keys) {
+        return this.invalidate(this.stringRedisTemplate.unlink(keys), keys);
+    }
+
+    /**
+     * 设置对象过期时间
+     *
+     * @param key      键
+     * @param timeout  过期时间
+     * @param timeUnit 时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/expire">Redis Documentation: EXPIRE</a>
+     * @see <a href="http://redis.io/commands/pexpire">Redis Documentation: PEXPIRE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> expireAsObj(String key, long timeout, TimeUnit timeUnit) {
+        return this.invalidate(this.redisTemplate.expire(key, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, timeUnit))), key);
+    }
+
+    /**
+     * 设置字符串过期时间
+     *
+     * @param key      键
+     * @param timeout  过期时间
+     * @param timeUnit 时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/expire">Redis Documentation: EXPIRE</a>
+     * @see <a href="http://redis.io/commands/pexpire">Redis Documentation: PEXPIRE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> expire(String key, long timeout, TimeUnit timeUnit) {
+        return this.invalidate(this.stringRedisTemplate.expire(key, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, timeUnit))), key);
+    }
+
+    /**
+     * 设置对象过期时间
+     *
+     * @param key  键
+     * @param date 过期时间
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/expireat">Redis Documentation: EXPIREAT</a>
+     * @see <a href="http://redis.io/commands/pexpireat">Redis Documentation: PEXPIREAT</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Boolean> expireAtAsObj(String key, Date date) {
+        return this.invalidate(this.redisTemplate.expireAt(key, ExpiryPolicy.expireAt(key, date).toInstant()), key);
+    }
+
+    /**
+     * 设置字符串过期时间
+     *
+     * @param key  键
+     * @param date 过期时间
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/expireat">Redis Documentation: EXPIREAT</a>
+     * @see <a href="http://redis.io/commands/pexpireat">Redis Documentation: PEXPIREAT</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Boolean> expireAt(String key, Date date) {
+        return this.invalidate(this.stringRedisTemplate.expireAt(key, ExpiryPolicy.expireAt(key, date).toInstant()), key);
+    }
+
+    /**
+     * 获取对象过期时间
+     *
+     * @param key      键
+     * @param timeUnit 时间单位
+     * @return 返回对象过期时间
+     * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+     * @since redis 2.6.0
+     */
+    public Mono<Long> getExpireAsObj(String key, TimeUnit timeUnit) {
+        return this.redisTemplate.getExpire(key).map(duration -> timeUnit.convert(duration.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 获取字符串过期时间
+     *
+     * @param key      键
+     * @param timeUnit 时间单位
+     * @return 返回字符串过期时间
+     * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+     * @since redis 2.6.0
+     */
+    public Mono<Long> getExpire(String key, TimeUnit timeUnit) {
+        return this.stringRedisTemplate.getExpire(key).map(duration -> timeUnit.convert(duration.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 获取对象存储数据类型
+     *
+     * @param key 键
+     * @return 返回对象存储数据类型
+     * @see <a href="http://redis.io/commands/type">Redis Documentation: TYPE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<DataType> getTypeAsObj(String key) {
+        return this.redisTemplate.type(key);
+    }
+
+    /**
+     * 获取字符串存储数据类型
+     *
+     * @param key 键
+     * @return 返回字符串存储数据类型
+     * @see <a href="http://redis.io/commands/type">Redis Documentation: TYPE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<DataType> getType(String key) {
+        return this.stringRedisTemplate.type(key);
+    }
+
+    /**
+     * 对象的键集合
+     *
+     * @param pattern 键规则
+     * @return 返回对象键
+     * @see <a href="http://redis.io/commands/keys">Redis Documentation: KEYS</a>
+     * @since redis 1.0.0
+     */
+    public Flux<String> keysAsObj(String pattern) {
+        return this.redisTemplate.keys(pattern);
+    }
+
+    /**
+     * 字符串的键集合
+     *
+     * @param pattern 键规则
+     * @return 返回字符串键
+     * @see <a href="http://redis.io/commands/keys">Redis Documentation: KEYS</a>
+     * @since redis 1.0.0
+     */
+    public Flux<String> keys(String pattern) {
+        return this.stringRedisTemplate.keys(pattern);
+    }
+
+    /**
+     * 匹配对象的键(按需逐批拉取, 支持背压)
+     *
+     * @param count   数量
+     * @param pattern 键规则
+     * @return 返回对象键
+     * @see <a href="http://redis.io/commands/scan">Redis Documentation: SCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<String> scanAsObj(Long count, String pattern) {
+        return this.redisTemplate.scan(ScanOptions.scanOptions().count(count).match(this.keyPrefix + pattern).build());
+    }
+
+    /**
+     * 匹配字符串的键(按需逐批拉取, 支持背压)
+     *
+     * @param count   数量
+     * @param pattern 键规则
+     * @return 返回字符串键
+     * @see <a href="http://redis.io/commands/scan">Redis Documentation: SCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<String> scan(Long count, String pattern) {
+        return this.stringRedisTemplate.scan(ScanOptions.scanOptions().count(count).match(this.keyPrefix + pattern).build());
+    }
+
+    /**
+     * 获取对象随机key
+     *
+     * @return 返回对象随机的键
+     * @see <a href="http://redis.io/commands/randomkey">Redis Documentation: RANDOMKEY</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> randomKeyAsObj() {
+        return this.redisTemplate.randomKey();
+    }
+
+    /**
+     * 获取字符串随机key
+     *
+     * @return 返回字符串随机的键
+     * @see <a href="http://redis.io/commands/randomkey">Redis Documentation: RANDOMKEY</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> randomKey() {
+        return this.stringRedisTemplate.randomKey();
+    }
+
+    /**
+     * 重命名对象key
+     *
+     * @param oldKey 旧key
+     * @param newKey 新key
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/rename">Redis Documentation: RENAME</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> renameAsObj(String oldKey, String newKey) {
+        return this.invalidate(this.redisTemplate.rename(oldKey, newKey), oldKey, newKey);
+    }
+
+    /**
+     * 重命名字符串key
+     *
+     * @param oldKey 旧key
+     * @param newKey 新key
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/rename">Redis Documentation: RENAME</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> rename(String oldKey, String newKey) {
+        return this.invalidate(this.stringRedisTemplate.rename(oldKey, newKey), oldKey, newKey);
+    }
+
+    /**
+     * 重命名对象key如果存在
+     *
+     * @param oldKey 旧key
+     * @param newKey 新key
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/renamenx">Redis Documentation: RENAMENX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> renameAsObjIfAbsent(String oldKey, String newKey) {
+        return this.invalidate(this.redisTemplate.renameIfAbsent(oldKey, newKey), oldKey, newKey);
+    }
+
+    /**
+     * 重命名字符串key如果存在
+     *
+     * @param oldKey 旧key
+     * @param newKey 新key
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/renamenx">Redis Documentation: RENAMENX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> renameIfAbsent(String oldKey, String newKey) {
+        return this.invalidate(this.stringRedisTemplate.renameIfAbsent(oldKey, newKey), oldKey, newKey);
+    }
+
+    /**
+     * 持久化对象
+     *
+     * @param key 键
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/persist">Redis Documentation: PERSIST</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Boolean> persistAsObj(String key) {
+        return this.invalidate(this.redisTemplate.persist(key), key);
+    }
+
+    /**
+     * 持久化字符串
+     *
+     * @param key 键
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/persist">Redis Documentation: PERSIST</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Boolean> persist(String key) {
+        return this.invalidate(this.stringRedisTemplate.persist(key), key);
+    }
+
+    /**
+     * 移动对象到指定数据库
+     *
+     * @param dbIndex 数据库索引
+     * @param key     键
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/move">Redis Documentation: MOVE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> moveAsObj(int dbIndex, String key) {
+        return this.invalidate(this.redisTemplate.move(key, dbIndex), key);
+    }
+
+    /**
+     * 移动字符串到指定数据库
+     *
+     * @param dbIndex 数据库索引
+     * @param key     键
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/move">Redis Documentation: MOVE</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> move(int dbIndex, String key) {
+        return this.invalidate(this.stringRedisTemplate.move(key, dbIndex), key);
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, String... keys) {
+        return this.invalidate(mono, Arrays.asList(keys));
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, Collection<String> keys) {
+        NearCache cache = this.nearCache;
+        if (cache == null) {
+            return mono;
+        }
+        List<String> written = new ArrayList<>(keys);
+        return mono.publishOn(Schedulers.elastic())
+                .doOnTerminate(() -> cache.invalidate(written))
+                .doOnCancel(() -> cache.invalidate(written));
+    }
+
+    /**
+     * 获取spring reactive redis模板
+     *
+     * @return 返回对象模板
+     */
+    public ReactiveRedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取spring reactive string redis模板
+     *
+     * @return 返回字符串模板
+     */
+    public ReactiveStringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+}
@@ -0,0 +1,709 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式列表助手
+ * 阻塞弹出命令以非阻塞方式等待, 不占用调用线程
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ReactiveListHandler implements RedisHandler {
+    /**
+     * 对象模板
+     */
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+    /**
+     * 对象模板
+     */
+    private ReactiveListOperations<String, Object> listOperations;
+    /**
+     * 字符串模板
+     */
+    private ReactiveListOperations<String, String> stringListOperations;
+
+    /**
+     * 响应式列表助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    ReactiveListHandler(Integer dbIndex) {
+        List<ReactiveRedisTemplate> templateList = HandlerManager.createReactiveTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (ReactiveStringRedisTemplate) templateList.get(1);
+        this.listOperations = this.redisTemplate.opsForList();
+        this.stringListOperations = this.stringRedisTemplate.opsForList();
+    }
+
+    /**
+     * 获取对象列表数量
+     *
+     * @param key 键
+     * @return 返回对象列表数量
+     * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> sizeAsObj(String key) {
+        return this.listOperations.size(key);
+    }
+
+    /**
+     * 获取字符串列表数量
+     *
+     * @param key 键
+     * @return 返回字符串列表数量
+     * @see <a href="http://redis.io/commands/llen">Redis Documentation: LLEN</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> size(String key) {
+        return this.stringListOperations.size(key);
+    }
+
+    /**
+     * 获取全部对象
+     *
+     * @param key 键
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public Flux<Object> getAllAsObj(String key) {
+        return this.listOperations.range(key, 0, -1);
+    }
+
+    /**
+     * 获取全部字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public Flux<String> getAll(String key) {
+        return this.stringListOperations.range(key, 0, -1);
+    }
+
+    /**
+     * 从左获取范围对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public Flux<Object> lrangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.listOperations.range(key, startIndex, endIndex);
+    }
+
+    /**
+     * 从左获取范围字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lrange">Redis Documentation: LRANGE</a>
+     * @since redis 1.0.0
+     */
+    public Flux<String> lrange(String key, Long startIndex, Long endIndex) {
+        return this.stringListOperations.range(key, startIndex, endIndex);
+    }
+
+    /**
+     * 从左移除对象
+     *
+     * @param key   键
+     * @param count 对象个数
+     * @param value 对象
+     * @return 返回已移除的数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lremoveAsObj(String key, Long count, Object value) {
+        return this.listOperations.remove(key, count, value);
+    }
+
+    /**
+     * 从左移除字符串
+     *
+     * @param key   键
+     * @param count 字符串个数
+     * @param value 字符串
+     * @return 返回已移除的数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lremove(String key, Long count, String value) {
+        return this.stringListOperations.remove(key, count, value);
+    }
+
+    /**
+     * 从右移除对象
+     *
+     * @param key   键
+     * @param count 对象个数
+     * @param value 对象
+     * @return 返回已移除的数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rremoveAsObj(String key, Long count, Object value) {
+        return this.listOperations.remove(key, -count, value);
+    }
+
+    /**
+     * 从右移除字符串
+     *
+     * @param key   键
+     * @param count 字符串个数
+     * @param value 字符串
+     * @return 返回已移除的数量
+     * @see <a href="http://redis.io/commands/lrem">Redis Documentation: LREM</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rremove(String key, Long count, String value) {
+        return this.stringListOperations.remove(key, -count, value);
+    }
+
+    /**
+     * 从左设置对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> lsetAsObj(String key, Long index, Object value) {
+        return this.listOperations.set(key, index, value);
+    }
+
+    /**
+     * 从左设置字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> lset(String key, Long index, String value) {
+        return this.stringListOperations.set(key, index, value);
+    }
+
+    /**
+     * 从右设置对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> rsetAsObj(String key, Long index, Object value) {
+        return this.listOperations.set(key, -index - 1, value);
+    }
+
+    /**
+     * 从右设置字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @param value 字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/lset">Redis Documentation: LSET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> rset(String key, Long index, String value) {
+        return this.stringListOperations.set(key, -index - 1, value);
+    }
+
+    /**
+     * 从左获取对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> lgetAsObj(String key, Long index) {
+        return this.listOperations.index(key, index).map(value -> (T) value);
+    }
+
+    /**
+     * 从左获取对象
+     *
+     * @param type  返回值类型
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public <T> Mono<T> lgetAsObj(Class<T> type, String key, Long index) {
+        return this.listOperations.index(key, index).map(value -> SerializationHelper.toType(value, type));
+    }
+
+    /**
+     * 从左获取字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> lget(String key, Long index) {
+        return this.stringListOperations.index(key, index);
+    }
+
+    /**
+     * 从右获取对象
+     *
+     * @param key   键
+     * @param index 索引
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> rgetAsObj(String key, Long index) {
+        return this.listOperations.index(key, -index - 1).map(value -> (T) value);
+    }
+
+    /**
+     * 从右获取字符串
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lindex">Redis Documentation: LINDEX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> rget(String key, Long index) {
+        return this.stringListOperations.index(key, -index - 1);
+    }
+
+    /**
+     * 从左插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lpushAsObj(String key, Object value) {
+        return this.listOperations.leftPush(key, value);
+    }
+
+    /**
+     * 从左插入对象
+     *
+     * @param key   键
+     * @param pivot 中心对象
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/linsert">Redis Documentation: LINSERT</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> lpushAsObj(String key, Object pivot, Object value) {
+        return this.listOperations.leftPush(key, pivot, value);
+    }
+
+    /**
+     * 从左插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lpush(String key, String value) {
+        return this.stringListOperations.leftPush(key, value);
+    }
+
+    /**
+     * 从左插入字符串
+     *
+     * @param key   键
+     * @param pivot 中心字符串
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/linsert">Redis Documentation: LINSERT</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> lpush(String key, String pivot, String value) {
+        return this.stringListOperations.leftPush(key, pivot, value);
+    }
+
+    /**
+     * 从左批量插入对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lpushAllAsObj(String key, Object... values) {
+        return this.listOperations.leftPushAll(key, values);
+    }
+
+    /**
+     * 从左批量插入字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpush">Redis Documentation: LPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> lpushAll(String key, String... values) {
+        return this.stringListOperations.leftPushAll(key, values);
+    }
+
+    /**
+     * 从左插入对象如果存在
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpushx">Redis Documentation: LPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> lpushIfPresentAsObj(String key, Object value) {
+        return this.listOperations.leftPushIfPresent(key, value);
+    }
+
+    /**
+     * 从左插入字符串如果存在
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/lpushx">Redis Documentation: LPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> lpushIfPresent(String key, String value) {
+        return this.stringListOperations.leftPushIfPresent(key, value);
+    }
+
+    /**
+     * 从左弹出对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> lpopAsObj(String key) {
+        return this.listOperations.leftPop(key).map(value -> (T) value);
+    }
+
+    /**
+     * 从左弹出对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> Mono<T> lpopAsObj(Class<T> type, String key) {
+        return this.listOperations.leftPop(key).map(value -> SerializationHelper.toType(value, type));
+    }
+
+    /**
+     * 从左弹出字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/lpop">Redis Documentation: LPOP</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> lpop(String key) {
+        return this.stringListOperations.leftPop(key);
+    }
+
+    /**
+     * 从左阻塞弹出对象
+     *
+     * @param key     键
+     * @param timeout 超时时间
+     * @param unit    单位
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/blpop">Redis Documentation: BLPOP</a>
+     * @since redis 2.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> blpopAsObj(String key, Long timeout, TimeUnit unit) {
+        return this.listOperations.leftPop(key, Duration.ofMillis(unit.toMillis(timeout))).map(value -> (T) value);
+    }
+
+    /**
+     * 从左阻塞弹出字符串
+     *
+     * @param key     键
+     * @param timeout 超时时间
+     * @param unit    单位
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/blpop">Redis Documentation: BLPOP</a>
+     * @since redis 2.0.0
+     */
+    public Mono<String> blpop(String key, Long timeout, TimeUnit unit) {
+        return this.stringListOperations.leftPop(key, Duration.ofMillis(unit.toMillis(timeout)));
+    }
+
+    /**
+     * 从右插入对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rpushAsObj(String key, Object value) {
+        return this.listOperations.rightPush(key, value);
+    }
+
+    /**
+     * 从右插入字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rpush(String key, String value) {
+        return this.stringListOperations.rightPush(key, value);
+    }
+
+    /**
+     * 从右插入对象
+     *
+     * @param key   键
+     * @param pivot 中心对象
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/linsert">Redis Documentation: LINSERT</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> rpushAsObj(String key, Object pivot, Object value) {
+        return this.listOperations.rightPush(key, pivot, value);
+    }
+
+    /**
+     * 从右插入字符串
+     *
+     * @param key   键
+     * @param pivot 中心字符串
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/linsert">Redis Documentation: LINSERT</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> rpush(String key, String pivot, String value) {
+        return this.stringListOperations.rightPush(key, pivot, value);
+    }
+
+    /**
+     * 从右插入对象如果存在
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpushx">Redis Documentation: RPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> rpushIfPresentAsObj(String key, Object value) {
+        return this.listOperations.rightPushIfPresent(key, value);
+    }
+
+    /**
+     * 从右插入字符串如果存在
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpushx">Redis Documentation: RPUSHX</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> rpushIfPresent(String key, String value) {
+        return this.stringListOperations.rightPushIfPresent(key, value);
+    }
+
+    /**
+     * 从右批量插入对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rpushAllAsObj(String key, Object... values) {
+        return this.listOperations.rightPushAll(key, values);
+    }
+
+    /**
+     * 从右批量插入字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回列表长度
+     * @see <a href="http://redis.io/commands/rpush">Redis Documentation: RPUSH</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> rpushAll(String key, String... values) {
+        return this.stringListOperations.rightPushAll(key, values);
+    }
+
+    /**
+     * 从右弹出对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> rpopAsObj(String key) {
+        return this.listOperations.rightPop(key).map(value -> (T) value);
+    }
+
+    /**
+     * 从右弹出对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    public <T> Mono<T> rpopAsObj(Class<T> type, String key) {
+        return this.listOperations.rightPop(key).map(value -> SerializationHelper.toType(value, type));
+    }
+
+    /**
+     * 从右弹出字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/rpop">Redis Documentation: RPOP</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> rpop(String key) {
+        return this.stringListOperations.rightPop(key);
+    }
+
+    /**
+     * 从右阻塞弹出对象
+     *
+     * @param key     键
+     * @param timeout 超时时间
+     * @param unit    单位
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/brpop">Redis Documentation: BRPOP</a>
+     * @since redis 2.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> brpopAsObj(String key, Long timeout, TimeUnit unit) {
+        return this.listOperations.rightPop(key, Duration.ofMillis(unit.toMillis(timeout))).map(value -> (T) value);
+    }
+
+    /**
+     * 从右阻塞弹出字符串
+     *
+     * @param key     键
+     * @param timeout 超时时间
+     * @param unit    单位
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/brpop">Redis Documentation: BRPOP</a>
+     * @since redis 2.0.0
+     */
+    public Mono<String> brpop(String key, Long timeout, TimeUnit unit) {
+        return this.stringListOperations.rightPop(key, Duration.ofMillis(unit.toMillis(timeout)));
+    }
+
+    /**
+     * 从右弹出对象并从左插入到另一个列表
+     *
+     * @param key      键
+     * @param otherKey 目标键
+     * @param <T>      返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/rpoplpush">Redis Documentation: RPOPLPUSH</a>
+     * @since redis 1.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> rpopAndlpushAsObj(String key, String otherKey) {
+        return this.listOperations.rightPopAndLeftPush(key, otherKey).map(value -> (T) value);
+    }
+
+    /**
+     * 从右弹出字符串并从左插入到另一个列表
+     *
+     * @param key      键
+     * @param otherKey 目标键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/rpoplpush">Redis Documentation: RPOPLPUSH</a>
+     * @since redis 1.2.0
+     */
+    public Mono<String> rpopAndlpush(String key, String otherKey) {
+        return this.stringListOperations.rightPopAndLeftPush(key, otherKey);
+    }
+
+    /**
+     * 获取spring reactive redis模板
+     *
+     * @return 返回对象模板
+     */
+    public ReactiveRedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取spring reactive string redis模板
+     *
+     * @return 返回字符串模板
+     */
+    public ReactiveStringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+}
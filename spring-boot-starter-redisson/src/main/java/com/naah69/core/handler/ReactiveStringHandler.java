@@ -0,0 +1,426 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式字符串助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ReactiveStringHandler implements RedisHandler {
+    /**
+     * 对象模板
+     */
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+    /**
+     * 对象模板
+     */
+    private ReactiveValueOperations<String, Object> operations;
+    /**
+     * 字符串模板
+     */
+    private ReactiveValueOperations<String, String> stringOperations;
+
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+
+    /**
+     * 响应式字符串助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    ReactiveStringHandler(Integer dbIndex) {
+        List<ReactiveRedisTemplate> templateList = HandlerManager.createReactiveTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (ReactiveStringRedisTemplate) templateList.get(1);
+        this.operations = this.redisTemplate.opsForValue();
+        this.stringOperations = this.stringRedisTemplate.opsForValue();
+        this.nearCache = NearCache.forDatabase(dbIndex);
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> removeAsObj(String... keys) {
+        return this.invalidate(this.redisTemplate.delete(keys), keys);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param keys 键
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/del">Redis Documentation: DEL</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Long> remove(String... keys) {
+        return this.invalidate(this.stringRedisTemplate.delete(keys), keys);
+    }
+
+    /**
+     * 设置对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> setAsObj(String key, Object value) {
+        return this.invalidate(this.operations.set(key, value), key);
+    }
+
+    /**
+     * 设置字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> set(String key, String value) {
+        return this.invalidate(this.stringOperations.set(key, value), key);
+    }
+
+    /**
+     * 设置对象(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setex">Redis Documentation: SETEX</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> setAsObj(String key, Object value, long timeout, TimeUnit unit) {
+        return this.invalidate(this.operations.set(key, value, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, unit))), key);
+    }
+
+    /**
+     * 设置字符串(若存在则更新过期时间)
+     *
+     * @param key     键
+     * @param value   字符串
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setex">Redis Documentation: SETEX</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Boolean> set(String key, String value, long timeout, TimeUnit unit) {
+        return this.invalidate(this.stringOperations.set(key, value, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, unit))), key);
+    }
+
+    /**
+     * 批量设置对象
+     *
+     * @param map 对象集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/mset">Redis Documentation: MSET</a>
+     * @since redis 1.0.1
+     */
+    public Mono<Boolean> msetAsObj(Map<String, Object> map) {
+        return this.invalidate(this.operations.multiSet(map), map.keySet());
+    }
+
+    /**
+     * 批量设置字符串
+     *
+     * @param map 字符串集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/mset">Redis Documentation: MSET</a>
+     * @since redis 1.0.1
+     */
+    public Mono<Boolean> mset(Map<String, String> map) {
+        return this.invalidate(this.stringOperations.multiSet(map), map.keySet());
+    }
+
+    /**
+     * 追加新字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回追加后的字符串长度
+     * @see <a href="http://redis.io/commands/append">Redis Documentation: APPEND</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> append(String key, String value) {
+        return this.invalidate(this.stringOperations.append(key, value), key);
+    }
+
+    /**
+     * 设置对象如果不存在
+     *
+     * @param key     键
+     * @param value   对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public Mono<Boolean> setIfAbsentAsObj(String key, Object value, long timeout, TimeUnit unit) {
+        return this.invalidate(this.operations.setIfAbsent(key, value, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, unit))), key);
+    }
+
+    /**
+     * 设置字符串如果不存在
+     *
+     * @param key     键
+     * @param value   字符串
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/set">Redis Documentation: SET</a>
+     * @since redis 2.6.12
+     */
+    public Mono<Boolean> setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
+        return this.invalidate(this.stringOperations.setIfAbsent(key, value, Duration.ofMillis(ExpiryPolicy.millis(key, timeout, unit))), key);
+    }
+
+    /**
+     * 设置对象如果不存在
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> setIfAbsentAsObj(String key, Object value) {
+        return this.invalidate(this.operations.setIfAbsent(key, value), key);
+    }
+
+    /**
+     * 设置字符串如果不存在
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/setnx">Redis Documentation: SETNX</a>
+     * @since redis 1.0.0
+     */
+    public Mono<Boolean> setIfAbsent(String key, String value) {
+        return this.invalidate(this.stringOperations.setIfAbsent(key, value), key);
+    }
+
+    /**
+     * 批量设置对象如果不存在
+     *
+     * @param map 对象集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/msetnx">Redis Documentation: MSETNX</a>
+     * @since redis 1.0.1
+     */
+    public Mono<Boolean> msetIfAbsentAsObj(Map<String, Object> map) {
+        return this.invalidate(this.operations.multiSetIfAbsent(map), map.keySet());
+    }
+
+    /**
+     * 批量设置字符串如果不存在
+     *
+     * @param map 字符串集合
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/msetnx">Redis Documentation: MSETNX</a>
+     * @since redis 1.0.1
+     */
+    public Mono<Boolean> msetIfAbsent(Map<String, String> map) {
+        return this.invalidate(this.stringOperations.multiSetIfAbsent(map), map.keySet());
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param key 键
+     * @param <T> 返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getAsObj(String key) {
+        return this.operations.get(key).map(value -> (T) value);
+    }
+
+    /**
+     * 获取对象
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public <T> Mono<T> getAsObj(Class<T> type, String key) {
+        return this.operations.get(key).map(value -> SerializationHelper.toType(value, type));
+    }
+
+    /**
+     * 获取字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> get(String key) {
+        return this.stringOperations.get(key);
+    }
+
+    /**
+     * 获取并设置新对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getAndSetAsObj(String key, Object value) {
+        return this.invalidate(this.operations.getAndSet(key, value).map(old -> (T) old), key);
+    }
+
+    /**
+     * 获取并设置新对象
+     *
+     * @param type  返回值类型
+     * @param key   键
+     * @param value 对象
+     * @param <T>   返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public <T> Mono<T> getAndSetAsObj(Class<T> type, String key, Object value) {
+        return this.invalidate(this.operations.getAndSet(key, value).map(old -> SerializationHelper.toType(old, type)), key);
+    }
+
+    /**
+     * 获取并设置新字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<String> getAndSet(String key, String value) {
+        return this.invalidate(this.stringOperations.getAndSet(key, value), key);
+    }
+
+    /**
+     * 批量获取对象
+     *
+     * @param keys 键
+     * @return 返回对象列表(不存在的键对应null)
+     * @see <a href="http://redis.io/commands/mget">Redis Documentation: MGET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<List<Object>> mgetAsObj(String... keys) {
+        return this.operations.multiGet(Arrays.asList(keys));
+    }
+
+    /**
+     * 批量获取字符串
+     *
+     * @param keys 键
+     * @return 返回字符串列表(不存在的键对应null)
+     * @see <a href="http://redis.io/commands/mget">Redis Documentation: MGET</a>
+     * @since redis 1.0.0
+     */
+    public Mono<List<String>> mget(String... keys) {
+        return this.stringOperations.multiGet(Arrays.asList(keys));
+    }
+
+    /**
+     * 获取字符串的长度
+     *
+     * @param key 键
+     * @return 返回字符串长度
+     * @see <a href="http://redis.io/commands/strlen">Redis Documentation: STRLEN</a>
+     * @since redis 2.2.0
+     */
+    public Mono<Long> length(String key) {
+        return this.stringOperations.size(key);
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, String... keys) {
+        return this.invalidate(mono, Arrays.asList(keys));
+    }
+
+    /**
+     * 写命令完成后失效近端缓存(在弹性线程池中执行, 不占用网络线程; 命令失败或取消时同样失效)
+     *
+     * @param mono 写命令结果
+     * @param keys 写入的键
+     * @param <T>  返回类型
+     * @return 返回失效后发出的结果
+     */
+    private <T> Mono<T> invalidate(Mono<T> mono, Collection<String> keys) {
+        NearCache cache = this.nearCache;
+        if (cache == null) {
+            return mono;
+        }
+        List<String> written = new ArrayList<>(keys);
+        return mono.publishOn(Schedulers.elastic())
+                .doOnTerminate(() -> cache.invalidate(written))
+                .doOnCancel(() -> cache.invalidate(written));
+    }
+
+    /**
+     * 获取spring reactive redis模板
+     *
+     * @return 返回对象模板
+     */
+    public ReactiveRedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取spring reactive string redis模板
+     *
+     * @return 返回字符串模板
+     */
+    public ReactiveStringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+}
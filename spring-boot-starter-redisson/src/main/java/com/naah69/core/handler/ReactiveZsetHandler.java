@@ -0,0 +1,542 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.util.ConvertUtil;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 响应式有序集合助手
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ReactiveZsetHandler implements RedisHandler {
+    /**
+     * 对象模板
+     */
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+    /**
+     * 对象模板
+     */
+    private ReactiveZSetOperations<String, Object> zSetOperations;
+    /**
+     * 字符串模板
+     */
+    private ReactiveZSetOperations<String, String> stringZSetOperations;
+
+    /**
+     * 响应式有序集合助手构造
+     *
+     * @param dbIndex 数据库索引
+     */
+    @SuppressWarnings("unchecked")
+    ReactiveZsetHandler(Integer dbIndex) {
+        List<ReactiveRedisTemplate> templateList = HandlerManager.createReactiveTemplate(dbIndex);
+        this.redisTemplate = templateList.get(0);
+        this.stringRedisTemplate = (ReactiveStringRedisTemplate) templateList.get(1);
+        this.zSetOperations = this.redisTemplate.opsForZSet();
+        this.stringZSetOperations = this.stringRedisTemplate.opsForZSet();
+    }
+
+    /**
+     * 新增对象
+     *
+     * @param key   键
+     * @param value 对象
+     * @param score 排序
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Boolean> addAsObj(String key, Object value, double score) {
+        return this.zSetOperations.add(key, value, score);
+    }
+
+    /**
+     * 新增字符串
+     *
+     * @param key   键
+     * @param value 字符串
+     * @param score 排序
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Boolean> add(String key, String value, double score) {
+        return this.stringZSetOperations.add(key, value, score);
+    }
+
+    /**
+     * 新增对象
+     *
+     * @param key 键
+     * @param map 对象字典
+     * @return 返回成功个数
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> addAsObj(String key, Map<Double, Object> map) {
+        return this.zSetOperations.addAll(key, ConvertUtil.toTypedTupleSet(map));
+    }
+
+    /**
+     * 新增字符串
+     *
+     * @param key 键
+     * @param map 字符串字典
+     * @return 返回成功个数
+     * @see <a href="http://redis.io/commands/zadd">Redis Documentation: ZADD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> add(String key, Map<Double, String> map) {
+        return this.stringZSetOperations.addAll(key, ConvertUtil.toTypedTupleSet(map));
+    }
+
+    /**
+     * 获取对象数量
+     *
+     * @param key 键
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> sizeAsObj(String key) {
+        return this.zSetOperations.size(key);
+    }
+
+    /**
+     * 获取字符串数量
+     *
+     * @param key 键
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/zcard">Redis Documentation: ZCARD</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> size(String key) {
+        return this.stringZSetOperations.size(key);
+    }
+
+    /**
+     * 获取最小-最大之间分数的对象数量
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回对象数量
+     * @see <a href="http://redis.io/commands/zcount">Redis Documentation: ZCOUNT</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> countAsObj(String key, Double min, Double max) {
+        return this.zSetOperations.count(key, closed(min, max));
+    }
+
+    /**
+     * 获取最小-最大之间分数的字符串数量
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回字符串数量
+     * @see <a href="http://redis.io/commands/zcount">Redis Documentation: ZCOUNT</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> count(String key, Double min, Double max) {
+        return this.stringZSetOperations.count(key, closed(min, max));
+    }
+
+    /**
+     * 正序获取范围内的对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<Object> ascRangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.zSetOperations.range(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 正序获取范围内的字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<String> ascRange(String key, Long startIndex, Long endIndex) {
+        return this.stringZSetOperations.range(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 倒序获取范围内的对象
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/zrevrange">Redis Documentation: ZREVRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<Object> reverseRangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.zSetOperations.reverseRange(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 倒序获取范围内的字符串
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/zrevrange">Redis Documentation: ZREVRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<String> reverseRange(String key, Long startIndex, Long endIndex) {
+        return this.stringZSetOperations.reverseRange(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 获取范围内的对象(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/zrangebyscore">Redis Documentation: ZRANGEBYSCORE</a>
+     * @since redis 1.0.5
+     */
+    public Flux<Object> rangeByScoreAsObj(String key, Double min, Double max) {
+        return this.zSetOperations.rangeByScore(key, closed(min, max));
+    }
+
+    /**
+     * 获取范围内的字符串(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/zrangebyscore">Redis Documentation: ZRANGEBYSCORE</a>
+     * @since redis 1.0.5
+     */
+    public Flux<String> rangeByScore(String key, Double min, Double max) {
+        return this.stringZSetOperations.rangeByScore(key, closed(min, max));
+    }
+
+    /**
+     * 获取范围内的对象及分数(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回对象及分数
+     * @see <a href="http://redis.io/commands/zrangebyscore">Redis Documentation: ZRANGEBYSCORE</a>
+     * @since redis 1.0.5
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> rangeByScoreWithScoresAsObj(String key, Double min, Double max) {
+        return this.zSetOperations.rangeByScoreWithScores(key, closed(min, max));
+    }
+
+    /**
+     * 获取范围内的字符串及分数(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回字符串及分数
+     * @see <a href="http://redis.io/commands/zrangebyscore">Redis Documentation: ZRANGEBYSCORE</a>
+     * @since redis 1.0.5
+     */
+    public Flux<ZSetOperations.TypedTuple<String>> rangeByScoreWithScores(String key, Double min, Double max) {
+        return this.stringZSetOperations.rangeByScoreWithScores(key, closed(min, max));
+    }
+
+    /**
+     * 获取全部对象
+     *
+     * @param key 键
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<Object> getAllAsObj(String key) {
+        return this.ascRangeAsObj(key, 0L, -1L);
+    }
+
+    /**
+     * 获取全部字符串
+     *
+     * @param key 键
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/zrange">Redis Documentation: ZRANGE</a>
+     * @since redis 1.2.0
+     */
+    public Flux<String> getAll(String key) {
+        return this.ascRange(key, 0L, -1L);
+    }
+
+    /**
+     * 获取对象排名(正序)
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回对象排名
+     * @see <a href="http://redis.io/commands/zrank">Redis Documentation: ZRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> sortIndexAsObj(String key, Object value) {
+        return this.zSetOperations.rank(key, value);
+    }
+
+    /**
+     * 获取字符串排名(正序)
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回字符串排名
+     * @see <a href="http://redis.io/commands/zrank">Redis Documentation: ZRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> sortIndex(String key, String value) {
+        return this.stringZSetOperations.rank(key, value);
+    }
+
+    /**
+     * 获取对象排名(倒序)
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回对象排名
+     * @see <a href="http://redis.io/commands/zrevrank">Redis Documentation: ZREVRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> reverseSortIndexAsObj(String key, Object value) {
+        return this.zSetOperations.reverseRank(key, value);
+    }
+
+    /**
+     * 获取字符串排名(倒序)
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回字符串排名
+     * @see <a href="http://redis.io/commands/zrevrank">Redis Documentation: ZREVRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> reverseSortIndex(String key, String value) {
+        return this.stringZSetOperations.reverseRank(key, value);
+    }
+
+    /**
+     * 获取对象分数
+     *
+     * @param key   键
+     * @param value 对象
+     * @return 返回对象分数
+     * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Double> scoreAsObj(String key, Object value) {
+        return this.zSetOperations.score(key, value);
+    }
+
+    /**
+     * 获取字符串分数
+     *
+     * @param key   键
+     * @param value 字符串
+     * @return 返回字符串分数
+     * @see <a href="http://redis.io/commands/zscore">Redis Documentation: ZSCORE</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Double> score(String key, String value) {
+        return this.stringZSetOperations.score(key, value);
+    }
+
+    /**
+     * 对象分数自增
+     *
+     * @param key   键
+     * @param value 对象
+     * @param score 自增分数
+     * @return 返回自增后的分数
+     * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Double> incrementScoreAsObj(String key, Object value, Double score) {
+        return this.zSetOperations.incrementScore(key, value, score);
+    }
+
+    /**
+     * 字符串分数自增
+     *
+     * @param key   键
+     * @param value 字符串
+     * @param score 自增分数
+     * @return 返回自增后的分数
+     * @see <a href="http://redis.io/commands/zincrby">Redis Documentation: ZINCRBY</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Double> incrementScore(String key, String value, Double score) {
+        return this.stringZSetOperations.incrementScore(key, value, score);
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param key    键
+     * @param values 对象
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> removeAsObj(String key, Object... values) {
+        return this.zSetOperations.remove(key, values);
+    }
+
+    /**
+     * 移除字符串
+     *
+     * @param key    键
+     * @param values 字符串
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zrem">Redis Documentation: ZREM</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> remove(String key, String... values) {
+        return this.stringZSetOperations.remove(key, (Object[]) values);
+    }
+
+    /**
+     * 移除范围内的对象(按索引)
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyrank">Redis Documentation: ZREMRANGEBYRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> ascRemoveRangeAsObj(String key, Long startIndex, Long endIndex) {
+        return this.zSetOperations.removeRange(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 移除范围内的字符串(按索引)
+     *
+     * @param key        键
+     * @param startIndex 开始索引
+     * @param endIndex   结束索引
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyrank">Redis Documentation: ZREMRANGEBYRANK</a>
+     * @since redis 2.0.0
+     */
+    public Mono<Long> ascRemoveRange(String key, Long startIndex, Long endIndex) {
+        return this.stringZSetOperations.removeRange(key, closed(startIndex, endIndex));
+    }
+
+    /**
+     * 移除范围内的对象(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyscore">Redis Documentation: ZREMRANGEBYSCORE</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> removeRangeByScoreAsObj(String key, Double min, Double max) {
+        return this.zSetOperations.removeRangeByScore(key, closed(min, max));
+    }
+
+    /**
+     * 移除范围内的字符串(按分数)
+     *
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 返回移除数量
+     * @see <a href="http://redis.io/commands/zremrangebyscore">Redis Documentation: ZREMRANGEBYSCORE</a>
+     * @since redis 1.2.0
+     */
+    public Mono<Long> removeRangeByScore(String key, Double min, Double max) {
+        return this.stringZSetOperations.removeRangeByScore(key, closed(min, max));
+    }
+
+    /**
+     * 匹配对象(按需逐批拉取, 支持背压)
+     *
+     * @param key     键
+     * @param count   数量
+     * @param pattern 规则
+     * @return 返回匹配对象及分数
+     * @see <a href="http://redis.io/commands/zscan">Redis Documentation: ZSCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<ZSetOperations.TypedTuple<Object>> scanAsObj(String key, Long count, String pattern) {
+        return this.zSetOperations.scan(key, ScanOptions.scanOptions().count(count).match(pattern).build());
+    }
+
+    /**
+     * 匹配字符串(按需逐批拉取, 支持背压)
+     *
+     * @param key     键
+     * @param count   数量
+     * @param pattern 规则
+     * @return 返回匹配字符串及分数
+     * @see <a href="http://redis.io/commands/zscan">Redis Documentation: ZSCAN</a>
+     * @since redis 2.8.0
+     */
+    public Flux<ZSetOperations.TypedTuple<String>> scan(String key, Long count, String pattern) {
+        return this.stringZSetOperations.scan(key, ScanOptions.scanOptions().count(count).match(pattern).build());
+    }
+
+    /**
+     * 创建闭区间
+     *
+     * @param lower 下限
+     * @param upper 上限
+     * @param <T>   区间类型
+     * @return 返回闭区间
+     */
+    private static <T extends Comparable<T>> Range<T> closed(T lower, T upper) {
+        return Range.from(Range.Bound.inclusive(lower)).to(Range.Bound.inclusive(upper));
+    }
+
+    /**
+     * 获取spring reactive redis模板
+     *
+     * @return 返回对象模板
+     */
+    public ReactiveRedisTemplate<String, Object> getRedisTemplate() {
+        return this.redisTemplate;
+    }
+
+    /**
+     * 获取spring reactive string redis模板
+     *
+     * @return 返回字符串模板
+     */
+    public ReactiveStringRedisTemplate getStringRedisTemplate() {
+        return this.stringRedisTemplate;
+    }
+}
@@ -15,6 +15,10 @@ public final class RedisLockHandler implements RedisHandler {
      * redisson客户端
      */
     private RedissonClient redissonClient;
+    /**
+     * 键前缀(命名空间)
+     */
+    private String keyPrefix;
 
     /**
      * 分布式锁助手构造
@@ -22,7 +26,8 @@ public final class RedisLockHandler implements RedisHandler {
      * @param dbIndex 数据库索引
      */
     RedisLockHandler(Integer dbIndex) {
-        this.redissonClient = RedissonClientHelper.createClient(dbIndex);
+        this.redissonClient = RedissonClientHelper.getSharedClient(dbIndex);
+        this.keyPrefix = HandlerManager.getKeyPrefix(dbIndex);
     }
 
     /**
@@ -32,7 +37,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回可重入锁
      */
     public RLock getLock(String name) {
-        return this.redissonClient.getLock(name);
+        return this.redissonClient.getLock(this.keyPrefix + name);
     }
 
     /**
@@ -42,7 +47,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回公平锁
      */
     public RLock getFairLock(String name) {
-        return this.redissonClient.getFairLock(name);
+        return this.redissonClient.getFairLock(this.keyPrefix + name);
     }
 
     /**
@@ -52,7 +57,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回读写锁
      */
     public RReadWriteLock getReadWriteLock(String name) {
-        return this.redissonClient.getReadWriteLock(name);
+        return this.redissonClient.getReadWriteLock(this.keyPrefix + name);
     }
 
     /**
@@ -62,7 +67,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回闭锁
      */
     public RCountDownLatch getCountDownLatch(String name) {
-        return this.redissonClient.getCountDownLatch(name);
+        return this.redissonClient.getCountDownLatch(this.keyPrefix + name);
     }
 
     /**
@@ -92,7 +97,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回信号量
      */
     public RSemaphore getSemaphore(String name) {
-        return this.redissonClient.getSemaphore(name);
+        return this.redissonClient.getSemaphore(this.keyPrefix + name);
     }
 
     /**
@@ -102,7 +107,7 @@ public final class RedisLockHandler implements RedisHandler {
      * @return 返回可过期信号量
      */
     public RPermitExpirableSemaphore getExpirableSemaphore(String name) {
-        return this.redissonClient.getPermitExpirableSemaphore(name);
+        return this.redissonClient.getPermitExpirableSemaphore(this.keyPrefix + name);
     }
 
     /**
@@ -0,0 +1,357 @@
+package com.naah69.core.handler;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.ScriptSource;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.scripting.support.StaticScriptSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 脚本缓存
+ * 按脚本内容或路径与返回类型缓存编译后的脚本(内容、字节与SHA1只计算一次, 路径脚本只读取一次);
+ * 容量仅限制内容脚本(调用方传入的脚本内容可能无限增长), 超出容量时新的内容脚本不再缓存, 每次调用重新编译;
+ * 路径脚本与按名称注册的脚本(预加载的脚本文件)数量受类路径资源限制, 不受容量限制
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ScriptCache {
+    /**
+     * 无返回类型占位(加载脚本时使用)
+     */
+    private static final Class<?> NO_RESULT = Void.class;
+    /**
+     * 按内容缓存的脚本(内容 -> 返回类型 -> 脚本)
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<Class<?>, CompiledScript<?>>> TEXT_SCRIPTS = new ConcurrentHashMap<>(64);
+    /**
+     * 按路径缓存的脚本(路径 -> 返回类型 -> 脚本)
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<Class<?>, CompiledScript<?>>> LOCATION_SCRIPTS = new ConcurrentHashMap<>(64);
+    /**
+     * 按名称注册的脚本内容(名称 -> 内容)
+     */
+    private static final ConcurrentMap<String, String> NAMED_TEXTS = new ConcurrentHashMap<>(16);
+    /**
+     * 按名称缓存的脚本(名称 -> 返回类型 -> 脚本)
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<Class<?>, CompiledScript<?>>> NAMED_SCRIPTS = new ConcurrentHashMap<>(16);
+    /**
+     * 已缓存的脚本数量
+     */
+    private static final AtomicInteger SIZE = new AtomicInteger();
+    /**
+     * 已缓存的内容脚本数量(受容量限制)
+     */
+    private static final AtomicInteger TEXT_SIZE = new AtomicInteger();
+    /**
+     * 编译次数(缓存未命中)
+     */
+    private static final LongAdder COMPILES = new LongAdder();
+    /**
+     * EVALSHA命中次数
+     */
+    private static final LongAdder HITS = new LongAdder();
+    /**
+     * 服务端缺少脚本(NOSCRIPT)后重新加载的次数
+     */
+    private static final LongAdder RELOADS = new LongAdder();
+    /**
+     * 预加载次数(启动与拓扑变化时的SCRIPT LOAD)
+     */
+    private static final LongAdder PRELOADS = new LongAdder();
+
+    private ScriptCache() {
+    }
+
+    /**
+     * 获取内容脚本
+     *
+     * @param scriptText 脚本内容
+     * @param resultType 返回类型
+     * @param maxSize    最大缓存数量
+     * @param <T>        返回类型
+     * @return 返回脚本
+     */
+    static <T> CompiledScript<T> ofText(String scriptText, Class<T> resultType, int maxSize) {
+        return get(TEXT_SCRIPTS, scriptText, resultType, TEXT_SIZE, maxSize, () -> new StaticScriptSource(scriptText));
+    }
+
+    /**
+     * 获取路径脚本(类路径)
+     *
+     * @param scriptLocation 脚本路径
+     * @param resultType     返回类型
+     * @param <T>            返回类型
+     * @return 返回脚本
+     */
+    static <T> CompiledScript<T> ofLocation(String scriptLocation, Class<T> resultType) {
+        return get(LOCATION_SCRIPTS, scriptLocation, resultType, null, Integer.MAX_VALUE, () -> new ResourceScriptSource(new ClassPathResource(scriptLocation)));
+    }
+
+    /**
+     * 获取命名脚本
+     *
+     * @param name       脚本名称
+     * @param resultType 返回类型
+     * @param <T>        返回类型
+     * @return 返回脚本
+     */
+    static <T> CompiledScript<T> ofName(String name, Class<T> resultType) {
+        String scriptText = NAMED_TEXTS.get(name);
+        if (scriptText == null) {
+            throw new IllegalArgumentException("unknown lua script: " + name + ", available: " + new TreeSet<>(NAMED_TEXTS.keySet()));
+        }
+        return get(NAMED_SCRIPTS, name, resultType, null, Integer.MAX_VALUE, () -> new StaticScriptSource(scriptText));
+    }
+
+    /**
+     * 注册命名脚本(内容变化时替换已编译的脚本)
+     *
+     * @param name       脚本名称
+     * @param scriptText 脚本内容
+     * @return 返回原脚本内容, 没有时返回null
+     */
+    static String register(String name, String scriptText) {
+        String previous = NAMED_TEXTS.put(name, scriptText);
+        if (previous != null && !previous.equals(scriptText)) {
+            Map<Class<?>, CompiledScript<?>> removed = NAMED_SCRIPTS.remove(name);
+            if (removed != null) {
+                SIZE.addAndGet(-removed.size());
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * 获取命名脚本内容
+     *
+     * @return 返回脚本名称与内容
+     */
+    static Map<String, String> getNamedScripts() {
+        return Collections.unmodifiableMap(NAMED_TEXTS);
+    }
+
+    /**
+     * 记录预加载
+     */
+    static void recordPreload() {
+        PRELOADS.increment();
+    }
+
+    /**
+     * 记录EVALSHA命中
+     */
+    static void recordHit() {
+        HITS.increment();
+    }
+
+    /**
+     * 记录脚本重新加载
+     */
+    static void recordReload() {
+        RELOADS.increment();
+    }
+
+    /**
+     * 获取已缓存的脚本数量
+     *
+     * @return 返回脚本数量
+     */
+    public static int getSize() {
+        return SIZE.get();
+    }
+
+    /**
+     * 获取编译次数
+     *
+     * @return 返回编译次数
+     */
+    public static long getCompiles() {
+        return COMPILES.sum();
+    }
+
+    /**
+     * 获取EVALSHA命中次数
+     *
+     * @return 返回命中次数
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * 获取脚本重新加载次数
+     *
+     * @return 返回重新加载次数
+     */
+    public static long getReloads() {
+        return RELOADS.sum();
+    }
+
+    /**
+     * 获取预加载次数
+     *
+     * @return 返回预加载次数
+     */
+    public static long getPreloads() {
+        return PRELOADS.sum();
+    }
+
+    /**
+     * 获取脚本(未缓存时编译, 未超出容量时放入缓存)
+     *
+     * @param container  缓存容器
+     * @param source     脚本内容或路径
+     * @param resultType 返回类型
+     * @param counter    受容量限制的计数(不限制时为null)
+     * @param maxSize    最大缓存数量
+     * @param loader     脚本来源加载器
+     * @param <T>        返回类型
+     * @return 返回脚本
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompiledScript<T> get(
+            ConcurrentMap<String, ConcurrentMap<Class<?>, CompiledScript<?>>> container,
+            String source,
+            Class<T> resultType,
+            AtomicInteger counter,
+            int maxSize,
+            Supplier<ScriptSource> loader
+    ) {
+        Class<?> type = resultType == null ? NO_RESULT : resultType;
+        ConcurrentMap<Class<?>, CompiledScript<?>> scripts = container.get(source);
+        CompiledScript<?> script = scripts == null ? null : scripts.get(type);
+        if (script != null) {
+            return (CompiledScript<T>) script;
+        }
+        CompiledScript<T> compiled = compile(loader.get(), resultType);
+        if (counter != null && counter.get() >= maxSize) {
+            return compiled;
+        }
+        script = container.computeIfAbsent(source, key -> new ConcurrentHashMap<>(4)).putIfAbsent(type, compiled);
+        if (script != null) {
+            return (CompiledScript<T>) script;
+        }
+        SIZE.incrementAndGet();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return compiled;
+    }
+
+    /**
+     * 编译脚本
+     *
+     * @param source     脚本来源
+     * @param resultType 返回类型
+     * @param <T>        返回类型
+     * @return 返回脚本
+     */
+    private static <T> CompiledScript<T> compile(ScriptSource source, Class<T> resultType) {
+        COMPILES.increment();
+        String scriptText;
+        try {
+            scriptText = source.getScriptAsString();
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to read lua script " + source, e);
+        }
+        return new CompiledScript<>(scriptText, resultType);
+    }
+
+    /**
+     * 编译后的脚本(不可变)
+     *
+     * @param <T> 返回类型
+     */
+    static final class CompiledScript<T> implements RedisScript<T> {
+        /**
+         * 脚本内容
+         */
+        private final String scriptText;
+        /**
+         * 脚本字节
+         */
+        private final byte[] scriptBytes;
+        /**
+         * SHA1校验码
+         */
+        private final String sha1;
+        /**
+         * 返回类型
+         */
+        private final Class<T> resultType;
+
+        /**
+         * 编译后的脚本构造
+         *
+         * @param scriptText 脚本内容
+         * @param resultType 返回类型
+         */
+        CompiledScript(String scriptText, Class<T> resultType) {
+            this.scriptText = scriptText;
+            this.scriptBytes = scriptText.getBytes(StandardCharsets.UTF_8);
+            this.sha1 = sha1(this.scriptBytes);
+            this.resultType = resultType;
+        }
+
+        @Override
+        public String getSha1() {
+            return this.sha1;
+        }
+
+        @Override
+        public Class<T> getResultType() {
+            return this.resultType;
+        }
+
+        @Override
+        public String getScriptAsString() {
+            return this.scriptText;
+        }
+
+        /**
+         * 获取脚本字节
+         *
+         * @return 返回脚本字节
+         */
+        byte[] getScriptBytes() {
+            return this.scriptBytes;
+        }
+
+        /**
+         * 计算SHA1校验码
+         *
+         * @param bytes 脚本字节
+         * @return 返回十六进制SHA1校验码
+         */
+        private static String sha1(byte[] bytes) {
+            byte[] digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 is not supported", e);
+            }
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = Character.forDigit((digest[i] >> 4) & 0xF, 16);
+                hex[i * 2 + 1] = Character.forDigit(digest[i] & 0xF, 16);
+            }
+            return new String(hex);
+        }
+    }
+}
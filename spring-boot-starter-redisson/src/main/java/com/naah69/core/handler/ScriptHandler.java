@@ -1,17 +1,35 @@
 package com.naah69.core.handler;
 
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.config.redisson.RedissonClientHelper;
+import com.naah69.core.util.ApplicationContextUtil;
 import com.naah69.core.util.ConvertUtil;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.connection.ConnectionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * lua脚本助手
@@ -20,7 +38,10 @@ import java.util.List;
  * @since 1.8
  */
 public final class ScriptHandler implements RedisHandler {
-
+    /**
+     * 日志
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptHandler.class);
     /**
      * 对象模板
      */
@@ -30,13 +51,29 @@ public final class ScriptHandler implements RedisHandler {
      */
     private StringRedisTemplate stringRedisTemplate;
     /**
-     * 对象脚本命令
+     * 脚本缓存容量
+     */
+    private int cacheSize;
+    /**
+     * 数据库索引
+     */
+    private Integer dbIndex;
+    /**
+     * redisson客户端(首次加载脚本文件时获取)
+     */
+    private volatile RedissonClient redissonClient;
+    /**
+     * 是否已监听节点连接(拓扑变化时重新加载脚本)
      */
-    private RedisScriptingCommands commands;
+    private final AtomicBoolean listening = new AtomicBoolean();
     /**
-     * 字符串脚本命令
+     * 配置的脚本路径规则
      */
-    private RedisScriptingCommands stringCommands;
+    private final List<String> locations;
+    /**
+     * 是否已注册配置路径下的脚本
+     */
+    private final AtomicBoolean registered = new AtomicBoolean();
 
     /**
      * 键助手构造
@@ -48,8 +85,12 @@ public final class ScriptHandler implements RedisHandler {
         List<RedisTemplate> templateList = HandlerManager.createTemplate(dbIndex);
         this.redisTemplate = templateList.get(0);
         this.stringRedisTemplate = (StringRedisTemplate) templateList.get(1);
-        this.commands = this.redisTemplate.getRequiredConnectionFactory().getConnection().scriptingCommands();
-        this.stringCommands = this.stringRedisTemplate.getRequiredConnectionFactory().getConnection().scriptingCommands();
+        this.redisTemplate.setScriptExecutor(new CachingScriptExecutor<>(this.redisTemplate));
+        this.stringRedisTemplate.setScriptExecutor(new CachingScriptExecutor<>(this.stringRedisTemplate));
+        RedisHandlerProperties.Script properties = ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class).getScript();
+        this.cacheSize = properties.getCacheSize();
+        this.locations = properties.getLocations();
+        this.dbIndex = dbIndex;
     }
 
     /**
@@ -159,7 +200,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public <T> T excuteWithSHAAsObj(String scriptSHA, Class<T> resultType, List<String> keys, Object... args) {
-        return this.commands.evalSha(
+        return this.execute(connection -> connection.scriptingCommands().evalSha(
                 scriptSHA,
                 ReturnType.fromJavaType(resultType),
                 keys.size(),
@@ -169,7 +210,7 @@ public final class ScriptHandler implements RedisHandler {
                         keys,
                         args
                 )
-        );
+        ));
     }
 
     /**
@@ -185,7 +226,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public <T> T excuteWithSHA(String scriptSHA, Class<T> resultType, List<String> keys, Object... args) {
-        return this.stringCommands.evalSha(
+        return this.executeString(connection -> connection.scriptingCommands().evalSha(
                 scriptSHA,
                 ReturnType.fromJavaType(resultType),
                 keys.size(),
@@ -195,7 +236,7 @@ public final class ScriptHandler implements RedisHandler {
                         keys,
                         args
                 )
-        );
+        ));
     }
 
     /**
@@ -207,7 +248,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public String loadAsObj(String scriptText) {
-        return this.commands.scriptLoad(RedisSerializer.string().serialize(scriptText));
+        return this.execute(connection -> connection.scriptingCommands().scriptLoad(RedisSerializer.string().serialize(scriptText)));
     }
 
     /**
@@ -219,7 +260,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public String load(String scriptText) {
-        return this.stringCommands.scriptLoad(RedisSerializer.string().serialize(scriptText));
+        return this.executeString(connection -> connection.scriptingCommands().scriptLoad(RedisSerializer.string().serialize(scriptText)));
     }
 
     /**
@@ -231,11 +272,9 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public String loadByLocationAsObj(String scriptLocation) {
-        return this.commands.scriptLoad(
-                this.buildScriptWithLocation(scriptLocation, null)
-                        .getScriptAsString()
-                        .getBytes(StandardCharsets.UTF_8)
-        );
+        return this.execute(connection -> connection.scriptingCommands().scriptLoad(
+                this.buildScriptWithLocation(scriptLocation, null).getScriptBytes()
+        ));
     }
 
     /**
@@ -247,11 +286,9 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public String loadByLocation(String scriptLocation) {
-        return this.stringCommands.scriptLoad(
-                this.buildScriptWithLocation(scriptLocation, null)
-                        .getScriptAsString()
-                        .getBytes(StandardCharsets.UTF_8)
-        );
+        return this.executeString(connection -> connection.scriptingCommands().scriptLoad(
+                this.buildScriptWithLocation(scriptLocation, null).getScriptBytes()
+        ));
     }
 
     /**
@@ -263,7 +300,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public List<Boolean> existsAsObj(String... scriptSHAs) {
-        return this.commands.scriptExists(scriptSHAs);
+        return this.execute(connection -> connection.scriptingCommands().scriptExists(scriptSHAs));
     }
 
     /**
@@ -275,7 +312,7 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public List<Boolean> exists(String... scriptSHAs) {
-        return this.stringCommands.scriptExists(scriptSHAs);
+        return this.executeString(connection -> connection.scriptingCommands().scriptExists(scriptSHAs));
     }
 
     /**
@@ -285,7 +322,10 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void clearAsObj() {
-        this.commands.scriptFlush();
+        this.execute(connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
     }
 
     /**
@@ -295,7 +335,10 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void clear() {
-        this.stringCommands.scriptFlush();
+        this.executeString(connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
     }
 
     /**
@@ -305,7 +348,10 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void stopAsObj() {
-        this.commands.scriptKill();
+        this.execute(connection -> {
+            connection.scriptingCommands().scriptKill();
+            return null;
+        });
     }
 
     /**
@@ -315,7 +361,118 @@ public final class ScriptHandler implements RedisHandler {
      * @since redis 2.6.0
      */
     public void stop() {
-        this.stringCommands.scriptKill();
+        this.executeString(connection -> {
+            connection.scriptingCommands().scriptKill();
+            return null;
+        });
+    }
+
+    /**
+     * 获取命名脚本调用器(配置路径下的脚本在首次调用时注册, 其他路径的脚本需先通过registerScripts或loadScripts注册)
+     *
+     * @param name       脚本名称(文件名去除扩展名)
+     * @param resultType 返回类型
+     * @param <T>        返回类型
+     * @return 返回脚本调用器
+     */
+    public <T> ScriptInvoker<T> getScript(String name, Class<T> resultType) {
+        this.registerConfiguredScripts();
+        return new ScriptInvoker<>(name, ScriptCache.ofName(name, resultType), this.redisTemplate, this.stringRedisTemplate);
+    }
+
+    /**
+     * 注册配置路径下的脚本文件(只注册一次, 失败只记录日志)
+     */
+    public void registerConfiguredScripts() {
+        if (!this.registered.compareAndSet(false, true)) {
+            return;
+        }
+        for (String location : this.locations) {
+            try {
+                this.registerScripts(location);
+            } catch (RuntimeException e) {
+                LOGGER.warn("failed to register lua scripts from {}", location, e);
+            }
+        }
+    }
+
+    /**
+     * 按文件名注册脚本文件为命名脚本(不加载到服务端, 首次执行时自动加载)
+     *
+     * @param locationPattern 脚本路径规则(如classpath*:redis-scripts/*.lua)
+     * @return 返回脚本名称
+     */
+    public Set<String> registerScripts(String locationPattern) {
+        return this.readScripts(locationPattern).keySet();
+    }
+
+    /**
+     * 加载脚本文件到所有主节点, 并按文件名注册为命名脚本
+     * 节点重新连接(如故障转移)时自动重新加载已注册的脚本
+     *
+     * @param locationPattern 脚本路径规则(如classpath*:redis-scripts/*.lua)
+     * @return 返回脚本名称与SHA1校验码
+     * @see <a href="http://redis.io/commands/script-load">Redis Documentation: SCRIPT LOAD</a>
+     * @since redis 2.6.0
+     */
+    public Map<String, String> loadScripts(String locationPattern) {
+        Map<String, String> scripts = this.readScripts(locationPattern);
+        RScript script = this.getRedissonClient().getScript(StringCodec.INSTANCE);
+        Map<String, String> loaded = new LinkedHashMap<>(scripts.size());
+        for (Map.Entry<String, String> entry : scripts.entrySet()) {
+            loaded.put(entry.getKey(), script.scriptLoad(entry.getValue()));
+            ScriptCache.recordPreload();
+        }
+        this.listenTopology();
+        return loaded;
+    }
+
+    /**
+     * 读取脚本文件并按文件名注册为命名脚本
+     *
+     * @param locationPattern 脚本路径规则
+     * @return 返回脚本名称与内容
+     */
+    private Map<String, String> readScripts(String locationPattern) {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources(locationPattern);
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to resolve lua scripts " + locationPattern, e);
+        }
+        Map<String, String> scripts = new LinkedHashMap<>(resources.length);
+        for (Resource resource : resources) {
+            String name = StringUtils.stripFilenameExtension(resource.getFilename());
+            String scriptText;
+            try (InputStream in = resource.getInputStream()) {
+                scriptText = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("failed to read lua script " + resource, e);
+            }
+            String previous = ScriptCache.register(name, scriptText);
+            if (previous != null && !previous.equals(scriptText)) {
+                LOGGER.warn("lua script {} replaced by {}", name, resource);
+            }
+            scripts.put(name, scriptText);
+        }
+        return scripts;
+    }
+
+    /**
+     * 重新加载已注册的命名脚本到所有主节点
+     *
+     * @return 返回重新加载的脚本数量
+     * @see <a href="http://redis.io/commands/script-load">Redis Documentation: SCRIPT LOAD</a>
+     * @since redis 2.6.0
+     */
+    public int reloadScripts() {
+        RScript script = this.getRedissonClient().getScript(StringCodec.INSTANCE);
+        Map<String, String> scripts = ScriptCache.getNamedScripts();
+        for (String scriptText : scripts.values()) {
+            script.scriptLoad(scriptText);
+            ScriptCache.recordPreload();
+        }
+        return scripts.size();
     }
 
     /**
@@ -337,30 +494,96 @@ public final class ScriptHandler implements RedisHandler {
     }
 
     /**
-     * 通过路径创建脚本
+     * 获取redisson客户端(首次调用时获取共享客户端)
+     *
+     * @return 返回redisson客户端
+     */
+    private RedissonClient getRedissonClient() {
+        RedissonClient client = this.redissonClient;
+        if (client == null) {
+            synchronized (this) {
+                client = this.redissonClient;
+                if (client == null) {
+                    client = RedissonClientHelper.getSharedClient(this.dbIndex);
+                    this.redissonClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 监听节点连接, 节点(重新)连接后异步重新加载命名脚本
+     */
+    private void listenTopology() {
+        if (!this.listening.compareAndSet(false, true)) {
+            return;
+        }
+        RedissonClient client = this.getRedissonClient();
+        client.getNodesGroup().addConnectionListener(new ConnectionListener() {
+            @Override
+            public void onConnect(InetSocketAddress address) {
+                RScript script = client.getScript(StringCodec.INSTANCE);
+                for (Map.Entry<String, String> entry : ScriptCache.getNamedScripts().entrySet()) {
+                    script.scriptLoadAsync(entry.getValue()).onComplete((sha1, e) -> {
+                        if (e != null) {
+                            LOGGER.warn("failed to reload lua script {} after {} connected", entry.getKey(), address, e);
+                        } else {
+                            ScriptCache.recordPreload();
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onDisconnect(InetSocketAddress address) {
+            }
+        });
+    }
+
+    /**
+     * 在对象连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T execute(RedisCallback<T> callback) {
+        return ConnectionExecutor.withConnection(this.redisTemplate.getRequiredConnectionFactory(), callback);
+    }
+
+    /**
+     * 在字符串连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T executeString(RedisCallback<T> callback) {
+        return ConnectionExecutor.withConnection(this.stringRedisTemplate.getRequiredConnectionFactory(), callback);
+    }
+
+    /**
+     * 通过路径创建脚本(已编译的脚本从缓存获取)
      *
      * @param scriptLocation 脚本路径
      * @param resultType     返回类型
      * @param <T>            类型
      * @return 返回脚本
      */
-    private <T> RedisScript<T> buildScriptWithLocation(String scriptLocation, Class<T> resultType) {
-        DefaultRedisScript<T> redisScript = new DefaultRedisScript<>();
-        redisScript.setLocation(new ClassPathResource(scriptLocation));
-        redisScript.setResultType(resultType);
-        return redisScript;
+    private <T> ScriptCache.CompiledScript<T> buildScriptWithLocation(String scriptLocation, Class<T> resultType) {
+        return ScriptCache.ofLocation(scriptLocation, resultType);
     }
 
     /**
-     * 通过字符串创建脚本
+     * 通过字符串创建脚本(已编译的脚本从缓存获取)
      *
      * @param scriptText 脚本字符串
      * @param resultType 返回类型
      * @param <T>        类型
      * @return 返回脚本
      */
-    @SuppressWarnings("unchecked")
     private <T> RedisScript<T> buildScriptWithText(String scriptText, Class<T> resultType) {
-        return RedisScript.of(scriptText, resultType);
+        return ScriptCache.ofText(scriptText, resultType, this.cacheSize);
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.naah69.core.handler;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * 命名脚本调用器
+ * 脚本已编译并缓存, 执行时优先EVALSHA; 调用器不可变, 可长期持有
+ *
+ * @param <T> 返回类型
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class ScriptInvoker<T> {
+    /**
+     * 脚本名称
+     */
+    private final String name;
+    /**
+     * 脚本
+     */
+    private final RedisScript<T> script;
+    /**
+     * 对象模板
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 字符串模板
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 命名脚本调用器构造
+     *
+     * @param name                脚本名称
+     * @param script              脚本
+     * @param redisTemplate       对象模板
+     * @param stringRedisTemplate 字符串模板
+     */
+    ScriptInvoker(String name, RedisScript<T> script, RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate) {
+        this.name = name;
+        this.script = script;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 执行对象脚本
+     *
+     * @param keys 键列表
+     * @param args 参数列表
+     * @return 返回脚本类型对象
+     * @see <a href="http://redis.io/commands/evalsha">Redis Documentation: EVALSHA</a>
+     * @since redis 2.6.0
+     */
+    public T excuteAsObj(List<String> keys, Object... args) {
+        return this.redisTemplate.execute(this.script, keys, args);
+    }
+
+    /**
+     * 执行字符串脚本
+     *
+     * @param keys 键列表
+     * @param args 参数列表
+     * @return 返回脚本类型对象
+     * @see <a href="http://redis.io/commands/evalsha">Redis Documentation: EVALSHA</a>
+     * @since redis 2.6.0
+     */
+    public T excute(List<String> keys, Object... args) {
+        return this.stringRedisTemplate.execute(this.script, keys, args);
+    }
+
+    /**
+     * 获取脚本名称
+     *
+     * @return 返回脚本名称
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * 获取SHA1校验码
+     *
+     * @return 返回SHA1校验码
+     */
+    public String getSha1() {
+        return this.script.getSha1();
+    }
+}
@@ -2,11 +2,13 @@ package com.naah69.core.handler;
 
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
 import org.springframework.data.redis.connection.RedisServer;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import java.util.Collection;
 import java.util.Properties;
+import java.util.function.Function;
 
 /**
  * 哨兵助手
@@ -38,7 +40,10 @@ public final class SentinelHandler implements RedisHandler {
      * 是否连接
      */
     public void isOpen() {
-        this.connectionFactory.getSentinelConnection().isOpen();
+        this.execute(connection -> {
+            connection.isOpen();
+            return null;
+        });
     }
 
     /**
@@ -49,12 +54,15 @@ public final class SentinelHandler implements RedisHandler {
      * @since redis 2.8
      */
     public void failover(String masterName) {
-        this.connectionFactory.getSentinelConnection().failover(
-                RedisNode.newRedisNode()
-                        .withName(masterName)
-                        .promotedAs(RedisNode.NodeType.MASTER)
-                        .build()
-        );
+        this.execute(connection -> {
+            connection.failover(
+                    RedisNode.newRedisNode()
+                            .withName(masterName)
+                            .promotedAs(RedisNode.NodeType.MASTER)
+                            .build()
+            );
+            return null;
+        });
     }
 
     /**
@@ -65,7 +73,7 @@ public final class SentinelHandler implements RedisHandler {
      * @since redis 2.8
      */
     public Collection<RedisServer> masters() {
-        return this.connectionFactory.getSentinelConnection().masters();
+        return this.execute(connection -> connection.masters());
     }
 
     /**
@@ -77,12 +85,12 @@ public final class SentinelHandler implements RedisHandler {
      * @since redis 2.8
      */
     public Collection<RedisServer> slaves(String masterName) {
-        return this.connectionFactory.getSentinelConnection().slaves(
+        return this.execute(connection -> connection.slaves(
                 RedisNode.newRedisNode()
                         .withName(masterName)
                         .promotedAs(RedisNode.NodeType.MASTER)
                         .build()
-        );
+        ));
     }
 
     /**
@@ -93,7 +101,10 @@ public final class SentinelHandler implements RedisHandler {
      * @since redis 2.8
      */
     public void monitor(RedisServer master) {
-        this.connectionFactory.getSentinelConnection().monitor(master);
+        this.execute(connection -> {
+            connection.monitor(master);
+            return null;
+        });
     }
 
     /**
@@ -123,12 +134,15 @@ public final class SentinelHandler implements RedisHandler {
      * @since redis 2.8
      */
     public void remove(String masterName) {
-        this.connectionFactory.getSentinelConnection().remove(
-                RedisNode.newRedisNode()
-                        .withName(masterName)
-                        .promotedAs(RedisNode.NodeType.MASTER)
-                        .build()
-        );
+        this.execute(connection -> {
+            connection.remove(
+                    RedisNode.newRedisNode()
+                            .withName(masterName)
+                            .promotedAs(RedisNode.NodeType.MASTER)
+                            .build()
+            );
+            return null;
+        });
     }
 
     /**
@@ -139,4 +153,15 @@ public final class SentinelHandler implements RedisHandler {
     public RedisTemplate getRedisTemplate() {
         return this.redisTemplate;
     }
+
+    /**
+     * 在连接中执行(执行完成后释放连接)
+     *
+     * @param callback 回调
+     * @param <T>      返回类型
+     * @return 返回回调结果
+     */
+    private <T> T execute(Function<RedisSentinelConnection, T> callback) {
+        return ConnectionExecutor.withSentinelConnection(this.connectionFactory, callback);
+    }
 }
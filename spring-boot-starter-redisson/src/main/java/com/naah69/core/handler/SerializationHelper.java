@@ -0,0 +1,325 @@
+package com.naah69.core.handler;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import com.naah69.core.codec.CodecRedisSerializer;
+import com.naah69.core.util.ConvertUtil;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 序列化帮助类
+ * 按模板的序列化器转换原始命令参数与回复, 供管道批量命令与异步助手使用
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class SerializationHelper {
+
+    private SerializationHelper() {
+    }
+
+    /**
+     * 序列化键
+     *
+     * @param template 模板
+     * @param key      键
+     * @return 返回字节数组
+     */
+    static byte[] rawKey(RedisTemplate<String, ?> template, String key) {
+        return ConvertUtil.toBytes(template.getKeySerializer(), key);
+    }
+
+    /**
+     * 序列化键
+     *
+     * @param template 模板
+     * @param keys     键
+     * @return 返回字节数组
+     */
+    static byte[][] rawKeys(RedisTemplate<String, ?> template, String... keys) {
+        return ConvertUtil.toByteArray(template.getKeySerializer(), keys);
+    }
+
+    /**
+     * 序列化值
+     *
+     * @param template 模板
+     * @param value    值
+     * @return 返回字节数组
+     */
+    static byte[] rawValue(RedisTemplate<String, ?> template, Object value) {
+        return ConvertUtil.toBytes(template.getValueSerializer(), value);
+    }
+
+    /**
+     * 序列化值
+     *
+     * @param template 模板
+     * @param values   值
+     * @return 返回字节数组
+     */
+    static byte[][] rawValues(RedisTemplate<String, ?> template, Object... values) {
+        byte[][] raw = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            raw[i] = rawValue(template, values[i]);
+        }
+        return raw;
+    }
+
+    /**
+     * 序列化hash键
+     *
+     * @param template 模板
+     * @param hashKey  hash键
+     * @return 返回字节数组
+     */
+    static byte[] rawHashKey(RedisTemplate<String, ?> template, String hashKey) {
+        return ConvertUtil.toBytes(template.getHashKeySerializer(), hashKey);
+    }
+
+    /**
+     * 序列化hash键
+     *
+     * @param template 模板
+     * @param hashKeys hash键
+     * @return 返回字节数组
+     */
+    static byte[][] rawHashKeys(RedisTemplate<String, ?> template, String... hashKeys) {
+        return ConvertUtil.toByteArray(template.getHashKeySerializer(), hashKeys);
+    }
+
+    /**
+     * 序列化hash值
+     *
+     * @param template 模板
+     * @param value    hash值
+     * @return 返回字节数组
+     */
+    static byte[] rawHashValue(RedisTemplate<String, ?> template, Object value) {
+        return ConvertUtil.toBytes(template.getHashValueSerializer(), value);
+    }
+
+    /**
+     * 值解码器
+     *
+     * @param serializer 序列化器
+     * @param <T>        结果类型
+     * @return 返回解码器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, T> valueDecoder(RedisSerializer serializer) {
+        return raw -> raw == null ? null : (T) serializer.deserialize((byte[]) raw);
+    }
+
+    /**
+     * 对象解码器(转换为指定类型)
+     *
+     * @param serializer 序列化器
+     * @param type       类型
+     * @param <T>        结果类型
+     * @return 返回解码器
+     */
+    static <T> Function<Object, T> typedDecoder(RedisSerializer serializer, Class<T> type) {
+        return raw -> deserialize(serializer, (byte[]) raw, type);
+    }
+
+    /**
+     * 反序列化为指定类型(值编码序列化器直接解码为目标类型, 不经过中间对象)
+     *
+     * @param serializer 序列化器
+     * @param raw        字节数组
+     * @param type       类型
+     * @param <T>        返回类型
+     * @return 返回指定类型的值
+     */
+    static <T> T deserialize(RedisSerializer serializer, byte[] raw, Class<T> type) {
+        if (raw == null) {
+            return null;
+        }
+        if (serializer instanceof CodecRedisSerializer) {
+            return ((CodecRedisSerializer) serializer).deserialize(raw, type);
+        }
+        return toType(serializer.deserialize(raw), type);
+    }
+
+    /**
+     * 转换为指定类型(按序列化器的值编码转换)
+     *
+     * @param serializer 序列化器
+     * @param value      值
+     * @param type       类型
+     * @param <T>        返回类型
+     * @return 返回指定类型的值
+     */
+    static <T> T toType(RedisSerializer serializer, Object value, Class<T> type) {
+        if (serializer instanceof CodecRedisSerializer) {
+            return ((CodecRedisSerializer) serializer).getCodec().convert(value, type);
+        }
+        return toType(value, type);
+    }
+
+    /**
+     * 转换为指定类型(JSON对象按类型转换, 其他字典按属性转换, 其余直接强转)
+     *
+     * @param value 值
+     * @param type  类型
+     * @param <T>   返回类型
+     * @return 返回指定类型的值
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T toType(Object value, Class<T> type) {
+        if (value == null || type.isInstance(value)) {
+            return (T) value;
+        }
+        if (value instanceof JSON) {
+            return JSONObject.toJavaObject((JSON) value, type);
+        }
+        return value instanceof Map ? TypeUtils.cast(value, type, ParserConfig.getGlobalInstance()) : (T) value;
+    }
+
+    /**
+     * 列表解码器
+     *
+     * @param serializer 序列化器
+     * @param <T>        元素类型
+     * @return 返回解码器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, List<T>> listDecoder(RedisSerializer serializer) {
+        return raw -> {
+            if (raw == null) {
+                return null;
+            }
+            Collection<byte[]> values = (Collection<byte[]>) raw;
+            List<T> list = new ArrayList<>(values.size());
+            for (byte[] value : values) {
+                list.add((T) serializer.deserialize(value));
+            }
+            return list;
+        };
+    }
+
+    /**
+     * 集合解码器
+     *
+     * @param serializer 序列化器
+     * @param <T>        元素类型
+     * @return 返回解码器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Set<T>> setDecoder(RedisSerializer serializer) {
+        return raw -> {
+            if (raw == null) {
+                return null;
+            }
+            Collection<byte[]> values = (Collection<byte[]>) raw;
+            Set<T> set = new LinkedHashSet<>(values.size() * 4 / 3 + 1);
+            for (byte[] value : values) {
+                set.add((T) serializer.deserialize(value));
+            }
+            return set;
+        };
+    }
+
+    /**
+     * 字典解码器
+     *
+     * @param template 模板
+     * @param <T>      值类型
+     * @return 返回解码器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Map<String, T>> mapDecoder(RedisTemplate<String, ?> template) {
+        return raw -> {
+            if (raw == null) {
+                return null;
+            }
+            Map<byte[], byte[]> entries = (Map<byte[], byte[]>) raw;
+            Map<String, T> map = new LinkedHashMap<>(entries.size() * 4 / 3 + 1);
+            for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+                map.put(
+                        ConvertUtil.toStr(template.getHashKeySerializer(), entry.getKey()),
+                        (T) template.getHashValueSerializer().deserialize(entry.getValue())
+                );
+            }
+            return map;
+        };
+    }
+
+    /**
+     * 键值对列表解码器(如HGETALL的多条批量回复)
+     *
+     * @param template 模板
+     * @param <T>      值类型
+     * @return 返回解码器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Map<String, T>> pairDecoder(RedisTemplate<String, ?> template) {
+        return raw -> {
+            if (raw == null) {
+                return null;
+            }
+            List<byte[]> pairs = (List<byte[]>) raw;
+            Map<String, T> map = new LinkedHashMap<>(pairs.size() * 2 / 3 + 1);
+            for (int i = 0; i + 1 < pairs.size(); i += 2) {
+                map.put(
+                        ConvertUtil.toStr(template.getHashKeySerializer(), pairs.get(i)),
+                        (T) template.getHashValueSerializer().deserialize(pairs.get(i + 1))
+                );
+            }
+            return map;
+        };
+    }
+
+    /**
+     * 布尔值解码器
+     *
+     * @param raw 原始结果
+     * @return 返回布尔值
+     */
+    static Boolean toBoolean(Object raw) {
+        if (raw == null || raw instanceof Boolean) {
+            return (Boolean) raw;
+        }
+        return ((Number) raw).longValue() != 0L;
+    }
+
+    /**
+     * 长整数解码器
+     *
+     * @param raw 原始结果
+     * @return 返回长整数
+     */
+    static Long toLong(Object raw) {
+        if (raw == null || raw instanceof Long) {
+            return (Long) raw;
+        }
+        if (raw instanceof byte[]) {
+            return Long.valueOf(new String((byte[]) raw));
+        }
+        return ((Number) raw).longValue();
+    }
+
+    /**
+     * 浮点数解码器
+     *
+     * @param raw 原始结果
+     * @return 返回浮点数
+     */
+    static Double toDouble(Object raw) {
+        if (raw == null || raw instanceof Double) {
+            return (Double) raw;
+        }
+        if (raw instanceof byte[]) {
+            return Double.valueOf(new String((byte[]) raw));
+        }
+        return ((Number) raw).doubleValue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.naah69.core.handler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合并调用器
+ * 同一键同时只执行一次调用, 期间到达的其他调用等待并共享同一结果(或异常)
+ *
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+public final class SingleFlight {
+    /**
+     * 执行次数
+     */
+    private static final LongAdder EXECUTIONS = new LongAdder();
+    /**
+     * 合并次数(等待其他调用结果的次数)
+     */
+    private static final LongAdder COALESCED = new LongAdder();
+    /**
+     * 进行中的调用
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>(64);
+
+    /**
+     * 执行调用
+     *
+     * @param key      键
+     * @param supplier 调用
+     * @param <T>      返回类型
+     * @return 返回调用结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> supplier) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = this.calls.putIfAbsent(key, future);
+        if (existing != null) {
+            COALESCED.increment();
+            return (T) await(existing);
+        }
+        EXECUTIONS.increment();
+        try {
+            T value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.calls.remove(key, future);
+        }
+    }
+
+    /**
+     * 获取进行中的调用数量
+     *
+     * @return 返回调用数量
+     */
+    public int inFlight() {
+        return this.calls.size();
+    }
+
+    /**
+     * 获取执行次数
+     *
+     * @return 返回执行次数
+     */
+    public static long getExecutions() {
+        return EXECUTIONS.sum();
+    }
+
+    /**
+     * 获取合并次数
+     *
+     * @return 返回合并次数
+     */
+    public static long getCoalesced() {
+        return COALESCED.sum();
+    }
+
+    /**
+     * 等待调用结果
+     *
+     * @param future 调用结果
+     * @return 返回调用结果
+     */
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.naah69.core.handler;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONObject;
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import com.naah69.core.util.RedisUtil;
+import org.redisson.api.RLock;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 字符串助手
@@ -34,6 +42,34 @@ public final class StringHandler implements RedisHandler {
      * 字符串模板
      */
     private ValueOperations<String, String> stringOperations;
+    /**
+     * 近端缓存(未开启时为null)
+     */
+    private NearCache nearCache;
+    /**
+     * 合并调用器
+     */
+    private SingleFlight singleFlight = new SingleFlight();
+    /**
+     * 合并读取配置
+     */
+    private RedisHandlerProperties.SingleFlight singleFlightProperties;
+    /**
+     * 提前刷新器
+     */
+    private EarlyRefresher earlyRefresher;
+    /**
+     * 默认提前刷新系数
+     */
+    private double earlyRefreshBeta;
+    /**
+     * 数据库索引
+     */
+    private Integer dbIndex;
+    /**
+     * 集群多键命令分发(非集群模式时为null)
+     */
+    private ClusterFanout fanout;
 
     /**
      * 字符串助手构造
@@ -47,6 +83,15 @@ public final class StringHandler implements RedisHandler {
         this.stringRedisTemplate = (StringRedisTemplate) templateList.get(1);
         this.operations = redisTemplate.opsForValue();
         this.stringOperations = stringRedisTemplate.opsForValue();
+        this.dbIndex = dbIndex;
+        RedisHandlerProperties properties = ApplicationContextUtil.getContext().getBean(RedisHandlerProperties.class);
+        if (properties.getNearCache().isEnabled()) {
+            this.nearCache = NearCache.forDatabase(dbIndex, properties.getNearCache());
+        }
+        this.singleFlightProperties = properties.getSingleFlight();
+        this.earlyRefreshBeta = properties.getEarlyRefresh().getBeta();
+        this.earlyRefresher = new EarlyRefresher(this.redisTemplate, this.singleFlight, properties.getEarlyRefresh());
+        this.fanout = ClusterFanout.forDatabase(dbIndex);
     }
 
     /**
@@ -58,7 +103,11 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long removeAsObj(String... keys) {
-        return this.operations.getOperations().delete(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.delete(SerializationHelper.rawKeys(this.redisTemplate, keys))
+                : this.operations.getOperations().delete(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -70,7 +119,11 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Long remove(String... keys) {
-        return this.stringOperations.getOperations().delete(Arrays.asList(keys));
+        Long count = this.fanout != null
+                ? this.fanout.delete(SerializationHelper.rawKeys(this.stringRedisTemplate, keys))
+                : this.stringOperations.getOperations().delete(Arrays.asList(keys));
+        this.invalidate(keys);
+        return count;
     }
 
     /**
@@ -83,6 +136,7 @@ public final class StringHandler implements RedisHandler {
      */
     public void setAsObj(String key, Object value) {
         this.operations.set(key, value);
+        this.invalidate(key);
     }
 
     /**
@@ -95,6 +149,7 @@ public final class StringHandler implements RedisHandler {
      */
     public void set(String key, String value) {
         this.stringOperations.set(key, value);
+        this.invalidate(key);
     }
 
     /**
@@ -108,7 +163,8 @@ public final class StringHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void setAsObj(String key, Object value, long timeout, TimeUnit unit) {
-        this.operations.set(key, value, timeout, unit);
+        this.operations.set(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
     }
 
     /**
@@ -122,7 +178,8 @@ public final class StringHandler implements RedisHandler {
      * @since redis 2.0.0
      */
     public void set(String key, String value, long timeout, TimeUnit unit) {
-        this.stringOperations.set(key, value, timeout, unit);
+        this.stringOperations.set(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
     }
 
     /**
@@ -133,7 +190,12 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.1
      */
     public void msetAsObj(Map<String, Object> map) {
-        this.operations.multiSet(map);
+        if (this.fanout != null) {
+            this.msetByFanout(this.redisTemplate, map);
+        } else {
+            this.operations.multiSet(map);
+        }
+        this.invalidate(map.keySet());
     }
 
     /**
@@ -144,7 +206,12 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.1
      */
     public void mset(Map<String, String> map) {
-        this.stringOperations.multiSet(map);
+        if (this.fanout != null) {
+            this.msetByFanout(this.stringRedisTemplate, map);
+        } else {
+            this.stringOperations.multiSet(map);
+        }
+        this.invalidate(map.keySet());
     }
 
     /**
@@ -157,6 +224,7 @@ public final class StringHandler implements RedisHandler {
      */
     public void append(String key, String value) {
         this.stringOperations.append(key, value);
+        this.invalidate(key);
     }
 
     /**
@@ -171,7 +239,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 2.6.12
      */
     public Boolean setIfAbsentAsObj(String key, Object value, long timeout, TimeUnit unit) {
-        return this.operations.setIfAbsent(key, value, timeout, unit);
+        Boolean flag = this.operations.setIfAbsent(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -186,7 +256,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 2.6.12
      */
     public Boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
-        return this.stringOperations.setIfAbsent(key, value, timeout, unit);
+        Boolean flag = this.stringOperations.setIfAbsent(key, value, ExpiryPolicy.millis(key, timeout, unit), TimeUnit.MILLISECONDS);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -199,7 +271,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean setIfAbsentAsObj(String key, Object value) {
-        return this.operations.setIfAbsent(key, value);
+        Boolean flag = this.operations.setIfAbsent(key, value);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -212,7 +286,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public Boolean setIfAbsent(String key, String value) {
-        return this.stringOperations.setIfAbsent(key, value);
+        Boolean flag = this.stringOperations.setIfAbsent(key, value);
+        this.invalidate(key);
+        return flag;
     }
 
     /**
@@ -224,7 +300,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.1
      */
     public Boolean msetIfAbsentAsObj(Map<String, Object> map) {
-        return this.operations.multiSetIfAbsent(map);
+        Boolean flag = this.operations.multiSetIfAbsent(map);
+        this.invalidate(map.keySet());
+        return flag;
     }
 
     /**
@@ -236,7 +314,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.1
      */
     public Boolean msetIfAbsent(Map<String, String> map) {
-        return this.stringOperations.multiSetIfAbsent(map);
+        Boolean flag = this.stringOperations.multiSetIfAbsent(map);
+        this.invalidate(map.keySet());
+        return flag;
     }
 
     /**
@@ -250,7 +330,7 @@ public final class StringHandler implements RedisHandler {
      */
     @SuppressWarnings("unchecked")
     public <T> T getAsObj(String key) {
-        return (T) this.operations.get(key);
+        return (T) this.readAsObj(key);
     }
 
     /**
@@ -263,10 +343,14 @@ public final class StringHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T getAsObj(Class<T> type, String key) {
-        Object value = this.operations.get(key);
-        return value instanceof JSON ? JSONObject.toJavaObject((JSON) value, type) : (T) value;
+        if (this.nearCache == null && !this.singleFlightProperties.isEnabled()) {
+            // 直接按类型解码原始值
+            byte[] rawKey = SerializationHelper.rawKey(this.redisTemplate, key);
+            byte[] raw = this.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey));
+            return SerializationHelper.deserialize(this.redisTemplate.getValueSerializer(), raw, type);
+        }
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), this.readAsObj(key), type);
     }
 
     /**
@@ -278,7 +362,121 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public String get(String key) {
-        return this.stringOperations.get(key);
+        Supplier<String> reader = this.nearCache != null
+                ? () -> (String) this.nearCache.getValue(this.stringRedisTemplate, key)
+                : () -> this.stringOperations.get(key);
+        return this.singleFlightProperties.isEnabled() ? this.singleFlight.execute("s:" + key, reader) : reader.get();
+    }
+
+    /**
+     * 获取对象, 不存在时加载并设置
+     * 同一键同时只有一个调用方执行加载, 其余调用等待并共享结果; 开启分布式锁时跨实例同样只加载一次
+     *
+     * @param key     键
+     * @param loader  加载器(返回null时不设置)
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/setex">Redis Documentation: SETEX</a>
+     * @since redis 2.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoadAsObj(String key, Supplier<T> loader, long timeout, TimeUnit unit) {
+        T value = this.getAsObj(key);
+        if (value != null) {
+            return value;
+        }
+        return (T) this.singleFlight.execute(
+                "lo:" + key,
+                () -> this.load(key, () -> this.operations.get(key), loader, v -> this.setAsObj(key, v, timeout, unit))
+        );
+    }
+
+    /**
+     * 获取对象, 不存在时加载并设置
+     * 同一键同时只有一个调用方执行加载, 其余调用等待并共享结果; 开启分布式锁时跨实例同样只加载一次
+     *
+     * @param type    返回值类型
+     * @param key     键
+     * @param loader  加载器(返回null时不设置)
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/setex">Redis Documentation: SETEX</a>
+     * @since redis 2.0.0
+     */
+    public <T> T getOrLoadAsObj(Class<T> type, String key, Supplier<T> loader, long timeout, TimeUnit unit) {
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), this.getOrLoadAsObj(key, loader, timeout, unit), type);
+    }
+
+    /**
+     * 获取字符串, 不存在时加载并设置
+     * 同一键同时只有一个调用方执行加载, 其余调用等待并共享结果; 开启分布式锁时跨实例同样只加载一次
+     *
+     * @param key     键
+     * @param loader  加载器(返回null时不设置)
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回字符串
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/setex">Redis Documentation: SETEX</a>
+     * @since redis 2.0.0
+     */
+    public String getOrLoad(String key, Supplier<String> loader, long timeout, TimeUnit unit) {
+        String value = this.get(key);
+        if (value != null) {
+            return value;
+        }
+        return (String) this.singleFlight.execute(
+                "ls:" + key,
+                () -> this.load(key, () -> this.stringOperations.get(key), loader, v -> this.set(key, (String) v, timeout, unit))
+        );
+    }
+
+    /**
+     * 获取对象, 临近过期时概率性提前刷新(XFetch)
+     * 值与加载耗时一同保存(需通过该方法读取), 剩余过期时间越短、加载越慢, 读取时提交后台刷新的概率越高, 读取不等待刷新;
+     * 未命中时同一键只有一个调用方加载, 其余调用等待并共享结果
+     *
+     * @param type    返回值类型
+     * @param key     键
+     * @param loader  加载器(返回null时不设置)
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+     * @since redis 2.6.0
+     */
+    public <T> T getOrRefreshAsObj(Class<T> type, String key, Supplier<T> loader, long timeout, TimeUnit unit) {
+        return this.getOrRefreshAsObj(type, key, loader, timeout, unit, this.earlyRefreshBeta);
+    }
+
+    /**
+     * 获取对象, 临近过期时概率性提前刷新(XFetch)
+     * 值与加载耗时一同保存(需通过该方法读取), 剩余过期时间越短、加载越慢, 读取时提交后台刷新的概率越高, 读取不等待刷新;
+     * 未命中时同一键只有一个调用方加载, 其余调用等待并共享结果
+     *
+     * @param type    返回值类型
+     * @param key     键
+     * @param loader  加载器(返回null时不设置)
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @param beta    提前刷新系数(越大越早刷新, 1.0为推荐值)
+     * @param <T>     返回类型
+     * @return 返回对象
+     * @see <a href="http://redis.io/commands/get">Redis Documentation: GET</a>
+     * @see <a href="http://redis.io/commands/pttl">Redis Documentation: PTTL</a>
+     * @since redis 2.6.0
+     */
+    public <T> T getOrRefreshAsObj(Class<T> type, String key, Supplier<T> loader, long timeout, TimeUnit unit, double beta) {
+        Object value = this.earlyRefresher.get(key, loader, wrapper -> this.setAsObj(key, wrapper, timeout, unit), beta);
+        return SerializationHelper.toType(value, type);
     }
 
     /**
@@ -293,7 +491,9 @@ public final class StringHandler implements RedisHandler {
      */
     @SuppressWarnings("unchecked")
     public <T> T getAndSetAsObj(String key, Object value) {
-        return (T) this.operations.getAndSet(key, value);
+        Object o = this.operations.getAndSet(key, value);
+        this.invalidate(key);
+        return (T) o;
     }
 
     /**
@@ -307,10 +507,10 @@ public final class StringHandler implements RedisHandler {
      * @see <a href="http://redis.io/commands/getset">Redis Documentation: GETSET</a>
      * @since redis 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public <T> T getAndSetAsObj(Class<T> type, String key, Object value) {
         Object o = this.operations.getAndSet(key, value);
-        return o instanceof JSON ? JSONObject.toJavaObject((JSON) o, type) : (T) o;
+        this.invalidate(key);
+        return SerializationHelper.toType(this.redisTemplate.getValueSerializer(), o, type);
     }
 
     /**
@@ -323,7 +523,163 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public String getAndSet(String key, String value) {
-        return this.stringOperations.getAndSet(key, value);
+        String old = this.stringOperations.getAndSet(key, value);
+        this.invalidate(key);
+        return old;
+    }
+
+    /**
+     * 比较并设置对象(按编码后的字节比较, 保留原过期时间)
+     *
+     * @param key    键
+     * @param expect 期望对象
+     * @param update 新对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndSetAsObj(String key, Object expect, Object update) {
+        Boolean success = LuaScripts.executeAsObj(
+                this.redisTemplate,
+                LuaScripts.COMPARE_AND_SET,
+                Collections.singletonList(key),
+                SerializationHelper.rawValue(this.redisTemplate, expect),
+                SerializationHelper.rawValue(this.redisTemplate, update)
+        );
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 比较并设置对象(按编码后的字节比较, 成功时设置过期时间)
+     *
+     * @param key     键
+     * @param expect  期望对象
+     * @param update  新对象
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndSetAsObj(String key, Object expect, Object update, long timeout, TimeUnit unit) {
+        Boolean success = LuaScripts.executeAsObj(
+                this.redisTemplate,
+                LuaScripts.COMPARE_AND_SET,
+                Collections.singletonList(key),
+                SerializationHelper.rawValue(this.redisTemplate, expect),
+                SerializationHelper.rawValue(this.redisTemplate, update),
+                ExpiryPolicy.millis(key, timeout, unit)
+        );
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 比较并设置字符串(保留原过期时间)
+     *
+     * @param key    键
+     * @param expect 期望字符串
+     * @param update 新字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndSet(String key, String expect, String update) {
+        Boolean success = this.stringRedisTemplate.execute(LuaScripts.COMPARE_AND_SET, Collections.singletonList(key), expect, update);
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 比较并设置字符串(成功时设置过期时间)
+     *
+     * @param key     键
+     * @param expect  期望字符串
+     * @param update  新字符串
+     * @param timeout 过期时间
+     * @param unit    时间单位
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndSet(String key, String expect, String update, long timeout, TimeUnit unit) {
+        Boolean success = this.stringRedisTemplate.execute(
+                LuaScripts.COMPARE_AND_SET,
+                Collections.singletonList(key),
+                expect,
+                update,
+                String.valueOf(ExpiryPolicy.millis(key, timeout, unit))
+        );
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 比较并移除对象(按编码后的字节比较)
+     *
+     * @param key    键
+     * @param expect 期望对象
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndRemoveAsObj(String key, Object expect) {
+        Boolean success = LuaScripts.executeAsObj(
+                this.redisTemplate,
+                LuaScripts.COMPARE_AND_DELETE,
+                Collections.singletonList(key),
+                SerializationHelper.rawValue(this.redisTemplate, expect)
+        );
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 比较并移除字符串
+     *
+     * @param key    键
+     * @param expect 期望字符串
+     * @return 返回布尔值, 成功true, 失败false
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public Boolean compareAndRemove(String key, String expect) {
+        Boolean success = this.stringRedisTemplate.execute(LuaScripts.COMPARE_AND_DELETE, Collections.singletonList(key), expect);
+        return this.invalidateIfSuccess(key, success);
+    }
+
+    /**
+     * 获取并移除对象(同时返回剩余过期时间)
+     *
+     * @param type 返回值类型
+     * @param key  键
+     * @param <T>  返回类型
+     * @return 返回带剩余过期时间的对象, 不存在时返回null
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    public <T> ExpiringValue<T> getAndRemoveWithTtlAsObj(Class<T> type, String key) {
+        List result = LuaScripts.executeAsObj(this.redisTemplate, LuaScripts.GET_AND_DELETE_WITH_TTL, Collections.singletonList(key));
+        this.invalidate(key);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        T value = SerializationHelper.toType(this.redisTemplate.getValueSerializer(), result.get(0), type);
+        return new ExpiringValue<>(value, ((Number) result.get(1)).longValue());
+    }
+
+    /**
+     * 获取并移除字符串(同时返回剩余过期时间)
+     *
+     * @param key 键
+     * @return 返回带剩余过期时间的字符串, 不存在时返回null
+     * @see <a href="http://redis.io/commands/eval">Redis Documentation: EVAL</a>
+     * @since redis 2.6.0
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringValue<String> getAndRemoveWithTtl(String key) {
+        List<Object> result = this.stringRedisTemplate.execute(LuaScripts.GET_AND_DELETE_WITH_TTL, Collections.singletonList(key));
+        this.invalidate(key);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        return new ExpiringValue<>((String) result.get(0), ((Number) result.get(1)).longValue());
     }
 
     /**
@@ -335,6 +691,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public List mgetAsObj(String... keys) {
+        if (this.fanout != null) {
+            return this.mgetByFanout(this.redisTemplate, keys);
+        }
         return this.operations.multiGet(Arrays.asList(keys));
     }
 
@@ -347,6 +706,9 @@ public final class StringHandler implements RedisHandler {
      * @since redis 1.0.0
      */
     public List<String> mget(String... keys) {
+        if (this.fanout != null) {
+            return this.mgetByFanout(this.stringRedisTemplate, keys);
+        }
         return this.stringOperations.multiGet(Arrays.asList(keys));
     }
 
@@ -362,6 +724,153 @@ public final class StringHandler implements RedisHandler {
         return this.stringOperations.size(key);
     }
 
+    /**
+     * 读取对象(按配置经过近端缓存与合并读取)
+     *
+     * @param key 键
+     * @return 返回对象
+     */
+    private Object readAsObj(String key) {
+        Supplier<Object> reader = this.nearCache != null
+                ? () -> this.nearCache.getValue(this.redisTemplate, key)
+                : () -> this.operations.get(key);
+        return this.singleFlightProperties.isEnabled() ? this.singleFlight.execute("o:" + key, reader) : reader.get();
+    }
+
+    /**
+     * 加载并设置
+     *
+     * @param key    键
+     * @param reader 读取(绕过近端缓存)
+     * @param loader 加载器
+     * @param writer 设置
+     * @return 返回对象
+     */
+    private Object load(String key, Supplier<?> reader, Supplier<?> loader, Consumer<Object> writer) {
+        // 等待合并期间其他调用可能已完成设置, 先重新读取
+        Object value = reader.get();
+        if (value != null) {
+            return value;
+        }
+        if (!this.singleFlightProperties.isDistributedLock()) {
+            return this.store(loader, writer);
+        }
+        RLock lock = RedisUtil.getRedisLockHandler(this.dbIndex).getLock(key + ":load-lock");
+        boolean locked;
+        try {
+            locked = lock.tryLock(
+                    this.singleFlightProperties.getLockWait().toMillis(),
+                    this.singleFlightProperties.getLockLease().toMillis(),
+                    TimeUnit.MILLISECONDS
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for load lock of " + key, e);
+        }
+        try {
+            // 其他实例可能已完成加载(获取锁超时时同样重新读取, 仍未命中则本地加载)
+            value = reader.get();
+            return value != null ? value : this.store(loader, writer);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 执行加载并设置
+     *
+     * @param loader 加载器
+     * @param writer 设置
+     * @return 返回对象
+     */
+    private Object store(Supplier<?> loader, Consumer<Object> writer) {
+        Object value = loader.get();
+        if (value != null) {
+            writer.accept(value);
+        }
+        return value;
+    }
+
+    /**
+     * 失效近端缓存
+     *
+     * @param keys 键
+     */
+    private void invalidate(String... keys) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(keys);
+        }
+    }
+
+    /**
+     * 失效近端缓存
+     *
+     * @param keys 键
+     */
+    private void invalidate(Collection<String> keys) {
+        if (this.nearCache != null) {
+            this.nearCache.invalidate(keys);
+        }
+    }
+
+    /**
+     * 按槽分发批量获取(集群模式)
+     *
+     * @param template 模板
+     * @param keys     键
+     * @param <V>      值类型
+     * @return 返回值列表(按键顺序)
+     */
+    @SuppressWarnings("unchecked")
+    private <V> List<V> mgetByFanout(RedisTemplate<String, V> template, String... keys) {
+        if (keys.length == 0) {
+            return new ArrayList<>(0);
+        }
+        List<byte[]> values = this.fanout.mget(SerializationHelper.rawKeys(template, keys));
+        List<V> list = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            list.add(value != null ? (V) template.getValueSerializer().deserialize(value) : null);
+        }
+        return list;
+    }
+
+    /**
+     * 按槽分发批量设置(集群模式)
+     *
+     * @param template 模板
+     * @param map      键值集合
+     */
+    private void msetByFanout(RedisTemplate<String, ?> template, Map<String, ?> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+        byte[][] keys = new byte[map.size()][];
+        byte[][] values = new byte[map.size()][];
+        int index = 0;
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            keys[index] = SerializationHelper.rawKey(template, entry.getKey());
+            values[index] = SerializationHelper.rawValue(template, entry.getValue());
+            index++;
+        }
+        this.fanout.mset(keys, values);
+    }
+
+    /**
+     * 成功时失效近端缓存
+     *
+     * @param key     键
+     * @param success 是否成功
+     * @return 返回是否成功
+     */
+    private Boolean invalidateIfSuccess(String key, Boolean success) {
+        if (Boolean.TRUE.equals(success)) {
+            this.invalidate(key);
+        }
+        return success;
+    }
+
     /**
      * 获取spring redis模板
      *
@@ -0,0 +1,121 @@
+package com.naah69.core.handler;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 弱引用值缓存
+ * 值仅被弱引用, 调用方不再持有时可被回收; 超出容量时新值不再缓存
+ *
+ * @param <V> 值类型
+ * @author xsx
+ * @author naah
+ * @since 1.8
+ */
+final class WeakValueCache<V> {
+    /**
+     * 最大容量
+     */
+    private final int maxSize;
+    /**
+     * 缓存容器
+     */
+    private final ConcurrentMap<String, ValueReference<V>> container;
+    /**
+     * 已回收引用队列
+     */
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * 弱引用值缓存构造
+     *
+     * @param maxSize 最大容量
+     */
+    WeakValueCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.container = new ConcurrentHashMap<>(Math.min(Math.max(maxSize, 16), 1024));
+    }
+
+    /**
+     * 获取值(不存在或已回收时通过加载器创建)
+     * 加载器在容器锁之外执行(创建原子对象时会访问redis), 同一键并发创建时只发布先写入的值, 其余调用方共享该值
+     *
+     * @param key    键
+     * @param loader 加载器
+     * @return 返回值
+     */
+    V get(String key, Function<String, V> loader) {
+        ValueReference<V> reference = this.container.get(key);
+        V value = reference == null ? null : reference.get();
+        if (value != null) {
+            return value;
+        }
+        this.purge();
+        if (this.maxSize <= 0 || reference == null && this.container.size() >= this.maxSize) {
+            return loader.apply(key);
+        }
+        V created = loader.apply(key);
+        ValueReference<V> fresh = new ValueReference<>(key, created, this.queue);
+        while (true) {
+            ValueReference<V> old = this.container.putIfAbsent(key, fresh);
+            if (old == null) {
+                return created;
+            }
+            V current = old.get();
+            if (current != null) {
+                return current;
+            }
+            if (this.container.replace(key, old, fresh)) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * 获取缓存数量
+     *
+     * @return 返回缓存数量
+     */
+    int size() {
+        this.purge();
+        return this.container.size();
+    }
+
+    /**
+     * 清除已回收的引用
+     */
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        ValueReference<V> reference;
+        while ((reference = (ValueReference<V>) this.queue.poll()) != null) {
+            this.container.remove(reference.key, reference);
+        }
+    }
+
+    /**
+     * 值引用
+     *
+     * @param <V> 值类型
+     */
+    private static final class ValueReference<V> extends WeakReference<V> {
+        /**
+         * 键
+         */
+        private final String key;
+
+        /**
+         * 值引用构造
+         *
+         * @param key   键
+         * @param value 值
+         * @param queue 引用队列
+         */
+        private ValueReference(String key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
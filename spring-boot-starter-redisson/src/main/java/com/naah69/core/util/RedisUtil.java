@@ -4,6 +4,11 @@ import com.naah69.core.handler.*;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * redis工具
  *
@@ -33,7 +38,7 @@ public class RedisUtil {
      * @return 返回数据库助手
      */
     public static DBHandler getDBHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.DB);
+        return MANAGER.getHandler(dbIndex, HandlerType.DB);
     }
 
     /**
@@ -52,7 +57,7 @@ public class RedisUtil {
      * @return 返回键助手
      */
     public static KeyHandler getKeyHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.KEY);
+        return MANAGER.getHandler(dbIndex, HandlerType.KEY);
     }
 
     /**
@@ -71,7 +76,7 @@ public class RedisUtil {
      * @return 返回数字助手
      */
     public static NumberHandler getNumberHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.NUMBER);
+        return MANAGER.getHandler(dbIndex, HandlerType.NUMBER);
     }
 
     /**
@@ -90,7 +95,7 @@ public class RedisUtil {
      * @return 返回字符串助手
      */
     public static StringHandler getStringHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.STRING);
+        return MANAGER.getHandler(dbIndex, HandlerType.STRING);
     }
 
     /**
@@ -109,7 +114,7 @@ public class RedisUtil {
      * @return 返回哈希助手
      */
     public static HashHandler getHashHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.HASH);
+        return MANAGER.getHandler(dbIndex, HandlerType.HASH);
     }
 
     /**
@@ -128,7 +133,7 @@ public class RedisUtil {
      * @return 返回列表助手
      */
     public static ListHandler getListHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.LIST);
+        return MANAGER.getHandler(dbIndex, HandlerType.LIST);
     }
 
     /**
@@ -147,7 +152,7 @@ public class RedisUtil {
      * @return 返回无序集合助手
      */
     public static SetHandler getSetHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.SET);
+        return MANAGER.getHandler(dbIndex, HandlerType.SET);
     }
 
     /**
@@ -166,7 +171,7 @@ public class RedisUtil {
      * @return 返回有序集合助手
      */
     public static ZsetHandler getZsetHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.ZSET);
+        return MANAGER.getHandler(dbIndex, HandlerType.ZSET);
     }
 
     /**
@@ -185,7 +190,7 @@ public class RedisUtil {
      * @return 返回基数助手
      */
     public static HyperLogLogHandler getHyperLogLogHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.HYPERLOGLOG);
+        return MANAGER.getHandler(dbIndex, HandlerType.HYPERLOGLOG);
     }
 
     /**
@@ -204,7 +209,7 @@ public class RedisUtil {
      * @return 返回位图助手
      */
     public static BitmapHandler getBitmapHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.BITMAP);
+        return MANAGER.getHandler(dbIndex, HandlerType.BITMAP);
     }
 
     /**
@@ -223,7 +228,7 @@ public class RedisUtil {
      * @return 返回地理位置助手
      */
     public static GeoHandler getGeoHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.GEO);
+        return MANAGER.getHandler(dbIndex, HandlerType.GEO);
     }
 
     /**
@@ -242,7 +247,7 @@ public class RedisUtil {
      * @return 返回lua脚本助手
      */
     public static ScriptHandler getScriptHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.SCRIPT);
+        return MANAGER.getHandler(dbIndex, HandlerType.SCRIPT);
     }
 
     /**
@@ -261,7 +266,7 @@ public class RedisUtil {
      * @return 返回发布订阅助手
      */
     public static PubSubHandler getPubSubHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.PUBSUB);
+        return MANAGER.getHandler(dbIndex, HandlerType.PUBSUB);
     }
 
     /**
@@ -280,7 +285,26 @@ public class RedisUtil {
      * @return 返回分布式锁助手
      */
     public static RedisLockHandler getRedisLockHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.REDISLOCK);
+        return MANAGER.getHandler(dbIndex, HandlerType.REDISLOCK);
+    }
+
+    /**
+     * 获取大值助手(需添加redisson依赖)
+     *
+     * @return 返回大值助手
+     */
+    public static BinaryHandler getBinaryHandler() {
+        return MANAGER.getHandler(HandlerType.BINARY);
+    }
+
+    /**
+     * 获取大值助手(需添加redisson依赖)
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回大值助手
+     */
+    public static BinaryHandler getBinaryHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.BINARY);
     }
 
     /**
@@ -299,7 +323,7 @@ public class RedisUtil {
      * @return 返回哨兵助手
      */
     public static SentinelHandler getSentinelHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.SENTINEL);
+        return MANAGER.getHandler(dbIndex, HandlerType.SENTINEL);
     }
 
     /**
@@ -327,7 +351,256 @@ public class RedisUtil {
      * @return 返回自定义命令助手
      */
     public static CustomCommandHandler getCustomCommandHandler(int dbIndex) {
-        return MANAGER.getHandler(String.valueOf(dbIndex), HandlerType.CUSTOMCOMMAND);
+        return MANAGER.getHandler(dbIndex, HandlerType.CUSTOMCOMMAND);
+    }
+
+    /**
+     * 获取异步字符串助手
+     *
+     * @return 返回异步字符串助手
+     */
+    public static AsyncStringHandler getAsyncStringHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_STRING);
+    }
+
+    /**
+     * 获取异步字符串助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步字符串助手
+     */
+    public static AsyncStringHandler getAsyncStringHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_STRING);
+    }
+
+    /**
+     * 获取异步哈希助手
+     *
+     * @return 返回异步哈希助手
+     */
+    public static AsyncHashHandler getAsyncHashHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_HASH);
+    }
+
+    /**
+     * 获取异步哈希助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步哈希助手
+     */
+    public static AsyncHashHandler getAsyncHashHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_HASH);
+    }
+
+    /**
+     * 获取异步列表助手
+     *
+     * @return 返回异步列表助手
+     */
+    public static AsyncListHandler getAsyncListHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_LIST);
+    }
+
+    /**
+     * 获取异步列表助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步列表助手
+     */
+    public static AsyncListHandler getAsyncListHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_LIST);
+    }
+
+    /**
+     * 获取异步无序集合助手
+     *
+     * @return 返回异步无序集合助手
+     */
+    public static AsyncSetHandler getAsyncSetHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_SET);
+    }
+
+    /**
+     * 获取异步无序集合助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步无序集合助手
+     */
+    public static AsyncSetHandler getAsyncSetHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_SET);
+    }
+
+    /**
+     * 获取异步有序集合助手
+     *
+     * @return 返回异步有序集合助手
+     */
+    public static AsyncZsetHandler getAsyncZsetHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_ZSET);
+    }
+
+    /**
+     * 获取异步有序集合助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步有序集合助手
+     */
+    public static AsyncZsetHandler getAsyncZsetHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_ZSET);
+    }
+
+    /**
+     * 获取异步数字助手
+     *
+     * @return 返回异步数字助手
+     */
+    public static AsyncNumberHandler getAsyncNumberHandler() {
+        return MANAGER.getHandler(HandlerType.ASYNC_NUMBER);
+    }
+
+    /**
+     * 获取异步数字助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回异步数字助手
+     */
+    public static AsyncNumberHandler getAsyncNumberHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.ASYNC_NUMBER);
+    }
+
+    /**
+     * 获取响应式字符串助手
+     *
+     * @return 返回响应式字符串助手
+     */
+    public static ReactiveStringHandler getReactiveStringHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_STRING);
+    }
+
+    /**
+     * 获取响应式字符串助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式字符串助手
+     */
+    public static ReactiveStringHandler getReactiveStringHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_STRING);
+    }
+
+    /**
+     * 获取响应式哈希助手
+     *
+     * @return 返回响应式哈希助手
+     */
+    public static ReactiveHashHandler getReactiveHashHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_HASH);
+    }
+
+    /**
+     * 获取响应式哈希助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式哈希助手
+     */
+    public static ReactiveHashHandler getReactiveHashHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_HASH);
+    }
+
+    /**
+     * 获取响应式列表助手
+     *
+     * @return 返回响应式列表助手
+     */
+    public static ReactiveListHandler getReactiveListHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_LIST);
+    }
+
+    /**
+     * 获取响应式列表助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式列表助手
+     */
+    public static ReactiveListHandler getReactiveListHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_LIST);
+    }
+
+    /**
+     * 获取响应式无序集合助手
+     *
+     * @return 返回响应式无序集合助手
+     */
+    public static ReactiveSetHandler getReactiveSetHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_SET);
+    }
+
+    /**
+     * 获取响应式无序集合助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式无序集合助手
+     */
+    public static ReactiveSetHandler getReactiveSetHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_SET);
+    }
+
+    /**
+     * 获取响应式有序集合助手
+     *
+     * @return 返回响应式有序集合助手
+     */
+    public static ReactiveZsetHandler getReactiveZsetHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_ZSET);
+    }
+
+    /**
+     * 获取响应式有序集合助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式有序集合助手
+     */
+    public static ReactiveZsetHandler getReactiveZsetHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_ZSET);
+    }
+
+    /**
+     * 获取响应式键助手
+     *
+     * @return 返回响应式键助手
+     */
+    public static ReactiveKeyHandler getReactiveKeyHandler() {
+        return MANAGER.getHandler(HandlerType.REACTIVE_KEY);
+    }
+
+    /**
+     * 获取响应式键助手
+     *
+     * @param dbIndex 数据库索引
+     * @return 返回响应式键助手
+     */
+    public static ReactiveKeyHandler getReactiveKeyHandler(int dbIndex) {
+        return MANAGER.getHandler(dbIndex, HandlerType.REACTIVE_KEY);
+    }
+
+    /**
+     * 管道批量执行
+     *
+     * @param consumer 批量命令
+     * @return 返回按记录顺序排列的结果(无返回值的命令为null)
+     */
+    public static List<Object> pipeline(Consumer<PipelineBatch> consumer) {
+        return MANAGER.pipeline(consumer);
+    }
+
+    /**
+     * 管道批量执行
+     *
+     * @param dbIndex  数据库索引
+     * @param consumer 批量命令
+     * @return 返回按记录顺序排列的结果(无返回值的命令为null)
+     */
+    public static List<Object> pipeline(int dbIndex, Consumer<PipelineBatch> consumer) {
+        return MANAGER.pipeline(dbIndex, consumer);
     }
 
     /**
@@ -347,4 +620,13 @@ public class RedisUtil {
     public static StringRedisTemplate getDefaultStringRedisTemplate() {
         return MANAGER.getDefaultStringRedisTemplate();
     }
+
+    /**
+     * 获取已初始化的助手
+     *
+     * @return 返回助手类型与数据库索引字典
+     */
+    public static Map<HandlerType, Set<Integer>> getMaterializedHandlers() {
+        return HandlerManagerProxy.getMaterializedHandlers();
+    }
 }
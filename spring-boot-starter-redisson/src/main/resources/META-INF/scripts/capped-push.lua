@@ -0,0 +1,12 @@
+-- 原子从左添加并截断列表(保留最新的元素)
+-- KEYS[1]: 键
+-- ARGV[1]: 最大长度(必须大于0)
+-- ARGV[2...]: 值
+-- 返回: 截断后的列表长度
+local size = redis.call('LPUSH', KEYS[1], unpack(ARGV, 2))
+local max = tonumber(ARGV[1])
+if size > max then
+    redis.call('LTRIM', KEYS[1], 0, max - 1)
+    return max
+end
+return size
@@ -0,0 +1,8 @@
+-- 原子比较并删除
+-- KEYS[1]: 键
+-- ARGV[1]: 期望值
+-- 返回: 成功1, 失败0
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,19 @@
+-- 原子比较并设置(保留原过期时间或设置新的过期时间)
+-- KEYS[1]: 键
+-- ARGV[1]: 期望值
+-- ARGV[2]: 新值
+-- ARGV[3]: 过期时间(毫秒, 可选, 为空或不大于0时保留原过期时间)
+-- 返回: 成功1, 失败0
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+local ttl = tonumber(ARGV[3])
+if not ttl or ttl <= 0 then
+    ttl = redis.call('PTTL', KEYS[1])
+end
+if ttl > 0 then
+    redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl)
+else
+    redis.call('SET', KEYS[1], ARGV[2])
+end
+return 1
@@ -0,0 +1,88 @@
+-- 原子十进制加法(定点长整数运算, 结果在2^53范围内精确)
+-- KEYS[1]: 键
+-- ARGV[1]: 增量(十进制字符串)
+-- ARGV[2]: hash键(可选, 为空时操作字符串键)
+-- 返回: {新值, 原值}
+local MAX_EXACT = 9007199254740992
+
+-- 解析十进制字符串为(整数, 小数位数), 支持科学计数法
+local function parse(value)
+    local mantissa, exponent = string.match(value, '^([^eE]+)[eE]([+-]?%d+)$')
+    if not mantissa then
+        mantissa, exponent = value, '0'
+    end
+    local sign, integer, fraction = string.match(mantissa, '^([+-]?)(%d*)%.?(%d*)$')
+    if not sign or (integer == '' and fraction == '') then
+        return nil
+    end
+    local digits = integer .. fraction
+    local scale = #fraction - tonumber(exponent)
+    if scale < 0 then
+        digits = digits .. string.rep('0', -scale)
+        scale = 0
+    end
+    digits = (string.gsub(digits, '^0+', ''))
+    local number = tonumber(digits ~= '' and digits or '0')
+    if sign == '-' then
+        number = -number
+    end
+    return number, scale
+end
+
+-- 格式化(整数, 小数位数)为十进制字符串, 去除多余的零
+local function format(number, scale)
+    local digits = string.format('%.0f', math.abs(number))
+    if scale > 0 then
+        if #digits <= scale then
+            digits = string.rep('0', scale - #digits + 1) .. digits
+        end
+        digits = string.sub(digits, 1, #digits - scale) .. '.' .. string.sub(digits, #digits - scale + 1)
+        digits = (string.gsub(digits, '0+$', ''))
+        digits = (string.gsub(digits, '%.$', ''))
+    end
+    if number < 0 and digits ~= '0' then
+        digits = '-' .. digits
+    end
+    return digits
+end
+
+local function add(left, right)
+    local a, leftScale = parse(left)
+    local b, rightScale = parse(right)
+    if not a or not b then
+        return nil
+    end
+    local scale = math.max(leftScale, rightScale)
+    if scale <= 22 then
+        local x = a * 10 ^ (scale - leftScale)
+        local y = b * 10 ^ (scale - rightScale)
+        local result = x + y
+        if math.abs(x) <= MAX_EXACT and math.abs(y) <= MAX_EXACT and math.abs(result) <= MAX_EXACT then
+            return format(result, scale)
+        end
+    end
+    -- 超出精确范围时按双精度浮点数计算
+    return string.format('%.17g', tonumber(left) + tonumber(right))
+end
+
+local current
+if ARGV[2] then
+    current = redis.call('HGET', KEYS[1], ARGV[2])
+else
+    current = redis.call('GET', KEYS[1])
+end
+local result = add(current or '0', ARGV[1])
+if not result then
+    return redis.error_reply('ERR value is not a valid decimal')
+end
+if ARGV[2] then
+    redis.call('HSET', KEYS[1], ARGV[2], result)
+else
+    local ttl = redis.call('PTTL', KEYS[1])
+    if ttl > 0 then
+        redis.call('SET', KEYS[1], result, 'PX', ttl)
+    else
+        redis.call('SET', KEYS[1], result)
+    end
+end
+return {result, current}
@@ -0,0 +1,10 @@
+-- 原子获取并删除(同时返回剩余过期时间)
+-- KEYS[1]: 键
+-- 返回: {值, 剩余过期时间(毫秒, 无过期时间为-1)}, 不存在时返回空
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return false
+end
+local ttl = redis.call('PTTL', KEYS[1])
+redis.call('DEL', KEYS[1])
+return {value, ttl}
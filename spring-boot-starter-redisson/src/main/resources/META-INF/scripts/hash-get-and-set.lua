@@ -0,0 +1,8 @@
+-- 原子获取并设置hash值
+-- KEYS[1]: 键
+-- ARGV[1]: hash键
+-- ARGV[2]: 新值
+-- 返回: 原值
+local current = redis.call('HGET', KEYS[1], ARGV[1])
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+return current
@@ -0,0 +1,14 @@
+-- 原子增加hash值(增加后的值不超过上限)
+-- KEYS[1]: 键
+-- ARGV[1]: hash键
+-- ARGV[2]: 步长
+-- ARGV[3]: 上限
+-- 返回: 增加后的值, 超出上限时不增加并返回空
+local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+if not current then
+    return redis.error_reply('ERR hash value is not an integer')
+end
+if current + tonumber(ARGV[2]) > tonumber(ARGV[3]) then
+    return false
+end
+return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
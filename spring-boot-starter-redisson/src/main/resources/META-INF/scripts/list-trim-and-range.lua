@@ -0,0 +1,15 @@
+-- 原子截取列表并返回截取后的元素
+-- KEYS[1]: 键
+-- ARGV[1]: 起始索引
+-- ARGV[2]: 结束索引
+-- ARGV[3]: 是否从右返回(可选, 为1时按从右到左的顺序返回)
+-- 返回: 截取后的元素列表
+redis.call('LTRIM', KEYS[1], ARGV[1], ARGV[2])
+local values = redis.call('LRANGE', KEYS[1], 0, -1)
+if ARGV[3] == '1' then
+    local size = #values
+    for i = 1, math.floor(size / 2) do
+        values[i], values[size - i + 1] = values[size - i + 1], values[i]
+    end
+end
+return values
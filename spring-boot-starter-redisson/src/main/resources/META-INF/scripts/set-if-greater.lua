@@ -0,0 +1,52 @@
+-- 原子设置更大的数值(整数按十进制字符串比较, 不受双精度浮点数2^53的精度限制; 其余按双精度浮点数比较)
+-- KEYS[1]: 键
+-- ARGV[1]: 新值
+-- ARGV[2]: 过期时间(毫秒, 可选, 为空或不大于0时保留原过期时间)
+-- 返回: 已设置1, 原值不小于新值0
+local function compare(left, right)
+    local leftSign, leftDigits = string.match(left, '^(%-?)0*(%d*)$')
+    local rightSign, rightDigits = string.match(right, '^(%-?)0*(%d*)$')
+    if leftSign and rightSign and left ~= '' and left ~= '-' and right ~= '' and right ~= '-' then
+        -- 负零按零处理
+        if leftDigits == '' then
+            leftSign = ''
+        end
+        if rightDigits == '' then
+            rightSign = ''
+        end
+        if leftSign ~= rightSign then
+            return leftSign == '-' and -1 or 1
+        end
+        local result = 0
+        if #leftDigits ~= #rightDigits then
+            result = #leftDigits < #rightDigits and -1 or 1
+        elseif leftDigits ~= rightDigits then
+            result = leftDigits < rightDigits and -1 or 1
+        end
+        return leftSign == '-' and -result or result
+    end
+    local leftNumber, rightNumber = tonumber(left), tonumber(right)
+    if leftNumber == rightNumber then
+        return 0
+    end
+    return leftNumber < rightNumber and -1 or 1
+end
+local current = redis.call('GET', KEYS[1])
+if current then
+    if not tonumber(current) then
+        return redis.error_reply('ERR value is not a valid number')
+    end
+    if compare(current, ARGV[1]) >= 0 then
+        return 0
+    end
+end
+local ttl = tonumber(ARGV[2])
+if not ttl or ttl <= 0 then
+    ttl = redis.call('PTTL', KEYS[1])
+end
+if ttl > 0 then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl)
+else
+    redis.call('SET', KEYS[1], ARGV[1])
+end
+return 1
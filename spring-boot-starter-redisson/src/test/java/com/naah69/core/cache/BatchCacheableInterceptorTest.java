@@ -0,0 +1,107 @@
+package com.naah69.core.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 批量缓存拦截器测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class BatchCacheableInterceptorTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private UserService target;
+    private UserService service;
+
+    @Before
+    public void setUp() {
+        this.cacheManager = new ConcurrentMapCacheManager("users");
+        this.target = new UserService();
+        ProxyFactory factory = new ProxyFactory(this.target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new BatchCacheableInterceptor(this.cacheManager));
+        this.service = (UserService) factory.getProxy();
+    }
+
+    @Test
+    public void loadsOnlyMissingKeys() {
+        Cache cache = this.cacheManager.getCache("users");
+        cache.put(2, "user-2");
+        Map<Integer, String> result = this.service.load(Arrays.asList(1, 2, 3));
+        assertEquals(Collections.singletonList(Arrays.asList(1, 3)), this.target.calls);
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(result.keySet()));
+        assertEquals("user-2", result.get(2));
+        assertEquals("user-1", cache.get(1).get());
+        assertEquals("user-3", cache.get(3).get());
+    }
+
+    @Test
+    public void skipsLoaderWhenAllCached() {
+        this.service.load(Arrays.asList(1, 2));
+        this.target.calls.clear();
+        Map<Integer, String> result = this.service.load(Arrays.asList(2, 1));
+        assertTrue(this.target.calls.isEmpty());
+        assertEquals(Arrays.asList(2, 1), new ArrayList<>(result.keySet()));
+    }
+
+    @Test
+    public void keepsSetArgumentsAsSets() {
+        this.cacheManager.getCache("users").put(1, "user-1");
+        Set<Integer> keys = new LinkedHashSet<>(Arrays.asList(1, 2));
+        this.service.loadSet(keys);
+        assertEquals(1, this.target.calls.size());
+        assertTrue(this.target.calls.get(0) instanceof Set);
+        assertEquals(Collections.singletonList(2), new ArrayList<>(this.target.calls.get(0)));
+    }
+
+    @Test
+    public void omitsKeysTheLoaderDidNotReturn() {
+        Map<Integer, String> result = this.service.load(Arrays.asList(1, -1));
+        assertEquals(Collections.singleton(1), result.keySet());
+        assertEquals(null, this.cacheManager.getCache("users").get(-1));
+    }
+
+    public static class UserService {
+
+        final List<Collection<Integer>> calls = new ArrayList<>();
+
+        @BatchCacheable("users")
+        public Map<Integer, String> load(List<Integer> ids) {
+            return this.doLoad(ids);
+        }
+
+        @BatchCacheable("users")
+        public Map<Integer, String> loadSet(Set<Integer> ids) {
+            return this.doLoad(ids);
+        }
+
+        private Map<Integer, String> doLoad(Collection<Integer> ids) {
+            this.calls.add(ids);
+            Map<Integer, String> result = new LinkedHashMap<>();
+            for (Integer id : ids) {
+                if (id > 0) {
+                    result.put(id, "user-" + id);
+                }
+            }
+            return result;
+        }
+    }
+}
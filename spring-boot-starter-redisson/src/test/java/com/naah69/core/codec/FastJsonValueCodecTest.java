@@ -0,0 +1,76 @@
+package com.naah69.core.codec;
+
+import com.alibaba.fastjson.JSONObject;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * fastjson编码测试(流式解码按已知长度一次读入)
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class FastJsonValueCodecTest {
+
+    private final FastJsonValueCodec codec = new FastJsonValueCodec();
+
+    @Test
+    public void decodeFromByteBuf() throws IOException {
+        byte[] bytes = this.codec.encode(value("buf"));
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        assertEquals("buf", this.codec.decode(new ByteBufInputStream(buf), JSONObject.class).getString("name"));
+        assertEquals(0, buf.readableBytes());
+    }
+
+    @Test
+    public void decodeWhenAvailableUnderReports() throws IOException {
+        byte[] bytes = this.codec.encode(value("partial"));
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int available() {
+                return 3;
+            }
+        };
+        assertEquals("partial", this.codec.decode(in, JSONObject.class).getString("name"));
+    }
+
+    @Test
+    public void decodeWhenAvailableIsUnknown() throws IOException {
+        byte[] bytes = this.codec.encode(value("unknown"));
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        assertEquals("unknown", this.codec.decode(in, JSONObject.class).getString("name"));
+    }
+
+    @Test
+    public void decodeWhenAvailableOverReports() throws IOException {
+        byte[] bytes = this.codec.encode(value("over"));
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int available() {
+                return bytes.length + 16;
+            }
+        };
+        assertEquals("over", this.codec.decode(in, JSONObject.class).getString("name"));
+    }
+
+    private static JSONObject value(String name) {
+        JSONObject value = new JSONObject();
+        value.put("name", name);
+        value.put("size", 1024);
+        return value;
+    }
+}
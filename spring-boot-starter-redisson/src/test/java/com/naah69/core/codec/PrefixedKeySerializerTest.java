@@ -0,0 +1,78 @@
+package com.naah69.core.codec;
+
+import org.junit.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 命名空间键序列化器测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class PrefixedKeySerializerTest {
+
+    @Test
+    public void serializeAsciiKey() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("app:", 0);
+        assertArrayEquals(utf8("app:user:1"), serializer.serialize("user:1"));
+    }
+
+    @Test
+    public void serializeNonAsciiKey() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("应用:", 0);
+        assertArrayEquals(utf8("应用:用户:1"), serializer.serialize("用户:1"));
+        assertArrayEquals(utf8("应用:ascii-é-😀"), serializer.serialize("ascii-é-😀"));
+    }
+
+    @Test
+    public void deserializeStripsPrefix() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("应用:", 0);
+        assertEquals("用户:1", serializer.deserialize(utf8("应用:用户:1")));
+        assertEquals("user:1", serializer.deserialize(serializer.serialize("user:1")));
+    }
+
+    @Test
+    public void deserializeKeepsKeyWithoutPrefix() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("app:", 0);
+        assertEquals("other:1", serializer.deserialize(utf8("other:1")));
+        assertEquals("ap", serializer.deserialize(utf8("ap")));
+        assertEquals("", serializer.deserialize(utf8("app:")));
+    }
+
+    @Test
+    public void nullKeys() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("app:", 16);
+        assertNull(serializer.serialize(null));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        PrefixedKeySerializer serializer = new PrefixedKeySerializer("app:", 2);
+        byte[] first = serializer.serialize("a");
+        assertSame(first, serializer.serialize("a"));
+        serializer.serialize("b");
+        serializer.serialize("c");
+        assertEquals(2, serializer.getCachedKeys());
+        assertArrayEquals(utf8("app:c"), serializer.serialize("c"));
+    }
+
+    @Test
+    public void factoryReusesInstances() {
+        assertSame(RedisSerializer.string(), PrefixedKeySerializer.of("", 0));
+        assertSame(PrefixedKeySerializer.of("app:", 8), PrefixedKeySerializer.of("app:", 8));
+        assertEquals("app:", PrefixedKeySerializer.prefixOf(PrefixedKeySerializer.of("app:", 8)));
+        assertEquals("", PrefixedKeySerializer.prefixOf(RedisSerializer.string()));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
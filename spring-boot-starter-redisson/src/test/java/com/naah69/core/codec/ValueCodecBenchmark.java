@@ -0,0 +1,134 @@
+package com.naah69.core.codec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 值编码基准测试(编码、一次解码为目标类型与原先解码后再转换的耗时对比, 编码大小在初始化时输出)
+ *
+ * @author naah
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueCodecBenchmark {
+
+    @Param({"fastjson", "jdk", "kryo", "protostuff", "smile", "cbor"})
+    private String codecName;
+
+    private ValueCodec codec;
+    private Sample value;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        this.codec = ValueCodecs.get(this.codecName);
+        this.value = new Sample(10086L, "naah", 28, 1024.5D, new ArrayList<>(Arrays.asList("redis", "codec", "benchmark")));
+        this.bytes = this.codec.encode(this.value);
+        System.out.println(this.codecName + " encoded size: " + this.bytes.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return this.codec.encode(this.value);
+    }
+
+    /**
+     * 直接解码为目标类型(getAsObj(Class)的现实现)
+     */
+    @Benchmark
+    public Sample decodeTyped() {
+        return this.codec.decode(this.bytes, Sample.class);
+    }
+
+    /**
+     * 先解码再转换为目标类型(原实现: fastjson解码为JSONObject后toJavaObject)
+     */
+    @Benchmark
+    public Sample decodeThenConvert() {
+        return this.codec.convert(this.codec.decode(this.bytes), Sample.class);
+    }
+
+    /**
+     * 测试对象
+     */
+    public static class Sample implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long id;
+        private String name;
+        private int age;
+        private double balance;
+        private List<String> tags;
+
+        public Sample() {
+        }
+
+        public Sample(long id, String name, int age, double balance, List<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.balance = balance;
+            this.tags = tags;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public void setBalance(double balance) {
+            this.balance = balance;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+}
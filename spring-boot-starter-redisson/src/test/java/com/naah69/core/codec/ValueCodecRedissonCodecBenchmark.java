@@ -0,0 +1,142 @@
+package com.naah69.core.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大值编码基准测试(直接编码到池化直接内存缓冲与经由中间字节数组的对比)
+ * 分配量通过gc分析器查看: mvn -P benchmark test-compile exec:exec -Dbenchmark="ValueCodecRedissonCodecBenchmark -prof gc"
+ *
+ * @author naah
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueCodecRedissonCodecBenchmark {
+
+    @Param({"fastjson", "kryo"})
+    private String codecName;
+
+    @Param({"102400", "1048576"})
+    private int size;
+
+    private ValueCodec codec;
+    private ValueCodecRedissonCodec redissonCodec;
+    private Document value;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.codec = ValueCodecs.get(this.codecName);
+        this.redissonCodec = new ValueCodecRedissonCodec(this.codec, Document.class);
+        char[] body = new char[this.size];
+        Arrays.fill(body, 'x');
+        this.value = new Document("document", new String(body));
+        this.encoded = this.redissonCodec.getValueEncoder().encode(this.value);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.encoded.release();
+    }
+
+    /**
+     * 直接编码到池化直接内存缓冲(现实现)
+     */
+    @Benchmark
+    public int encodeDirect() throws IOException {
+        ByteBuf buf = this.redissonCodec.getValueEncoder().encode(this.value);
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 先编码为字节数组再复制到缓冲(原实现)
+     */
+    @Benchmark
+    public int encodeViaArray() {
+        byte[] bytes = this.codec.encode(this.value);
+        ByteBuf buf = ByteBufAllocator.DEFAULT.directBuffer(bytes.length);
+        try {
+            return buf.writeBytes(bytes).readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 从网络缓冲直接解码为目标类型(现实现)
+     */
+    @Benchmark
+    public Object decodeDirect() throws IOException {
+        return this.redissonCodec.getValueDecoder().decode(this.encoded.duplicate(), null);
+    }
+
+    /**
+     * 先复制为字节数组再解码(原实现)
+     */
+    @Benchmark
+    public Object decodeViaArray() {
+        byte[] bytes = new byte[this.encoded.readableBytes()];
+        this.encoded.getBytes(this.encoded.readerIndex(), bytes);
+        return this.codec.decode(bytes, Document.class);
+    }
+
+    /**
+     * 测试文档
+     */
+    public static class Document implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String title;
+        private String body;
+
+        public Document() {
+        }
+
+        public Document(String title, String body) {
+            this.title = title;
+            this.body = body;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.naah69.core.handler;
+
+import org.junit.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 缓存脚本执行器测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class CachingScriptExecutorTest {
+
+    private final CachingScriptExecutor<String> executor = new CachingScriptExecutor<>(new RedisTemplate<>());
+
+    @Test
+    public void noScriptFallsBackToSingleEval() {
+        ScriptCache.CompiledScript<Long> script = ScriptCache.ofText("return 1", Long.class, 16);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenThrow(new InvalidDataAccessApiUsageException("NOSCRIPT No matching script. Please use EVAL."));
+        when(connection.eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class))).thenReturn(1L);
+        long reloads = ScriptCache.getReloads();
+
+        Long result = this.executor.eval(connection, script, ReturnType.INTEGER, 0, new byte[0][], null);
+
+        assertEquals(Long.valueOf(1L), result);
+        assertEquals(reloads + 1, ScriptCache.getReloads());
+        verify(connection).eval(script.getScriptBytes(), ReturnType.INTEGER, 0, new byte[0][]);
+        verify(connection, never()).scriptLoad(any(byte[].class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.codec.PrefixedKeySerializer;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 集群助手测试(本地槽计算)
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class ClusterHandlerTest {
+
+    @Test
+    public void keySlotMatchesRedis() {
+        ClusterHandler handler = handler(RedisSerializer.string());
+        assertEquals(Integer.valueOf(12182), handler.keySlot("foo"));
+        assertEquals(Integer.valueOf(11058), handler.keySlot("somekey"));
+    }
+
+    @Test
+    public void keySlotUsesHashTag() {
+        ClusterHandler handler = handler(RedisSerializer.string());
+        assertEquals(Integer.valueOf(3443), handler.keySlot("{user1000}.following"));
+        assertEquals(Integer.valueOf(3443), handler.keySlot("{user1000}.followers"));
+        // 只取第一个标签
+        assertEquals(handler.keySlot("bar"), handler.keySlot("foo{bar}{zap}"));
+        // 空标签时对整个键计算
+        assertNotEquals(handler.keySlot("bar"), handler.keySlot("foo{}{bar}"));
+    }
+
+    @Test
+    public void keySlotIncludesKeyPrefix() {
+        ClusterHandler handler = handler(new PrefixedKeySerializer("app:", 0));
+        assertNotEquals(Integer.valueOf(12182), handler.keySlot("foo"));
+        assertEquals(Integer.valueOf(3443), handler.keySlot("{user1000}.following"));
+    }
+
+    @Test
+    public void groupBySlotKeepsTaggedKeysTogether() {
+        ClusterHandler handler = handler(RedisSerializer.string());
+        Map<Integer, List<String>> slots = handler.groupBySlot(
+                Arrays.asList("foo", "{user1000}.following", "somekey", "{user1000}.followers")
+        );
+        assertEquals(Arrays.asList(12182, 3443, 11058), Arrays.asList(slots.keySet().toArray()));
+        assertEquals(Arrays.asList("{user1000}.following", "{user1000}.followers"), slots.get(3443));
+        assertEquals(Collections.singletonList("foo"), slots.get(12182));
+    }
+
+    private static ClusterHandler handler(RedisSerializer<String> keySerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(mock(RedisConnectionFactory.class));
+        template.setKeySerializer(keySerializer);
+        return new ClusterHandler(template, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 连接执行器测试(管道关闭失败不覆盖原异常)
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class ConnectionExecutorTest {
+
+    private RedisConnectionFactory factory;
+    private RedisConnection connection;
+
+    @BeforeClass
+    public static void initContext() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("redisHandlerProperties", RedisHandlerProperties.class);
+        new ApplicationContextUtil().setApplicationContext(context);
+    }
+
+    @Before
+    public void setUp() {
+        this.factory = mock(RedisConnectionFactory.class);
+        this.connection = mock(RedisConnection.class);
+        when(this.factory.getConnection()).thenReturn(this.connection);
+    }
+
+    @Test
+    public void pipelineResultsAreReturned() {
+        List<Object> results = Collections.singletonList("OK");
+        when(this.connection.closePipeline()).thenReturn(results);
+        assertSame(results, ConnectionExecutor.withPipeline(this.factory, connection -> connection.ping()));
+        verify(this.connection).openPipeline();
+        verify(this.connection).close();
+    }
+
+    @Test
+    public void closeFailureIsSuppressedNotThrown() {
+        InvalidDataAccessApiUsageException failure = new InvalidDataAccessApiUsageException("command failed");
+        RedisConnectionFailureException closeFailure = new RedisConnectionFailureException("connection lost");
+        when(this.connection.closePipeline()).thenThrow(closeFailure);
+        try {
+            ConnectionExecutor.withPipeline(this.factory, connection -> {
+                throw failure;
+            });
+            fail("pipeline should fail");
+        } catch (InvalidDataAccessApiUsageException e) {
+            assertSame(failure, e);
+            assertEquals(1, e.getSuppressed().length);
+            assertSame(closeFailure, e.getSuppressed()[0]);
+        }
+        verify(this.connection).close();
+    }
+}
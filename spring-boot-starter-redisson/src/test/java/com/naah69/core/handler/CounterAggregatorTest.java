@@ -0,0 +1,199 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 计数聚合器测试(刷新失败时的重试与单元清理)
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class CounterAggregatorTest {
+
+    private RedisConnection connection;
+    private CounterAggregator aggregator;
+    /**
+     * 本次管道发送的键与增量(按发送顺序)
+     */
+    private final Map<String, Long> sent = new LinkedHashMap<>();
+    /**
+     * 已发送的增量总和
+     */
+    private final AtomicLong sentTotal = new AtomicLong();
+
+    @BeforeClass
+    public static void initContext() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("redisHandlerProperties", RedisHandlerProperties.class);
+        new ApplicationContextUtil().setApplicationContext(context);
+    }
+
+    @Before
+    public void setUp() {
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        this.connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+        when(factory.getConnection()).thenReturn(this.connection);
+        when(this.connection.stringCommands()).thenReturn(stringCommands);
+        when(this.connection.hashCommands()).thenReturn(hashCommands);
+        doAnswer(invocation -> {
+            this.sent.put(new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8), invocation.getArgument(1));
+            this.sentTotal.addAndGet(invocation.getArgument(1));
+            return null;
+        }).when(stringCommands).incrBy(any(byte[].class), anyLong());
+        this.aggregator = new CounterAggregator(factory, null, RedisSerializer.string(), RedisSerializer.string(), 3_600_000L, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void flushRemovesFlushedCells() {
+        this.replyWith(key -> 1L);
+        this.aggregator.add("a", null, 1L);
+        this.aggregator.add("b", null, 2L);
+        this.aggregator.flush();
+        assertEquals(0, this.aggregator.getPendingKeys());
+        assertEquals(2, this.sent.size());
+
+        this.sent.clear();
+        this.aggregator.flush();
+        assertEquals(0, this.sent.size());
+    }
+
+    @Test
+    public void requeuesOnlyFailedDeltas() {
+        this.replyWith(key -> {
+            if ("rejected".equals(key)) {
+                return new InvalidDataAccessApiUsageException("WRONGTYPE");
+            }
+            if ("unreachable".equals(key)) {
+                return new RedisConnectionFailureException("connection reset");
+            }
+            return 1L;
+        });
+        this.aggregator.add("applied", null, 1L);
+        this.aggregator.add("rejected", null, 2L);
+        this.aggregator.add("unreachable", null, 3L);
+        this.aggregator.flush();
+        assertEquals(1, this.aggregator.getPendingKeys());
+
+        this.sent.clear();
+        this.replyWith(key -> 1L);
+        this.aggregator.add("unreachable", null, 4L);
+        this.aggregator.flush();
+        assertEquals(Collections.singletonMap("unreachable", 7L), this.sent);
+        assertEquals(0, this.aggregator.getPendingKeys());
+    }
+
+    @Test
+    public void dropsBatchRejectedWithoutPerCommandResults() {
+        when(this.connection.closePipeline()).thenThrow(
+                new RedisPipelineException(new InvalidDataAccessApiUsageException("WRONGTYPE"), Collections.emptyList())
+        );
+        this.aggregator.add("applied", null, 1L);
+        this.aggregator.add("rejected", null, 2L);
+        this.aggregator.flush();
+        assertEquals(0, this.aggregator.getPendingKeys());
+    }
+
+    @Test
+    public void requeuesEverythingWhenOutcomeIsUnknown() {
+        when(this.connection.closePipeline()).thenThrow(new RedisConnectionFailureException("connection reset"));
+        this.aggregator.add("a", null, 1L);
+        this.aggregator.add("b", null, 2L);
+        try {
+            this.aggregator.flush();
+            fail("flush should fail when the pipeline outcome is unknown");
+        } catch (RedisConnectionFailureException expected) {
+            // 结果未知时整体归还
+        }
+        assertEquals(2, this.aggregator.getPendingKeys());
+        assertEquals(2L, this.aggregator.getPending());
+    }
+
+    @Test
+    public void concurrentAddsSurviveFlushes() throws Exception {
+        this.replyWith(key -> 1L);
+        int threads = 4;
+        int perThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        this.aggregator.add("hot", null, 1L);
+                        this.aggregator.add("key-" + (j & 15), null, 1L);
+                    }
+                    done.countDown();
+                });
+            }
+            while (done.getCount() > 0) {
+                this.sent.clear();
+                this.aggregator.flush();
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        this.sent.clear();
+        this.aggregator.flush();
+        assertEquals(2L * threads * perThread, this.sentTotal.get());
+        assertEquals(0, this.aggregator.getPendingKeys());
+    }
+
+    /**
+     * 按发送顺序生成管道结果(包含异常时抛出管道异常)
+     *
+     * @param reply 键 -> 结果
+     */
+    private void replyWith(Function<String, Object> reply) {
+        when(this.connection.closePipeline()).thenAnswer(invocation -> {
+            List<Object> results = new ArrayList<>(this.sent.size());
+            boolean failed = false;
+            for (String key : this.sent.keySet()) {
+                Object result = reply.apply(key);
+                failed |= result instanceof Exception;
+                results.add(result);
+            }
+            if (failed) {
+                throw new RedisPipelineException("pipeline contained errors", results);
+            }
+            return results;
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.naah69.core.handler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 十进制加法基准测试(原客户端同步锁内GET+BigDecimal+SET与服务端脚本的吞吐量对比)
+ * 需要可访问的redis, 地址通过-Dbenchmark.redis.address指定, 默认redis://127.0.0.1:6379
+ *
+ * @author naah
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class DecimalAddBenchmark {
+
+    private static final String KEY = "benchmark:decimal";
+    private static final List<String> KEYS = Collections.singletonList(KEY);
+    private static final String DELTA = "0.01";
+
+    private final Object monitor = new Object();
+    private RedissonClient client;
+    private StringRedisTemplate template;
+    private ValueOperations<String, String> operations;
+
+    @Setup
+    public void setUp() {
+        Config config = new Config();
+        config.useSingleServer().setAddress(System.getProperty("benchmark.redis.address", "redis://127.0.0.1:6379"));
+        this.client = Redisson.create(config);
+        this.template = new StringRedisTemplate(new RedissonConnectionFactory(this.client));
+        this.operations = this.template.opsForValue();
+        this.template.delete(KEY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.template.delete(KEY);
+        this.client.shutdown();
+    }
+
+    /**
+     * 原实现: 助手实例上的同步锁内读取、相加后写回(仅在单个进程内原子)
+     */
+    @Benchmark
+    public double synchronizedGetAndSet() {
+        synchronized (this.monitor) {
+            String old = this.operations.get(KEY);
+            double value = new BigDecimal(old == null ? "0" : old).add(new BigDecimal(DELTA)).doubleValue();
+            this.operations.set(KEY, String.valueOf(value));
+            return value;
+        }
+    }
+
+    /**
+     * 现实现: 服务端脚本定点加法(无客户端锁, 跨节点原子)
+     */
+    @Benchmark
+    public Object decimalAddScript() {
+        return this.template.execute(LuaScripts.DECIMAL_ADD, KEYS, DELTA);
+    }
+
+    /**
+     * 参考: 原生INCRBYFLOAT(原子但按双精度浮点数累加)
+     */
+    @Benchmark
+    public Double incrByFloat() {
+        return this.operations.increment(KEY, 0.01D);
+    }
+}
@@ -0,0 +1,146 @@
+package com.naah69.core.handler;
+
+import com.naah69.core.config.RedisHandlerProperties;
+import com.naah69.core.util.ApplicationContextUtil;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 近端缓存测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class NearCacheTest {
+
+    private static final Function<byte[], Object> DECODER = bytes -> new String(bytes, StandardCharsets.UTF_8);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    /**
+     * 加载期间失效的键
+     */
+    private volatile String invalidateDuringLoad;
+    private StringRedisTemplate template;
+    private NearCache cache;
+
+    @BeforeClass
+    public static void initContext() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("redisHandlerProperties", RedisHandlerProperties.class);
+        new ApplicationContextUtil().setApplicationContext(context);
+    }
+
+    @Before
+    public void setUp() {
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class, withSettings().stubOnly());
+        RedisConnection connection = mock(RedisConnection.class, withSettings().stubOnly());
+        when(factory.getConnection()).thenReturn(connection);
+        when(connection.closePipeline()).thenAnswer(invocation -> {
+            this.loads.incrementAndGet();
+            if (this.invalidateDuringLoad != null) {
+                this.cache.invalidate(this.invalidateDuringLoad);
+            }
+            return Arrays.asList("value".getBytes(StandardCharsets.UTF_8), -1L);
+        });
+        this.template = new StringRedisTemplate(factory);
+        RedisHandlerProperties.NearCache properties = new RedisHandlerProperties.NearCache();
+        properties.setMaxEntries(64L);
+        this.cache = new NearCache(0, properties);
+    }
+
+    @Test
+    public void hitAfterLoad() {
+        assertEquals("value", this.cache.getValue(this.template, "a", "v", DECODER));
+        assertEquals("value", this.cache.getValue(this.template, "a", "v", DECODER));
+        assertEquals(1, this.loads.get());
+        assertEquals(1L, this.cache.size());
+    }
+
+    @Test
+    public void invalidationOfOtherKeyKeepsLoad() {
+        this.cache.getValue(this.template, "a", "v", DECODER);
+        this.cache.invalidate("b");
+        this.cache.getValue(this.template, "a", "v", DECODER);
+        assertEquals(1, this.loads.get());
+
+        this.cache.invalidate("a");
+        assertEquals(0L, this.cache.size());
+        this.cache.getValue(this.template, "a", "v", DECODER);
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    public void invalidationDuringLoadSkipsOnlyThatKey() {
+        this.invalidateDuringLoad = "b";
+        this.cache.getValue(this.template, "a", "v", DECODER);
+        assertEquals(1L, this.cache.size());
+
+        this.invalidateDuringLoad = "c";
+        this.cache.getValue(this.template, "c", "v", DECODER);
+        assertEquals(1L, this.cache.size());
+    }
+
+    @Test
+    public void evictsBeyondMaxEntries() {
+        for (int i = 0; i < 100; i++) {
+            this.cache.getValue(this.template, "key-" + i, "v", DECODER);
+        }
+        assertEquals(64L, this.cache.size());
+        this.cache.getValue(this.template, "key-99", "v", DECODER);
+        assertEquals(100, this.loads.get());
+    }
+
+    @Test
+    public void countersStayConsistentUnderConcurrentInvalidation() throws Exception {
+        int threads = 4;
+        int iterations = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        CountDownLatch done = new CountDownLatch(threads * 2);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < iterations; j++) {
+                        String key = "key-" + random.nextInt(8);
+                        this.cache.getValue(this.template, key, "v" + random.nextInt(2), DECODER);
+                    }
+                    done.countDown();
+                });
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < iterations; j++) {
+                        this.cache.invalidate("key-" + random.nextInt(8));
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        this.cache.clear();
+        assertEquals(0L, this.cache.size());
+        assertEquals(0L, this.cache.byteSize());
+    }
+}
@@ -0,0 +1,112 @@
+package com.naah69.core.handler;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 合并调用器测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> this.singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> this.singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                return "other";
+            }));
+            // 等待跟随者进入合并等待
+            long coalesced = SingleFlight.getCoalesced();
+            while (SingleFlight.getCoalesced() == coalesced && !follower.isDone()) {
+                Thread.sleep(1L);
+            }
+            release.countDown();
+            assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            assertEquals(0, this.singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureIsSharedAndKeyIsReleased() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("load failed");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> this.singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw failure;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            long coalesced = SingleFlight.getCoalesced();
+            Future<Object> follower = executor.submit(() -> this.singleFlight.execute("key", () -> "other"));
+            while (SingleFlight.getCoalesced() == coalesced && !follower.isDone()) {
+                Thread.sleep(1L);
+            }
+            release.countDown();
+            assertSame(failure, causeOf(leader));
+            assertSame(failure, causeOf(follower));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, this.singleFlight.inFlight());
+        assertEquals("fresh", this.singleFlight.execute("key", () -> "fresh"));
+    }
+
+    @Test
+    public void distinctKeysDoNotCoalesce() {
+        assertEquals("a", this.singleFlight.execute("a", () -> this.singleFlight.execute("b", () -> "a")));
+        assertEquals(0, this.singleFlight.inFlight());
+    }
+
+    private static Throwable causeOf(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("call should fail");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
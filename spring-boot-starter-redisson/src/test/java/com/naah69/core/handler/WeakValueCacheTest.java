@@ -0,0 +1,75 @@
+package com.naah69.core.handler;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 弱引用值缓存测试
+ *
+ * @author naah
+ * @since 1.8
+ */
+public class WeakValueCacheTest {
+
+    private final WeakValueCache<StringBuilder> cache = new WeakValueCache<>(16);
+
+    @Test
+    public void cachedValueIsReused() {
+        StringBuilder value = this.cache.get("key", StringBuilder::new);
+        assertSame(value, this.cache.get("key", StringBuilder::new));
+        assertEquals(1, this.cache.size());
+    }
+
+    @Test
+    public void slowLoaderDoesNotBlockOtherCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<StringBuilder> slow = executor.submit(() -> this.cache.get("key", k -> {
+                started.countDown();
+                await(release);
+                return new StringBuilder("slow");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // 加载器在容器锁之外执行, 慢加载期间同一键的其他调用方不被阻塞
+            Future<StringBuilder> fast = executor.submit(() -> this.cache.get("key", k -> new StringBuilder("fast")));
+            StringBuilder published = fast.get(5, TimeUnit.SECONDS);
+            assertEquals("fast", published.toString());
+            release.countDown();
+            // 慢加载完成后共享先发布的值
+            assertSame(published, slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void overCapacityValuesAreNotCached() {
+        WeakValueCache<StringBuilder> small = new WeakValueCache<>(1);
+        StringBuilder first = small.get("a", StringBuilder::new);
+        StringBuilder second = small.get("b", StringBuilder::new);
+        assertSame(first, small.get("a", StringBuilder::new));
+        assertNotSame(second, small.get("b", StringBuilder::new));
+        assertEquals(1, small.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}